@@ -0,0 +1,72 @@
+package saturn.elementPlugin.data;
+
+import saturn.elementPlugin.elements.ElementType;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binary record codec against the YAML path the player shards use (in memory, no disk).
+ * Run with ./gradlew jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlayerDataCodecBenchmark {
+    private UUID uuid;
+    private PlayerDataSnapshot snapshot;
+    private ByteBuffer buffer;
+    private String yaml;
+
+    @Setup
+    public void setup() {
+        uuid = UUID.randomUUID();
+        snapshot = new PlayerDataSnapshot(uuid, ElementType.FIRE, 2, EnumSet.of(ElementType.AIR, ElementType.FIRE), 87);
+
+        buffer = ByteBuffer.allocate(PlayerDataCodec.RECORD_SIZE);
+        PlayerDataCodec.encode(snapshot, buffer, 0);
+
+        YamlConfiguration config = new YamlConfiguration();
+        snapshot.saveTo(config);
+        yaml = config.saveToString();
+    }
+
+    // ========================================
+    // BINARY
+    // ========================================
+
+    @Benchmark
+    public ByteBuffer binaryEncode() {
+        PlayerDataCodec.encode(snapshot, buffer, 0);
+        return buffer;
+    }
+
+    @Benchmark
+    public PlayerData binaryDecode() throws IOException {
+        return new PlayerData(PlayerDataCodec.decode(buffer, 0));
+    }
+
+    // ========================================
+    // YAML (ShardedPlayerStorage)
+    // ========================================
+
+    @Benchmark
+    public String yamlEncode() {
+        YamlConfiguration config = new YamlConfiguration();
+        snapshot.saveTo(config);
+        return config.saveToString();
+    }
+
+    @Benchmark
+    public PlayerData yamlDecode() throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.loadFromString(yaml);
+        return new PlayerData(uuid, config);
+    }
+}
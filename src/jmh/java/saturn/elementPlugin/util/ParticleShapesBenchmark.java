@@ -0,0 +1,81 @@
+package saturn.elementPlugin.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Placing shape points from the precomputed tables against computing them with trig per point,
+ * for the shapes the abilities draw every tick (whirlpool ring, nova sphere).
+ * Run with ./gradlew jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParticleShapesBenchmark {
+    private static final int RING_POINTS = 36;
+    private static final int SPHERE_RINGS = 12;
+    private static final int SPHERE_SEGMENTS = 24;
+
+    private final ParticleShapes.Shape ring = ParticleShapes.ring(RING_POINTS);
+    private final ParticleShapes.Shape sphere = ParticleShapes.sphere(SPHERE_RINGS, SPHERE_SEGMENTS);
+    private final ParticleShapes.Cursor cursor = new ParticleShapes.Cursor();
+
+    private double centerX = 120.5, centerY = 64.0, centerZ = -37.5;
+    private double radius = 5.0;
+    private double rotation = 0.3;
+
+    // ========================================
+    // RING
+    // ========================================
+
+    @Benchmark
+    public void ringTable(Blackhole bh) {
+        cursor.at(centerX, centerY, centerZ).scale(radius, 1.0).rotate(rotation);
+        for (int i = 0; i < ring.size(); i++) {
+            cursor.point(ring, i);
+            bh.consume(cursor.x);
+            bh.consume(cursor.y);
+            bh.consume(cursor.z);
+        }
+    }
+
+    @Benchmark
+    public void ringTrig(Blackhole bh) {
+        for (int i = 0; i < RING_POINTS; i++) {
+            double angle = 2 * Math.PI * i / RING_POINTS + rotation;
+            bh.consume(centerX + Math.cos(angle) * radius);
+            bh.consume(centerY);
+            bh.consume(centerZ + Math.sin(angle) * radius);
+        }
+    }
+
+    // ========================================
+    // SPHERE
+    // ========================================
+
+    @Benchmark
+    public void sphereTable(Blackhole bh) {
+        cursor.at(centerX, centerY, centerZ).scale(radius, radius).rotate(0);
+        for (int i = 0; i < sphere.size(); i++) {
+            cursor.point(sphere, i);
+            bh.consume(cursor.x);
+            bh.consume(cursor.y);
+            bh.consume(cursor.z);
+        }
+    }
+
+    @Benchmark
+    public void sphereTrig(Blackhole bh) {
+        for (int i = 0; i < SPHERE_RINGS; i++) {
+            double theta = Math.PI * i / SPHERE_RINGS;
+            for (int j = 0; j < SPHERE_SEGMENTS; j++) {
+                double phi = 2 * Math.PI * j / SPHERE_SEGMENTS;
+                bh.consume(centerX + Math.sin(theta) * Math.cos(phi) * radius);
+                bh.consume(centerY + Math.cos(theta) * radius);
+                bh.consume(centerZ + Math.sin(theta) * Math.sin(phi) * radius);
+            }
+        }
+    }
+}
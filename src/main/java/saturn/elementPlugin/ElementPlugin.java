@@ -1,11 +1,24 @@
 package saturn.elementPlugin;
 
 import org.bukkit.Bukkit;
+import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+import saturn.elementPlugin.api.ElementsService;
+import saturn.elementPlugin.api.SimpleElementsService;
 import saturn.elementPlugin.commands.*;
+import saturn.elementPlugin.data.ClusterSync;
 import saturn.elementPlugin.data.DataStore;
+import saturn.elementPlugin.data.LocalClusterBroker;
+import saturn.elementPlugin.data.PlayerPrefetcher;
+import saturn.elementPlugin.data.RedisClusterBroker;
+import saturn.elementPlugin.data.SqlStorageBackend;
+import saturn.elementPlugin.data.StorageBackend;
+import saturn.elementPlugin.data.StorageBackendMigrator;
+import saturn.elementPlugin.data.YamlStorageBackend;
 import saturn.elementPlugin.elements.ElementType;
 import saturn.elementPlugin.elements.abilities.AbilityManager;
+import saturn.elementPlugin.elements.abilities.EffectEngine;
 import saturn.elementPlugin.elements.abilities.impl.air.*;
 import saturn.elementPlugin.elements.abilities.impl.death.*;
 import saturn.elementPlugin.elements.abilities.impl.earth.EarthquakeAbility;
@@ -22,18 +35,41 @@ import saturn.elementPlugin.listeners.items.DeathListener;
 import saturn.elementPlugin.listeners.items.handlers.*;
 import saturn.elementPlugin.managers.*;
 import saturn.elementPlugin.regions.DisabledRegionsManager;
+import saturn.elementPlugin.util.EntityGrid;
+import saturn.elementPlugin.util.LineOfSightService;
+import saturn.elementPlugin.util.ParticleService;
+import saturn.elementPlugin.util.TimingWheel;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.logging.Level;
 
 import static saturn.elementPlugin.recipes.util.UtilRecipes.registerRecipes;
 
 public final class ElementPlugin extends JavaPlugin {
 
+    private StorageBackend storageBackend;
     private DataStore dataStore;
     private ElementManager elementManager;
     private ManaManager manaManager;
+    private TimingWheel timingWheel;
+    private BukkitTask timingWheelTask;
+    private EntityGrid entityGrid;
+    private BukkitTask entityGridTask;
+    private EffectEngine effectEngine;
+    private BukkitTask effectEngineTask;
+    private LineOfSightService lineOfSight;
+    private BukkitTask lineOfSightTask;
+    private ParticleService particleService;
+    private BukkitTask particleTask;
     private ItemManager itemManager;
     private AbilityManager abilityManager;
     private DisabledRegionsManager disabledRegionsManager;
     private TrustManager trustManager;
+    private TeamManager teamManager;
+    private PlayerPrefetcher playerPrefetcher;
+    private ClusterSync clusterSync; // null unless running as part of a cluster
 
     // ========================
     // Constants
@@ -41,9 +77,31 @@ public final class ElementPlugin extends JavaPlugin {
 
     private static final int MAX_MANA = 100;
     private static final int MANA_REGEN_PER_SECOND = 1;
+    private static final boolean LAZY_MANA_REGEN = false; // Compute regen from timestamps instead of a per-second loop
     private static final int ABILITY_1_COST = 50;
     private static final int ABILITY_2_COST = 75;
     private static final boolean UPGRADERS_DROP_ON_DEATH = true;
+    private static final boolean PLAYER_DATA_JOURNALED = true; // Append-only journal + shard compaction
+    private static final boolean PLAYER_DATA_BINARY = false;   // Fixed-width records in players.bin instead of YAML shards
+    private static final String STORAGE_BACKEND = "yaml";        // "yaml" or "sqlite"
+    private static final int PLAYER_CACHE_MAX_SIZE = 1000;       // Offline players kept in memory
+    private static final long PLAYER_CACHE_IDLE_MINUTES = 15;
+    private static final int BACKUP_INTERVAL_MINUTES = 60;       // 0 disables scheduled backups
+    private static final int FULL_BACKUP_EVERY = 24;             // Incremental backups between full ones
+    private static final int ARCHIVE_AFTER_DAYS = 0;             // Inactive players move to the cold archive (0 disables)
+    private static final int ARCHIVE_INTERVAL_HOURS = 24;
+    private static final long EFFECT_TICK_BUDGET_MICROS = 5000;  // Ability effects advanced per tick before the rest wait
+    private static final int PARTICLE_BUDGET_PER_TICK = 6000;    // Ability particles sent per tick, whole server
+    private static final int PARTICLE_BUDGET_PER_CASTER = 1000;  // Ability particles per tick from one player
+    private static final double PARTICLE_VIEW_RADIUS = 48.0;     // Players further away don't receive ability particles
+    private static final double PARTICLE_FULL_DETAIL_RADIUS = 16.0;
+    private static final double PARTICLE_MIN_DENSITY = 0.25;     // Share of particles sent at the edge of the view radius
+    private static final int LINE_OF_SIGHT_TTL_TICKS = 10;       // Ability line-of-sight results reused at most this long
+    private static final int LINE_OF_SIGHT_TRACES_PER_TICK = 256; // Deferred line-of-sight refreshes traced per tick
+    private static final String CLUSTER_BROKER = "none";         // "none", "local" or "redis" (servers sharing one store)
+    private static final String CLUSTER_REDIS_HOST = "localhost";
+    private static final int CLUSTER_REDIS_PORT = 6379;
+    private static final String CLUSTER_CHANNEL = "elements:invalidate";
 
     // ========================
     // Plugin Lifecycle
@@ -57,13 +115,36 @@ public final class ElementPlugin extends JavaPlugin {
         registerListeners();
         registerRecipes(this);
         manaManager.start();
+
+        // Other plugins read element, mana and trust state through this instead of the DataStore
+        getServer().getServicesManager().register(ElementsService.class, new SimpleElementsService(this), this,
+                ServicePriority.Normal);
     }
 
     @Override
     public void onDisable() {
-        if (dataStore != null) dataStore.flushAll();
+        getServer().getServicesManager().unregisterAll(this);
         if (manaManager != null) manaManager.stop();
-        if (trustManager != null) trustManager.saveAll();  // NEW LINE
+        if (effectEngineTask != null) effectEngineTask.cancel();
+        if (effectEngine != null) effectEngine.shutdown();
+        if (particleTask != null) particleTask.cancel();
+        if (lineOfSightTask != null) lineOfSightTask.cancel();
+        if (lineOfSight != null) lineOfSight.clear();
+        if (entityGridTask != null) entityGridTask.cancel();
+        if (entityGrid != null) entityGrid.clear();
+        if (timingWheelTask != null) timingWheelTask.cancel();
+        if (trustManager != null) trustManager.shutdown();
+        if (teamManager != null) teamManager.shutdown();
+        if (dataStore != null) dataStore.shutdown();
+        if (clusterSync != null) clusterSync.close();
+
+        if (storageBackend != null) {
+            try {
+                storageBackend.close();
+            } catch (IOException e) {
+                getLogger().log(Level.SEVERE, "Failed to close storage backend", e);
+            }
+        }
     }
 
     // ========================
@@ -71,13 +152,86 @@ public final class ElementPlugin extends JavaPlugin {
     // ========================
 
     private void initializeManagers() {
+        // Shared expiry clock (cooldowns, request expiry), advanced once per tick
+        this.timingWheel = new TimingWheel(getLogger());
+        this.timingWheelTask = Bukkit.getScheduler().runTaskTimer(this, timingWheel::tick, 1L, 1L);
+
+        // Living entities around ability casters, indexed on demand and dropped every tick
+        this.entityGrid = new EntityGrid();
+        this.entityGridTask = Bukkit.getScheduler().runTaskTimer(this, entityGrid::clear, 1L, 1L);
+
+        // Every running ability effect, advanced by one task
+        this.effectEngine = new EffectEngine(EFFECT_TICK_BUDGET_MICROS, getLogger());
+        this.effectEngineTask = Bukkit.getScheduler().runTaskTimer(this, effectEngine::tick, 1L, 1L);
+
+        // Ability line-of-sight checks, cached; refreshes queued by the effects are traced after them
+        this.lineOfSight = new LineOfSightService(LINE_OF_SIGHT_TTL_TICKS, LINE_OF_SIGHT_TRACES_PER_TICK);
+        this.lineOfSightTask = Bukkit.getScheduler().runTaskTimer(this, lineOfSight::tick, 1L, 1L);
+
+        // Ability particles, sent once per tick after the effects have run
+        this.particleService = new ParticleService(this);
+        this.particleTask = Bukkit.getScheduler().runTaskTimer(this, particleService::flush, 1L, 1L);
+
+        this.storageBackend = createStorageBackend();
+        this.clusterSync = createClusterSync();
         this.dataStore = new DataStore(this);
         this.manaManager = new ManaManager(this, dataStore);
         this.abilityManager = new AbilityManager(this);
         this.trustManager = new TrustManager(this);  // NEW LINE
+        this.teamManager = new TeamManager(this, dataStore);
         this.elementManager = new ElementManager(this, dataStore, manaManager);
         this.itemManager = new ItemManager(this, manaManager);
         this.disabledRegionsManager = new DisabledRegionsManager(this);
+        this.playerPrefetcher = new PlayerPrefetcher(dataStore, trustManager, getLogger());
+    }
+
+    /**
+     * Open the configured storage backend.
+     * Switching to SQLite copies the existing YAML data over on first start.
+     */
+    private StorageBackend createStorageBackend() {
+        YamlStorageBackend yaml = new YamlStorageBackend(getDataFolder(), PLAYER_DATA_BINARY, getLogger());
+        if (!"sqlite".equalsIgnoreCase(STORAGE_BACKEND)) {
+            return yaml;
+        }
+
+        SqlStorageBackend sql = null;
+        try {
+            sql = new SqlStorageBackend(new File(getDataFolder(), "data/elements.db"), getLogger());
+            new StorageBackendMigrator(getLogger()).migrate(yaml, sql);
+            yaml.close();
+            return sql;
+        } catch (IOException e) {
+            if (sql != null) {
+                try {
+                    sql.close();
+                } catch (IOException ignored) {}
+            }
+            getLogger().log(Level.SEVERE, "Failed to open SQLite storage, falling back to YAML", e);
+            return yaml;
+        }
+    }
+
+    /**
+     * Connect to the other servers sharing the store, if clustering is enabled.
+     * Each start gets a fresh node id so messages from a previous run are never mistaken for our own.
+     */
+    private ClusterSync createClusterSync() {
+        if ("none".equalsIgnoreCase(CLUSTER_BROKER)) {
+            return null;
+        }
+
+        String nodeId = UUID.randomUUID().toString().substring(0, 8);
+        ClusterSync sync = new ClusterSync(nodeId,
+                "redis".equalsIgnoreCase(CLUSTER_BROKER)
+                        ? new RedisClusterBroker(CLUSTER_REDIS_HOST, CLUSTER_REDIS_PORT, CLUSTER_CHANNEL, getLogger())
+                        : new LocalClusterBroker(),
+                task -> {
+                    if (isEnabled()) Bukkit.getScheduler().runTask(this, task);
+                }, getLogger());
+
+        getLogger().info("Cluster sync enabled (" + CLUSTER_BROKER + ", node " + nodeId + ")");
+        return sync;
     }
 
     // ========================
@@ -135,6 +289,10 @@ public final class ElementPlugin extends JavaPlugin {
         getCommand("trust").setExecutor(trustCmd);
         getCommand("trust").setTabCompleter(trustCmd);
 
+        TeamCommand teamCmd = new TeamCommand(teamManager);
+        getCommand("team").setExecutor(teamCmd);
+        getCommand("team").setTabCompleter(teamCmd);
+
         getLogger().info("Commands registered successfully");
     }
 
@@ -146,8 +304,11 @@ public final class ElementPlugin extends JavaPlugin {
         var pm = Bukkit.getPluginManager();
 
         // Core
+        pm.registerEvents(new PrefetchListener(playerPrefetcher), this);
         pm.registerEvents(new JoinListener(this, elementManager, manaManager), this);
         pm.registerEvents(new QuitListener(this, manaManager), this);
+        pm.registerEvents(new EffectOwnerListener(effectEngine), this);
+        pm.registerEvents(new LineOfSightListener(lineOfSight), this);
         pm.registerEvents(new CombatListener(this, elementManager), this);  // ← CHANGE THIS LINE
         pm.registerEvents(new saturn.elementPlugin.listeners.AbilityListener(this, elementManager), this);
         pm.registerEvents(new TotemListener(this), this);
@@ -229,6 +390,7 @@ public final class ElementPlugin extends JavaPlugin {
     // Getters
     // ========================
 
+    public StorageBackend getStorageBackend() { return storageBackend; }
     public DataStore getDataStore() { return dataStore; }
     public ElementManager getElementManager() { return elementManager; }
     public ManaManager getManaManager() { return manaManager; }
@@ -236,11 +398,33 @@ public final class ElementPlugin extends JavaPlugin {
     public AbilityManager getAbilityManager() { return abilityManager; }
     public DisabledRegionsManager getDisabledRegionsManager() { return disabledRegionsManager; }
     public TrustManager getTrustManager() { return trustManager; }
+    public TeamManager getTeamManager() { return teamManager; }
+    public PlayerPrefetcher getPlayerPrefetcher() { return playerPrefetcher; }
+    public ClusterSync getClusterSync() { return clusterSync; }
+    public TimingWheel getTimingWheel() { return timingWheel; }
+    public EntityGrid getEntityGrid() { return entityGrid; }
+    public EffectEngine getEffectEngine() { return effectEngine; }
+    public LineOfSightService getLineOfSight() { return lineOfSight; }
+    public ParticleService getParticleService() { return particleService; }
 
     public int getMaxMana() { return MAX_MANA; }
     public int getManaRegenPerSecond() { return MANA_REGEN_PER_SECOND; }
+    public boolean isLazyManaRegen() { return LAZY_MANA_REGEN; }
     public int getAbility1Cost() { return ABILITY_1_COST; }
     public int getAbility2Cost() { return ABILITY_2_COST; }
     public boolean isUpgradersDropOnDeath() { return UPGRADERS_DROP_ON_DEATH; }
+    public boolean isPlayerDataJournaled() { return PLAYER_DATA_JOURNALED; }
+    public boolean isPlayerDataBinary() { return PLAYER_DATA_BINARY; }
+    public int getPlayerCacheMaxSize() { return PLAYER_CACHE_MAX_SIZE; }
+    public long getPlayerCacheIdleMillis() { return PLAYER_CACHE_IDLE_MINUTES * 60 * 1000L; }
+    public int getBackupIntervalMinutes() { return BACKUP_INTERVAL_MINUTES; }
+    public int getFullBackupEvery() { return FULL_BACKUP_EVERY; }
+    public int getArchiveAfterDays() { return ARCHIVE_AFTER_DAYS; }
+    public int getArchiveIntervalHours() { return ARCHIVE_INTERVAL_HOURS; }
+    public int getParticleBudgetPerTick() { return PARTICLE_BUDGET_PER_TICK; }
+    public int getParticleBudgetPerCaster() { return PARTICLE_BUDGET_PER_CASTER; }
+    public double getParticleViewRadius() { return PARTICLE_VIEW_RADIUS; }
+    public double getParticleFullDetailRadius() { return PARTICLE_FULL_DETAIL_RADIUS; }
+    public double getParticleMinDensity() { return PARTICLE_MIN_DENSITY; }
 
 }
\ No newline at end of file
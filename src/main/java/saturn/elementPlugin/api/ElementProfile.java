@@ -0,0 +1,49 @@
+package saturn.elementPlugin.api;
+
+import saturn.elementPlugin.elements.ElementType;
+
+import java.util.UUID;
+
+/**
+ * Immutable view of a player's element state, handed out by the {@link ElementsService}
+ */
+public final class ElementProfile {
+    private final UUID uuid;
+    private final ElementType element;
+    private final int upgradeLevel;
+    private final int mana;
+    private final boolean loaded;
+
+    public ElementProfile(UUID uuid, ElementType element, int upgradeLevel, int mana, boolean loaded) {
+        this.uuid = uuid;
+        this.element = element;
+        this.upgradeLevel = upgradeLevel;
+        this.mana = mana;
+        this.loaded = loaded;
+    }
+
+    public UUID getUuid() { return uuid; }
+
+    /**
+     * @return the player's element, or null if they have not been assigned one
+     */
+    public ElementType getElement() { return element; }
+
+    public int getUpgradeLevel() { return upgradeLevel; }
+
+    /**
+     * Mana when the profile was taken, including regeneration for loaded players
+     */
+    public int getMana() { return mana; }
+
+    /**
+     * True if this came from live data (the player is online or recently was),
+     * false if it was read from storage
+     */
+    public boolean isLoaded() { return loaded; }
+
+    @Override
+    public String toString() {
+        return "ElementProfile{" + uuid + ", " + element + ", level " + upgradeLevel + ", mana " + mana + "}";
+    }
+}
@@ -0,0 +1,55 @@
+package saturn.elementPlugin.api;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Read-only access to element, mana and trust state for other plugins.
+ * Get it from Bukkit's ServicesManager:
+ * <pre>
+ * ElementsService elements = Bukkit.getServicesManager().load(ElementsService.class);
+ * </pre>
+ * Every method is safe to call from any thread. Nothing here blocks: players that are not
+ * in memory are read from storage on a background thread and returned through a future,
+ * without being loaded into the plugin's cache.
+ */
+public interface ElementsService {
+
+    /**
+     * A loaded (usually online) player's current state, without touching storage
+     * @return the profile, or empty if the player is not in memory
+     */
+    Optional<ElementProfile> getLoadedProfile(UUID uuid);
+
+    /**
+     * Any player's state - completes immediately for loaded players, otherwise after a storage read
+     * @return a future of the profile, or of null if the player has never been saved
+     */
+    CompletableFuture<ElementProfile> getProfile(UUID uuid);
+
+    /**
+     * Many players' state with one pass over storage
+     * @return a future of the profiles by player; players that have never been saved are left out
+     */
+    CompletableFuture<Map<UUID, ElementProfile>> getProfiles(Collection<UUID> uuids);
+
+    /**
+     * Whether two players trust each other (trust is always mutual)
+     */
+    boolean trusts(UUID player1, UUID player2);
+
+    /**
+     * Whether two players share a team
+     */
+    boolean sameTeam(UUID player1, UUID player2);
+
+    /**
+     * Whether abilities and PvP from one player are blocked against the other (trusted or same team)
+     */
+    default boolean isAllied(UUID player1, UUID player2) {
+        return trusts(player1, player2) || sameTeam(player1, player2);
+    }
+}
@@ -0,0 +1,102 @@
+package saturn.elementPlugin.api;
+
+import saturn.elementPlugin.ElementPlugin;
+import saturn.elementPlugin.data.DataStore;
+import saturn.elementPlugin.data.PlayerData;
+import saturn.elementPlugin.data.PlayerDataSnapshot;
+import org.bukkit.plugin.IllegalPluginAccessException;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * ElementsService backed by the DataStore.
+ * Loaded players are read straight from their live PlayerData (volatile fields), everyone
+ * else with one DataStore.readSnapshots pass on an async task.
+ */
+public class SimpleElementsService implements ElementsService {
+    private final ElementPlugin plugin;
+    private final DataStore dataStore;
+
+    public SimpleElementsService(ElementPlugin plugin) {
+        this.plugin = plugin;
+        this.dataStore = plugin.getDataStore();
+    }
+
+    @Override
+    public Optional<ElementProfile> getLoadedProfile(UUID uuid) {
+        PlayerData pd = dataStore.getLoadedData(uuid);
+        return pd != null ? Optional.of(profile(pd, true)) : Optional.empty();
+    }
+
+    @Override
+    public CompletableFuture<ElementProfile> getProfile(UUID uuid) {
+        return getProfiles(List.of(uuid)).thenApply(profiles -> profiles.get(uuid));
+    }
+
+    @Override
+    public CompletableFuture<Map<UUID, ElementProfile>> getProfiles(Collection<UUID> uuids) {
+        Map<UUID, ElementProfile> profiles = new HashMap<>();
+        List<UUID> stored = new ArrayList<>();
+        for (UUID uuid : new LinkedHashSet<>(uuids)) {
+            PlayerData pd = dataStore.getLoadedData(uuid);
+            if (pd != null) {
+                profiles.put(uuid, profile(pd, true));
+            } else {
+                stored.add(uuid);
+            }
+        }
+
+        if (stored.isEmpty()) {
+            return CompletableFuture.completedFuture(profiles);
+        }
+
+        return async(() -> {
+            for (PlayerDataSnapshot snapshot : dataStore.readSnapshots(stored).values()) {
+                profiles.put(snapshot.getUuid(), profile(new PlayerData(snapshot), false));
+            }
+            return profiles;
+        });
+    }
+
+    @Override
+    public boolean trusts(UUID player1, UUID player2) {
+        return plugin.getTrustManager().trusts(player1, player2);
+    }
+
+    @Override
+    public boolean sameTeam(UUID player1, UUID player2) {
+        return plugin.getTeamManager().sameTeam(player1, player2);
+    }
+
+    /**
+     * Lazy regeneration applies to stored players too, so a profile reads the same whether or not it was cached
+     */
+    private ElementProfile profile(PlayerData pd, boolean online) {
+        int mana = plugin.isLazyManaRegen()
+                ? pd.getMana(System.currentTimeMillis(), plugin.getMaxMana(), plugin.getManaRegenPerSecond())
+                : pd.getMana();
+        return new ElementProfile(pd.getUuid(), pd.getCurrentElement(), pd.getCurrentElementUpgradeLevel(), mana, online);
+    }
+
+    /**
+     * Run a storage read on the Bukkit async pool
+     */
+    private <T> CompletableFuture<T> async(Supplier<T> work) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+                try {
+                    future.complete(work.get());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (IllegalPluginAccessException e) {
+            // Plugin is disabling - no new tasks can be scheduled
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+}
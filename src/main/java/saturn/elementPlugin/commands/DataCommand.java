@@ -1,21 +1,39 @@
 package saturn.elementPlugin.commands;
 
 import saturn.elementPlugin.ElementPlugin;
+import saturn.elementPlugin.data.BulkJob;
+import saturn.elementPlugin.data.ClusterSync;
 import saturn.elementPlugin.data.DataStore;
+import saturn.elementPlugin.data.ElementStats;
+import saturn.elementPlugin.data.PlayerIndex;
+import saturn.elementPlugin.data.PlayerMutation;
+import saturn.elementPlugin.data.PlayerPrefetcher;
+import saturn.elementPlugin.data.TrustData;
+import saturn.elementPlugin.data.TrustGraph;
+import saturn.elementPlugin.data.TrustJournal;
+import saturn.elementPlugin.elements.ElementType;
+import saturn.elementPlugin.elements.abilities.EffectEngine;
+import saturn.elementPlugin.util.BoundedCache;
+import saturn.elementPlugin.util.EntityGrid;
+import saturn.elementPlugin.util.LineOfSightService;
+import saturn.elementPlugin.util.ParticleService;
 import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Admin command for managing data storage
- * Usage: /data <save|backup|stats|reload>
+ * Usage: /data <save|backup|backups|restore|export|import|archive|bulk|stats|reload>
  */
 public class DataCommand implements CommandExecutor, TabCompleter {
     private final ElementPlugin plugin;
@@ -41,6 +59,12 @@ public class DataCommand implements CommandExecutor, TabCompleter {
         switch (args[0].toLowerCase()) {
             case "save" -> handleSave(sender);
             case "backup" -> handleBackup(sender);
+            case "backups" -> handleBackups(sender);
+            case "restore" -> handleRestore(sender, args);
+            case "export" -> handleExport(sender);
+            case "import" -> handleImport(sender, args);
+            case "archive" -> handleArchive(sender);
+            case "bulk" -> handleBulk(sender, args);
             case "stats" -> handleStats(sender);
             case "reload" -> handleReload(sender);
             default -> sendHelp(sender);
@@ -60,28 +84,338 @@ public class DataCommand implements CommandExecutor, TabCompleter {
     }
 
     private void handleBackup(CommandSender sender) {
-        sender.sendMessage(ChatColor.YELLOW + "Creating backup...");
+        boolean started = dataStore.createBackup(result -> {
+            if (result != null) {
+                sender.sendMessage(ChatColor.GREEN + "✓ Backup " + result.id + " created! " + ChatColor.GRAY + "(" +
+                        (result.full ? "full, " : "incremental, ") + result.storedFiles + "/" + result.totalFiles +
+                        " files stored, " + result.storedBytes / 1024 + " KB, " + result.millis + "ms)");
+            } else {
+                sender.sendMessage(ChatColor.RED + "✗ Failed to create backup. Check console for errors.");
+            }
+        });
 
-        boolean success = dataStore.createBackup();
+        if (started) {
+            sender.sendMessage(ChatColor.YELLOW + "Creating backup...");
+        } else {
+            sender.sendMessage(ChatColor.RED + "A backup is already running.");
+        }
+    }
+
+    private void handleBackups(CommandSender sender) {
+        List<String> backups = dataStore.listBackups();
+        if (backups.isEmpty()) {
+            sender.sendMessage(ChatColor.YELLOW + "No backups yet. Use /data backup to create one.");
+            return;
+        }
+
+        sender.sendMessage(ChatColor.GOLD + "=== Backups (oldest first) ===");
+        for (String id : backups) {
+            sender.sendMessage(ChatColor.YELLOW + "- " + ChatColor.WHITE + id);
+        }
+    }
+
+    private void handleRestore(CommandSender sender, String[] args) {
+        if (args.length < 2) {
+            sender.sendMessage(ChatColor.RED + "Usage: /data restore <backup>");
+            return;
+        }
+
+        String id = args[1];
+        if (!dataStore.listBackups().contains(id)) {
+            sender.sendMessage(ChatColor.RED + "Unknown backup: " + id + ". Use /data backups to list them.");
+            return;
+        }
+
+        sender.sendMessage(ChatColor.YELLOW + "Restoring backup " + id + "...");
+        dataStore.restoreBackup(id, folder -> {
+            if (folder != null) {
+                sender.sendMessage(ChatColor.GREEN + "✓ Backup restored to " + folder.getPath());
+                sender.sendMessage(ChatColor.GRAY + "Stop the server and copy its contents over the plugin folder to apply it.");
+            } else {
+                sender.sendMessage(ChatColor.RED + "✗ Failed to restore backup. Check console for errors.");
+            }
+        });
+    }
+
+    private void handleExport(CommandSender sender) {
+        String name = "players_" + new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date()) + ".jsonl";
+
+        boolean started = dataStore.exportPlayers(name, result -> {
+            if (result != null) {
+                sender.sendMessage(ChatColor.GREEN + "✓ Exported " + result.records + " players to exports/" + name +
+                        ChatColor.GRAY + " (" + result.millis + "ms, " + result.getRecordsPerSecond() + " records/s)");
+            } else {
+                sender.sendMessage(ChatColor.RED + "✗ Export failed. Check console for errors.");
+            }
+        });
+
+        if (started) {
+            sender.sendMessage(ChatColor.YELLOW + "Exporting player data...");
+        } else {
+            sender.sendMessage(ChatColor.RED + "An export or import is already running.");
+        }
+    }
+
+    private void handleImport(CommandSender sender, String[] args) {
+        if (args.length < 2) {
+            sender.sendMessage(ChatColor.RED + "Usage: /data import <file>");
+            return;
+        }
+
+        String name = args[1];
+        if (!dataStore.listExports().contains(name)) {
+            sender.sendMessage(ChatColor.RED + "Unknown export: " + name + ". Place .jsonl files in the exports folder.");
+            return;
+        }
+
+        boolean started = dataStore.importPlayers(name, result -> {
+            if (result != null) {
+                sender.sendMessage(ChatColor.GREEN + "✓ Imported " + result.records + " players from " + name +
+                        ChatColor.GRAY + " (" + result.millis + "ms, " + result.getRecordsPerSecond() + " records/s, " +
+                        result.invalid + " invalid, " + result.skipped + " online skipped)");
+            } else {
+                sender.sendMessage(ChatColor.RED + "✗ Import failed. Check console for errors.");
+            }
+        });
+
+        if (started) {
+            sender.sendMessage(ChatColor.YELLOW + "Importing player data from " + name + "...");
+        } else {
+            sender.sendMessage(ChatColor.RED + "An export or import is already running.");
+        }
+    }
+
+    private void handleArchive(CommandSender sender) {
+        if (!dataStore.isArchiveEnabled()) {
+            sender.sendMessage(ChatColor.RED + "The cold archive is disabled on this server.");
+            return;
+        }
+
+        boolean started = dataStore.archiveInactive(result -> {
+            if (result != null) {
+                sender.sendMessage(ChatColor.GREEN + "✓ Archived " + result.archived + " inactive players" +
+                        ChatColor.GRAY + " (" + result.millis + "ms, " + result.skipped + " of " + result.candidates +
+                        " candidates skipped)");
+            } else {
+                sender.sendMessage(ChatColor.RED + "✗ Archiving failed. Check console for errors.");
+            }
+        });
+
+        if (started) {
+            sender.sendMessage(ChatColor.YELLOW + "Archiving players inactive for " + plugin.getArchiveAfterDays() + " days...");
+        } else {
+            sender.sendMessage(ChatColor.RED + "An archive pass is already running.");
+        }
+    }
+
+    private void handleBulk(CommandSender sender, String[] args) {
+        if (args.length < 2) {
+            sendBulkUsage(sender);
+            return;
+        }
+
+        switch (args[1].toLowerCase()) {
+            case "status" -> handleBulkStatus(sender);
+            case "resume" -> {
+                BulkJob job = dataStore.resumeBulkJob(progress -> sendBulkProgress(sender, progress),
+                        result -> sendBulkResult(sender, result));
+                if (job != null) {
+                    sender.sendMessage(ChatColor.YELLOW + "Resuming bulk job: " + job.getMutation().describe() +
+                            " (" + job.getProcessed() + " players already done)");
+                } else {
+                    sender.sendMessage(ChatColor.RED + (dataStore.isBulkJobRunning()
+                            ? "A bulk job is already running." : "There is no interrupted bulk job to resume."));
+                }
+            }
+            case "cancel" -> {
+                BulkJob job = dataStore.getBulkJob();
+                if (dataStore.isBulkJobRunning() && job != null) {
+                    job.cancel();
+                    sender.sendMessage(ChatColor.YELLOW + "Stopping after the current batch. Use /data bulk resume to continue it.");
+                } else if (dataStore.discardBulkJob()) {
+                    sender.sendMessage(ChatColor.GREEN + "✓ Discarded the interrupted bulk job. Players it already changed keep the change.");
+                } else {
+                    sender.sendMessage(ChatColor.RED + "There is no bulk job to cancel.");
+                }
+            }
+            default -> {
+                PlayerMutation mutation = parseMutation(args);
+                if (mutation == null) {
+                    sendBulkUsage(sender);
+                    return;
+                }
+
+                boolean skipOnline = args[args.length - 1].equalsIgnoreCase("skip-online");
+                BulkJob job = dataStore.startBulkJob(mutation, skipOnline, progress -> sendBulkProgress(sender, progress),
+                        result -> sendBulkResult(sender, result));
+                if (job != null) {
+                    sender.sendMessage(ChatColor.YELLOW + "Started bulk job: " + mutation.describe() + " for every stored player" +
+                            (skipOnline ? " (online players skipped)" : ""));
+                } else {
+                    sender.sendMessage(ChatColor.RED + (dataStore.isBulkJobRunning() ? "A bulk job is already running."
+                            : "An interrupted bulk job is waiting. Use /data bulk resume or /data bulk cancel first."));
+                }
+            }
+        }
+    }
+
+    /**
+     * /data bulk mana [amount] | remap <from> <to> | clamp <level>, optionally followed by skip-online
+     */
+    private PlayerMutation parseMutation(String[] args) {
+        List<String> params = new ArrayList<>(Arrays.asList(args).subList(2, args.length));
+        params.removeIf(arg -> arg.equalsIgnoreCase("skip-online"));
+
+        try {
+            return switch (args[1].toLowerCase()) {
+                case "mana" -> params.size() <= 1
+                        ? PlayerMutation.setMana(params.isEmpty() ? plugin.getMaxMana() : Integer.parseInt(params.get(0))) : null;
+                case "remap" -> params.size() == 2 ? PlayerMutation.remapElement(
+                        ElementType.valueOf(params.get(0).toUpperCase()), ElementType.valueOf(params.get(1).toUpperCase())) : null;
+                case "clamp" -> params.size() == 1 ? PlayerMutation.clampLevel(Integer.parseInt(params.get(0))) : null;
+                default -> null;
+            };
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void handleBulkStatus(CommandSender sender) {
+        BulkJob job = dataStore.getBulkJob();
+        if (job == null) {
+            sender.sendMessage(ChatColor.YELLOW + "No bulk job is running.");
+            return;
+        }
+
+        String state = dataStore.isBulkJobRunning() ? (job.isCancelled() ? "stopping" : "running") : "interrupted";
+        sender.sendMessage(ChatColor.GOLD + "=== Bulk Job (" + state + ") ===");
+        sender.sendMessage(ChatColor.YELLOW + "Change: " + ChatColor.WHITE + job.getMutation().describe() +
+                (job.isSkipOnline() ? ChatColor.GRAY + " (online players skipped)" : ""));
+        sender.sendMessage(ChatColor.YELLOW + "Progress: " + ChatColor.WHITE + job.getProcessed() +
+                (job.getTotal() > 0 ? "/" + job.getTotal() + " (" + job.getPercent() + "%)" : "") +
+                ChatColor.GRAY + " (" + job.getChanged() + " changed, " + job.getSkipped() + " skipped)");
+    }
+
+    private void sendBulkProgress(CommandSender sender, BulkJob job) {
+        sender.sendMessage(ChatColor.GRAY + "Bulk job: " + job.getProcessed() + "/" + job.getTotal() +
+                " (" + job.getPercent() + "%), " + job.getChanged() + " changed");
+    }
 
-        if (success) {
-            sender.sendMessage(ChatColor.GREEN + "✓ Backup created successfully!");
+    private void sendBulkResult(CommandSender sender, BulkJob job) {
+        if (job == null) {
+            sender.sendMessage(ChatColor.RED + "✗ Bulk job failed. Check console for errors, then /data bulk resume.");
+        } else if (job.isFinished()) {
+            sender.sendMessage(ChatColor.GREEN + "✓ Bulk job finished: " + job.getChanged() + " of " + job.getTotal() +
+                    " players changed" + ChatColor.GRAY + " (" + job.getSkipped() + " online skipped, " +
+                    job.getElapsedMillis() / 1000 + "s)");
         } else {
-            sender.sendMessage(ChatColor.RED + "✗ Failed to create backup. Check console for errors.");
+            sender.sendMessage(ChatColor.YELLOW + "Bulk job stopped at " + job.getProcessed() + "/" + job.getTotal() +
+                    ". Use /data bulk resume to continue.");
         }
     }
 
+    private void sendBulkUsage(CommandSender sender) {
+        sender.sendMessage(ChatColor.RED + "Usage: /data bulk <mana [amount]|remap <from> <to>|clamp <level>> [skip-online]");
+        sender.sendMessage(ChatColor.RED + "       /data bulk <status|resume|cancel>");
+    }
+
     private void handleStats(CommandSender sender) {
         sender.sendMessage(ChatColor.GOLD + "=== Data Store Statistics ===");
 
         Map<String, Object> stats = dataStore.getStatistics();
 
-        sender.sendMessage(ChatColor.YELLOW + "Cached Players: " + ChatColor.WHITE + stats.get("cached_players"));
+        sender.sendMessage(ChatColor.YELLOW + "Storage: " + ChatColor.WHITE + stats.get("storage_backend"));
+        sender.sendMessage(ChatColor.YELLOW + "Cached Players: " + ChatColor.WHITE + stats.get("cached_players") +
+                "/" + stats.get("cache_max_size") + ChatColor.GRAY + String.format(" (%.1f%% hits, ", (Double) stats.get("cache_hit_rate")) +
+                stats.get("cache_evictions") + " evicted, " + stats.get("cache_write_backs") + " written back)");
+        BoundedCache<UUID, TrustData> trustCache = plugin.getTrustManager().getCache();
+        sender.sendMessage(ChatColor.YELLOW + "Cached Trust: " + ChatColor.WHITE + trustCache.size() +
+                "/" + trustCache.getMaxSize() + ChatColor.GRAY + String.format(" (%.1f%% hits, ", trustCache.getHitRate()) +
+                trustCache.getEvictionCount() + " evicted, " + trustCache.getWriteBackCount() + " written back)");
+        TrustJournal trustJournal = plugin.getTrustManager().getJournal();
+        sender.sendMessage(ChatColor.YELLOW + "Trust Log: " + ChatColor.WHITE + trustJournal.getSize() / 1024 + " KB" +
+                ChatColor.GRAY + " (" + trustJournal.getRecordedCount() + " events, " + trustJournal.getSyncCount() +
+                " syncs, " + trustJournal.getCompactionCount() + " compactions, " +
+                trustJournal.getUncompactedPlayerCount() + " players pending)");
+        TrustGraph trustGraph = plugin.getTrustManager().getGraph();
+        sender.sendMessage(ChatColor.YELLOW + "Trust Graph: " + ChatColor.WHITE + trustGraph.getEdgeCount() +
+                " relationships" + ChatColor.GRAY + " (" + trustGraph.getPlayerCount() + " players)");
+        sender.sendMessage(ChatColor.YELLOW + "Timers: " + ChatColor.WHITE + plugin.getTimingWheel().getPendingCount() +
+                " pending" + ChatColor.GRAY + " (tick " + plugin.getTimingWheel().getCurrentTick() + ")");
+        EffectEngine effects = plugin.getEffectEngine();
+        sender.sendMessage(ChatColor.YELLOW + "Effects: " + ChatColor.WHITE + effects.getActiveCount() +
+                " active" + ChatColor.GRAY + " (" + effects.getOverrunCount() + " over budget, " +
+                effects.getDeferredCount() + " deferred)");
+        ParticleService particles = plugin.getParticleService();
+        sender.sendMessage(ChatColor.YELLOW + "Particles: " + ChatColor.WHITE + particles.getEmittedCount() +
+                " sent" + ChatColor.GRAY + " (" + particles.getSubmittedCount() + " requested, " +
+                particles.getMergedCount() + " merged, " + particles.getDroppedCount() + " over budget, " +
+                particles.getThinnedCount() + " thinned by distance)");
+        EntityGrid entityGrid = plugin.getEntityGrid();
+        sender.sendMessage(ChatColor.YELLOW + "Entity Grid: " + ChatColor.WHITE + entityGrid.getQueryCount() +
+                " queries" + ChatColor.GRAY + " (" + entityGrid.getZoneLoadCount() + " zone scans, " +
+                entityGrid.getIndexedCount() + " entities indexed this tick)");
+        LineOfSightService lineOfSight = plugin.getLineOfSight();
+        sender.sendMessage(ChatColor.YELLOW + "Line of Sight: " + ChatColor.WHITE +
+                String.format("%.1f%%", lineOfSight.getHitRate() * 100) + " hit rate" + ChatColor.GRAY + " (" +
+                lineOfSight.getHitCount() + " hits, " + lineOfSight.getStaleHitCount() + " stale, " +
+                lineOfSight.getMissCount() + " misses, " + lineOfSight.getTraceCount() + " traces, " +
+                lineOfSight.getCachedCount() + " cached)");
         sender.sendMessage(ChatColor.YELLOW + "Unsaved Changes: " + ChatColor.WHITE + stats.get("dirty_players"));
         sender.sendMessage(ChatColor.YELLOW + "Last Save: " + ChatColor.WHITE + stats.get("last_save"));
-        sender.sendMessage(ChatColor.YELLOW + "File Size: " + ChatColor.WHITE +
-                (Long) stats.get("player_file_size") / 1024 + " KB");
-        sender.sendMessage(ChatColor.YELLOW + "Backups: " + ChatColor.WHITE + stats.get("backup_count"));
+        sender.sendMessage(ChatColor.YELLOW + "Stored Players: " + ChatColor.WHITE + stats.get("stored_players") +
+                ChatColor.GRAY + " (" + stats.get("indexed_players") + " indexed)");
+        sender.sendMessage(ChatColor.YELLOW + "Data Size: " + ChatColor.WHITE +
+                (Long) stats.get("player_data_size") / 1024 + " KB");
+        if (stats.containsKey("archived_players")) {
+            sender.sendMessage(ChatColor.YELLOW + "Cold Archive: " + ChatColor.WHITE + stats.get("archived_players") +
+                    " players" + ChatColor.GRAY + " (" + (Long) stats.get("archive_size") / 1024 + " KB, " +
+                    stats.get("archive_moved") + " archived, " + stats.get("archive_restored") + " restored)");
+        }
+        sender.sendMessage(ChatColor.YELLOW + "Backups: " + ChatColor.WHITE + stats.get("backup_count") +
+                ChatColor.GRAY + " (" + (Long) stats.get("backup_total_size") / 1024 + " KB" +
+                (stats.containsKey("last_backup_id") ? ", last " + stats.get("last_backup_id") + ": " +
+                        stats.get("last_backup_files") + " files, " + (Long) stats.get("last_backup_bytes") / 1024 +
+                        " KB in " + stats.get("last_backup_millis") + "ms" : "") + ")");
+        sender.sendMessage(ChatColor.YELLOW + "Write Queue: " + ChatColor.WHITE + stats.get("write_queue_depth") +
+                ChatColor.GRAY + " (" + stats.get("writes_completed") + "/" + stats.get("writes_submitted") +
+                " written in " + stats.get("write_batches") + " batches, " + stats.get("write_failures") + " failed)");
+        sender.sendMessage(ChatColor.YELLOW + "Write Latency: " + ChatColor.WHITE +
+                stats.get("write_avg_micros") + "µs avg, " + stats.get("write_max_micros") + "µs max");
+        PlayerPrefetcher prefetcher = plugin.getPlayerPrefetcher();
+        sender.sendMessage(ChatColor.YELLOW + "Join Prefetch: " + ChatColor.WHITE +
+                String.format("%.1f%% warm", prefetcher.getHitRate()) + ChatColor.GRAY + " (" +
+                prefetcher.getHitCount() + " hits, " + prefetcher.getMissCount() + " misses, " +
+                prefetcher.getAveragePrefetchMicros() + "µs avg load)");
+        ClusterSync cluster = plugin.getClusterSync();
+        if (cluster != null) {
+            sender.sendMessage(ChatColor.YELLOW + "Cluster: " + ChatColor.WHITE + "node " + cluster.getNodeId() +
+                    ChatColor.GRAY + " (" + cluster.getPublishedCount() + " published, " + cluster.getReceivedCount() +
+                    " received, " + cluster.getInvalidatedCount() + " invalidated, " + cluster.getIgnoredCount() +
+                    " ignored, " + cluster.getPublishFailureCount() + " failed)");
+        }
+        if (stats.containsKey("journal_size")) {
+            sender.sendMessage(ChatColor.YELLOW + "Journal: " + ChatColor.WHITE +
+                    (Long) stats.get("journal_size") / 1024 + " KB" + ChatColor.GRAY + " (" +
+                    stats.get("journal_records") + " records, " + stats.get("journal_syncs") + " syncs, " +
+                    stats.get("journal_compactions") + " compactions)");
+        }
+
+        // Population and balance counters (all O(1) reads)
+        ElementStats elementStats = dataStore.getStats();
+        PlayerIndex index = dataStore.getIndex();
+        sender.sendMessage(ChatColor.GOLD + "=== Elements " + ChatColor.GRAY + "(online / stored by level, rerolls in/out, casts)" +
+                ChatColor.GOLD + " ===");
+        for (ElementType type : ElementType.values()) {
+            sender.sendMessage(ChatColor.YELLOW + type.name() + ": " + ChatColor.WHITE +
+                    elementStats.getOnline(type, -1) + " / " + index.count(type, -1) + ChatColor.GRAY + " [" +
+                    index.count(type, 0) + "/" + index.count(type, 1) + "/" + index.count(type, 2) + "], " +
+                    elementStats.getRerollsTo(type) + "/" + elementStats.getRerollsFrom(type) + " rerolls, " +
+                    elementStats.getCasts(type, 1) + "+" + elementStats.getCasts(type, 2) + " casts, " +
+                    elementStats.getUpgrades(type, 1) + "/" + elementStats.getUpgrades(type, 2) + " upgrades");
+        }
+        sender.sendMessage(ChatColor.YELLOW + "Rerolls: " + ChatColor.WHITE + elementStats.getRerolls() + ChatColor.GRAY +
+                " (" + elementStats.getBasicRerolls() + " basic, " + elementStats.getAdvancedRerolls() + " advanced)");
     }
 
     private void handleReload(CommandSender sender) {
@@ -93,6 +427,12 @@ public class DataCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(ChatColor.GOLD + "=== Data Management Commands ===");
         sender.sendMessage(ChatColor.YELLOW + "/data save " + ChatColor.GRAY + "- Force save all player data");
         sender.sendMessage(ChatColor.YELLOW + "/data backup " + ChatColor.GRAY + "- Create a manual backup");
+        sender.sendMessage(ChatColor.YELLOW + "/data backups " + ChatColor.GRAY + "- List backups");
+        sender.sendMessage(ChatColor.YELLOW + "/data restore <backup> " + ChatColor.GRAY + "- Restore a backup to the restore folder");
+        sender.sendMessage(ChatColor.YELLOW + "/data export " + ChatColor.GRAY + "- Export all players to the exports folder");
+        sender.sendMessage(ChatColor.YELLOW + "/data import <file> " + ChatColor.GRAY + "- Import players from the exports folder");
+        sender.sendMessage(ChatColor.YELLOW + "/data archive " + ChatColor.GRAY + "- Move inactive players to the cold archive now");
+        sender.sendMessage(ChatColor.YELLOW + "/data bulk <change> " + ChatColor.GRAY + "- Apply a change to every stored player");
         sender.sendMessage(ChatColor.YELLOW + "/data stats " + ChatColor.GRAY + "- View data store statistics");
     }
 
@@ -103,12 +443,37 @@ public class DataCommand implements CommandExecutor, TabCompleter {
         }
 
         if (args.length == 1) {
-            List<String> subcommands = Arrays.asList("save", "backup", "stats");
+            List<String> subcommands = Arrays.asList("save", "backup", "backups", "restore", "export", "import", "archive", "bulk", "stats");
             return subcommands.stream()
                     .filter(s -> s.toLowerCase().startsWith(args[0].toLowerCase()))
                     .toList();
         }
 
+        if (args.length == 2 && args[0].equalsIgnoreCase("import")) {
+            return dataStore.listExports().stream()
+                    .filter(name -> name.startsWith(args[1]))
+                    .toList();
+        }
+
+        if (args[0].equalsIgnoreCase("bulk")) {
+            List<String> options = switch (args.length) {
+                case 2 -> Arrays.asList("mana", "remap", "clamp", "status", "resume", "cancel");
+                case 3, 4 -> args[1].equalsIgnoreCase("remap")
+                        ? Arrays.stream(ElementType.values()).map(Enum::name).toList()
+                        : List.of("skip-online");
+                default -> List.of("skip-online");
+            };
+            return options.stream()
+                    .filter(option -> option.toLowerCase().startsWith(args[args.length - 1].toLowerCase()))
+                    .toList();
+        }
+
+        if (args.length == 2 && args[0].equalsIgnoreCase("restore")) {
+            return dataStore.listBackups().stream()
+                    .filter(id -> id.startsWith(args[1]))
+                    .toList();
+        }
+
         return new ArrayList<>();
     }
 }
\ No newline at end of file
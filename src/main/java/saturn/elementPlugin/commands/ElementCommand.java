@@ -2,10 +2,12 @@ package saturn.elementPlugin.commands;
 
 import saturn.elementPlugin.ElementPlugin;
 import saturn.elementPlugin.data.DataStore;
+import saturn.elementPlugin.data.PlayerIndex;
 import saturn.elementPlugin.elements.ElementType;
 import saturn.elementPlugin.managers.ElementManager;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -16,6 +18,8 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 public class ElementCommand implements CommandExecutor, TabCompleter {
+    private static final int LIST_PAGE_SIZE = 10;
+
     private final ElementPlugin plugin;
     private final DataStore dataStore;
     private final ElementManager elementManager;
@@ -32,6 +36,7 @@ public class ElementCommand implements CommandExecutor, TabCompleter {
         Map<String, SubCommand> commands = new HashMap<>();
         commands.put("set", new SetCommand());
         commands.put("debug", new DebugCommand());
+        commands.put("list", new ListCommand());
         return commands;
     }
 
@@ -60,6 +65,7 @@ public class ElementCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(ChatColor.GOLD + "=== Element Admin Commands ===");
         sender.sendMessage(ChatColor.YELLOW + "/element set <player> <element> - Set player's element");
         sender.sendMessage(ChatColor.YELLOW + "/element debug <player> - Debug player's element data");
+        sender.sendMessage(ChatColor.YELLOW + "/element list <element> [level] [page] - List players with an element");
     }
 
     @Override
@@ -72,14 +78,19 @@ public class ElementCommand implements CommandExecutor, TabCompleter {
             case 1 -> filterStartingWith(subCommands.keySet(), args[0]);
             case 2 -> {
                 String subCmd = args[0].toLowerCase();
+                if (subCmd.equals("list")) {
+                    yield filterStartingWith(getElementNames(), args[1]);
+                }
                 if (subCommands.containsKey(subCmd)) {
                     yield getOnlinePlayerNames(args[1]);
                 }
                 yield Collections.emptyList();
             }
-            case 3 -> args[0].equalsIgnoreCase("set") ?
-                    filterStartingWith(getElementNames(), args[2]) :
-                    Collections.emptyList();
+            case 3 -> {
+                if (args[0].equalsIgnoreCase("set")) yield filterStartingWith(getElementNames(), args[2]);
+                if (args[0].equalsIgnoreCase("list")) yield filterStartingWith(List.of("any", "0", "1", "2"), args[2]);
+                yield Collections.emptyList();
+            }
             default -> Collections.emptyList();
         };
     }
@@ -103,6 +114,14 @@ public class ElementCommand implements CommandExecutor, TabCompleter {
                 .collect(Collectors.toList());
     }
 
+    private Optional<ElementType> parseElementType(String input) {
+        try {
+            return Optional.of(ElementType.valueOf(input.toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     // Inner classes for sub-commands
     private interface SubCommand {
         boolean execute(CommandSender sender, String[] args);
@@ -137,14 +156,6 @@ public class ElementCommand implements CommandExecutor, TabCompleter {
 
             return true;
         }
-
-        private Optional<ElementType> parseElementType(String input) {
-            try {
-                return Optional.of(ElementType.valueOf(input.toUpperCase()));
-            } catch (IllegalArgumentException e) {
-                return Optional.empty();
-            }
-        }
     }
 
     private class DebugCommand implements SubCommand {
@@ -175,4 +186,76 @@ public class ElementCommand implements CommandExecutor, TabCompleter {
             return true;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Pages through the player index - works for offline players and never loads their records
+     */
+    private class ListCommand implements SubCommand {
+        @Override
+        public boolean execute(CommandSender sender, String[] args) {
+            if (args.length < 2) {
+                sender.sendMessage(ChatColor.RED + "Usage: /element list <element> [level|any] [page]");
+                return true;
+            }
+
+            Optional<ElementType> elementType = parseElementType(args[1]);
+            if (elementType.isEmpty()) {
+                sender.sendMessage(ChatColor.RED + "Invalid element. Valid: " + String.join(", ", getElementNames()));
+                return true;
+            }
+
+            int level = -1;
+            if (args.length >= 3 && !args[2].equalsIgnoreCase("any")) {
+                try {
+                    level = Integer.parseInt(args[2]);
+                } catch (NumberFormatException e) {
+                    level = -2;
+                }
+                if (level < 0 || level > PlayerIndex.MAX_LEVEL) {
+                    sender.sendMessage(ChatColor.RED + "Level must be 0-" + PlayerIndex.MAX_LEVEL + " or 'any'.");
+                    return true;
+                }
+            }
+
+            int page = 1;
+            if (args.length >= 4) {
+                try {
+                    page = Math.max(1, Integer.parseInt(args[3]));
+                } catch (NumberFormatException e) {
+                    sender.sendMessage(ChatColor.RED + "Invalid page: " + args[3]);
+                    return true;
+                }
+            }
+
+            PlayerIndex index = dataStore.getIndex();
+            ElementType element = elementType.get();
+            int total = index.count(element, level);
+            int pages = Math.max(1, (total + LIST_PAGE_SIZE - 1) / LIST_PAGE_SIZE);
+            String levelLabel = level < 0 ? "any level" : "upgrade " + level;
+
+            sender.sendMessage(ChatColor.GOLD + "=== " + element.name() + " (" + levelLabel + ") - " + total +
+                    " players, page " + page + "/" + pages + " ===");
+            if (!index.isReady()) {
+                sender.sendMessage(ChatColor.GRAY + "The player index is still being built, results may be incomplete.");
+            }
+
+            List<UUID> players = index.query(element, level, (page - 1) * LIST_PAGE_SIZE, LIST_PAGE_SIZE);
+            if (players.isEmpty()) {
+                sender.sendMessage(ChatColor.GRAY + "No players.");
+                return true;
+            }
+
+            for (UUID uuid : players) {
+                OfflinePlayer player = Bukkit.getOfflinePlayer(uuid);
+                String name = player.getName() != null ? player.getName() : uuid.toString();
+                sender.sendMessage(ChatColor.YELLOW + "- " + (player.isOnline() ? ChatColor.GREEN : ChatColor.WHITE) + name);
+            }
+
+            if (page < pages) {
+                sender.sendMessage(ChatColor.GRAY + "Next: /element list " + element.name().toLowerCase() + " " +
+                        (level < 0 ? "any" : String.valueOf(level)) + " " + (page + 1));
+            }
+            return true;
+        }
+    }
+}
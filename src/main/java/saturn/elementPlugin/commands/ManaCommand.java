@@ -61,7 +61,7 @@ public class ManaCommand implements CommandExecutor {
             }
 
             Player player = target.get();
-            manaManager.get(player.getUniqueId()).setMana(MAX_MANA);
+            manaManager.setMana(player.getUniqueId(), MAX_MANA);
 
             sendSuccessMessages(sender, player, "reset to " + MAX_MANA);
         }
@@ -76,7 +76,7 @@ public class ManaCommand implements CommandExecutor {
                 return;
             }
 
-            manaManager.get(context.target.getUniqueId()).setMana(context.amount);
+            manaManager.setMana(context.target.getUniqueId(), context.amount);
             sendSuccessMessages(sender, context.target, "set to " + context.amount);
         }
 
@@ -0,0 +1,369 @@
+package saturn.elementPlugin.commands;
+
+import saturn.elementPlugin.data.TeamData;
+import saturn.elementPlugin.managers.TeamManager;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Command handler for teams
+ * /team create <name> - Create a team
+ * /team invite <team> <player> - Invite a player (owner only)
+ * /team join <team> - Accept an invite
+ * /team leave <team> - Leave a team
+ * /team kick <team> <player> - Remove a member (owner only)
+ * /team disband <team> - Delete a team (owner only)
+ * /team list - List your teams
+ * /team info <team> - Show a team's members
+ */
+public class TeamCommand implements CommandExecutor, TabCompleter {
+    private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z0-9_]{2,16}");
+
+    private final TeamManager teamManager;
+
+    public TeamCommand(TeamManager teamManager) {
+        this.teamManager = teamManager;
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (!(sender instanceof Player player)) {
+            sender.sendMessage(ChatColor.RED + "Only players can use this command!");
+            return true;
+        }
+
+        if (args.length == 0) {
+            sendHelp(player);
+            return true;
+        }
+
+        switch (args[0].toLowerCase()) {
+            case "create" -> handleCreate(player, args);
+            case "invite" -> handleInvite(player, args);
+            case "join" -> handleJoin(player, args);
+            case "leave" -> handleLeave(player, args);
+            case "kick" -> handleKick(player, args);
+            case "disband" -> handleDisband(player, args);
+            case "list" -> handleList(player);
+            case "info" -> handleInfo(player, args);
+            default -> {
+                player.sendMessage(ChatColor.RED + "Unknown command. Use /team for help.");
+                sendHelp(player);
+            }
+        }
+
+        return true;
+    }
+
+    private void handleCreate(Player player, String[] args) {
+        if (args.length < 2) {
+            player.sendMessage(ChatColor.RED + "Usage: /team create <name>");
+            return;
+        }
+
+        String name = args[1];
+        if (!NAME_PATTERN.matcher(name).matches()) {
+            player.sendMessage(ChatColor.RED + "Team names are 2-16 letters, numbers or underscores.");
+            return;
+        }
+
+        if (teamManager.getTeamCount(player.getUniqueId()) >= TeamManager.MAX_TEAMS_PER_PLAYER) {
+            player.sendMessage(ChatColor.RED + "You can be in at most " + TeamManager.MAX_TEAMS_PER_PLAYER + " teams!");
+            return;
+        }
+
+        TeamData team = teamManager.create(name, player.getUniqueId());
+        if (team == null) {
+            player.sendMessage(ChatColor.RED + "A team named '" + name + "' already exists!");
+            return;
+        }
+
+        player.sendMessage(ChatColor.GREEN + "Team " + ChatColor.AQUA + team.getName() + ChatColor.GREEN + " created!");
+        player.sendMessage(ChatColor.GRAY + "Use " + ChatColor.WHITE + "/team invite " + team.getName() + " <player>" +
+                ChatColor.GRAY + " to add members.");
+    }
+
+    private void handleInvite(Player player, String[] args) {
+        if (args.length < 3) {
+            player.sendMessage(ChatColor.RED + "Usage: /team invite <team> <player>");
+            return;
+        }
+
+        TeamData team = getOwnedTeam(player, args[1]);
+        if (team == null) return;
+
+        Player target = Bukkit.getPlayer(args[2]);
+        if (target == null) {
+            player.sendMessage(ChatColor.RED + "Player '" + args[2] + "' not found!");
+            return;
+        }
+
+        if (team.isMember(target.getUniqueId())) {
+            player.sendMessage(ChatColor.RED + target.getName() + " is already in " + team.getName() + "!");
+            return;
+        }
+
+        if (team.size() >= TeamManager.MAX_TEAM_SIZE) {
+            player.sendMessage(ChatColor.RED + team.getName() + " is full (" + TeamManager.MAX_TEAM_SIZE + " members)!");
+            return;
+        }
+
+        teamManager.invite(team, target.getUniqueId());
+        player.sendMessage(ChatColor.GREEN + "Invited " + ChatColor.AQUA + target.getName() + ChatColor.GREEN +
+                " to " + team.getName() + "!");
+
+        target.sendMessage(Component.text(player.getName() + " invited you to team " + team.getName() + " ")
+                .color(NamedTextColor.YELLOW)
+                .append(Component.text("[JOIN]").color(NamedTextColor.GREEN)
+                        .clickEvent(ClickEvent.runCommand("/team join " + team.getName()))
+                        .hoverEvent(HoverEvent.showText(Component.text("Join " + team.getName()).color(NamedTextColor.GREEN)))));
+    }
+
+    private void handleJoin(Player player, String[] args) {
+        if (args.length < 2) {
+            player.sendMessage(ChatColor.RED + "Usage: /team join <team>");
+            return;
+        }
+
+        TeamData team = teamManager.getTeam(args[1]);
+        if (team == null || !teamManager.hasInvite(player.getUniqueId(), team)) {
+            player.sendMessage(ChatColor.RED + "You don't have an invite to '" + args[1] + "'!");
+            return;
+        }
+
+        if (teamManager.getTeamCount(player.getUniqueId()) >= TeamManager.MAX_TEAMS_PER_PLAYER) {
+            player.sendMessage(ChatColor.RED + "You can be in at most " + TeamManager.MAX_TEAMS_PER_PLAYER + " teams!");
+            return;
+        }
+
+        if (team.size() >= TeamManager.MAX_TEAM_SIZE) {
+            player.sendMessage(ChatColor.RED + team.getName() + " is full!");
+            return;
+        }
+
+        teamManager.join(team, player.getUniqueId());
+        player.sendMessage(ChatColor.GREEN + "You joined " + ChatColor.AQUA + team.getName() + ChatColor.GREEN + "!");
+        notifyMembers(team, player, ChatColor.AQUA + player.getName() + ChatColor.GREEN + " joined " + team.getName() + ".");
+    }
+
+    private void handleLeave(Player player, String[] args) {
+        if (args.length < 2) {
+            player.sendMessage(ChatColor.RED + "Usage: /team leave <team>");
+            return;
+        }
+
+        TeamData team = teamManager.getTeam(args[1]);
+        if (team == null || !team.isMember(player.getUniqueId())) {
+            player.sendMessage(ChatColor.RED + "You are not in a team named '" + args[1] + "'!");
+            return;
+        }
+
+        teamManager.leave(team, player.getUniqueId());
+        player.sendMessage(ChatColor.YELLOW + "You left " + team.getName() + ".");
+        notifyMembers(team, player, ChatColor.YELLOW + player.getName() + " left " + team.getName() + ".");
+    }
+
+    private void handleKick(Player player, String[] args) {
+        if (args.length < 3) {
+            player.sendMessage(ChatColor.RED + "Usage: /team kick <team> <player>");
+            return;
+        }
+
+        TeamData team = getOwnedTeam(player, args[1]);
+        if (team == null) return;
+
+        UUID targetUuid = findMember(team, args[2]);
+        if (targetUuid == null) {
+            player.sendMessage(ChatColor.RED + "'" + args[2] + "' is not in " + team.getName() + "!");
+            return;
+        }
+
+        if (targetUuid.equals(player.getUniqueId())) {
+            player.sendMessage(ChatColor.RED + "Use /team leave or /team disband instead.");
+            return;
+        }
+
+        teamManager.leave(team, targetUuid);
+        player.sendMessage(ChatColor.YELLOW + "Removed " + args[2] + " from " + team.getName() + ".");
+
+        Player target = Bukkit.getPlayer(targetUuid);
+        if (target != null) {
+            target.sendMessage(ChatColor.YELLOW + "You were removed from " + team.getName() + ".");
+        }
+    }
+
+    private void handleDisband(Player player, String[] args) {
+        if (args.length < 2) {
+            player.sendMessage(ChatColor.RED + "Usage: /team disband <team>");
+            return;
+        }
+
+        TeamData team = getOwnedTeam(player, args[1]);
+        if (team == null) return;
+
+        notifyMembers(team, player, ChatColor.YELLOW + team.getName() + " was disbanded by " + player.getName() + ".");
+        teamManager.disband(team);
+        player.sendMessage(ChatColor.YELLOW + "Team " + team.getName() + " disbanded.");
+    }
+
+    private void handleList(Player player) {
+        List<TeamData> teams = teamManager.getTeams(player.getUniqueId());
+        if (teams.isEmpty()) {
+            player.sendMessage(ChatColor.YELLOW + "You are not in any team.");
+            player.sendMessage(ChatColor.GRAY + "Use " + ChatColor.WHITE + "/team create <name>" + ChatColor.GRAY + " to start one.");
+            return;
+        }
+
+        player.sendMessage(Component.text("━━━ Your Teams ━━━").color(NamedTextColor.GOLD));
+        for (TeamData team : teams) {
+            Component line = Component.text("• ").color(NamedTextColor.GRAY)
+                    .append(Component.text(team.getName()).color(NamedTextColor.AQUA)
+                            .clickEvent(ClickEvent.runCommand("/team info " + team.getName()))
+                            .hoverEvent(HoverEvent.showText(Component.text("Show members").color(NamedTextColor.GRAY))))
+                    .append(Component.text(" (" + team.size() + " members)").color(NamedTextColor.GRAY));
+            if (team.isOwner(player.getUniqueId())) {
+                line = line.append(Component.text(" ✦").color(NamedTextColor.GOLD)
+                        .hoverEvent(HoverEvent.showText(Component.text("Owner").color(NamedTextColor.GOLD))));
+            }
+            player.sendMessage(line);
+        }
+    }
+
+    private void handleInfo(Player player, String[] args) {
+        if (args.length < 2) {
+            player.sendMessage(ChatColor.RED + "Usage: /team info <team>");
+            return;
+        }
+
+        TeamData team = teamManager.getTeam(args[1]);
+        if (team == null) {
+            player.sendMessage(ChatColor.RED + "No team named '" + args[1] + "'!");
+            return;
+        }
+
+        player.sendMessage(Component.text("━━━ " + team.getName() + " ━━━").color(NamedTextColor.GOLD));
+        for (UUID uuid : team.getMembers()) {
+            Player p = Bukkit.getPlayer(uuid);
+            String name = nameOf(uuid);
+
+            Component line = Component.text("• ").color(NamedTextColor.GRAY)
+                    .append(Component.text(name).color(p != null ? NamedTextColor.AQUA : NamedTextColor.DARK_GRAY));
+            if (team.isOwner(uuid)) {
+                line = line.append(Component.text(" ✦").color(NamedTextColor.GOLD));
+            }
+            player.sendMessage(line);
+        }
+        player.sendMessage(Component.text("Total: " + team.size() + " member(s)").color(NamedTextColor.GRAY));
+    }
+
+    // ========================================
+    // HELPERS
+    // ========================================
+
+    /**
+     * Look up a team the player owns, telling them why if they don't
+     */
+    private TeamData getOwnedTeam(Player player, String name) {
+        TeamData team = teamManager.getTeam(name);
+        if (team == null || !team.isMember(player.getUniqueId())) {
+            player.sendMessage(ChatColor.RED + "You are not in a team named '" + name + "'!");
+            return null;
+        }
+        if (!team.isOwner(player.getUniqueId())) {
+            player.sendMessage(ChatColor.RED + "Only the owner of " + team.getName() + " can do that!");
+            return null;
+        }
+        return team;
+    }
+
+    private UUID findMember(TeamData team, String name) {
+        for (UUID uuid : team.getMembers()) {
+            if (nameOf(uuid).equalsIgnoreCase(name)) return uuid;
+        }
+        return null;
+    }
+
+    private String nameOf(UUID uuid) {
+        OfflinePlayer offline = Bukkit.getOfflinePlayer(uuid);
+        return offline.getName() != null ? offline.getName() : uuid.toString();
+    }
+
+    private void notifyMembers(TeamData team, Player except, String message) {
+        for (UUID uuid : team.getMembers()) {
+            Player member = Bukkit.getPlayer(uuid);
+            if (member != null && !member.equals(except)) {
+                member.sendMessage(message);
+            }
+        }
+    }
+
+    private void sendHelp(Player player) {
+        player.sendMessage(ChatColor.GOLD + "=== Team Commands ===");
+        player.sendMessage(ChatColor.YELLOW + "/team create <name> " + ChatColor.GRAY + "- Create a team");
+        player.sendMessage(ChatColor.YELLOW + "/team invite <team> <player> " + ChatColor.GRAY + "- Invite a player");
+        player.sendMessage(ChatColor.YELLOW + "/team join <team> " + ChatColor.GRAY + "- Accept an invite");
+        player.sendMessage(ChatColor.YELLOW + "/team leave <team> " + ChatColor.GRAY + "- Leave a team");
+        player.sendMessage(ChatColor.YELLOW + "/team kick <team> <player> " + ChatColor.GRAY + "- Remove a member");
+        player.sendMessage(ChatColor.YELLOW + "/team disband <team> " + ChatColor.GRAY + "- Delete your team");
+        player.sendMessage(ChatColor.YELLOW + "/team list " + ChatColor.GRAY + "- List your teams");
+        player.sendMessage(ChatColor.YELLOW + "/team info <team> " + ChatColor.GRAY + "- Show a team's members");
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String label, String[] args) {
+        if (!(sender instanceof Player player)) {
+            return new ArrayList<>();
+        }
+
+        if (args.length == 1) {
+            return filter(Arrays.asList("create", "invite", "join", "leave", "kick", "disband", "list", "info"), args[0]);
+        }
+
+        String sub = args[0].toLowerCase();
+        if (args.length == 2) {
+            List<String> names = new ArrayList<>();
+            switch (sub) {
+                case "invite", "leave", "kick", "disband" -> {
+                    for (TeamData team : teamManager.getTeams(player.getUniqueId())) names.add(team.getName());
+                }
+                case "join", "info" -> {
+                    for (TeamData team : teamManager.getTeams()) names.add(team.getName());
+                }
+                default -> { }
+            }
+            return filter(names, args[1]);
+        }
+
+        if (args.length == 3 && (sub.equals("invite") || sub.equals("kick"))) {
+            List<String> names = new ArrayList<>();
+            TeamData team = teamManager.getTeam(args[1]);
+            if (team != null && sub.equals("kick")) {
+                for (UUID uuid : team.getMembers()) names.add(nameOf(uuid));
+            } else {
+                for (Player p : Bukkit.getOnlinePlayers()) names.add(p.getName());
+            }
+            return filter(names, args[2]);
+        }
+
+        return new ArrayList<>();
+    }
+
+    private List<String> filter(List<String> options, String prefix) {
+        return options.stream()
+                .filter(s -> s.toLowerCase().startsWith(prefix.toLowerCase()))
+                .toList();
+    }
+}
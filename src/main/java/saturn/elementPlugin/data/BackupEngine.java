@@ -0,0 +1,427 @@
+package saturn.elementPlugin.data;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Incremental, compressed backups of every plugin data file.
+ *
+ * Each backup is a directory under data/backups named <timestamp>-full or <timestamp>-incr.
+ * A full backup stores every file; an incremental one only stores files whose SHA-256
+ * differs from the last full backup. Files are stored gzip-compressed as <path>.gz.
+ * Every backup has a manifest listing all files that existed at that point, with their
+ * hash, size and the backup that holds the content, so any backup can be restored from
+ * its full backup plus itself. Backups are written to a .partial directory first and
+ * only renamed into place once complete.
+ *
+ * Each file is hashed from the same stream that is compressed, so a file appended to while
+ * the backup runs still matches its manifest hash. Files that are rewritten in place (SQLite,
+ * players.bin) are registered with a Snapshot that writes a consistent copy to back up instead.
+ *
+ * Not thread-safe: the DataStore runs one backup at a time on an async task.
+ */
+public class BackupEngine {
+    private static final String MANIFEST = "manifest.txt";
+    private static final String FULL_SUFFIX = "-full";
+    private static final String INCREMENTAL_SUFFIX = "-incr";
+    private static final String PARTIAL_SUFFIX = ".partial";
+    private static final String COMPRESSED_EXTENSION = ".gz";
+
+    private final Path root;        // Plugin data folder (everything below it is backed up)
+    private final File backupDir;
+    private final Set<Path> excluded;
+    private final Map<Path, Snapshot> snapshots = new HashMap<>();
+    private final int fullEvery;    // Incrementals between full backups
+    private final int chainsToKeep; // Full backups (with their incrementals) to keep
+    private final Logger logger;
+
+    // Size of the backup folder, updated after every backup so it can be read from any thread
+    private volatile long totalSize = -1;
+
+    /**
+     * Writes a consistent copy of a live file that its owner modifies in place
+     */
+    @FunctionalInterface
+    public interface Snapshot {
+        void copyTo(Path target) throws IOException;
+    }
+
+    /**
+     * Outcome of one backup run
+     */
+    public static final class Result {
+        public final String id;
+        public final boolean full;
+        public final int totalFiles;
+        public final int storedFiles;
+        public final long storedBytes;
+        public final long millis;
+
+        Result(String id, boolean full, int totalFiles, int storedFiles, long storedBytes, long millis) {
+            this.id = id;
+            this.full = full;
+            this.totalFiles = totalFiles;
+            this.storedFiles = storedFiles;
+            this.storedBytes = storedBytes;
+            this.millis = millis;
+        }
+    }
+
+    /**
+     * Hash and uncompressed size of a stored file, from the same pass that compressed it
+     */
+    private static final class Stored {
+        final String hash;
+        final long size;
+        final long compressedSize;
+
+        Stored(String hash, long size, long compressedSize) {
+            this.hash = hash;
+            this.size = size;
+            this.compressedSize = compressedSize;
+        }
+    }
+
+    private static final class ManifestEntry {
+        final String path;
+        final String hash;
+        final long size;
+        final String source;
+
+        ManifestEntry(String path, String hash, long size, String source) {
+            this.path = path;
+            this.hash = hash;
+            this.size = size;
+            this.source = source;
+        }
+    }
+
+    public BackupEngine(File root, File backupDir, Collection<File> excluded,
+                        int fullEvery, int chainsToKeep, Logger logger) {
+        this.root = root.toPath().toAbsolutePath().normalize();
+        this.backupDir = backupDir;
+        this.excluded = new HashSet<>();
+        this.excluded.add(backupDir.toPath().toAbsolutePath().normalize());
+        for (File file : excluded) {
+            this.excluded.add(file.toPath().toAbsolutePath().normalize());
+        }
+        this.fullEvery = fullEvery;
+        this.chainsToKeep = chainsToKeep;
+        this.logger = logger;
+    }
+
+    /**
+     * Back up {@code file} from a copy written by {@code snapshot} instead of reading it directly
+     */
+    public void snapshotWith(File file, Snapshot snapshot) {
+        snapshots.put(file.toPath().toAbsolutePath().normalize(), snapshot);
+    }
+
+    // ========================================
+    // BACKUP
+    // ========================================
+
+    /**
+     * Take a backup (full or incremental, depending on the schedule)
+     */
+    public Result backup() throws IOException {
+        long start = System.currentTimeMillis();
+
+        List<String> backups = list();
+        String lastFull = latestFull(backups);
+        boolean full = lastFull == null || incrementalsSince(backups, lastFull) >= fullEvery;
+        Map<String, ManifestEntry> base = full ? Map.of() : readManifest(lastFull);
+
+        String id = newId(full);
+        File partial = new File(backupDir, id + PARTIAL_SUFFIX);
+        if (!partial.mkdirs()) {
+            throw new IOException("Failed to create " + partial.getAbsolutePath());
+        }
+
+        List<ManifestEntry> manifest = new ArrayList<>();
+        int stored = 0;
+        long storedBytes = 0;
+
+        try {
+            for (Path file : sourceFiles()) {
+                String path = root.relativize(file).toString().replace(File.separatorChar, '/');
+                File target = new File(partial, path + COMPRESSED_EXTENSION);
+                Stored copy = store(file, target);
+
+                ManifestEntry previous = base.get(path);
+                if (previous != null && previous.hash.equals(copy.hash)) {
+                    // Unchanged since the last full backup - reference it instead of storing a copy
+                    Files.delete(target.toPath());
+                    manifest.add(new ManifestEntry(path, copy.hash, copy.size, previous.source));
+                    continue;
+                }
+
+                storedBytes += copy.compressedSize;
+                manifest.add(new ManifestEntry(path, copy.hash, copy.size, id));
+                stored++;
+            }
+
+            writeManifest(new File(partial, MANIFEST), id, full ? null : lastFull, manifest);
+
+            File complete = new File(backupDir, id);
+            if (!partial.renameTo(complete)) {
+                throw new IOException("Failed to finalize backup " + id);
+            }
+        } catch (IOException e) {
+            deleteRecursively(partial);
+            throw e;
+        }
+
+        cleanup();
+        totalSize = measure();
+
+        long millis = System.currentTimeMillis() - start;
+        logger.info("Created " + (full ? "full" : "incremental") + " backup " + id + " ("
+                + stored + "/" + manifest.size() + " files, " + storedBytes / 1024 + " KB, " + millis + "ms)");
+        return new Result(id, full, manifest.size(), stored, storedBytes, millis);
+    }
+
+    private List<Path> sourceFiles() throws IOException {
+        try (Stream<Path> walk = Files.walk(root)) {
+            return walk
+                    .filter(Files::isRegularFile)
+                    .filter(file -> !isExcluded(file))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private boolean isExcluded(Path file) {
+        Path normalized = file.toAbsolutePath().normalize();
+        for (Path path : excluded) {
+            if (normalized.startsWith(path)) return true;
+        }
+
+        String name = file.getFileName().toString();
+        return name.endsWith(".tmp") || name.endsWith(".journal") || name.endsWith("-journal");
+    }
+
+    /**
+     * Compress a file into the backup, going through its snapshot first if it has one
+     */
+    private Stored store(Path source, File target) throws IOException {
+        File parent = target.getParentFile();
+        if (!parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Failed to create " + parent.getAbsolutePath());
+        }
+
+        Snapshot snapshot = snapshots.get(source.toAbsolutePath().normalize());
+        if (snapshot == null) {
+            return compress(source, target);
+        }
+
+        Path copy = new File(parent, target.getName() + ".snapshot").toPath();
+        try {
+            snapshot.copyTo(copy);
+            return compress(copy, target);
+        } finally {
+            Files.deleteIfExists(copy);
+        }
+    }
+
+    /**
+     * Compress and hash in a single read, so the hash always describes the stored bytes
+     */
+    private static Stored compress(Path source, File target) throws IOException {
+        MessageDigest digest = newDigest();
+        long size;
+        try (InputStream in = new DigestInputStream(Files.newInputStream(source), digest);
+             OutputStream out = new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(target)))) {
+            size = in.transferTo(out);
+        }
+        return new Stored(toHex(digest.digest()), size, target.length());
+    }
+
+    // ========================================
+    // RESTORE
+    // ========================================
+
+    /**
+     * Rebuild the data folder as it was at a backup into {@code target}
+     * @return number of files restored
+     */
+    public int restore(String id, File target) throws IOException {
+        if (!new File(backupDir, id).isDirectory()) {
+            throw new FileNotFoundException("No backup named " + id);
+        }
+
+        Path targetRoot = target.toPath().toAbsolutePath().normalize();
+        int restored = 0;
+
+        for (ManifestEntry entry : readManifest(id).values()) {
+            Path out = targetRoot.resolve(entry.path).normalize();
+            if (!out.startsWith(targetRoot)) {
+                throw new IOException("Invalid path in manifest: " + entry.path);
+            }
+            Files.createDirectories(out.getParent());
+
+            File stored = new File(new File(backupDir, entry.source), entry.path + COMPRESSED_EXTENSION);
+            MessageDigest digest = newDigest();
+            try (InputStream in = new GZIPInputStream(new BufferedInputStream(new FileInputStream(stored)));
+                 OutputStream os = new DigestOutputStream(Files.newOutputStream(out), digest)) {
+                in.transferTo(os);
+            }
+
+            if (!toHex(digest.digest()).equals(entry.hash)) {
+                throw new IOException("Hash mismatch restoring " + entry.path + " from " + entry.source);
+            }
+            restored++;
+        }
+
+        logger.info("Restored backup " + id + " (" + restored + " files) to " + target.getPath());
+        return restored;
+    }
+
+    // ========================================
+    // BACKUP LIST & RETENTION
+    // ========================================
+
+    /**
+     * Completed backups, oldest first
+     */
+    public List<String> list() {
+        String[] names = backupDir.list((dir, name) ->
+                (name.endsWith(FULL_SUFFIX) || name.endsWith(INCREMENTAL_SUFFIX)) && new File(dir, name).isDirectory());
+        if (names == null) return new ArrayList<>();
+
+        List<String> backups = new ArrayList<>(Arrays.asList(names));
+        Collections.sort(backups); // Timestamp prefix sorts chronologically
+        return backups;
+    }
+
+    private String latestFull(List<String> backups) {
+        for (int i = backups.size() - 1; i >= 0; i--) {
+            if (backups.get(i).endsWith(FULL_SUFFIX)) return backups.get(i);
+        }
+        return null;
+    }
+
+    private int incrementalsSince(List<String> backups, String full) {
+        return backups.size() - 1 - backups.indexOf(full);
+    }
+
+    /**
+     * Delete everything older than the oldest full backup that is kept
+     */
+    private void cleanup() {
+        List<String> backups = list();
+        List<String> fulls = backups.stream().filter(name -> name.endsWith(FULL_SUFFIX)).toList();
+        if (fulls.size() <= chainsToKeep) return;
+
+        String oldestKept = fulls.get(fulls.size() - chainsToKeep);
+        for (String name : backups) {
+            if (name.compareTo(oldestKept) >= 0) break;
+            deleteRecursively(new File(backupDir, name));
+            logger.fine("Deleted old backup: " + name);
+        }
+    }
+
+    /**
+     * Total size of all stored backups in bytes, as of the last backup (walks the folder once
+     * if no backup has run yet, so call it off the main thread)
+     */
+    public long totalSize() {
+        long size = totalSize;
+        if (size < 0) {
+            size = measure();
+            totalSize = size;
+        }
+        return size;
+    }
+
+    private long measure() {
+        try (Stream<Path> walk = Files.walk(backupDir.toPath())) {
+            return walk.filter(Files::isRegularFile).mapToLong(path -> path.toFile().length()).sum();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    // ========================================
+    // MANIFEST
+    // ========================================
+
+    private void writeManifest(File file, String id, String base, List<ManifestEntry> entries) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("# " + id + (base != null ? " base=" + base : ""));
+            writer.newLine();
+            for (ManifestEntry entry : entries) {
+                writer.write(entry.hash + "\t" + entry.size + "\t" + entry.source + "\t" + entry.path);
+                writer.newLine();
+            }
+        }
+    }
+
+    private Map<String, ManifestEntry> readManifest(String id) throws IOException {
+        Map<String, ManifestEntry> entries = new LinkedHashMap<>();
+        File file = new File(new File(backupDir, id), MANIFEST);
+
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) continue;
+
+                String[] parts = line.split("\t", 4);
+                if (parts.length != 4) {
+                    throw new IOException("Corrupt manifest line in " + id + ": " + line);
+                }
+                entries.put(parts[3], new ManifestEntry(parts[3], parts[0], Long.parseLong(parts[1]), parts[2]));
+            }
+        }
+        return entries;
+    }
+
+    // ========================================
+    // HELPERS
+    // ========================================
+
+    private String newId(boolean full) {
+        String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
+        String suffix = full ? FULL_SUFFIX : INCREMENTAL_SUFFIX;
+
+        String id = timestamp + suffix;
+        for (int i = 1; new File(backupDir, id).exists() || new File(backupDir, id + PARTIAL_SUFFIX).exists(); i++) {
+            id = timestamp + "." + i + suffix;
+        }
+        return id;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,158 @@
+package saturn.elementPlugin.data;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Progress of one bulk mutation over every stored player.
+ *
+ * Players are processed in UUID order. After each batch is on disk the job is checkpointed
+ * to bulk-job.yml with the last UUID it covered, so an interrupted job (crash, restart or
+ * cancel) resumes after that player instead of starting over.
+ */
+public class BulkJob {
+    private final PlayerMutation mutation;
+    private final boolean skipOnline;
+    private final long started;
+
+    // Progress (written by the job thread, read on the main thread)
+    private volatile int total;
+    private volatile int processed;
+    private volatile int changed;
+    private volatile int skipped;
+    private volatile UUID last;
+    private volatile boolean cancelled;
+    private volatile boolean finished;
+
+    public BulkJob(PlayerMutation mutation, boolean skipOnline) {
+        this(mutation, skipOnline, System.currentTimeMillis());
+    }
+
+    private BulkJob(PlayerMutation mutation, boolean skipOnline, long started) {
+        this.mutation = mutation;
+        this.skipOnline = skipOnline;
+        this.started = started;
+    }
+
+    // ========================================
+    // PROGRESS (job thread)
+    // ========================================
+
+    /**
+     * Start or resume with this many players left
+     */
+    void begin(int remaining) {
+        total = processed + remaining;
+    }
+
+    /**
+     * Where to continue in the sorted player list: after the last checkpointed player,
+     * who may no longer be stored
+     */
+    int resumeIndex(List<UUID> sortedPlayers) {
+        if (last == null) return 0;
+
+        int found = Collections.binarySearch(sortedPlayers, last);
+        return found >= 0 ? found + 1 : -found - 1;
+    }
+
+    /**
+     * Account for a finished batch ending at {@code lastInBatch}
+     */
+    void advance(int players, int changedPlayers, int skippedPlayers, UUID lastInBatch) {
+        processed += players;
+        changed += changedPlayers;
+        skipped += skippedPlayers;
+        last = lastInBatch;
+    }
+
+    void finish() {
+        finished = true;
+    }
+
+    /**
+     * Stop after the current batch (the checkpoint stays, so the job can be resumed)
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    // ========================================
+    // GETTERS
+    // ========================================
+
+    public PlayerMutation getMutation() { return mutation; }
+    public boolean isSkipOnline() { return skipOnline; }
+    public int getTotal() { return total; }
+    public int getProcessed() { return processed; }
+    public int getChanged() { return changed; }
+    public int getSkipped() { return skipped; }
+    public boolean isCancelled() { return cancelled; }
+    public boolean isFinished() { return finished; }
+
+    /**
+     * Last player covered by a completed batch, or null before the first one
+     */
+    public UUID getLast() { return last; }
+
+    public long getElapsedMillis() {
+        return System.currentTimeMillis() - started;
+    }
+
+    public int getPercent() {
+        return total == 0 ? 100 : (int) (processed * 100L / total);
+    }
+
+    // ========================================
+    // CHECKPOINT
+    // ========================================
+
+    /**
+     * Write the checkpoint (tmp file + atomic move)
+     */
+    void save(File file) throws IOException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("mutation", mutation.getSpec());
+        config.set("skip-online", skipOnline);
+        config.set("started", started);
+        config.set("processed", processed);
+        config.set("changed", changed);
+        config.set("skipped", skipped);
+        config.set("last", last != null ? last.toString() : null);
+
+        File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+        Files.writeString(tmp.toPath(), config.saveToString());
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read an interrupted job's checkpoint
+     * @return the job, or null if there is none or it cannot be read
+     */
+    static BulkJob load(File file) {
+        if (!file.exists()) return null;
+
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+        PlayerMutation mutation = PlayerMutation.parse(config.getString("mutation"));
+        if (mutation == null) return null;
+
+        BulkJob job = new BulkJob(mutation, config.getBoolean("skip-online"), config.getLong("started"));
+        job.processed = config.getInt("processed");
+        job.changed = config.getInt("changed");
+        job.skipped = config.getInt("skipped");
+        String last = config.getString("last");
+        try {
+            job.last = last != null ? UUID.fromString(last) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return job;
+    }
+}
@@ -0,0 +1,29 @@
+package saturn.elementPlugin.data;
+
+import java.io.IOException;
+
+/**
+ * Publish/subscribe channel shared by every server in a cluster.
+ * Used to tell the other nodes which cached records are stale.
+ */
+public interface ClusterBroker {
+    /**
+     * Receives messages published by any node (including this one)
+     */
+    interface Listener {
+        void onMessage(String message);
+
+        /**
+         * Called after the connection was lost and re-established.
+         * Messages sent in between were missed, so cached data may be stale.
+         */
+        default void onReconnect() {
+        }
+    }
+
+    void publish(String message) throws IOException;
+
+    void subscribe(Listener listener);
+
+    void close();
+}
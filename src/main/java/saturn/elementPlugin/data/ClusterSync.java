@@ -0,0 +1,260 @@
+package saturn.elementPlugin.data;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the caches of several servers sharing one store consistent.
+ *
+ * After a node has written player or trust records it publishes an invalidation for
+ * those UUIDs; every other node drops its cached copy, so the next read loads the new
+ * record. Reads never touch the broker - a cache hit stays a local, lock-free lookup.
+ *
+ * Every invalidation carries a version from a Lamport clock shared by the cluster
+ * (each node advances its clock past every version it receives). Receivers remember the
+ * newest version applied per record and ignore older or duplicate deliveries.
+ *
+ * Publishing happens on a dedicated thread, so neither the main thread nor the
+ * player data writer ever waits on the broker.
+ *
+ * Message format: v1|<node>|<PLAYER|TRUST>|<version>|<uuid>,<uuid>,...
+ */
+public class ClusterSync {
+    private static final String PROTOCOL = "v1";
+    private static final int MAX_TRACKED_VERSIONS = 10_000; // Per kind, least recently updated dropped first
+
+    public enum Kind { PLAYER, TRUST }
+
+    private final String nodeId;
+    private final ClusterBroker broker;
+    private final Executor handlerExecutor;
+    private final ExecutorService publisher;
+    private final Logger logger;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final Map<Kind, Map<UUID, Long>> applied = new EnumMap<>(Kind.class);
+    private final Map<Kind, Consumer<UUID>> invalidators = new ConcurrentHashMap<>();
+    private final Map<Kind, Runnable> resyncers = new ConcurrentHashMap<>();
+
+    // Metrics
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong invalidated = new AtomicLong();
+    private final AtomicLong ignored = new AtomicLong();
+    private final AtomicLong publishFailures = new AtomicLong();
+
+    /**
+     * @param handlerExecutor where cache invalidations run (the main thread on a live server)
+     */
+    public ClusterSync(String nodeId, ClusterBroker broker, Executor handlerExecutor, Logger logger) {
+        this.nodeId = nodeId;
+        this.broker = broker;
+        this.handlerExecutor = handlerExecutor;
+        this.logger = logger;
+        this.publisher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ElementPlugin-ClusterPublisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (Kind kind : Kind.values()) {
+            applied.put(kind, new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UUID, Long> eldest) {
+                    return size() > MAX_TRACKED_VERSIONS;
+                }
+            });
+        }
+
+        broker.subscribe(new ClusterBroker.Listener() {
+            @Override
+            public void onMessage(String message) {
+                receive(message);
+            }
+
+            @Override
+            public void onReconnect() {
+                resync();
+            }
+        });
+    }
+
+    /**
+     * Register what to do when another node changed a record
+     */
+    public void onInvalidate(Kind kind, Consumer<UUID> invalidator) {
+        invalidators.put(kind, invalidator);
+    }
+
+    /**
+     * Register what to do after invalidations may have been missed (drop everything not in use)
+     */
+    public void onResync(Kind kind, Runnable resyncer) {
+        resyncers.put(kind, resyncer);
+    }
+
+    // ========================================
+    // PUBLISH
+    // ========================================
+
+    /**
+     * Tell the other nodes that these records were written (returns immediately)
+     */
+    public void publish(Kind kind, Collection<UUID> uuids) {
+        if (uuids.isEmpty()) return;
+
+        StringBuilder message = new StringBuilder()
+                .append(PROTOCOL).append('|')
+                .append(nodeId).append('|')
+                .append(kind.name()).append('|')
+                .append(clock.incrementAndGet()).append('|');
+
+        boolean first = true;
+        for (UUID uuid : uuids) {
+            if (!first) message.append(',');
+            message.append(uuid);
+            first = false;
+        }
+
+        int count = uuids.size();
+        publisher.execute(() -> {
+            try {
+                broker.publish(message.toString());
+                published.incrementAndGet();
+            } catch (IOException e) {
+                publishFailures.incrementAndGet();
+                logger.log(Level.WARNING, "Failed to publish " + kind + " invalidation for " + count +
+                        " record(s), other servers may serve stale data", e);
+            }
+        });
+    }
+
+    /**
+     * Wrap a sink so every successfully written batch is announced to the cluster
+     */
+    public PlayerDataSink notifying(PlayerDataSink sink) {
+        return new PlayerDataSink() {
+            @Override
+            public void write(List<PlayerDataSnapshot> batch) throws IOException {
+                sink.write(batch);
+
+                List<UUID> uuids = new ArrayList<>(batch.size());
+                for (PlayerDataSnapshot snapshot : batch) {
+                    uuids.add(snapshot.getUuid());
+                }
+                publish(Kind.PLAYER, uuids);
+            }
+
+            @Override
+            public PlayerDataSnapshot peek(UUID uuid) {
+                return sink.peek(uuid);
+            }
+
+            @Override
+            public void close() throws IOException {
+                sink.close();
+            }
+        };
+    }
+
+    // ========================================
+    // RECEIVE
+    // ========================================
+
+    private void receive(String message) {
+        received.incrementAndGet();
+
+        String[] parts = message.split("\\|", 5);
+        if (parts.length != 5 || !PROTOCOL.equals(parts[0])) {
+            logger.warning("Ignoring unknown cluster message: " + message);
+            return;
+        }
+
+        // Our own writes are already reflected in our caches
+        if (nodeId.equals(parts[1])) return;
+
+        Kind kind;
+        long version;
+        try {
+            kind = Kind.valueOf(parts[2]);
+            version = Long.parseLong(parts[3]);
+        } catch (IllegalArgumentException e) {
+            logger.warning("Ignoring malformed cluster message: " + message);
+            return;
+        }
+        clock.accumulateAndGet(version, Math::max);
+
+        List<UUID> stale = new ArrayList<>();
+        Map<UUID, Long> versions = applied.get(kind);
+        synchronized (versions) {
+            for (String value : parts[4].split(",")) {
+                UUID uuid;
+                try {
+                    uuid = UUID.fromString(value);
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+
+                Long last = versions.get(uuid);
+                if (last != null && last >= version) {
+                    ignored.incrementAndGet(); // Duplicate or overtaken by a newer change
+                    continue;
+                }
+                versions.put(uuid, version);
+                stale.add(uuid);
+            }
+        }
+
+        Consumer<UUID> invalidator = invalidators.get(kind);
+        if (invalidator == null || stale.isEmpty()) return;
+
+        handlerExecutor.execute(() -> {
+            for (UUID uuid : stale) {
+                invalidator.accept(uuid);
+                invalidated.incrementAndGet();
+            }
+        });
+    }
+
+    private void resync() {
+        logger.warning("Cluster invalidations may have been missed, dropping cached records not in use");
+        for (Runnable resyncer : resyncers.values()) {
+            handlerExecutor.execute(resyncer);
+        }
+    }
+
+    /**
+     * Send any queued invalidations, then disconnect (plugin disable)
+     */
+    public void close() {
+        publisher.shutdown();
+        try {
+            if (!publisher.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warning("Timed out publishing final cluster invalidations");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        broker.close();
+    }
+
+    // ========================================
+    // STATISTICS
+    // ========================================
+
+    public String getNodeId() { return nodeId; }
+    public long getPublishedCount() { return published.get(); }
+    public long getReceivedCount() { return received.get(); }
+    public long getInvalidatedCount() { return invalidated.get(); }
+    public long getIgnoredCount() { return ignored.get(); }
+    public long getPublishFailureCount() { return publishFailures.get(); }
+}
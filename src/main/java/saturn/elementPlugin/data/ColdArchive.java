@@ -0,0 +1,315 @@
+package saturn.elementPlugin.data;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compressed cold tier for players who have not played in a long time.
+ *
+ * Each archive() call writes one immutable segment file (segment-N.dat) made of gzip blocks
+ * of up to 256 fixed-width PlayerDataCodec records: [int length][gzip bytes]. archive.idx
+ * maps every archived player to (segment, block offset, slot), so restoring one player
+ * decompresses a single block. The last decoded block is kept, which makes walking the
+ * archive in order cheap. A segment is deleted once none of its players are left in it.
+ *
+ * Crash safety: segments are synced before the index points at them, and the index is
+ * replaced atomically. A player briefly present in both tiers is harmless - the hot
+ * store always wins and the stale archive entry is dropped.
+ */
+public class ColdArchive {
+    private static final int MAGIC = 0x454C4341; // "ELCA"
+    private static final int VERSION = 1;
+    private static final int BLOCK_RECORDS = 256;
+
+    private final File dir;
+    private final File indexFile;
+    private final Logger logger;
+
+    // Where each archived player is (guarded by this)
+    private final Map<UUID, Location> locations = new HashMap<>();
+    private final Map<Integer, Integer> liveCounts = new HashMap<>();
+    private int nextSegment;
+
+    // Last decoded block
+    private int cachedSegment = -1;
+    private long cachedOffset = -1;
+    private ByteBuffer cachedBlock;
+
+    // Metrics
+    private final AtomicLong archived = new AtomicLong();
+    private final AtomicLong restored = new AtomicLong();
+
+    private static final class Location {
+        final int segment;
+        final long offset;
+        final int slot;
+
+        Location(int segment, long offset, int slot) {
+            this.segment = segment;
+            this.offset = offset;
+            this.slot = slot;
+        }
+    }
+
+    /**
+     * Outcome of one pass moving inactive players into the archive
+     */
+    public static class Result {
+        public final int candidates;
+        public final int archived;
+        public final int skipped;
+        public final long millis;
+
+        public Result(int candidates, int archived, int skipped, long millis) {
+            this.candidates = candidates;
+            this.archived = archived;
+            this.skipped = skipped;
+            this.millis = millis;
+        }
+    }
+
+    public ColdArchive(File dir, Logger logger) throws IOException {
+        this.dir = dir;
+        this.indexFile = new File(dir, "archive.idx");
+        this.logger = logger;
+
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Failed to create " + dir);
+        }
+        loadIndex();
+    }
+
+    // ========================================
+    // ARCHIVE / RESTORE
+    // ========================================
+
+    /**
+     * Write players to a new segment and index them (they still have to be deleted from the hot store)
+     */
+    public synchronized void archive(List<PlayerDataSnapshot> players) throws IOException {
+        if (players.isEmpty()) return;
+
+        int segment = nextSegment++;
+        File file = segmentFile(segment);
+        Map<UUID, Location> written = new HashMap<>();
+
+        try (FileOutputStream fileOut = new FileOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+            long offset = 0;
+            ByteBuffer block = ByteBuffer.allocate(BLOCK_RECORDS * PlayerDataCodec.RECORD_SIZE);
+
+            for (int start = 0; start < players.size(); start += BLOCK_RECORDS) {
+                List<PlayerDataSnapshot> chunk = players.subList(start, Math.min(players.size(), start + BLOCK_RECORDS));
+                for (int slot = 0; slot < chunk.size(); slot++) {
+                    PlayerDataCodec.encode(chunk.get(slot), block, slot * PlayerDataCodec.RECORD_SIZE);
+                    written.put(chunk.get(slot).getUuid(), new Location(segment, offset, slot));
+                }
+
+                byte[] compressed = compress(block.array(), chunk.size() * PlayerDataCodec.RECORD_SIZE);
+                out.writeInt(compressed.length);
+                out.write(compressed);
+                offset += 4 + compressed.length;
+            }
+
+            out.flush();
+            fileOut.getFD().sync();
+        }
+
+        for (Map.Entry<UUID, Location> entry : written.entrySet()) {
+            Location previous = locations.put(entry.getKey(), entry.getValue());
+            if (previous != null) release(previous.segment);
+        }
+        liveCounts.merge(segment, written.size(), Integer::sum);
+        saveIndex();
+    }
+
+    /**
+     * Read an archived player without removing them
+     * @return the snapshot, or null if the player is not archived
+     */
+    public synchronized PlayerDataSnapshot read(UUID uuid) throws IOException {
+        Location location = locations.get(uuid);
+        if (location == null) return null;
+
+        ByteBuffer block = readBlock(location.segment, location.offset);
+        PlayerDataSnapshot snapshot = PlayerDataCodec.decode(block, location.slot * PlayerDataCodec.RECORD_SIZE);
+        if (snapshot == null || !snapshot.getUuid().equals(uuid)) {
+            throw new IOException("Archive entry for " + uuid + " points at the wrong record");
+        }
+        return snapshot;
+    }
+
+    /**
+     * Forget archived players (restored to the hot store, or stale copies)
+     */
+    public synchronized void remove(Collection<UUID> uuids) throws IOException {
+        boolean changed = false;
+        for (UUID uuid : uuids) {
+            Location location = locations.remove(uuid);
+            if (location != null) {
+                release(location.segment);
+                changed = true;
+            }
+        }
+        if (changed) saveIndex();
+    }
+
+    /**
+     * Count players that left the hot store for the archive
+     */
+    public void recordArchived(int count) {
+        archived.addAndGet(count);
+    }
+
+    /**
+     * Count a player moved back to the hot store
+     */
+    public void recordRestored() {
+        restored.incrementAndGet();
+    }
+
+    public synchronized boolean contains(UUID uuid) {
+        return locations.containsKey(uuid);
+    }
+
+    /**
+     * Every archived player, in archive order (so reading them in turn reuses decoded blocks)
+     */
+    public synchronized List<UUID> list() {
+        List<Map.Entry<UUID, Location>> entries = new ArrayList<>(locations.entrySet());
+        entries.sort(Comparator.<Map.Entry<UUID, Location>>comparingInt(e -> e.getValue().segment)
+                .thenComparingLong(e -> e.getValue().offset)
+                .thenComparingInt(e -> e.getValue().slot));
+
+        List<UUID> uuids = new ArrayList<>(entries.size());
+        for (Map.Entry<UUID, Location> entry : entries) {
+            uuids.add(entry.getKey());
+        }
+        return uuids;
+    }
+
+    public synchronized int size() {
+        return locations.size();
+    }
+
+    public long totalSize() {
+        File[] files = dir.listFiles();
+        if (files == null) return 0;
+
+        long total = 0;
+        for (File file : files) {
+            total += file.length();
+        }
+        return total;
+    }
+
+    public long getArchivedCount() { return archived.get(); }
+    public long getRestoredCount() { return restored.get(); }
+
+    // ========================================
+    // BLOCKS
+    // ========================================
+
+    private ByteBuffer readBlock(int segment, long offset) throws IOException {
+        if (segment == cachedSegment && offset == cachedOffset) {
+            return cachedBlock;
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(segmentFile(segment), "r")) {
+            file.seek(offset);
+            byte[] compressed = new byte[file.readInt()];
+            file.readFully(compressed);
+
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+                cachedBlock = ByteBuffer.wrap(in.readAllBytes());
+            }
+        }
+
+        cachedSegment = segment;
+        cachedOffset = offset;
+        return cachedBlock;
+    }
+
+    private static byte[] compress(byte[] data, int length) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(data, 0, length);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * One player left a segment - delete the file when it is empty
+     */
+    private void release(int segment) {
+        int live = liveCounts.merge(segment, -1, Integer::sum);
+        if (live > 0) return;
+
+        liveCounts.remove(segment);
+        if (segment == cachedSegment) {
+            cachedSegment = -1;
+            cachedBlock = null;
+        }
+        if (!segmentFile(segment).delete()) {
+            logger.warning("Could not delete empty archive segment " + segment);
+        }
+    }
+
+    private File segmentFile(int segment) {
+        return new File(dir, "segment-" + segment + ".dat");
+    }
+
+    // ========================================
+    // INDEX
+    // ========================================
+
+    private void loadIndex() throws IOException {
+        if (!indexFile.exists()) return;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unknown archive index format");
+            }
+
+            nextSegment = in.readInt();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                UUID uuid = new UUID(in.readLong(), in.readLong());
+                Location location = new Location(in.readInt(), in.readLong(), in.readUnsignedShort());
+                locations.put(uuid, location);
+                liveCounts.merge(location.segment, 1, Integer::sum);
+            }
+        }
+
+        logger.info("Cold archive: " + locations.size() + " player(s) in " + liveCounts.size() + " segment(s)");
+    }
+
+    private void saveIndex() throws IOException {
+        File tmp = new File(dir, indexFile.getName() + ".tmp");
+        try (FileOutputStream fileOut = new FileOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(nextSegment);
+            out.writeInt(locations.size());
+            for (Map.Entry<UUID, Location> entry : locations.entrySet()) {
+                out.writeLong(entry.getKey().getMostSignificantBits());
+                out.writeLong(entry.getKey().getLeastSignificantBits());
+                out.writeInt(entry.getValue().segment);
+                out.writeLong(entry.getValue().offset);
+                out.writeShort(entry.getValue().slot);
+            }
+            out.flush();
+            fileOut.getFD().sync();
+        }
+
+        Files.move(tmp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -1,14 +1,23 @@
 package saturn.elementPlugin.data;
 
 import saturn.elementPlugin.ElementPlugin;
+import saturn.elementPlugin.util.BoundedCache;
+import org.bukkit.Bukkit;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 
 /**
@@ -25,52 +34,143 @@ import java.util.UUID;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 public class DataStore {
-    private static final String PLAYERS_PATH = "players";
     private static final int AUTO_SAVE_INTERVAL_TICKS = 6000; // 5 minutes
-    private static final int MAX_BACKUPS = 3;
+    private static final int CACHE_SWEEP_INTERVAL_TICKS = 600; // 30 seconds
+    private static final int MAX_BACKUPS = 3; // Full backups kept, each with its incrementals
+    private static final int IMPORT_BATCH_SIZE = 1000;
+    private static final int ARCHIVE_BATCH_SIZE = 1000; // Players per archive segment
+    private static final int BULK_BATCH_SIZE = 500;     // Players per bulk job checkpoint
+    private static final long BULK_PROGRESS_INTERVAL_MILLIS = 5000;
+    private static final int READ_BATCH_SIZE = 256;     // Players read per tier-lock hold in readSnapshots
 
     private final ElementPlugin plugin;
     private final File dataDir;
     private final File playerFile;
     private final File teamFile;
     private final File backupDir;
+    private final File restoreDir;
+    private final File exportDir;
 
-    private FileConfiguration playerConfig;
-    private FileConfiguration teamConfig;
+    // Durable player records from the storage backend (shards, players.bin or SQLite)
+    private final StorageBackend backend;
+    private final PlayerRecordStore playerStore;
+
+    // Journal in front of the record store (journaled mode only, null otherwise)
+    private final PlayerJournal journal;
+
+    // Background writer - saves never touch the disk on the calling thread
+    private final PlayerDataWriter writer;
+
+    // Element / upgrade level / item -> players, updated as snapshots are written
+    private final PlayerIndex index;
+
+    // Balance counters (online population, rerolls, upgrades, casts), saved to stats.yml
+    private final ElementStats stats;
+
+    // Compressed cold tier for long-inactive players (null when disabled or clustered)
+    private final ColdArchive archive;
+    private final AtomicBoolean archiveRunning = new AtomicBoolean();
+    private final Object tierLock = new Object(); // Held while a player moves between tiers
+
+    // Incremental backups of the whole data folder, one at a time
+    private final BackupEngine backupEngine;
+    private final AtomicBoolean backupRunning = new AtomicBoolean();
+    private volatile BackupEngine.Result lastBackup;
+
+    // Disk sizes for /data stats, measured on async tasks (listing shards, querying SQLite
+    // or walking the backups would stall the main thread)
+    private volatile Map<String, Object> storageStats = Map.of();
+
+    // Streaming export/import, one at a time
+    private final PlayerDataTransfer transfer;
+    private final AtomicBoolean transferRunning = new AtomicBoolean();
+
+    // Bulk mutation over every stored player, one at a time, checkpointed to bulk-job.yml
+    private final File bulkJobFile;
+    private final AtomicReference<BulkJob> bulkJob = new AtomicReference<>();
 
-    // Team hidden state persistence
-    private final File teamHiddenFile;
-    private YamlConfiguration teamHiddenConfig;
+    private FileConfiguration teamConfig;
+    private final AtomicLong teamSaveVersion = new AtomicLong();
 
-    // Thread-safe cache
-    private final Map<UUID, PlayerData> playerDataCache = new ConcurrentHashMap<>();
+    // Thread-safe bounded cache (online players are pinned, dirty entries are saved before eviction)
+    private final BoundedCache<UUID, PlayerData> playerDataCache;
 
     // Track last save time for debugging
-    private long lastSaveTime = 0;
+    private volatile long lastSaveTime = 0;
 
     public DataStore(ElementPlugin plugin) {
         this.plugin = plugin;
+        this.playerDataCache = new BoundedCache<>(plugin.getPlayerCacheMaxSize(), plugin.getPlayerCacheIdleMillis(),
+                uuid -> Bukkit.getPlayer(uuid) != null, PlayerData::isDirty, this::save);
 
         // Setup directories
         this.dataDir = new File(plugin.getDataFolder(), "data");
         this.backupDir = new File(dataDir, "backups");
+        this.restoreDir = new File(plugin.getDataFolder(), "restore");
+        this.exportDir = new File(plugin.getDataFolder(), "exports");
 
         ensureDirectoryExists(dataDir);
         ensureDirectoryExists(backupDir);
+        ensureDirectoryExists(exportDir);
 
         // Setup files
         this.playerFile = new File(dataDir, "players.yml");
         this.teamFile = new File(dataDir, "teams.yml");
-        this.teamHiddenFile = new File(dataDir, "team-hidden.yml");
-        ensureFileExists(playerFile);
+        this.bulkJobFile = new File(dataDir, "bulk-job.yml");
         ensureFileExists(teamFile);
-        ensureFileExists(teamHiddenFile);
 
-        // Load configuration
-        loadConfiguration();
+        // Player storage comes from the backend; migrate the legacy players.yml once
+        this.backend = plugin.getStorageBackend();
+        this.playerStore = backend.getPlayerStore();
+        new PlayerStorageMigrator(plugin.getLogger()).migrate(playerFile, playerStore);
+        // The journal is local to this server; in a cluster the others must see writes in the shared store
+        ClusterSync cluster = plugin.getClusterSync();
+        this.journal = plugin.isPlayerDataJournaled() && cluster == null ? openJournal() : null;
+        this.index = new PlayerIndex(new File(dataDir, "players.idx"), plugin.getLogger());
+        this.stats = new ElementStats(new File(dataDir, "stats.yml"), plugin.getLogger());
+        // The archive is local to this server, so tiering is off in a cluster
+        this.archive = plugin.getArchiveAfterDays() > 0 && cluster == null ? openArchive() : null;
+        PlayerDataSink sink = index.indexing(journal != null ? journal : playerStore);
+        this.writer = new PlayerDataWriter(cluster != null ? cluster.notifying(sink) : sink, plugin.getLogger());
+        this.backupEngine = new BackupEngine(plugin.getDataFolder(), backupDir, List.of(restoreDir, exportDir),
+                plugin.getFullBackupEvery(), MAX_BACKUPS, plugin.getLogger());
+        backend.getSnapshots().forEach(backupEngine::snapshotWith);
+        this.transfer = new PlayerDataTransfer(plugin.getLogger(), plugin.getMaxMana());
+
+        if (cluster != null) {
+            cluster.onInvalidate(ClusterSync.Kind.PLAYER, uuid -> {
+                invalidateCache(uuid);
+                plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> reindex(uuid));
+            });
+            cluster.onResync(ClusterSync.Kind.PLAYER, () -> {
+                invalidateOffline();
+                plugin.getServer().getScheduler().runTaskAsynchronously(plugin,
+                        () -> index.rebuild(listAllPlayers(), this::readSnapshot, false));
+            });
+        }
+
+        // Other servers write the shared store while this one is down, so a clustered index is always rebuilt
+        if (cluster != null || !index.load()) {
+            plugin.getServer().getScheduler().runTaskAsynchronously(plugin,
+                    () -> index.rebuild(listAllPlayers(), this::readSnapshot, true));
+        }
+
+        // Players already online after a reload never fire a join event
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            stats.trackOnline(getPlayerData(player.getUniqueId()));
+        }
+
+        refreshStorageStats(); // Once on startup, then off the main thread
+        startAutoSave();
+        startCacheSweep();
+        startBackupSchedule();
+        startArchiveSchedule();
 
-        // Load teamHidden file config
-        this.teamHiddenConfig = YamlConfiguration.loadConfiguration(teamHiddenFile);
+        BulkJob interrupted = BulkJob.load(bulkJobFile);
+        if (interrupted != null) {
+            plugin.getLogger().warning("Bulk job '" + interrupted.getMutation().describe() + "' was interrupted after " +
+                    interrupted.getProcessed() + " players, use /data bulk resume to finish it");
+        }
 
         plugin.getLogger().info("DataStore initialized successfully");
     }
@@ -99,25 +199,45 @@ public class DataStore {
         }
     }
 
-    private void loadConfiguration() {
-        try {
-            this.playerConfig = YamlConfiguration.loadConfiguration(playerFile);
-            plugin.getLogger().info("Loaded player configuration from disk");
-        } catch (Exception e) {
-            plugin.getLogger().severe("Failed to load player configuration: " + e.getMessage());
 
-            }
+    /**
+     * Open the player journal, replaying anything left over from a crash.
+     * Falls back to writing shards directly if the journal cannot be opened.
+     */
+    private PlayerJournal openJournal() {
+        try {
+            return new PlayerJournal(new File(dataDir, "players.journal"), playerStore, plugin.getLogger());
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to open player journal, writing shards directly", e);
+            return null;
         }
+    }
 
+    /**
+     * Open the cold archive. Tiering is disabled if it cannot be opened.
+     */
+    private ColdArchive openArchive() {
+        try {
+            return new ColdArchive(new File(dataDir, "archive"), plugin.getLogger());
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to open cold archive, inactive players stay in the main store", e);
+            return null;
+        }
+    }
 
     // ========================================
     // AUTO-SAVE SYSTEM
     // ========================================
 
     private void startAutoSave() {
-        plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, () -> {
+        // Runs on the main thread: it only takes snapshots, the writer does the disk I/O
+        plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
             try {
                 saveAllDirty();
+                plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+                    stats.save();
+                    refreshStorageStats();
+                });
             } catch (Exception e) {
                 plugin.getLogger().log(Level.SEVERE, "Error during auto-save", e);
             }
@@ -126,6 +246,18 @@ public class DataStore {
         plugin.getLogger().info("Auto-save started (every 5 minutes)");
     }
 
+    /**
+     * Periodically drop offline players from the cache
+     */
+    private void startCacheSweep() {
+        plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
+            int evicted = playerDataCache.cleanUp();
+            if (evicted > 0) {
+                plugin.getLogger().fine("Evicted " + evicted + " player(s) from cache");
+            }
+        }, CACHE_SWEEP_INTERVAL_TICKS, CACHE_SWEEP_INTERVAL_TICKS);
+    }
+
     /**
      * Save only players with unsaved changes
      */
@@ -148,21 +280,32 @@ public class DataStore {
      * Get PlayerData for a UUID (cached)
      */
     public PlayerData getPlayerData(UUID uuid) {
-        return playerDataCache.computeIfAbsent(uuid, this::loadPlayerDataFromDisk);
+        return playerDataCache.get(uuid, this::loadPlayerDataFromDisk);
     }
 
     /**
      * Load player data from disk
      */
     private PlayerData loadPlayerDataFromDisk(UUID uuid) {
-        try {
-            // Reload config to get latest data
-            playerConfig = YamlConfiguration.loadConfiguration(playerFile);
+        // A snapshot still waiting in the writer is newer than the shard on disk
+        PlayerDataSnapshot queued = writer.getPending(uuid);
+        if (queued != null) {
+            return new PlayerData(queued);
+        }
 
-            String path = PLAYERS_PATH + "." + uuid.toString();
-            ConfigurationSection section = playerConfig.getConfigurationSection(path);
+        try {
+            PlayerData stored;
+            if (archive != null) {
+                // An archive pass must not move this player while they load
+                synchronized (tierLock) {
+                    stored = loadOrRestore(uuid);
+                }
+            } else {
+                // Only this player's record is read
+                stored = playerStore.load(uuid);
+            }
 
-            if (section == null) {
+            if (stored == null) {
                 // New player - create default data
                 plugin.getLogger().fine("Creating new PlayerData for " + uuid);
                 return new PlayerData(uuid);
@@ -170,7 +313,7 @@ public class DataStore {
 
             // Load existing data
             plugin.getLogger().fine("Loaded PlayerData for " + uuid + " from disk");
-            return new PlayerData(uuid, section);
+            return stored;
 
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to load PlayerData for " + uuid, e);
@@ -179,82 +322,184 @@ public class DataStore {
     }
 
     /**
-     * Load PlayerData (alias for getPlayerData)
+     * Read a player from the hot store, moving them back if they were archived (tierLock held).
+     * Joins load through here from the pre-login prefetch, so the restore happens before the player is in.
      */
-    public synchronized PlayerData load(UUID uuid) {
-        return getPlayerData(uuid);
+    private PlayerData loadOrRestore(UUID uuid) throws IOException {
+        PlayerData stored = playerStore.load(uuid);
+        if (!archive.contains(uuid)) return stored;
+
+        if (stored == null) {
+            PlayerDataSnapshot archived = archive.read(uuid);
+            playerStore.save(archived);
+            stored = new PlayerData(archived);
+            archive.recordRestored();
+            plugin.getLogger().fine("Restored " + uuid + " from the cold archive");
+        }
+        // Otherwise an archive pass was cut short and the hot record is the current one
+        archive.remove(List.of(uuid));
+        return stored;
     }
 
     /**
-     * Save PlayerData to disk
+     * Read a player's newest persisted state (queued in the writer, stored or archived), off the main thread
+     * @return the snapshot, or null if the player has no readable record
      */
-    public synchronized void save(PlayerData pd) {
-        if (pd == null) {
-            plugin.getLogger().warning("Attempted to save null PlayerData");
-            return;
-        }
+    private PlayerDataSnapshot readSnapshot(UUID uuid) {
+        PlayerDataSnapshot queued = writer.getPending(uuid);
+        if (queued != null) return queued;
 
         try {
-            // Reload config to prevent overwriting other changes
-            playerConfig = YamlConfiguration.loadConfiguration(playerFile);
+            if (archive == null) {
+                PlayerData stored = playerStore.load(uuid);
+                return stored != null ? stored.snapshot() : null;
+            }
 
-            // Get or create section
-            String path = PLAYERS_PATH + "." + pd.getUuid().toString();
-            ConfigurationSection section = playerConfig.getConfigurationSection(path);
+            // Keep the player from changing tiers between the two reads
+            synchronized (tierLock) {
+                PlayerData stored = playerStore.load(uuid);
+                return stored != null ? stored.snapshot() : archive.read(uuid);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Skipping unreadable player " + uuid, e);
+            return null;
+        }
+    }
 
-            if (section == null) {
-                section = playerConfig.createSection(path);
+    /**
+     * Read many players' newest persisted state in one pass over the store, without loading
+     * them into the cache (any thread except the main one - this does disk I/O)
+     * @return snapshots by player; players with no readable record are left out
+     */
+    public Map<UUID, PlayerDataSnapshot> readSnapshots(Collection<UUID> uuids) {
+        Map<UUID, PlayerDataSnapshot> result = new HashMap<>();
+        List<UUID> stored = new ArrayList<>();
+        for (UUID uuid : uuids) {
+            PlayerDataSnapshot queued = writer.getPending(uuid);
+            if (queued != null) {
+                result.put(uuid, queued);
+            } else {
+                stored.add(uuid);
             }
+        }
 
-            // Save data
-            pd.saveTo(section);
+        for (int from = 0; from < stored.size(); from += READ_BATCH_SIZE) {
+            List<UUID> batch = stored.subList(from, Math.min(stored.size(), from + READ_BATCH_SIZE));
+            try {
+                if (archive == null) {
+                    playerStore.loadAll(batch).forEach((uuid, pd) -> result.put(uuid, pd.snapshot()));
+                    continue;
+                }
 
-            // Update cache
-            playerDataCache.put(pd.getUuid(), pd);
+                // Short holds, so joins are not held up behind a large batch
+                synchronized (tierLock) {
+                    Map<UUID, PlayerData> loaded = playerStore.loadAll(batch);
+                    for (UUID uuid : batch) {
+                        PlayerData pd = loaded.get(uuid);
+                        PlayerDataSnapshot snapshot = pd != null ? pd.snapshot() : archive.read(uuid);
+                        if (snapshot != null) result.put(uuid, snapshot);
+                    }
+                }
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Failed to read " + batch.size() + " player(s)", e);
+            }
+        }
+        return result;
+    }
 
-            // Write to disk
-            saveConfigToDisk();
+    /**
+     * Every stored player in either tier (walks the store, off the main thread)
+     */
+    private List<UUID> listAllPlayers() {
+        List<UUID> players = new ArrayList<>(playerStore.list());
+        if (archive == null) return players;
 
-            plugin.getLogger().fine("Saved PlayerData for " + pd.getUuid());
+        Set<UUID> hot = new HashSet<>(players);
+        for (UUID uuid : archive.list()) {
+            if (!hot.contains(uuid)) players.add(uuid);
+        }
+        return players;
+    }
 
-        } catch (Exception e) {
-            plugin.getLogger().log(Level.SEVERE, "Failed to save PlayerData for " + pd.getUuid(), e);
+    /**
+     * Re-index a player another server changed
+     */
+    private void reindex(UUID uuid) {
+        PlayerDataSnapshot snapshot = readSnapshot(uuid);
+        if (snapshot != null) {
+            index.update(snapshot);
+        } else {
+            index.remove(uuid);
         }
     }
 
     /**
-     * Write configuration to disk with error handling
+     * Load PlayerData (alias for getPlayerData)
      */
-    private void saveConfigToDisk() {
-        try {
-            playerConfig.save(playerFile);
-            lastSaveTime = System.currentTimeMillis();
-        } catch (IOException e) {
-            plugin.getLogger().log(Level.SEVERE, "Failed to save players.yml to disk", e);
+    public PlayerData load(UUID uuid) {
+        return getPlayerData(uuid);
+    }
 
-            // Attempt emergency backup
-            try {
-                File emergency = new File(dataDir, "players_emergency_" + System.currentTimeMillis() + ".yml");
-                playerConfig.save(emergency);
-                plugin.getLogger().warning("Created emergency backup at: " + emergency.getName());
-            } catch (IOException e2) {
-                plugin.getLogger().log(Level.SEVERE, "Failed to create emergency backup", e2);
-            }
+    /**
+     * Save PlayerData to disk.
+     * Takes an immutable snapshot on the calling thread and queues it for the
+     * background writer, so this never blocks on disk I/O.
+     */
+    public void save(PlayerData pd) {
+        if (pd == null) {
+            plugin.getLogger().warning("Attempted to save null PlayerData");
+            return;
         }
+
+        // Update cache
+        playerDataCache.put(pd.getUuid(), pd);
+
+        writer.submit(pd.snapshot());
+        pd.markClean();
+        if (Bukkit.getPlayer(pd.getUuid()) != null) {
+            stats.trackOnline(pd);
+        }
+        lastSaveTime = System.currentTimeMillis();
+    }
+
+    /**
+     * A player's live data if it is in memory, without loading it (any thread)
+     */
+    public PlayerData getLoadedData(UUID uuid) {
+        return playerDataCache.getIfPresent(uuid);
+    }
+
+    /**
+     * Check if a player's data is already in memory
+     */
+    public boolean isCached(UUID uuid) {
+        return playerDataCache.contains(uuid);
     }
 
     /**
      * Invalidate cache for a specific player (force reload from disk)
      */
-    public synchronized void invalidateCache(UUID uuid) {
+    public void invalidateCache(UUID uuid) {
         playerDataCache.remove(uuid);
         plugin.getLogger().fine("Invalidated cache for " + uuid);
     }
 
     /**
-     * Flush all cached data to disk
+     * Drop every cached player that is not online
      */
-    public synchronized void flushAll() {
+    public void invalidateOffline() {
+        for (UUID uuid : playerDataCache.keys()) {
+            if (Bukkit.getPlayer(uuid) == null) {
+                playerDataCache.remove(uuid);
+            }
+        }
+    }
+
+    /**
+     * Flush all cached data to disk.
+     * Queues every dirty player and waits until the writer has written them.
+     */
+    public void flushAll() {
         plugin.getLogger().info("Flushing all player data to disk...");
 
         int count = 0;
@@ -265,131 +510,600 @@ public class DataStore {
             }
         }
 
+        writer.flush();
+
         plugin.getLogger().info("Flushed " + count + " player(s) to disk");
     }
 
+    /**
+     * Flush everything and stop the background writer (plugin disable)
+     */
+    public void shutdown() {
+        // A running bulk job keeps its checkpoint and is resumed after the restart
+        BulkJob job = bulkJob.get();
+        if (job != null) {
+            job.cancel();
+        }
+
+        flushAll();
+        writer.shutdown();
+
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Failed to compact player journal on shutdown", e);
+            }
+        }
+
+        index.save();
+        stats.save();
+    }
+
     // ========================================
     // TEAM DATA OPERATIONS
     // ========================================
 
+    /**
+     * Load every team from teams.yml
+     */
+    public List<TeamData> loadTeams() {
+        teamConfig = YamlConfiguration.loadConfiguration(teamFile);
+        List<TeamData> teams = new ArrayList<>();
+
+        ConfigurationSection section = teamConfig.getConfigurationSection("teams");
+        if (section != null) {
+            for (String name : section.getKeys(false)) {
+                TeamData team = TeamData.load(name, section.getConfigurationSection(name));
+                if (team != null && !team.isEmpty()) {
+                    teams.add(team);
+                } else {
+                    plugin.getLogger().warning("Skipping invalid team '" + name + "' in " + teamFile.getName());
+                }
+            }
+        }
+        return teams;
+    }
+
+    /**
+     * Save all teams to teams.yml.
+     * The YAML is built on the calling (main) thread; the file is written off it unless {@code async} is false.
+     */
+    public void saveTeams(Collection<TeamData> teams, boolean async) {
+        YamlConfiguration config = new YamlConfiguration();
+        for (TeamData team : teams) {
+            team.saveTo(config.createSection("teams." + team.getName()));
+        }
+        teamConfig = config;
+
+        String yaml = config.saveToString();
+        long version = teamSaveVersion.incrementAndGet();
+        if (async) {
+            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> writeTeams(yaml, version));
+        } else {
+            writeTeams(yaml, version);
+        }
+    }
+
+    private void writeTeams(String yaml, long version) {
+        synchronized (teamFile) {
+            // A newer save already ran or is queued - writing this one would go backwards
+            if (version < teamSaveVersion.get()) return;
+
+            File tmp = new File(teamFile.getParentFile(), teamFile.getName() + ".tmp");
+            try {
+                java.nio.file.Files.writeString(tmp.toPath(), yaml);
+                java.nio.file.Files.move(tmp.toPath(), teamFile.toPath(),
+                        java.nio.file.StandardCopyOption.REPLACE_EXISTING, java.nio.file.StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Failed to save teams", e);
+            }
+        }
+    }
+
 
     // ========================================
     // BACKUP SYSTEM
     // ========================================
 
     /**
-     * Create a backup of the player data file
+     * Back up the whole data folder without blocking the main thread.
+     * Dirty players are queued on the calling (main) thread, then the writer is drained,
+     * the journal compacted and the backup taken on an async task.
+     * @param callback run on the main thread with the result, or null if the backup failed
+     * @return false if a backup is already running
      */
-    public synchronized boolean createBackup() {
-        try {
-            // Create backup filename with timestamp
-            String timestamp = new java.text.SimpleDateFormat("yyyy-MM-dd_HH-mm-ss")
-                    .format(new Date());
-            File backup = new File(backupDir, "players_" + timestamp + ".yml");
+    public boolean createBackup(Consumer<BackupEngine.Result> callback) {
+        if (!backupRunning.compareAndSet(false, true)) {
+            return false;
+        }
 
-            // Copy file
-            java.nio.file.Files.copy(
-                    playerFile.toPath(),
-                    backup.toPath(),
-                    java.nio.file.StandardCopyOption.REPLACE_EXISTING
-            );
+        saveAllDirty();
 
-            plugin.getLogger().info("Created backup: " + backup.getName());
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            BackupEngine.Result result = null;
+            try {
+                // Make sure the records on disk are current before copying them
+                writer.flush();
+                if (journal != null) {
+                    journal.compact();
+                }
+                result = backupEngine.backup();
+                lastBackup = result;
+                refreshStorageStats();
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Failed to create backup", e);
+            } finally {
+                backupRunning.set(false);
+            }
 
-            // Clean up old backups
-            cleanupOldBackups();
+            BackupEngine.Result finished = result;
+            if (callback != null && plugin.isEnabled()) {
+                plugin.getServer().getScheduler().runTask(plugin, () -> callback.accept(finished));
+            }
+        });
+        return true;
+    }
 
-            return true;
+    /**
+     * Rebuild the data folder as it was at a backup into restore/<id>.
+     * The live files are in use while the server runs, so the restored copy is swapped
+     * in by hand while the server is stopped.
+     * @param callback run on the main thread with the restore folder, or null if the restore failed
+     */
+    public void restoreBackup(String id, Consumer<File> callback) {
+        File target = new File(restoreDir, id);
 
-        } catch (IOException e) {
-            plugin.getLogger().log(Level.SEVERE, "Failed to create backup", e);
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            File restored = null;
+            try {
+                backupEngine.restore(id, target);
+                restored = target;
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Failed to restore backup " + id, e);
+            }
+
+            File finished = restored;
+            if (callback != null && plugin.isEnabled()) {
+                plugin.getServer().getScheduler().runTask(plugin, () -> callback.accept(finished));
+            }
+        });
+    }
+
+    /**
+     * Completed backups, oldest first
+     */
+    public List<String> listBackups() {
+        return backupEngine.list();
+    }
+
+    private void startBackupSchedule() {
+        int minutes = plugin.getBackupIntervalMinutes();
+        if (minutes <= 0) return;
+
+        long ticks = minutes * 60L * 20L;
+        plugin.getServer().getScheduler().runTaskTimer(plugin, () -> createBackup(null), ticks, ticks);
+
+        plugin.getLogger().info("Scheduled backups started (every " + minutes + " minutes)");
+    }
+
+    // ========================================
+    // COLD ARCHIVE
+    // ========================================
+
+    /**
+     * Move players who have not played for the archive window into the cold archive, without
+     * blocking the main thread. Last activity is the server's own record (OfflinePlayer#getLastSeen);
+     * players it has never seen, cached players and players with a queued write stay hot.
+     * @param callback run on the main thread with the result, or null if the pass failed
+     * @return false if tiering is disabled or a pass is already running
+     */
+    public boolean archiveInactive(Consumer<ColdArchive.Result> callback) {
+        if (archive == null || !archiveRunning.compareAndSet(false, true)) {
             return false;
         }
+
+        saveAllDirty();
+        long cutoff = System.currentTimeMillis() - plugin.getArchiveAfterDays() * 24L * 60 * 60 * 1000;
+
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            ColdArchive.Result result = null;
+            try {
+                result = moveToArchive(cutoff);
+                plugin.getLogger().info("Archived " + result.archived + " inactive player(s) in " + result.millis + "ms (" +
+                        result.skipped + " skipped, " + archive.size() + " in archive)");
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Failed to archive inactive players", e);
+            } finally {
+                archiveRunning.set(false);
+            }
+
+            ColdArchive.Result finished = result;
+            if (callback != null && plugin.isEnabled()) {
+                plugin.getServer().getScheduler().runTask(plugin, () -> callback.accept(finished));
+            }
+        });
+        return true;
+    }
+
+    private ColdArchive.Result moveToArchive(long cutoff) throws IOException {
+        long start = System.currentTimeMillis();
+
+        // Records on disk must be current (and the journal empty) before any are deleted
+        writer.flush();
+        if (journal != null) {
+            journal.compact();
+        }
+
+        List<UUID> candidates = new ArrayList<>();
+        for (UUID uuid : playerStore.list()) {
+            if (isCached(uuid)) continue;
+
+            long lastSeen = Bukkit.getOfflinePlayer(uuid).getLastSeen();
+            if (lastSeen > 0 && lastSeen < cutoff) {
+                candidates.add(uuid);
+            }
+        }
+
+        int archived = 0;
+        for (int from = 0; from < candidates.size(); from += ARCHIVE_BATCH_SIZE) {
+            List<PlayerDataSnapshot> batch = new ArrayList<>();
+            for (UUID uuid : candidates.subList(from, Math.min(candidates.size(), from + ARCHIVE_BATCH_SIZE))) {
+                PlayerDataSnapshot snapshot = readSnapshot(uuid);
+                if (snapshot != null) batch.add(snapshot);
+            }
+
+            // The segment is on disk before anything leaves the hot store
+            archive.archive(batch);
+
+            List<UUID> kept = new ArrayList<>();
+            for (PlayerDataSnapshot snapshot : batch) {
+                if (evictToArchive(snapshot)) {
+                    archived++;
+                } else {
+                    kept.add(snapshot.getUuid());
+                }
+            }
+            archive.remove(kept);
+        }
+
+        archive.recordArchived(archived);
+        return new ColdArchive.Result(candidates.size(), archived, candidates.size() - archived,
+                System.currentTimeMillis() - start);
     }
 
     /**
-     * Keep only the most recent backups
+     * Delete an archived player's hot record, unless they were loaded or saved since the snapshot
      */
-    private void cleanupOldBackups() {
-        File[] backups = backupDir.listFiles((dir, name) -> name.startsWith("players_") && name.endsWith(".yml"));
+    private boolean evictToArchive(PlayerDataSnapshot archived) throws IOException {
+        UUID uuid = archived.getUuid();
+        synchronized (tierLock) {
+            if (isCached(uuid) || writer.getPending(uuid) != null) return false;
 
-        if (backups == null || backups.length <= MAX_BACKUPS) {
-            return;
+            PlayerData stored = playerStore.load(uuid);
+            if (stored == null || !sameRecord(stored.snapshot(), archived)) return false;
+
+            return playerStore.delete(uuid);
         }
+    }
+
+    private static boolean sameRecord(PlayerDataSnapshot a, PlayerDataSnapshot b) {
+        return a.getCurrentElement() == b.getCurrentElement() && a.getUpgradeLevel() == b.getUpgradeLevel() &&
+                a.getMana() == b.getMana() && a.getManaTimestamp() == b.getManaTimestamp() &&
+                a.getOwnedItems().equals(b.getOwnedItems());
+    }
+
+    private void startArchiveSchedule() {
+        if (archive == null) return;
+
+        long ticks = plugin.getArchiveIntervalHours() * 60L * 60L * 20L;
+        plugin.getServer().getScheduler().runTaskTimer(plugin, () -> archiveInactive(null), ticks, ticks);
+
+        plugin.getLogger().info("Cold archive enabled (players inactive for " + plugin.getArchiveAfterDays() + " days)");
+    }
+
+    /**
+     * False when tiering is disabled (setting off, cluster mode or the archive failed to open)
+     */
+    public boolean isArchiveEnabled() {
+        return archive != null;
+    }
+
+    // ========================================
+    // BULK JOBS
+    // ========================================
+
+    /**
+     * Apply a mutation to every stored player (both tiers) without blocking the main thread.
+     * Offline players are read, changed and written through the writer in batches. Cached players are
+     * changed through their live PlayerData on the main thread; online ones are skipped if requested.
+     * @param progress run on the main thread every few seconds while the job runs
+     * @param callback run on the main thread when the job stops (finished or cancelled), or with null if it failed
+     * @return the job, or null if a job is running or an interrupted one is waiting to be resumed
+     */
+    public BulkJob startBulkJob(PlayerMutation mutation, boolean skipOnline,
+                                Consumer<BulkJob> progress, Consumer<BulkJob> callback) {
+        if (bulkJobFile.exists()) return null;
+
+        BulkJob job = new BulkJob(mutation, skipOnline);
+        if (!bulkJob.compareAndSet(null, job)) return null;
+
+        runBulkJob(job, progress, callback);
+        return job;
+    }
+
+    /**
+     * Continue an interrupted job after the last checkpointed player
+     * @return the job, or null if there is nothing to resume or a job is running
+     */
+    public BulkJob resumeBulkJob(Consumer<BulkJob> progress, Consumer<BulkJob> callback) {
+        BulkJob job = BulkJob.load(bulkJobFile);
+        if (job == null || !bulkJob.compareAndSet(null, job)) return null;
+
+        runBulkJob(job, progress, callback);
+        return job;
+    }
+
+    /**
+     * The running job, or the interrupted one waiting to be resumed, or null
+     */
+    public BulkJob getBulkJob() {
+        BulkJob running = bulkJob.get();
+        return running != null ? running : BulkJob.load(bulkJobFile);
+    }
+
+    public boolean isBulkJobRunning() {
+        return bulkJob.get() != null;
+    }
+
+    /**
+     * Discard an interrupted job's checkpoint (the players it already changed stay changed)
+     * @return false if a job is running or there was nothing to discard
+     */
+    public boolean discardBulkJob() {
+        return bulkJob.get() == null && bulkJobFile.delete();
+    }
+
+    private void runBulkJob(BulkJob job, Consumer<BulkJob> progress, Consumer<BulkJob> callback) {
+        saveAllDirty();
+
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            BulkJob result = null;
+            try {
+                processBulkJob(job, progress);
+                result = job;
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Bulk job '" + job.getMutation().describe() + "' failed after " +
+                        job.getProcessed() + " players (resumable)", e);
+            } finally {
+                bulkJob.set(null);
+            }
+
+            BulkJob finished = result;
+            if (callback != null && plugin.isEnabled()) {
+                plugin.getServer().getScheduler().runTask(plugin, () -> callback.accept(finished));
+            }
+        });
+    }
+
+    private void processBulkJob(BulkJob job, Consumer<BulkJob> progress) throws IOException {
+        PlayerMutation mutation = job.getMutation();
+
+        // Queued snapshots are newer than the store, and the order must not change between runs
+        writer.flush();
+        List<UUID> players = listAllPlayers();
+        Collections.sort(players);
+
+        List<UUID> remaining = players.subList(job.resumeIndex(players), players.size());
+        job.begin(remaining.size());
+        job.save(bulkJobFile);
+
+        long lastReport = System.currentTimeMillis();
+        for (int from = 0; from < remaining.size() && !job.isCancelled(); from += BULK_BATCH_SIZE) {
+            List<UUID> batch = remaining.subList(from, Math.min(remaining.size(), from + BULK_BATCH_SIZE));
+            int changed = 0;
+
+            for (UUID uuid : batch) {
+                if (isCached(uuid)) continue; // Changed through the live data below
+
+                PlayerDataSnapshot snapshot = readSnapshot(uuid);
+                if (snapshot == null) continue;
+
+                PlayerData pd = new PlayerData(snapshot);
+                if (mutation.apply(pd)) {
+                    writer.submit(pd.snapshot());
+                    changed++;
+                }
+            }
 
-        // Sort by modification time (oldest first)
-        Arrays.sort(backups, Comparator.comparingLong(File::lastModified));
+            // Cached players, including any loaded while the batch was read, change on the main thread
+            int[] live;
+            try {
+                live = Bukkit.getScheduler().callSyncMethod(plugin, () -> applyLive(job, batch)).get();
+            } catch (InterruptedException | ExecutionException | CancellationException e) {
+                // The server is stopping - redo this batch on resume
+                if (job.isCancelled()) break;
+                throw new IOException("Could not apply bulk changes to loaded players", e);
+            }
 
-        // Delete oldest backups
-        int toDelete = backups.length - MAX_BACKUPS;
-        for (int i = 0; i < toDelete; i++) {
-            if (backups[i].delete()) {
-                plugin.getLogger().fine("Deleted old backup: " + backups[i].getName());
+            // Only checkpoint once the batch is on disk
+            writer.flush();
+            job.advance(batch.size(), changed + live[0], live[1], batch.get(batch.size() - 1));
+            job.save(bulkJobFile);
+
+            long now = System.currentTimeMillis();
+            if (progress != null && now - lastReport >= BULK_PROGRESS_INTERVAL_MILLIS && plugin.isEnabled()) {
+                lastReport = now;
+                plugin.getServer().getScheduler().runTask(plugin, () -> progress.accept(job));
             }
         }
+
+        if (job.isCancelled()) {
+            plugin.getLogger().info("Bulk job '" + mutation.describe() + "' stopped after " + job.getProcessed() + "/" +
+                    job.getTotal() + " players (resumable)");
+            return;
+        }
+
+        job.finish();
+        if (!bulkJobFile.delete()) {
+            plugin.getLogger().warning("Could not delete " + bulkJobFile.getName());
+        }
+        plugin.getLogger().info("Bulk job '" + mutation.describe() + "' finished: " + job.getChanged() + " of " +
+                job.getTotal() + " players changed, " + job.getSkipped() + " online skipped in " + job.getElapsedMillis() + "ms");
     }
 
     /**
-     * Recover from the most recent backup
+     * Apply a job to the batch's cached players through their live data (main thread)
+     * @return {changed, skipped}
      */
-    private boolean recoverFromBackup() {
-        File[] backups = backupDir.listFiles((dir, name) -> name.startsWith("players_") && name.endsWith(".yml"));
+    private int[] applyLive(BulkJob job, List<UUID> batch) {
+        int changed = 0;
+        int skipped = 0;
+
+        for (UUID uuid : batch) {
+            PlayerData pd = playerDataCache.getIfPresent(uuid);
+            if (pd == null) continue;
+
+            Player player = Bukkit.getPlayer(uuid);
+            boolean applied;
+            if (player == null) {
+                applied = job.getMutation().apply(pd);
+            } else if (job.isSkipOnline()) {
+                skipped++;
+                continue;
+            } else {
+                applied = job.getMutation().applyLive(plugin, player, pd);
+            }
 
-        if (backups == null || backups.length == 0) {
-            plugin.getLogger().warning("No backups found for recovery");
-            return false;
+            if (applied) {
+                save(pd);
+                changed++;
+            }
         }
+        return new int[]{changed, skipped};
+    }
 
-        // Sort by modification time (newest first)
-        Arrays.sort(backups, Comparator.comparingLong(File::lastModified).reversed());
+    // ========================================
+    // EXPORT / IMPORT
+    // ========================================
 
-        try {
-            File mostRecent = backups[0];
-            java.nio.file.Files.copy(
-                    mostRecent.toPath(),
-                    playerFile.toPath(),
-                    java.nio.file.StandardCopyOption.REPLACE_EXISTING
-            );
+    /**
+     * Stream every stored player to exports/<name> without blocking the main thread
+     * @param callback run on the main thread with the result, or null if the export failed
+     * @return false if an export or import is already running
+     */
+    public boolean exportPlayers(String name, Consumer<PlayerDataTransfer.Result> callback) {
+        if (!transferRunning.compareAndSet(false, true)) {
+            return false;
+        }
 
-            // Reload configuration
-            this.playerConfig = YamlConfiguration.loadConfiguration(playerFile);
+        saveAllDirty();
+        File file = new File(exportDir, name);
 
-            plugin.getLogger().info("Recovered from backup: " + mostRecent.getName());
-            return true;
+        runTransfer(callback, () -> {
+            // Queued snapshots are newer than the store, so drain them first
+            writer.flush();
+            PlayerDataTransfer.Result result = transfer.export(file, listAllPlayers(), this::readSnapshot);
 
-        } catch (IOException e) {
-            plugin.getLogger().log(Level.SEVERE, "Failed to recover from backup", e);
+            plugin.getLogger().info("Exported " + result.records + " player(s) to " + file.getName() + " in " +
+                    result.millis + "ms (" + result.getRecordsPerSecond() + " records/s)");
+            return result;
+        });
+        return true;
+    }
+
+    /**
+     * Stream players from exports/<name> into the active store without blocking the main thread.
+     * Records go through the background writer in batches, so the journal and the store stay consistent.
+     * Players that are online when the import starts are skipped, their live data would overwrite it.
+     * @param callback run on the main thread with the result, or null if the import failed
+     * @return false if an export or import is already running
+     */
+    public boolean importPlayers(String name, Consumer<PlayerDataTransfer.Result> callback) {
+        if (!transferRunning.compareAndSet(false, true)) {
             return false;
         }
+
+        File file = new File(exportDir, name);
+        Set<UUID> online = new HashSet<>();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            online.add(player.getUniqueId());
+        }
+
+        runTransfer(callback, () -> {
+            int[] queued = {0};
+            PlayerDataTransfer.Result result = transfer.importFrom(file, online::contains, snapshot -> {
+                writer.submit(snapshot);
+                // Drop any cached copy; a reload picks the snapshot up from the writer
+                playerDataCache.remove(snapshot.getUuid());
+
+                // Bound memory: let the writer catch up every batch
+                if (++queued[0] % IMPORT_BATCH_SIZE == 0) {
+                    writer.flush();
+                }
+            });
+            writer.flush();
+
+            plugin.getLogger().info("Imported " + result.records + " player(s) from " + file.getName() + " in " +
+                    result.millis + "ms (" + result.getRecordsPerSecond() + " records/s, " +
+                    result.invalid + " invalid, " + result.skipped + " online skipped)");
+            return result;
+        });
+        return true;
+    }
+
+    private interface TransferTask {
+        PlayerDataTransfer.Result run() throws IOException;
+    }
+
+    private void runTransfer(Consumer<PlayerDataTransfer.Result> callback, TransferTask task) {
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            PlayerDataTransfer.Result result = null;
+            try {
+                result = task.run();
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Player data transfer failed", e);
+            } finally {
+                transferRunning.set(false);
+            }
+
+            PlayerDataTransfer.Result finished = result;
+            if (callback != null && plugin.isEnabled()) {
+                plugin.getServer().getScheduler().runTask(plugin, () -> callback.accept(finished));
+            }
+        });
+    }
+
+    /**
+     * Export files available for import
+     */
+    public List<String> listExports() {
+        String[] names = exportDir.list((dir, name) -> name.endsWith(".jsonl"));
+        if (names == null) return new ArrayList<>();
+
+        List<String> exports = new ArrayList<>(Arrays.asList(names));
+        Collections.sort(exports);
+        return exports;
     }
 
     // ========================================
     // TEAM HIDDEN SAVE/LOAD
     // ========================================
-    public synchronized void saveTeamHidden(Map<UUID, Boolean> teamHidden) {
+    public void saveTeamHidden(Map<UUID, Boolean> teamHidden) {
         try {
-            for (UUID uuid : teamHidden.keySet()) {
-                teamHiddenConfig.set(uuid.toString(), teamHidden.get(uuid));
-            }
-            teamHiddenConfig.save(teamHiddenFile);
+            backend.saveTeamHidden(teamHidden);
         } catch (IOException e) {
-            plugin.getLogger().severe("Failed to save team-hidden.yml: " + e.getMessage());
+            plugin.getLogger().log(Level.SEVERE, "Failed to save team-hidden state", e);
         }
     }
 
     public Map<UUID, Boolean> loadTeamHidden() {
-        Map<UUID, Boolean> map = new HashMap<>();
-        if (teamHiddenConfig == null) {
-            teamHiddenConfig = YamlConfiguration.loadConfiguration(teamHiddenFile);
-        }
-        for (String key : teamHiddenConfig.getKeys(false)) {
-            try {
-                UUID uuid = UUID.fromString(key);
-                boolean hidden = teamHiddenConfig.getBoolean(key, false);
-                map.put(uuid, hidden);
-            } catch (IllegalArgumentException ignored) {}
+        try {
+            return backend.loadTeamHidden();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to load team-hidden state", e);
+            return new HashMap<>();
         }
-        return map;
     }
 
     // ========================================
@@ -401,11 +1115,70 @@ public class DataStore {
      */
     public Map<String, Object> getStatistics() {
         Map<String, Object> stats = new HashMap<>();
+        stats.put("storage_backend", backend.getName());
         stats.put("cached_players", playerDataCache.size());
+        stats.put("cache_max_size", playerDataCache.getMaxSize());
+        stats.put("cache_hit_rate", playerDataCache.getHitRate());
+        stats.put("cache_evictions", playerDataCache.getEvictionCount());
+        stats.put("cache_write_backs", playerDataCache.getWriteBackCount());
         stats.put("dirty_players", playerDataCache.values().stream().filter(PlayerData::isDirty).count());
         stats.put("last_save", new Date(lastSaveTime));
-        stats.put("player_file_size", playerFile.length());
-        stats.put("backup_count", backupDir.listFiles((dir, name) -> name.endsWith(".yml")).length);
+        stats.put("write_queue_depth", writer.getQueueDepth());
+        stats.put("writes_submitted", writer.getSubmittedCount());
+        stats.put("writes_completed", writer.getWrittenCount());
+        stats.put("write_batches", writer.getBatchCount());
+        stats.put("write_failures", writer.getFailureCount());
+        stats.put("write_avg_micros", writer.getAverageWriteMicros());
+        stats.put("write_max_micros", writer.getMaxWriteMicros());
+        if (journal != null) {
+            stats.put("journal_size", journal.getSize());
+            stats.put("journal_records", journal.getRecordCount());
+            stats.put("journal_syncs", journal.getSyncCount());
+            stats.put("journal_compactions", journal.getCompactionCount());
+        }
+        stats.put("indexed_players", index.size());
+        if (archive != null) {
+            stats.put("archived_players", archive.size());
+            stats.put("archive_moved", archive.getArchivedCount());
+            stats.put("archive_restored", archive.getRestoredCount());
+        }
+        stats.putAll(storageStats);
+        BackupEngine.Result backup = lastBackup;
+        if (backup != null) {
+            stats.put("last_backup_id", backup.id);
+            stats.put("last_backup_files", backup.storedFiles + "/" + backup.totalFiles);
+            stats.put("last_backup_bytes", backup.storedBytes);
+            stats.put("last_backup_millis", backup.millis);
+        }
+        return stats;
+    }
+
+    /**
+     * Measure the stored data on disk for getStatistics (after auto-saves and backups, async)
+     */
+    private void refreshStorageStats() {
+        Map<String, Object> sizes = new HashMap<>();
+        sizes.put("stored_players", playerStore.count());
+        sizes.put("player_data_size", playerStore.totalSize());
+        if (archive != null) {
+            sizes.put("archive_size", archive.totalSize());
+        }
+        sizes.put("backup_count", backupEngine.list().size());
+        sizes.put("backup_total_size", backupEngine.totalSize());
+        storageStats = sizes;
+    }
+
+    /**
+     * Secondary indexes for querying stored players by element, level or item
+     */
+    public PlayerIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Running balance statistics
+     */
+    public ElementStats getStats() {
         return stats;
     }
 
@@ -413,6 +1186,6 @@ public class DataStore {
      * Get all cached UUIDs
      */
     public Set<UUID> getCachedPlayers() {
-        return new HashSet<>(playerDataCache.keySet());
+        return playerDataCache.keys();
     }
 }
\ No newline at end of file
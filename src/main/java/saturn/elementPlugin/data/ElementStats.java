@@ -0,0 +1,216 @@
+package saturn.elementPlugin.data;
+
+import saturn.elementPlugin.elements.ElementType;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Running balance statistics, updated as things happen so reading them is O(1):
+ * - online players per element and upgrade level
+ * - element assignments, rerolls (from / to each element, basic and advanced)
+ * - upgrades applied per element and level
+ * - ability casts per element and ability
+ *
+ * Event counters are lifetime totals saved to stats.yml with the rest of the data.
+ * Population over the whole dataset comes from the PlayerIndex counters.
+ */
+public class ElementStats {
+    private static final ElementType[] ELEMENTS = ElementType.values();
+    private static final int LEVELS = PlayerIndex.MAX_LEVEL + 1;
+    private static final int ABILITIES = 2;
+
+    private final File file;
+    private final Logger logger;
+
+    // Online population: [element * LEVELS + level]
+    private final AtomicIntegerArray online = new AtomicIntegerArray(ELEMENTS.length * LEVELS);
+    private final Map<UUID, Integer> onlineSlots = new HashMap<>(); // Slot each online player is counted in (main thread)
+
+    // Lifetime event counters
+    private final AtomicLongArray assignments = new AtomicLongArray(ELEMENTS.length);
+    private final AtomicLongArray rerollsFrom = new AtomicLongArray(ELEMENTS.length);
+    private final AtomicLongArray rerollsTo = new AtomicLongArray(ELEMENTS.length);
+    private final AtomicLongArray rerollsByKind = new AtomicLongArray(2); // 0 = basic, 1 = advanced
+    private final AtomicLongArray upgrades = new AtomicLongArray(ELEMENTS.length * LEVELS);
+    private final AtomicLongArray casts = new AtomicLongArray(ELEMENTS.length * ABILITIES);
+
+    public ElementStats(File file, Logger logger) {
+        this.file = file;
+        this.logger = logger;
+        load();
+    }
+
+    // ========================================
+    // ONLINE POPULATION (main thread)
+    // ========================================
+
+    /**
+     * Count an online player under their current element and level (moves them if it changed)
+     */
+    public void trackOnline(PlayerData pd) {
+        ElementType element = pd.getCurrentElement();
+        int slot = element == null ? -1
+                : element.ordinal() * LEVELS + Math.max(0, Math.min(LEVELS - 1, pd.getCurrentElementUpgradeLevel()));
+
+        Integer previous = slot >= 0 ? onlineSlots.put(pd.getUuid(), slot) : onlineSlots.remove(pd.getUuid());
+        if (previous != null && previous == slot) return;
+
+        if (previous != null) online.decrementAndGet(previous);
+        if (slot >= 0) online.incrementAndGet(slot);
+    }
+
+    /**
+     * Stop counting a player who left
+     */
+    public void untrackOnline(UUID uuid) {
+        Integer previous = onlineSlots.remove(uuid);
+        if (previous != null) online.decrementAndGet(previous);
+    }
+
+    /**
+     * @param level upgrade level, or -1 for any
+     */
+    public int getOnline(ElementType element, int level) {
+        int base = element.ordinal() * LEVELS;
+        if (level >= 0) return online.get(base + level);
+
+        int total = 0;
+        for (int l = 0; l < LEVELS; l++) {
+            total += online.get(base + l);
+        }
+        return total;
+    }
+
+    // ========================================
+    // EVENTS
+    // ========================================
+
+    public void recordAssignment(ElementType element) {
+        assignments.incrementAndGet(element.ordinal());
+    }
+
+    /**
+     * @param from previous element, or null if the player had none
+     */
+    public void recordReroll(ElementType from, ElementType to, boolean advanced) {
+        if (from != null) rerollsFrom.incrementAndGet(from.ordinal());
+        rerollsTo.incrementAndGet(to.ordinal());
+        rerollsByKind.incrementAndGet(advanced ? 1 : 0);
+    }
+
+    public void recordUpgrade(ElementType element, int level) {
+        if (level < 0 || level >= LEVELS) return;
+        upgrades.incrementAndGet(element.ordinal() * LEVELS + level);
+    }
+
+    /**
+     * @param ability 1 or 2
+     */
+    public void recordCast(ElementType element, int ability) {
+        if (ability < 1 || ability > ABILITIES) return;
+        casts.incrementAndGet(element.ordinal() * ABILITIES + ability - 1);
+    }
+
+    // ========================================
+    // GETTERS
+    // ========================================
+
+    public long getAssignments(ElementType element) { return assignments.get(element.ordinal()); }
+    public long getRerollsFrom(ElementType element) { return rerollsFrom.get(element.ordinal()); }
+    public long getRerollsTo(ElementType element) { return rerollsTo.get(element.ordinal()); }
+    public long getBasicRerolls() { return rerollsByKind.get(0); }
+    public long getAdvancedRerolls() { return rerollsByKind.get(1); }
+
+    public long getRerolls() {
+        return rerollsByKind.get(0) + rerollsByKind.get(1);
+    }
+
+    public long getUpgrades(ElementType element, int level) {
+        return upgrades.get(element.ordinal() * LEVELS + level);
+    }
+
+    public long getCasts(ElementType element, int ability) {
+        return casts.get(element.ordinal() * ABILITIES + ability - 1);
+    }
+
+    // ========================================
+    // PERSISTENCE
+    // ========================================
+
+    private void load() {
+        if (!file.exists()) return;
+
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+        for (ElementType element : ELEMENTS) {
+            ConfigurationSection section = config.getConfigurationSection(element.name());
+            if (section == null) continue;
+
+            int e = element.ordinal();
+            assignments.set(e, section.getLong("assignments"));
+            rerollsFrom.set(e, section.getLong("rerolls-from"));
+            rerollsTo.set(e, section.getLong("rerolls-to"));
+            readArray(section.getLongList("upgrades"), upgrades, e * LEVELS, LEVELS);
+            readArray(section.getLongList("casts"), casts, e * ABILITIES, ABILITIES);
+        }
+        rerollsByKind.set(0, config.getLong("rerolls.basic"));
+        rerollsByKind.set(1, config.getLong("rerolls.advanced"));
+    }
+
+    /**
+     * Build the YAML for the current counters (cheap, any thread)
+     */
+    public String toYaml() {
+        YamlConfiguration config = new YamlConfiguration();
+        for (ElementType element : ELEMENTS) {
+            ConfigurationSection section = config.createSection(element.name());
+            int e = element.ordinal();
+            section.set("assignments", assignments.get(e));
+            section.set("rerolls-from", rerollsFrom.get(e));
+            section.set("rerolls-to", rerollsTo.get(e));
+            section.set("upgrades", writeArray(upgrades, e * LEVELS, LEVELS));
+            section.set("casts", writeArray(casts, e * ABILITIES, ABILITIES));
+        }
+        config.set("rerolls.basic", rerollsByKind.get(0));
+        config.set("rerolls.advanced", rerollsByKind.get(1));
+        return config.saveToString();
+    }
+
+    /**
+     * Write the counters to stats.yml (tmp file + atomic move)
+     */
+    public synchronized void save() {
+        File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try {
+            java.nio.file.Files.writeString(tmp.toPath(), toYaml());
+            java.nio.file.Files.move(tmp.toPath(), file.toPath(),
+                    java.nio.file.StandardCopyOption.REPLACE_EXISTING, java.nio.file.StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Failed to save element stats", e);
+        }
+    }
+
+    private static void readArray(List<Long> values, AtomicLongArray target, int offset, int length) {
+        for (int i = 0; i < Math.min(values.size(), length); i++) {
+            target.set(offset + i, values.get(i));
+        }
+    }
+
+    private static List<Long> writeArray(AtomicLongArray source, int offset, int length) {
+        Long[] values = new Long[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = source.get(offset + i);
+        }
+        return List.of(values);
+    }
+}
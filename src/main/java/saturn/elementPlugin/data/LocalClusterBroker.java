@@ -0,0 +1,40 @@
+package saturn.elementPlugin.data;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process stand-in for a real broker.
+ * Several ClusterSync instances sharing one LocalClusterBroker behave like nodes of a
+ * cluster; messages are delivered synchronously on the publishing thread, which keeps
+ * tests deterministic. On a single server it simply loops messages back.
+ */
+public class LocalClusterBroker implements ClusterBroker {
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String message) {
+        for (Listener listener : listeners) {
+            listener.onMessage(message);
+        }
+    }
+
+    @Override
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Simulate a dropped and re-established connection on every subscriber
+     */
+    public void reconnectAll() {
+        for (Listener listener : listeners) {
+            listener.onReconnect();
+        }
+    }
+
+    @Override
+    public void close() {
+        listeners.clear();
+    }
+}
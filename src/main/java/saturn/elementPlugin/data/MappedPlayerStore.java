@@ -0,0 +1,201 @@
+package saturn.elementPlugin.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Binary player record file (data/players.bin).
+ * Every player owns one fixed-size slot (see PlayerDataCodec) in a memory-mapped file,
+ * so loads and saves are in-place reads and writes with no parsing.
+ * The UUID -> slot index is rebuilt on startup by scanning the slots.
+ */
+public class MappedPlayerStore implements PlayerRecordStore {
+    private static final int GROWTH_SLOTS = 1024; // Grow the file 32 KB at a time
+
+    private final File file;
+    private final Logger logger;
+    private final FileChannel channel;
+
+    private final Map<UUID, Integer> slots = new ConcurrentHashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    private MappedByteBuffer buffer;
+    private int capacity;   // Slots currently mapped
+    private int nextSlot;   // First never-used slot
+
+    public MappedPlayerStore(File file, Logger logger) throws IOException {
+        this.file = file;
+        this.logger = logger;
+        this.channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        int existing = (int) (channel.size() / PlayerDataCodec.RECORD_SIZE);
+        map(Math.max(existing, GROWTH_SLOTS));
+        buildIndex(existing);
+    }
+
+    // ========================================
+    // INDEX
+    // ========================================
+
+    private void buildIndex(int existing) {
+        int corrupt = 0;
+
+        for (int slot = 0; slot < existing; slot++) {
+            int offset = slot * PlayerDataCodec.RECORD_SIZE;
+            if (PlayerDataCodec.isEmpty(buffer, offset)) {
+                freeSlots.add(slot);
+                continue;
+            }
+
+            try {
+                PlayerDataCodec.decode(buffer, offset);
+            } catch (IOException e) {
+                // A torn write - the slot cannot be trusted, leave it for reuse
+                corrupt++;
+                freeSlots.add(slot);
+                continue;
+            }
+
+            UUID uuid = PlayerDataCodec.readUuid(buffer, offset);
+            if (slots.putIfAbsent(uuid, slot) != null) {
+                freeSlots.add(slot); // Duplicate, keep the first one
+            }
+        }
+
+        nextSlot = existing;
+
+        if (corrupt > 0) {
+            logger.warning("Skipped " + corrupt + " corrupt record(s) in " + file.getName());
+        }
+    }
+
+    private void map(int slotCount) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) slotCount * PlayerDataCodec.RECORD_SIZE);
+        capacity = slotCount;
+    }
+
+    private int allocateSlot() throws IOException {
+        Integer free = freeSlots.poll();
+        if (free != null) {
+            return free;
+        }
+
+        if (nextSlot >= capacity) {
+            map(capacity + GROWTH_SLOTS);
+        }
+        return nextSlot++;
+    }
+
+    // ========================================
+    // READ / WRITE
+    // ========================================
+
+    @Override
+    public synchronized PlayerData load(UUID uuid) throws IOException {
+        Integer slot = slots.get(uuid);
+        if (slot == null) {
+            return null;
+        }
+
+        PlayerDataSnapshot snapshot = PlayerDataCodec.decode(buffer, slot * PlayerDataCodec.RECORD_SIZE);
+        return snapshot != null ? new PlayerData(snapshot) : null;
+    }
+
+    @Override
+    public synchronized void save(PlayerDataSnapshot snapshot) throws IOException {
+        put(snapshot);
+        buffer.force();
+    }
+
+    /**
+     * Write a batch of records with a single flush to disk
+     */
+    @Override
+    public synchronized void write(List<PlayerDataSnapshot> batch) throws IOException {
+        for (PlayerDataSnapshot snapshot : batch) {
+            put(snapshot);
+        }
+        buffer.force();
+    }
+
+    private void put(PlayerDataSnapshot snapshot) throws IOException {
+        Integer slot = slots.get(snapshot.getUuid());
+        if (slot == null) {
+            slot = allocateSlot();
+            slots.put(snapshot.getUuid(), slot);
+        }
+
+        PlayerDataCodec.encode(snapshot, buffer, slot * PlayerDataCodec.RECORD_SIZE);
+    }
+
+    @Override
+    public synchronized boolean delete(UUID uuid) {
+        Integer slot = slots.remove(uuid);
+        if (slot == null) {
+            return false;
+        }
+
+        buffer.put(slot * PlayerDataCodec.RECORD_SIZE, (byte) 0);
+        buffer.force();
+        freeSlots.add(slot);
+        return true;
+    }
+
+    @Override
+    public boolean exists(UUID uuid) {
+        return slots.containsKey(uuid);
+    }
+
+    @Override
+    public List<UUID> list() {
+        return new ArrayList<>(slots.keySet());
+    }
+
+    /**
+     * Copy the record file for a backup. Holding the lock keeps the writer out until the copy is done.
+     */
+    public synchronized void copyTo(Path target) throws IOException {
+        buffer.force();
+        Files.copy(file.toPath(), target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    // ========================================
+    // STATISTICS
+    // ========================================
+
+    @Override
+    public int count() {
+        return slots.size();
+    }
+
+    @Override
+    public long totalSize() {
+        return (long) capacity * PlayerDataCodec.RECORD_SIZE;
+    }
+
+    @Override
+    public Path getLocation() {
+        return file.toPath();
+    }
+}
@@ -15,13 +15,15 @@ public class PlayerData {
     // Core identity
     private final UUID uuid;
 
-    // Element data
-    private ElementType currentElement;
-    private int currentElementUpgradeLevel = 0;
+    // Element data (element, level and mana are volatile: the ElementsService reads them from any thread)
+    private volatile ElementType currentElement;
+    private volatile int currentElementUpgradeLevel = 0;
     private final EnumSet<ElementType> ownedItems = EnumSet.noneOf(ElementType.class);
 
-    // Mana system
-    private int mana = 100;
+    // Mana system: mana as of manaTimestamp (epoch millis); lazy regen adds the whole seconds since then
+    // on read. Both are saved, so regeneration comes out the same whether or not the player stayed cached.
+    private volatile int mana = 100;
+    private volatile long manaTimestamp = System.currentTimeMillis();
 
     // Dirty flag for efficient saving
     private transient boolean dirty = false;
@@ -53,8 +55,12 @@ public class PlayerData {
             }
         }
 
-        // Load mana
+        // Load mana (records from before mana timestamps were saved start regenerating at load time)
         this.mana = Math.max(0, section.getInt("mana", 100));
+        long storedTimestamp = section.getLong("manaTimestamp", 0L);
+        if (storedTimestamp > 0) {
+            this.manaTimestamp = storedTimestamp;
+        }
 
         // Load upgrade level
         this.currentElementUpgradeLevel = Math.max(0, Math.min(2, section.getInt("currentUpgradeLevel", 0)));
@@ -73,6 +79,20 @@ public class PlayerData {
         this.dirty = false;
     }
 
+    /**
+     * Rebuild PlayerData from a snapshot (e.g. one still waiting to be written)
+     */
+    public PlayerData(PlayerDataSnapshot snapshot) {
+        this.uuid = snapshot.getUuid();
+        this.currentElement = snapshot.getCurrentElement();
+        this.currentElementUpgradeLevel = snapshot.getUpgradeLevel();
+        this.ownedItems.addAll(snapshot.getOwnedItems());
+        this.mana = snapshot.getMana();
+        if (snapshot.getManaTimestamp() > 0) {
+            this.manaTimestamp = snapshot.getManaTimestamp();
+        }
+    }
+
     // ========================================
     // CORE IDENTITY
     // ========================================
@@ -194,14 +214,52 @@ public class PlayerData {
     // MANA SYSTEM
     // ========================================
 
+    /**
+     * Stored mana (without any regeneration since the last change)
+     */
     public int getMana() {
         return mana;
     }
 
+    /**
+     * Mana at a point in time, including regeneration since the last change (lazy regen mode)
+     */
+    public int getMana(long now, int maxMana, int regenPerSecond) {
+        if (mana >= maxMana) {
+            return mana;
+        }
+
+        long regenerated = Math.max(0, now - manaTimestamp) / 1000 * regenPerSecond;
+        return (int) Math.min(maxMana, mana + regenerated);
+    }
+
+    /**
+     * When the stored mana was last set (epoch millis)
+     */
+    public long getManaTimestamp() {
+        return manaTimestamp;
+    }
+
+    /**
+     * Set mana as of now (restarts lazy regeneration from this value)
+     */
     public void setMana(int mana) {
+        setMana(mana, System.currentTimeMillis());
+    }
+
+    /**
+     * Set mana as of {@code now}. Lazy regeneration restarts from this value but keeps the
+     * progress towards the next whole second, like the old per-second loop did.
+     * @param now the same time the new value was computed at with {@link #getMana(long, int, int)}
+     */
+    public void setMana(int mana, long now) {
         int newMana = Math.max(0, mana);
-        if (this.mana != newMana) {
+        long elapsed = now - manaTimestamp;
+        long newTimestamp = elapsed >= 0 ? now - elapsed % 1000 : now;
+
+        if (this.mana != newMana || this.manaTimestamp != newTimestamp) {
             this.mana = newMana;
+            this.manaTimestamp = newTimestamp;
             markDirty();
         }
     }
@@ -239,21 +297,18 @@ public class PlayerData {
     // SERIALIZATION
     // ========================================
 
+    /**
+     * Take an immutable copy of this PlayerData for background writing
+     */
+    public PlayerDataSnapshot snapshot() {
+        return new PlayerDataSnapshot(uuid, currentElement, currentElementUpgradeLevel, ownedItems, mana, manaTimestamp);
+    }
+
     /**
      * Save this PlayerData to a ConfigurationSection
      */
     public void saveTo(ConfigurationSection section) {
-        section.set("element", currentElement == null ? null : currentElement.name());
-        section.set("mana", mana);
-        section.set("currentUpgradeLevel", currentElementUpgradeLevel);
-
-        // Save owned items
-        java.util.List<String> itemNames = new java.util.ArrayList<>();
-        for (ElementType type : ownedItems) {
-            itemNames.add(type.name());
-        }
-        section.set("items", itemNames);
-
+        snapshot().saveTo(section);
         markClean();
     }
 
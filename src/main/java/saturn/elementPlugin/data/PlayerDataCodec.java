@@ -0,0 +1,169 @@
+package saturn.elementPlugin.data;
+
+import saturn.elementPlugin.elements.ElementType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Fixed-width binary format for a single player record.
+ *
+ * Layout (32 bytes, big-endian), version 2:
+ *   0      version (0 = empty slot)
+ *   1      element and upgrade level: element ordinal + 1 in the low 5 bits (0 = none),
+ *          upgrade level in the high 3 bits
+ *   2-3    owned items bitmask (bit = ElementType ordinal)
+ *   4-5    mana
+ *   6-11   mana timestamp, epoch millis (48 bits, 0 = not recorded)
+ *   12-27  uuid
+ *   28-31  crc32 of bytes 0-27
+ *
+ * Version 1 records (no mana timestamp) are still read:
+ *   1 element ordinal (-1 = none), 2 upgrade level, 3 reserved, 4-7 owned items, 8-9 mana, 10-11 reserved
+ * The uuid and checksum sit at the same offsets in both versions.
+ *
+ * Element ordinals are stored, so new ElementType values must only ever be appended.
+ */
+public final class PlayerDataCodec {
+    public static final int RECORD_SIZE = 32;
+    public static final byte VERSION = 2;
+    static final byte VERSION_1 = 1;
+
+    private static final int OFFSET_VERSION = 0;
+    private static final int OFFSET_ELEMENT_LEVEL = 1;
+    private static final int OFFSET_ITEMS = 2;
+    private static final int OFFSET_MANA = 4;
+    private static final int OFFSET_MANA_TIMESTAMP = 6;
+    private static final int OFFSET_UUID_MSB = 12;
+    private static final int OFFSET_UUID_LSB = 20;
+    private static final int OFFSET_CRC = 28;
+
+    // Version 1 fields that moved
+    private static final int V1_OFFSET_ELEMENT = 1;
+    private static final int V1_OFFSET_LEVEL = 2;
+    private static final int V1_OFFSET_ITEMS = 4;
+    private static final int V1_OFFSET_MANA = 8;
+
+    private static final int ELEMENT_BITS = 5;
+    private static final int ELEMENT_MASK = (1 << ELEMENT_BITS) - 1;
+    private static final int MAX_LEVEL = 7;
+    private static final long MAX_TIMESTAMP = (1L << 48) - 1;
+
+    private static final ElementType[] ELEMENTS = ElementType.values();
+
+    private PlayerDataCodec() {
+    }
+
+    // ========================================
+    // RECORDS
+    // ========================================
+
+    /**
+     * Write a record at {@code offset} (absolute, the buffer position is not changed)
+     */
+    public static void encode(PlayerDataSnapshot snapshot, ByteBuffer buffer, int offset) {
+        UUID uuid = snapshot.getUuid();
+        int mana = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, snapshot.getMana()));
+        int level = Math.max(0, Math.min(MAX_LEVEL, snapshot.getUpgradeLevel()));
+        long timestamp = Math.max(0, Math.min(MAX_TIMESTAMP, snapshot.getManaTimestamp()));
+
+        buffer.put(offset + OFFSET_VERSION, VERSION);
+        buffer.put(offset + OFFSET_ELEMENT_LEVEL,
+                (byte) (level << ELEMENT_BITS | (encodeElement(snapshot.getCurrentElement()) + 1)));
+        buffer.putShort(offset + OFFSET_ITEMS, (short) encodeItems(snapshot.getOwnedItems()));
+        buffer.putShort(offset + OFFSET_MANA, (short) mana);
+        buffer.putShort(offset + OFFSET_MANA_TIMESTAMP, (short) (timestamp >>> 32));
+        buffer.putInt(offset + OFFSET_MANA_TIMESTAMP + 2, (int) timestamp);
+        buffer.putLong(offset + OFFSET_UUID_MSB, uuid.getMostSignificantBits());
+        buffer.putLong(offset + OFFSET_UUID_LSB, uuid.getLeastSignificantBits());
+        buffer.putInt(offset + OFFSET_CRC, checksum(buffer, offset));
+    }
+
+    /**
+     * Read the record at {@code offset}
+     * @return the snapshot, or null if the slot is empty
+     * @throws IOException if the record is corrupt or from an unknown version
+     */
+    public static PlayerDataSnapshot decode(ByteBuffer buffer, int offset) throws IOException {
+        byte version = buffer.get(offset + OFFSET_VERSION);
+        if (version == 0) {
+            return null;
+        }
+        if (version != VERSION && version != VERSION_1) {
+            throw new IOException("Unsupported player record version " + version);
+        }
+        if (buffer.getInt(offset + OFFSET_CRC) != checksum(buffer, offset)) {
+            throw new IOException("Player record checksum mismatch");
+        }
+
+        UUID uuid = readUuid(buffer, offset);
+        if (version == VERSION_1) {
+            return new PlayerDataSnapshot(uuid,
+                    decodeElement(buffer.get(offset + V1_OFFSET_ELEMENT)),
+                    buffer.get(offset + V1_OFFSET_LEVEL),
+                    decodeItems(buffer.getInt(offset + V1_OFFSET_ITEMS)),
+                    buffer.getShort(offset + V1_OFFSET_MANA));
+        }
+
+        int elementLevel = buffer.get(offset + OFFSET_ELEMENT_LEVEL) & 0xFF;
+        long timestamp = (buffer.getShort(offset + OFFSET_MANA_TIMESTAMP) & 0xFFFFL) << 32
+                | (buffer.getInt(offset + OFFSET_MANA_TIMESTAMP + 2) & 0xFFFFFFFFL);
+        return new PlayerDataSnapshot(uuid,
+                decodeElement((byte) ((elementLevel & ELEMENT_MASK) - 1)),
+                elementLevel >>> ELEMENT_BITS,
+                decodeItems(buffer.getShort(offset + OFFSET_ITEMS) & 0xFFFF),
+                buffer.getShort(offset + OFFSET_MANA),
+                timestamp);
+    }
+
+    public static boolean isEmpty(ByteBuffer buffer, int offset) {
+        return buffer.get(offset + OFFSET_VERSION) == 0;
+    }
+
+    /**
+     * Read only the UUID of a record (used to build the slot index)
+     */
+    public static UUID readUuid(ByteBuffer buffer, int offset) {
+        return new UUID(buffer.getLong(offset + OFFSET_UUID_MSB), buffer.getLong(offset + OFFSET_UUID_LSB));
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, OFFSET_CRC));
+        return (int) crc.getValue();
+    }
+
+    // ========================================
+    // FIELDS
+    // ========================================
+
+    static byte encodeElement(ElementType element) {
+        return element == null ? -1 : (byte) element.ordinal();
+    }
+
+    static ElementType decodeElement(byte value) {
+        return value >= 0 && value < ELEMENTS.length ? ELEMENTS[value] : null;
+    }
+
+    static int encodeItems(Set<ElementType> items) {
+        int mask = 0;
+        for (ElementType type : items) {
+            mask |= 1 << type.ordinal();
+        }
+        return mask;
+    }
+
+    static Set<ElementType> decodeItems(int mask) {
+        Set<ElementType> items = EnumSet.noneOf(ElementType.class);
+        for (ElementType type : ELEMENTS) {
+            if ((mask & (1 << type.ordinal())) != 0) {
+                items.add(type);
+            }
+        }
+        return items;
+    }
+}
@@ -0,0 +1,31 @@
+package saturn.elementPlugin.data;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Destination for batches of player snapshots written by the PlayerDataWriter.
+ * Implementations are only ever called from one writer thread at a time.
+ */
+public interface PlayerDataSink {
+    /**
+     * Persist a batch of snapshots
+     * @throws IOException if the batch could not be written (it will be retried)
+     */
+    void write(List<PlayerDataSnapshot> batch) throws IOException;
+
+    /**
+     * Get state that has been written but is not visible in the shards yet
+     * @return the newest known snapshot, or null if the shard is up to date
+     */
+    default PlayerDataSnapshot peek(UUID uuid) {
+        return null;
+    }
+
+    /**
+     * Release resources (called once on shutdown, after the final flush)
+     */
+    default void close() throws IOException {
+    }
+}
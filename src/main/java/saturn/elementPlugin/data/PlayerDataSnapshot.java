@@ -0,0 +1,83 @@
+package saturn.elementPlugin.data;
+
+import saturn.elementPlugin.elements.ElementType;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable copy of a PlayerData taken on the main thread.
+ * Snapshots are what gets handed to background writers, so the live
+ * PlayerData never has to be read from another thread.
+ */
+public final class PlayerDataSnapshot {
+    private final UUID uuid;
+    private final ElementType currentElement;
+    private final int upgradeLevel;
+    private final Set<ElementType> ownedItems;
+    private final int mana;
+    private final long manaTimestamp;
+
+    /**
+     * Snapshot without a mana timestamp (formats that never recorded one)
+     */
+    PlayerDataSnapshot(UUID uuid, ElementType currentElement, int upgradeLevel,
+                       Set<ElementType> ownedItems, int mana) {
+        this(uuid, currentElement, upgradeLevel, ownedItems, mana, 0L);
+    }
+
+    /**
+     * @param manaTimestamp when the player had exactly {@code mana} (epoch millis), or 0 if unknown
+     */
+    PlayerDataSnapshot(UUID uuid, ElementType currentElement, int upgradeLevel,
+                       Set<ElementType> ownedItems, int mana, long manaTimestamp) {
+        this.uuid = uuid;
+        this.currentElement = currentElement;
+        this.upgradeLevel = upgradeLevel;
+        this.ownedItems = ownedItems.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(ownedItems));
+        this.mana = mana;
+        this.manaTimestamp = manaTimestamp;
+    }
+
+    public UUID getUuid() { return uuid; }
+    public ElementType getCurrentElement() { return currentElement; }
+    public int getUpgradeLevel() { return upgradeLevel; }
+    public Set<ElementType> getOwnedItems() { return ownedItems; }
+    public int getMana() { return mana; }
+    public long getManaTimestamp() { return manaTimestamp; }
+
+    /**
+     * Write this snapshot to a ConfigurationSection (same layout as PlayerData)
+     */
+    public void saveTo(ConfigurationSection section) {
+        section.set("element", currentElement == null ? null : currentElement.name());
+        section.set("mana", mana);
+        section.set("manaTimestamp", manaTimestamp != 0 ? manaTimestamp : null);
+        section.set("currentUpgradeLevel", upgradeLevel);
+
+        List<String> itemNames = new ArrayList<>();
+        for (ElementType type : ownedItems) {
+            itemNames.add(type.name());
+        }
+        section.set("items", itemNames);
+    }
+
+    @Override
+    public String toString() {
+        return "PlayerDataSnapshot{" +
+                "uuid=" + uuid +
+                ", element=" + currentElement +
+                ", upgradeLevel=" + upgradeLevel +
+                ", mana=" + mana +
+                ", manaTimestamp=" + manaTimestamp +
+                ", ownedItems=" + ownedItems.size() +
+                '}';
+    }
+}
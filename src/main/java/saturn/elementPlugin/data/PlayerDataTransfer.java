@@ -0,0 +1,243 @@
+package saturn.elementPlugin.data;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import saturn.elementPlugin.elements.ElementType;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Streaming export/import of player records as line-delimited JSON.
+ *
+ * The first line is a header ({"format":"element-players","version":1}), followed by
+ * one record per line:
+ *   {"uuid":"...","element":"FIRE","upgradeLevel":1,"mana":100,"items":["FIRE"]}
+ * "manaTimestamp" (epoch millis the mana was last set) is optional and omitted when unknown.
+ * Records are read and written one at a time, so memory use does not grow with the
+ * size of the dataset. Every imported record is validated; invalid lines are counted
+ * and logged, never written.
+ */
+public class PlayerDataTransfer {
+    private static final String FORMAT = "element-players";
+    private static final int VERSION = 1;
+    private static final int MAX_LOGGED_ERRORS = 20;
+
+    private final Logger logger;
+    private final int maxMana;
+
+    /**
+     * Outcome of one export or import
+     */
+    public static final class Result {
+        public final int records;   // Records written
+        public final int invalid;   // Lines rejected by validation
+        public final int skipped;   // Valid records that were not written
+        public final long millis;
+
+        Result(int records, int invalid, int skipped, long millis) {
+            this.records = records;
+            this.invalid = invalid;
+            this.skipped = skipped;
+            this.millis = millis;
+        }
+
+        public long getRecordsPerSecond() {
+            return millis == 0 ? records * 1000L : records * 1000L / millis;
+        }
+    }
+
+    public PlayerDataTransfer(Logger logger, int maxMana) {
+        this.logger = logger;
+        this.maxMana = maxMana;
+    }
+
+    // ========================================
+    // EXPORT
+    // ========================================
+
+    /**
+     * Write every player returned by {@code loader} to {@code file}
+     * @param loader returns the current record of a player, or null if there is none
+     */
+    public Result export(File file, Iterable<UUID> players, Function<UUID, PlayerDataSnapshot> loader) throws IOException {
+        long start = System.currentTimeMillis();
+        int records = 0;
+        int skipped = 0;
+
+        File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp.toPath(), StandardCharsets.UTF_8)) {
+            JsonObject header = new JsonObject();
+            header.addProperty("format", FORMAT);
+            header.addProperty("version", VERSION);
+            writer.write(header.toString());
+            writer.newLine();
+
+            for (UUID uuid : players) {
+                PlayerDataSnapshot snapshot = loader.apply(uuid);
+                if (snapshot == null) {
+                    skipped++;
+                    continue;
+                }
+
+                writer.write(toJson(snapshot).toString());
+                writer.newLine();
+                records++;
+            }
+        }
+
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return new Result(records, 0, skipped, System.currentTimeMillis() - start);
+    }
+
+    private JsonObject toJson(PlayerDataSnapshot snapshot) {
+        JsonObject json = new JsonObject();
+        json.addProperty("uuid", snapshot.getUuid().toString());
+        if (snapshot.getCurrentElement() != null) {
+            json.addProperty("element", snapshot.getCurrentElement().name());
+        }
+        json.addProperty("upgradeLevel", snapshot.getUpgradeLevel());
+        json.addProperty("mana", snapshot.getMana());
+        if (snapshot.getManaTimestamp() != 0) {
+            json.addProperty("manaTimestamp", snapshot.getManaTimestamp());
+        }
+
+        JsonArray items = new JsonArray();
+        for (ElementType type : snapshot.getOwnedItems()) {
+            items.add(type.name());
+        }
+        json.add("items", items);
+        return json;
+    }
+
+    // ========================================
+    // IMPORT
+    // ========================================
+
+    /**
+     * Read records from {@code file} and hand each valid one to {@code sink}
+     * @param skip players whose records are validated but not written
+     */
+    public Result importFrom(File file, Predicate<UUID> skip, Consumer<PlayerDataSnapshot> sink) throws IOException {
+        long start = System.currentTimeMillis();
+        int records = 0;
+        int invalid = 0;
+        int skipped = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            readHeader(reader.readLine());
+
+            String line;
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+
+                PlayerDataSnapshot snapshot;
+                try {
+                    snapshot = parse(line);
+                } catch (IllegalArgumentException | JsonParseException | IllegalStateException | UnsupportedOperationException e) {
+                    if (++invalid <= MAX_LOGGED_ERRORS) {
+                        logger.warning("Invalid record on line " + lineNumber + " of " + file.getName() + ": " + e.getMessage());
+                    }
+                    continue;
+                }
+
+                if (skip.test(snapshot.getUuid())) {
+                    skipped++;
+                    continue;
+                }
+
+                sink.accept(snapshot);
+                records++;
+            }
+        }
+
+        if (invalid > MAX_LOGGED_ERRORS) {
+            logger.warning((invalid - MAX_LOGGED_ERRORS) + " more invalid record(s) in " + file.getName() + " not shown");
+        }
+        return new Result(records, invalid, skipped, System.currentTimeMillis() - start);
+    }
+
+    private void readHeader(String line) throws IOException {
+        try {
+            JsonObject header = line == null ? null : JsonParser.parseString(line).getAsJsonObject();
+            if (header == null || !header.has("format") || !FORMAT.equals(header.get("format").getAsString())) {
+                throw new IOException("Not a player export (missing header)");
+            }
+            if (header.get("version").getAsInt() != VERSION) {
+                throw new IOException("Unsupported export version " + header.get("version"));
+            }
+        } catch (JsonParseException | IllegalStateException | UnsupportedOperationException | NullPointerException e) {
+            throw new IOException("Not a player export (invalid header)", e);
+        }
+    }
+
+    /**
+     * Parse and validate one record
+     * @throws IllegalArgumentException describing the first problem found
+     */
+    private PlayerDataSnapshot parse(String line) {
+        JsonObject json = JsonParser.parseString(line).getAsJsonObject();
+
+        UUID uuid = UUID.fromString(required(json, "uuid").getAsString());
+
+        ElementType element = null;
+        JsonElement elementJson = json.get("element");
+        if (elementJson != null && !elementJson.isJsonNull()) {
+            element = ElementType.valueOf(elementJson.getAsString());
+        }
+
+        int upgradeLevel = required(json, "upgradeLevel").getAsInt();
+        if (upgradeLevel < 0 || upgradeLevel > 2) {
+            throw new IllegalArgumentException("upgradeLevel out of range: " + upgradeLevel);
+        }
+
+        int mana = required(json, "mana").getAsInt();
+        if (mana < 0 || mana > maxMana) {
+            throw new IllegalArgumentException("mana out of range: " + mana);
+        }
+
+        long manaTimestamp = 0;
+        JsonElement timestampJson = json.get("manaTimestamp");
+        if (timestampJson != null && !timestampJson.isJsonNull()) {
+            manaTimestamp = timestampJson.getAsLong();
+            if (manaTimestamp < 0) {
+                throw new IllegalArgumentException("manaTimestamp out of range: " + manaTimestamp);
+            }
+        }
+
+        Set<ElementType> items = EnumSet.noneOf(ElementType.class);
+        JsonElement itemsJson = json.get("items");
+        if (itemsJson != null && !itemsJson.isJsonNull()) {
+            for (JsonElement item : itemsJson.getAsJsonArray()) {
+                items.add(ElementType.valueOf(item.getAsString()));
+            }
+        }
+
+        return new PlayerDataSnapshot(uuid, element, upgradeLevel, items, mana, manaTimestamp);
+    }
+
+    private static JsonElement required(JsonObject json, String key) {
+        JsonElement value = json.get(key);
+        if (value == null || value.isJsonNull()) {
+            throw new IllegalArgumentException("missing " + key);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,307 @@
+package saturn.elementPlugin.data;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind persistence queue for player data.
+ * Callers hand in immutable snapshots from the main thread and return immediately.
+ * A single background thread writes them in batches; repeated saves of the same
+ * UUID that arrive before the write are merged into the latest snapshot.
+ */
+public class PlayerDataWriter {
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final long LINGER_MS = 50;      // Let bursts coalesce before writing
+    private static final long RETRY_DELAY_MS = 1000;
+    private static final long FLUSH_TIMEOUT_MS = 30_000;
+
+    private final PlayerDataSink sink;
+    private final Logger logger;
+
+    // Latest pending snapshot per player (coalescing)
+    private final Map<UUID, PlayerDataSnapshot> pending = new ConcurrentHashMap<>();
+
+    // Snapshots taken off the queue whose batch is still being written
+    private final Map<UUID, PlayerDataSnapshot> inFlight = new ConcurrentHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+    private final Condition idle = lock.newCondition();
+
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile boolean writing = false;
+
+    // Metrics
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong totalWriteNanos = new AtomicLong();
+    private volatile long lastBatchNanos = 0;
+    private volatile long maxWriteNanos = 0;
+
+    public PlayerDataWriter(PlayerDataSink sink, Logger logger) {
+        this.sink = sink;
+        this.logger = logger;
+
+        this.thread = new Thread(this::run, "ElementPlugin-DataWriter");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    // ========================================
+    // QUEUE
+    // ========================================
+
+    /**
+     * Queue a snapshot for writing (replaces any older pending snapshot of the same player)
+     */
+    public void submit(PlayerDataSnapshot snapshot) {
+        pending.put(snapshot.getUuid(), snapshot);
+        submitted.incrementAndGet();
+
+        if (!running) {
+            // Writer already stopped (shutdown) - write inline so nothing is lost
+            drain();
+            return;
+        }
+
+        signal(workAvailable);
+    }
+
+    /**
+     * Get the newest snapshot that is not readable from the shards yet
+     * (still queued here, or written to a sink that has not folded it into the shards)
+     */
+    public PlayerDataSnapshot getPending(UUID uuid) {
+        PlayerDataSnapshot queued = pending.get(uuid);
+        if (queued != null) return queued;
+
+        PlayerDataSnapshot inProgress = inFlight.get(uuid);
+        return inProgress != null ? inProgress : sink.peek(uuid);
+    }
+
+    /**
+     * Block until every snapshot queued before this call has been written
+     */
+    public void flush() {
+        if (!running || Thread.currentThread() == thread) {
+            drain();
+            return;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_TIMEOUT_MS);
+        lock.lock();
+        try {
+            workAvailable.signal();
+            while (!pending.isEmpty() || writing) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    logger.warning("Timed out waiting for player data writer (" + pending.size() + " pending)");
+                    return;
+                }
+                idle.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Flush remaining snapshots and stop the writer thread
+     */
+    public void shutdown() {
+        flush();
+        running = false;
+        signal(workAvailable);
+
+        try {
+            thread.join(FLUSH_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Anything submitted while stopping is written on this thread
+        drain();
+    }
+
+    // ========================================
+    // WRITER THREAD
+    // ========================================
+
+    private void run() {
+        while (running) {
+            lock.lock();
+            try {
+                if (pending.isEmpty()) {
+                    idle.signalAll();
+                    workAvailable.await();
+                    if (!running) break;
+                }
+                // Give a burst of saves a moment to coalesce
+                workAvailable.await(LINGER_MS, TimeUnit.MILLISECONDS);
+                writing = true;
+            } catch (InterruptedException e) {
+                break;
+            } finally {
+                lock.unlock();
+            }
+
+            boolean failed;
+            try {
+                failed = writeBatches();
+            } finally {
+                writing = false;
+                signal(idle);
+            }
+
+            if (failed) {
+                sleepQuietly(RETRY_DELAY_MS);
+            }
+        }
+    }
+
+    /**
+     * Write everything currently pending, one batch at a time.
+     * Synchronized with drain() so two threads never write batches at once
+     * (that could reorder two saves of the same player).
+     * @return true if any write failed and was re-queued
+     */
+    private synchronized boolean writeBatches() {
+        boolean failed = false;
+
+        while (!pending.isEmpty()) {
+            List<PlayerDataSnapshot> batch = takeBatch();
+            if (batch.isEmpty()) break;
+
+            long batchStart = System.nanoTime();
+            if (!write(batch)) {
+                failed = true;
+            }
+            lastBatchNanos = System.nanoTime() - batchStart;
+            batches.incrementAndGet();
+
+            if (failed) break;
+        }
+
+        return failed;
+    }
+
+    private List<PlayerDataSnapshot> takeBatch() {
+        List<PlayerDataSnapshot> batch = new ArrayList<>(Math.min(pending.size(), MAX_BATCH_SIZE));
+        Iterator<UUID> it = pending.keySet().iterator();
+
+        while (it.hasNext() && batch.size() < MAX_BATCH_SIZE) {
+            UUID uuid = it.next();
+            PlayerDataSnapshot snapshot = pending.get(uuid);
+            if (snapshot == null) continue;
+
+            // Visible in inFlight before it leaves pending, so getPending() always finds it
+            inFlight.put(uuid, snapshot);
+            if (pending.remove(uuid, snapshot)) {
+                batch.add(snapshot);
+            } else {
+                // A newer snapshot replaced it meanwhile - that one stays queued instead
+                inFlight.remove(uuid, snapshot);
+            }
+        }
+        return batch;
+    }
+
+    private boolean write(List<PlayerDataSnapshot> batch) {
+        long start = System.nanoTime();
+        try {
+            sink.write(batch);
+            for (PlayerDataSnapshot snapshot : batch) {
+                inFlight.remove(snapshot.getUuid(), snapshot);
+            }
+
+            long perSnapshot = (System.nanoTime() - start) / batch.size();
+            written.addAndGet(batch.size());
+            totalWriteNanos.addAndGet(perSnapshot * batch.size());
+            if (perSnapshot > maxWriteNanos) maxWriteNanos = perSnapshot;
+            return true;
+
+        } catch (IOException e) {
+            failures.incrementAndGet();
+            logger.log(Level.SEVERE, "Failed to write batch of " + batch.size() + " player(s)", e);
+
+            // Retry later unless a newer snapshot has been queued in the meantime
+            for (PlayerDataSnapshot snapshot : batch) {
+                pending.putIfAbsent(snapshot.getUuid(), snapshot);
+                inFlight.remove(snapshot.getUuid(), snapshot);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Write everything synchronously on the calling thread (waits for a batch the writer thread is writing)
+     */
+    private synchronized void drain() {
+        while (!pending.isEmpty()) {
+            List<PlayerDataSnapshot> batch = takeBatch();
+            if (!batch.isEmpty() && !write(batch)) {
+                // Disk is failing - stop instead of spinning, the batch stays queued
+                return;
+            }
+        }
+    }
+
+    private void signal(Condition condition) {
+        lock.lock();
+        try {
+            condition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ========================================
+    // STATISTICS
+    // ========================================
+
+    public int getQueueDepth() { return pending.size(); }
+    public long getSubmittedCount() { return submitted.get(); }
+    public long getWrittenCount() { return written.get(); }
+    public long getBatchCount() { return batches.get(); }
+    public long getFailureCount() { return failures.get(); }
+
+    /**
+     * Average time to write one snapshot (batch time / batch size), in microseconds
+     */
+    public long getAverageWriteMicros() {
+        long count = written.get();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalWriteNanos.get() / count);
+    }
+
+    public long getMaxWriteMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxWriteNanos);
+    }
+
+    public long getLastBatchMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(lastBatchNanos);
+    }
+}
@@ -0,0 +1,353 @@
+package saturn.elementPlugin.data;
+
+import saturn.elementPlugin.elements.ElementType;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Secondary indexes over every stored player (online or not):
+ * element + upgrade level -> players, and owned item -> players.
+ *
+ * Kept up to date by wrapping the writer's sink, so an entry changes exactly when a
+ * snapshot is persisted. Each player's indexed fields are packed into one int, and the
+ * posting lists are sorted sets so results page in a stable order without loading records.
+ *
+ * The index is saved to players.idx on shutdown and deleted while the server runs, so
+ * after a crash it is missing and gets rebuilt with one pass over the store.
+ */
+public class PlayerIndex {
+    private static final int MAGIC = 0x454C4958; // "ELIX"
+    private static final int VERSION = 1;
+    public static final int MAX_LEVEL = 2;
+
+    private static final ElementType[] ELEMENTS = ElementType.values();
+
+    private final File file;
+    private final Logger logger;
+
+    // Packed fields per indexed player (see pack)
+    private final Map<UUID, Integer> entries = new ConcurrentHashMap<>();
+
+    // [element][level] -> players, and [item] -> players
+    private final NavigableSet<UUID>[][] byElementLevel;
+    private final NavigableSet<UUID>[] byItem;
+
+    // Sizes of the posting lists above (sorted set size() is a full walk)
+    private final AtomicIntegerArray elementLevelCounts = new AtomicIntegerArray(ELEMENTS.length * (MAX_LEVEL + 1));
+    private final AtomicIntegerArray itemCounts = new AtomicIntegerArray(ELEMENTS.length);
+
+    private volatile boolean ready;
+
+    @SuppressWarnings("unchecked")
+    public PlayerIndex(File file, Logger logger) {
+        this.file = file;
+        this.logger = logger;
+
+        this.byElementLevel = new NavigableSet[ELEMENTS.length][MAX_LEVEL + 1];
+        this.byItem = new NavigableSet[ELEMENTS.length];
+        for (int e = 0; e < ELEMENTS.length; e++) {
+            for (int level = 0; level <= MAX_LEVEL; level++) {
+                byElementLevel[e][level] = new ConcurrentSkipListSet<>();
+            }
+            byItem[e] = new ConcurrentSkipListSet<>();
+        }
+    }
+
+    // ========================================
+    // LOAD / REBUILD / SAVE
+    // ========================================
+
+    /**
+     * Load the index saved by the last clean shutdown and delete the file.
+     * @return false if there was no usable index (call rebuild)
+     */
+    public boolean load() {
+        if (!file.exists()) return false;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != ELEMENTS.length) {
+                logger.warning("Player index has an unknown format, rebuilding");
+                return false;
+            }
+
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                UUID uuid = new UUID(in.readLong(), in.readLong());
+                apply(uuid, in.readInt());
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to read player index, rebuilding", e);
+            clear();
+            return false;
+        } finally {
+            // Until the next clean shutdown the file would fall behind
+            if (!file.delete() && file.exists()) {
+                logger.warning("Could not delete " + file.getName() + ", it may be stale after a crash");
+            }
+        }
+
+        ready = true;
+        logger.info("Loaded player index (" + entries.size() + " players)");
+        return true;
+    }
+
+    /**
+     * Index every stored player (one pass over the store, off the main thread).
+     * @param keepExisting skip players already indexed - on first build those came from the
+     *                     writer meanwhile and are newer than the store
+     */
+    public void rebuild(Collection<UUID> players, Function<UUID, PlayerDataSnapshot> loader, boolean keepExisting) {
+        long start = System.currentTimeMillis();
+        int indexed = 0;
+
+        for (UUID uuid : players) {
+            if (keepExisting && entries.containsKey(uuid)) continue;
+
+            PlayerDataSnapshot snapshot = loader.apply(uuid);
+            if (snapshot == null) continue;
+
+            synchronized (this) {
+                if (!keepExisting || !entries.containsKey(uuid)) {
+                    apply(uuid, pack(snapshot));
+                    indexed++;
+                }
+            }
+        }
+
+        ready = true;
+        logger.info("Rebuilt player index: " + indexed + " players in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    /**
+     * Write the index for the next start (plugin disable, after the final flush)
+     */
+    public synchronized void save() {
+        if (!ready) return; // A half-built index would hide players after restart
+
+        File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(ELEMENTS.length);
+            out.writeInt(entries.size());
+            for (Map.Entry<UUID, Integer> entry : entries.entrySet()) {
+                out.writeLong(entry.getKey().getMostSignificantBits());
+                out.writeLong(entry.getKey().getLeastSignificantBits());
+                out.writeInt(entry.getValue());
+            }
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Failed to save player index", e);
+            return;
+        }
+
+        try {
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Failed to save player index", e);
+        }
+    }
+
+    // ========================================
+    // MAINTENANCE
+    // ========================================
+
+    /**
+     * Wrap a sink so every persisted snapshot updates the index
+     */
+    public PlayerDataSink indexing(PlayerDataSink sink) {
+        return new PlayerDataSink() {
+            @Override
+            public void write(List<PlayerDataSnapshot> batch) throws IOException {
+                sink.write(batch);
+                for (PlayerDataSnapshot snapshot : batch) {
+                    update(snapshot);
+                }
+            }
+
+            @Override
+            public PlayerDataSnapshot peek(UUID uuid) {
+                return sink.peek(uuid);
+            }
+
+            @Override
+            public void close() throws IOException {
+                sink.close();
+            }
+        };
+    }
+
+    /**
+     * Re-index one player from their persisted state
+     */
+    public synchronized void update(PlayerDataSnapshot snapshot) {
+        apply(snapshot.getUuid(), pack(snapshot));
+    }
+
+    public synchronized void remove(UUID uuid) {
+        Integer old = entries.remove(uuid);
+        if (old != null) unlink(uuid, old);
+    }
+
+    private void apply(UUID uuid, int packed) {
+        Integer old = entries.put(uuid, packed);
+        if (old != null) {
+            if (old == packed) return;
+            unlink(uuid, old);
+        }
+        link(uuid, packed);
+    }
+
+    private void link(UUID uuid, int packed) {
+        int element = element(packed);
+        if (element >= 0) {
+            int level = level(packed);
+            if (byElementLevel[element][level].add(uuid)) {
+                elementLevelCounts.incrementAndGet(element * (MAX_LEVEL + 1) + level);
+            }
+        }
+
+        int items = items(packed);
+        for (int i = 0; i < ELEMENTS.length; i++) {
+            if ((items & (1 << i)) != 0 && byItem[i].add(uuid)) {
+                itemCounts.incrementAndGet(i);
+            }
+        }
+    }
+
+    private void unlink(UUID uuid, int packed) {
+        int element = element(packed);
+        if (element >= 0) {
+            int level = level(packed);
+            if (byElementLevel[element][level].remove(uuid)) {
+                elementLevelCounts.decrementAndGet(element * (MAX_LEVEL + 1) + level);
+            }
+        }
+
+        int items = items(packed);
+        for (int i = 0; i < ELEMENTS.length; i++) {
+            if ((items & (1 << i)) != 0 && byItem[i].remove(uuid)) {
+                itemCounts.decrementAndGet(i);
+            }
+        }
+    }
+
+    private synchronized void clear() {
+        for (Map.Entry<UUID, Integer> entry : entries.entrySet()) {
+            unlink(entry.getKey(), entry.getValue());
+        }
+        entries.clear();
+    }
+
+    // ========================================
+    // QUERIES
+    // ========================================
+
+    /**
+     * Players with an element, optionally at one upgrade level, in stable UUID order
+     * @param level upgrade level, or -1 for any
+     */
+    public List<UUID> query(ElementType element, int level, int offset, int limit) {
+        if (level >= 0) {
+            return page(byElementLevel[element.ordinal()][level], offset, limit);
+        }
+
+        // Any level: walk the level lists back to back
+        List<UUID> result = new ArrayList<>(Math.min(limit, 64));
+        int skip = offset;
+        for (int l = 0; l <= MAX_LEVEL && result.size() < limit; l++) {
+            int size = count(element, l);
+            if (skip >= size) {
+                skip -= size;
+                continue;
+            }
+            result.addAll(page(byElementLevel[element.ordinal()][l], skip, limit - result.size()));
+            skip = 0;
+        }
+        return result;
+    }
+
+    /**
+     * Players who own an element's item, in stable UUID order
+     */
+    public List<UUID> queryItem(ElementType item, int offset, int limit) {
+        return page(byItem[item.ordinal()], offset, limit);
+    }
+
+    /**
+     * @param level upgrade level, or -1 for any
+     */
+    public int count(ElementType element, int level) {
+        int base = element.ordinal() * (MAX_LEVEL + 1);
+        if (level >= 0) return elementLevelCounts.get(base + level);
+
+        int total = 0;
+        for (int l = 0; l <= MAX_LEVEL; l++) {
+            total += elementLevelCounts.get(base + l);
+        }
+        return total;
+    }
+
+    public int countItem(ElementType item) {
+        return itemCounts.get(item.ordinal());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * False while the first rebuild is still running (results may be incomplete)
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    private static List<UUID> page(NavigableSet<UUID> players, int offset, int limit) {
+        List<UUID> result = new ArrayList<>(Math.min(limit, 64));
+        Iterator<UUID> it = players.iterator();
+        for (int i = 0; i < offset && it.hasNext(); i++) {
+            it.next();
+        }
+        while (result.size() < limit && it.hasNext()) {
+            result.add(it.next());
+        }
+        return result;
+    }
+
+    // ========================================
+    // PACKING
+    // ========================================
+
+    // bits 0-7: element ordinal + 1 (0 = none), bits 8-15: upgrade level, bits 16-31: owned items
+    private static int pack(PlayerDataSnapshot snapshot) {
+        ElementType element = snapshot.getCurrentElement();
+        int level = Math.max(0, Math.min(MAX_LEVEL, snapshot.getUpgradeLevel()));
+
+        int items = 0;
+        for (ElementType item : snapshot.getOwnedItems()) {
+            items |= 1 << item.ordinal();
+        }
+        return (element == null ? 0 : element.ordinal() + 1) | (level << 8) | (items << 16);
+    }
+
+    private static int element(int packed) {
+        return (packed & 0xFF) - 1;
+    }
+
+    private static int level(int packed) {
+        return (packed >>> 8) & 0xFF;
+    }
+
+    private static int items(int packed) {
+        return packed >>> 16;
+    }
+}
@@ -0,0 +1,366 @@
+package saturn.elementPlugin.data;
+
+import saturn.elementPlugin.elements.ElementType;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal for player data (journaled storage mode).
+ *
+ * Every batch from the writer is appended as small mutation records (element,
+ * upgrade level, owned items, mana) with a single fsync per batch (group commit).
+ * Once the journal passes COMPACT_THRESHOLD_BYTES it is folded into the record store
+ * (shards or binary file), which acts as the snapshot, and truncated. On startup the
+ * store is read as usual and any journal tail left by a crash is replayed over it.
+ *
+ * Record layout: [crc32 int][type byte][uuid 16 bytes][payload]
+ * A record with a bad checksum or cut short marks the end of the valid journal.
+ */
+public class PlayerJournal implements PlayerDataSink {
+    private static final long COMPACT_THRESHOLD_BYTES = 4L * 1024 * 1024; // 4 MB
+    private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+
+    // Record types
+    private static final byte RECORD_FULL = 1;      // First record for a player since the last compaction
+    private static final byte RECORD_ELEMENT = 2;
+    private static final byte RECORD_LEVEL = 3;
+    private static final byte RECORD_ITEMS = 4;
+    private static final byte RECORD_MANA = 5;      // Mana only (written by older versions)
+    private static final byte RECORD_MANA_TIME = 6; // Mana and the time it was set
+
+    private final File file;
+    private final PlayerRecordStore storage;
+    private final Logger logger;
+
+    // Latest journaled state per player since the last compaction
+    private final Map<UUID, PlayerDataSnapshot> state = new ConcurrentHashMap<>();
+
+    private final FileChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private final CRC32 crc = new CRC32();
+    private int recordStart;
+
+    // Metrics
+    private final AtomicLong records = new AtomicLong();
+    private final AtomicLong syncs = new AtomicLong();
+    private final AtomicLong compactions = new AtomicLong();
+    private volatile long lastCompactionMillis = 0;
+
+    public PlayerJournal(File file, PlayerRecordStore storage, Logger logger) throws IOException {
+        this.file = file;
+        this.storage = storage;
+        this.logger = logger;
+
+        replay();
+
+        this.channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        // Fold whatever survived the last run into the store and start with an empty journal
+        compact();
+    }
+
+    // ========================================
+    // WRITE PATH
+    // ========================================
+
+    @Override
+    public synchronized void write(List<PlayerDataSnapshot> batch) throws IOException {
+        buffer.clear();
+
+        for (PlayerDataSnapshot snapshot : batch) {
+            appendRecords(state.get(snapshot.getUuid()), snapshot);
+        }
+
+        if (buffer.position() > 0) {
+            buffer.flip();
+            long end = channel.size();
+            try {
+                channel.position(end);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+
+                // Group commit: one fsync for the whole batch
+                channel.force(false);
+            } catch (IOException e) {
+                // Cut off a partial append, or replay would stop there and drop every later batch
+                try {
+                    channel.truncate(end);
+                } catch (IOException truncateFailure) {
+                    e.addSuppressed(truncateFailure);
+                }
+                throw e;
+            }
+            syncs.incrementAndGet();
+        }
+
+        // Only expose the new state once it is durable
+        for (PlayerDataSnapshot snapshot : batch) {
+            state.put(snapshot.getUuid(), snapshot);
+        }
+
+        if (channel.size() >= COMPACT_THRESHOLD_BYTES) {
+            compact();
+        }
+    }
+
+    @Override
+    public PlayerDataSnapshot peek(UUID uuid) {
+        return state.get(uuid);
+    }
+
+    /**
+     * Append the records needed to turn {@code previous} into {@code current}
+     */
+    private void appendRecords(PlayerDataSnapshot previous, PlayerDataSnapshot current) {
+        UUID uuid = current.getUuid();
+
+        if (previous == null) {
+            beginRecord(RECORD_FULL, uuid, 10);
+            buffer.put(PlayerDataCodec.encodeElement(current.getCurrentElement()));
+            buffer.put((byte) current.getUpgradeLevel());
+            buffer.putInt(PlayerDataCodec.encodeItems(current.getOwnedItems()));
+            buffer.putInt(current.getMana());
+            endRecord();
+            if (current.getManaTimestamp() != 0) {
+                appendManaTime(current);
+            }
+            return;
+        }
+
+        if (previous.getCurrentElement() != current.getCurrentElement()) {
+            beginRecord(RECORD_ELEMENT, uuid, 1);
+            buffer.put(PlayerDataCodec.encodeElement(current.getCurrentElement()));
+            endRecord();
+        }
+
+        if (previous.getUpgradeLevel() != current.getUpgradeLevel()) {
+            beginRecord(RECORD_LEVEL, uuid, 1);
+            buffer.put((byte) current.getUpgradeLevel());
+            endRecord();
+        }
+
+        if (!previous.getOwnedItems().equals(current.getOwnedItems())) {
+            beginRecord(RECORD_ITEMS, uuid, 4);
+            buffer.putInt(PlayerDataCodec.encodeItems(current.getOwnedItems()));
+            endRecord();
+        }
+
+        if (previous.getMana() != current.getMana() || previous.getManaTimestamp() != current.getManaTimestamp()) {
+            appendManaTime(current);
+        }
+    }
+
+    private void appendManaTime(PlayerDataSnapshot current) {
+        beginRecord(RECORD_MANA_TIME, current.getUuid(), 12);
+        buffer.putInt(current.getMana());
+        buffer.putLong(current.getManaTimestamp());
+        endRecord();
+    }
+
+    private void beginRecord(byte type, UUID uuid, int payloadSize) {
+        ensureCapacity(4 + 1 + 16 + payloadSize);
+        recordStart = buffer.position();
+        buffer.putInt(0); // CRC placeholder
+        buffer.put(type);
+        buffer.putLong(uuid.getMostSignificantBits());
+        buffer.putLong(uuid.getLeastSignificantBits());
+    }
+
+    private void endRecord() {
+        ByteBuffer body = buffer.duplicate();
+        body.position(recordStart + 4).limit(buffer.position());
+
+        crc.reset();
+        crc.update(body);
+        buffer.putInt(recordStart, (int) crc.getValue());
+        records.incrementAndGet();
+    }
+
+    private void ensureCapacity(int needed) {
+        if (buffer.remaining() >= needed) return;
+
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + needed));
+        buffer.flip();
+        larger.put(buffer);
+        buffer = larger;
+    }
+
+    // ========================================
+    // COMPACTION
+    // ========================================
+
+    /**
+     * Fold the journal into the record store and truncate it.
+     * If writing a record fails the journal is left untouched, so nothing is lost.
+     */
+    public synchronized void compact() throws IOException {
+        if (state.isEmpty() && channel.size() == 0) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        int folded = state.size();
+
+        for (PlayerDataSnapshot snapshot : state.values()) {
+            storage.save(snapshot);
+        }
+
+        channel.truncate(0);
+        channel.force(true);
+        state.clear();
+
+        compactions.incrementAndGet();
+        lastCompactionMillis = System.currentTimeMillis() - start;
+        logger.fine("Compacted player journal (" + folded + " player(s), " + lastCompactionMillis + "ms)");
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            compact();
+        } finally {
+            channel.close();
+        }
+    }
+
+    // ========================================
+    // REPLAY
+    // ========================================
+
+    /**
+     * Rebuild the latest state of every journaled player from the file on disk
+     */
+    private void replay() {
+        if (!file.isFile() || file.length() == 0) {
+            return;
+        }
+
+        int replayed = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            byte[] body = new byte[1 + 16 + 12];
+
+            while (true) {
+                int storedCrc;
+                try {
+                    storedCrc = in.readInt();
+                } catch (EOFException e) {
+                    break; // Clean end of journal
+                }
+
+                byte type = in.readByte();
+                int payloadSize = payloadSize(type);
+                if (payloadSize < 0) {
+                    logger.warning("Unknown journal record type " + type + " - ignoring the rest of the journal");
+                    break;
+                }
+
+                body[0] = type;
+                in.readFully(body, 1, 16 + payloadSize);
+
+                crc.reset();
+                crc.update(body, 0, 1 + 16 + payloadSize);
+                if ((int) crc.getValue() != storedCrc) {
+                    logger.warning("Corrupt journal record - ignoring the rest of the journal");
+                    break;
+                }
+
+                apply(ByteBuffer.wrap(body, 0, 1 + 16 + payloadSize));
+                replayed++;
+            }
+        } catch (EOFException e) {
+            logger.warning("Journal ends with a partial record (crash during write) - it was skipped");
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Failed to replay player journal", e);
+        }
+
+        if (replayed > 0) {
+            logger.info("Replayed " + replayed + " journal record(s) for " + state.size() + " player(s)");
+        }
+    }
+
+    private void apply(ByteBuffer record) throws IOException {
+        byte type = record.get();
+        UUID uuid = new UUID(record.getLong(), record.getLong());
+
+        if (type == RECORD_FULL) {
+            ElementType element = PlayerDataCodec.decodeElement(record.get());
+            int level = record.get();
+            Set<ElementType> items = PlayerDataCodec.decodeItems(record.getInt());
+            int mana = record.getInt();
+            state.put(uuid, new PlayerDataSnapshot(uuid, element, level, items, mana));
+            return;
+        }
+
+        PlayerDataSnapshot base = state.get(uuid);
+        if (base == null) {
+            PlayerData stored = storage.load(uuid);
+            base = stored != null ? stored.snapshot() : new PlayerData(uuid).snapshot();
+        }
+
+        ElementType element = base.getCurrentElement();
+        int level = base.getUpgradeLevel();
+        Set<ElementType> items = base.getOwnedItems();
+        int mana = base.getMana();
+        long manaTimestamp = base.getManaTimestamp();
+
+        switch (type) {
+            case RECORD_ELEMENT -> element = PlayerDataCodec.decodeElement(record.get());
+            case RECORD_LEVEL -> level = record.get();
+            case RECORD_ITEMS -> items = PlayerDataCodec.decodeItems(record.getInt());
+            case RECORD_MANA -> mana = record.getInt();
+            case RECORD_MANA_TIME -> {
+                mana = record.getInt();
+                manaTimestamp = record.getLong();
+            }
+            default -> { return; }
+        }
+
+        state.put(uuid, new PlayerDataSnapshot(uuid, element, level, items, mana, manaTimestamp));
+    }
+
+    private static int payloadSize(byte type) {
+        return switch (type) {
+            case RECORD_FULL -> 10;
+            case RECORD_ELEMENT, RECORD_LEVEL -> 1;
+            case RECORD_ITEMS, RECORD_MANA -> 4;
+            case RECORD_MANA_TIME -> 12;
+            default -> -1;
+        };
+    }
+
+    // ========================================
+    // STATISTICS
+    // ========================================
+
+    public long getSize() {
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    public long getRecordCount() { return records.get(); }
+    public long getSyncCount() { return syncs.get(); }
+    public long getCompactionCount() { return compactions.get(); }
+    public long getLastCompactionMillis() { return lastCompactionMillis; }
+}
@@ -0,0 +1,182 @@
+package saturn.elementPlugin.data;
+
+import saturn.elementPlugin.ElementPlugin;
+import saturn.elementPlugin.elements.ElementType;
+import saturn.elementPlugin.util.SmartEffectCleaner;
+import org.bukkit.entity.Player;
+
+/**
+ * A change applied to every stored player by a bulk job (see DataStore#startBulkJob).
+ *
+ * Mutations must be idempotent - a resumed job redoes the batch it was interrupted in.
+ * Each one has a short spec ("mana:100", "remap:FIRE:WATER", "clamp:1") so a job can be
+ * checkpointed and resumed after a restart.
+ */
+public abstract class PlayerMutation {
+
+    /**
+     * Change a player's stored data
+     * @return true if anything changed
+     */
+    public abstract boolean apply(PlayerData pd);
+
+    /**
+     * Change an online player, including whatever the change affects in game (main thread)
+     * @return true if anything changed
+     */
+    public boolean applyLive(ElementPlugin plugin, Player player, PlayerData pd) {
+        return apply(pd);
+    }
+
+    public abstract String getSpec();
+
+    public abstract String describe();
+
+    // ========================================
+    // FACTORIES
+    // ========================================
+
+    public static PlayerMutation setMana(int amount) {
+        return new SetMana(amount);
+    }
+
+    public static PlayerMutation remapElement(ElementType from, ElementType to) {
+        return new RemapElement(from, to);
+    }
+
+    public static PlayerMutation clampLevel(int maxLevel) {
+        return new ClampLevel(maxLevel);
+    }
+
+    /**
+     * Rebuild a mutation from its spec
+     * @return the mutation, or null if the spec is invalid
+     */
+    public static PlayerMutation parse(String spec) {
+        if (spec == null) return null;
+
+        String[] parts = spec.split(":");
+        try {
+            return switch (parts[0]) {
+                case "mana" -> parts.length == 2 ? setMana(Integer.parseInt(parts[1])) : null;
+                case "remap" -> parts.length == 3
+                        ? remapElement(ElementType.valueOf(parts[1]), ElementType.valueOf(parts[2])) : null;
+                case "clamp" -> parts.length == 2 ? clampLevel(Integer.parseInt(parts[1])) : null;
+                default -> null;
+            };
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // ========================================
+    // MUTATIONS
+    // ========================================
+
+    private static class SetMana extends PlayerMutation {
+        private final int amount;
+
+        SetMana(int amount) {
+            this.amount = Math.max(0, amount);
+        }
+
+        @Override
+        public boolean apply(PlayerData pd) {
+            // Stored mana says nothing about what has regenerated since, so always set it
+            // (this also restarts regeneration from now)
+            pd.setMana(amount);
+            return true;
+        }
+
+        @Override
+        public boolean applyLive(ElementPlugin plugin, Player player, PlayerData pd) {
+            // Stored mana lags behind lazy regeneration, so always set it
+            plugin.getManaManager().setMana(player.getUniqueId(), amount);
+            return true;
+        }
+
+        @Override
+        public String getSpec() {
+            return "mana:" + amount;
+        }
+
+        @Override
+        public String describe() {
+            return "set mana to " + amount;
+        }
+    }
+
+    private static class RemapElement extends PlayerMutation {
+        private final ElementType from;
+        private final ElementType to;
+
+        RemapElement(ElementType from, ElementType to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean apply(PlayerData pd) {
+            if (pd.getCurrentElement() != from) return false;
+
+            // Keep the upgrade level, like /element set
+            pd.setCurrentElementWithoutReset(to);
+            return true;
+        }
+
+        @Override
+        public boolean applyLive(ElementPlugin plugin, Player player, PlayerData pd) {
+            if (pd.getCurrentElement() != from) return false;
+
+            // Swaps passive effects and tells the player
+            plugin.getElementManager().setElement(player, to);
+            return true;
+        }
+
+        @Override
+        public String getSpec() {
+            return "remap:" + from.name() + ":" + to.name();
+        }
+
+        @Override
+        public String describe() {
+            return "remap " + from.name() + " to " + to.name();
+        }
+    }
+
+    private static class ClampLevel extends PlayerMutation {
+        private final int maxLevel;
+
+        ClampLevel(int maxLevel) {
+            this.maxLevel = Math.max(0, Math.min(PlayerIndex.MAX_LEVEL, maxLevel));
+        }
+
+        @Override
+        public boolean apply(PlayerData pd) {
+            if (pd.getCurrentElementUpgradeLevel() <= maxLevel) return false;
+
+            pd.setCurrentElementUpgradeLevel(maxLevel);
+            return true;
+        }
+
+        @Override
+        public boolean applyLive(ElementPlugin plugin, Player player, PlayerData pd) {
+            if (!apply(pd)) return false;
+
+            // Drop the effects of the lost upgrade and re-apply the remaining ones
+            SmartEffectCleaner.clearForElementChange(plugin, player);
+            plugin.getElementManager().applyUpsides(player);
+            return true;
+        }
+
+        @Override
+        public String getSpec() {
+            return "clamp:" + maxLevel;
+        }
+
+        @Override
+        public String describe() {
+            return "clamp upgrade level to " + maxLevel;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package saturn.elementPlugin.data;
+
+import saturn.elementPlugin.managers.TrustManager;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Warms the player data and trust caches while a player is still logging in.
+ * Runs on the async pre-login thread so the join path on the main thread
+ * only ever reads from memory. Player data (which holds mana) and trust data
+ * are loaded in parallel.
+ */
+public class PlayerPrefetcher {
+    private final DataStore dataStore;
+    private final TrustManager trustManager;
+    private final Logger logger;
+
+    // Metrics
+    private final AtomicLong prefetched = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong totalPrefetchNanos = new AtomicLong();
+
+    public PlayerPrefetcher(DataStore dataStore, TrustManager trustManager, Logger logger) {
+        this.dataStore = dataStore;
+        this.trustManager = trustManager;
+        this.logger = logger;
+    }
+
+    /**
+     * Load everything a joining player needs (blocks the calling async thread)
+     */
+    public void prefetch(UUID uuid) {
+        long start = System.nanoTime();
+
+        try {
+            CompletableFuture<TrustData> trust = CompletableFuture.supplyAsync(() -> trustManager.getTrustData(uuid));
+            dataStore.getPlayerData(uuid);
+            trust.join();
+        } catch (Exception e) {
+            // The join path falls back to loading on demand
+            logger.log(Level.WARNING, "Failed to prefetch data for " + uuid, e);
+        }
+
+        prefetched.incrementAndGet();
+        totalPrefetchNanos.addAndGet(System.nanoTime() - start);
+    }
+
+    /**
+     * Record whether the caches were warm when the player actually joined
+     */
+    public void recordJoin(UUID uuid) {
+        if (dataStore.isCached(uuid) && trustManager.isCached(uuid)) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+    }
+
+    // ========================================
+    // STATISTICS
+    // ========================================
+
+    public long getPrefetchCount() { return prefetched.get(); }
+    public long getHitCount() { return hits.get(); }
+    public long getMissCount() { return misses.get(); }
+
+    /**
+     * Share of joins that found warm caches, in percent
+     */
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0 : hits.get() * 100.0 / total;
+    }
+
+    public long getAveragePrefetchMicros() {
+        long count = prefetched.get();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalPrefetchNanos.get() / count);
+    }
+}
@@ -0,0 +1,68 @@
+package saturn.elementPlugin.data;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Durable home of player records (the per-player shards or the binary record file).
+ * The journal compacts into it and the DataStore reads from it on a cache miss.
+ */
+public interface PlayerRecordStore extends PlayerDataSink {
+    /**
+     * Load a player
+     * @return the stored data, or null if the player has never been saved
+     */
+    PlayerData load(UUID uuid) throws IOException;
+
+    /**
+     * Load several players in one pass
+     * @return the stored data by player; players that have never been saved are left out
+     */
+    default Map<UUID, PlayerData> loadAll(Collection<UUID> uuids) throws IOException {
+        Map<UUID, PlayerData> loaded = new HashMap<>();
+        for (UUID uuid : uuids) {
+            PlayerData pd = load(uuid);
+            if (pd != null) loaded.put(uuid, pd);
+        }
+        return loaded;
+    }
+
+    /**
+     * Write a single player
+     */
+    void save(PlayerDataSnapshot snapshot) throws IOException;
+
+    @Override
+    default void write(List<PlayerDataSnapshot> batch) throws IOException {
+        for (PlayerDataSnapshot snapshot : batch) {
+            save(snapshot);
+        }
+    }
+
+    /**
+     * Remove a player's record
+     * @return false if there was no record
+     */
+    boolean delete(UUID uuid) throws IOException;
+
+    boolean exists(UUID uuid);
+
+    /**
+     * List every stored player
+     */
+    List<UUID> list();
+
+    int count();
+
+    long totalSize();
+
+    /**
+     * File or directory holding the records (used for backups)
+     */
+    Path getLocation();
+}
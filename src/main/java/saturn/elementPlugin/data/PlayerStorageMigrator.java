@@ -0,0 +1,85 @@
+package saturn.elementPlugin.data;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * One-time migration from the legacy monolithic players.yml to the player record store.
+ * The legacy file is renamed to players.yml.migrated once every section has been copied,
+ * so the migration never runs twice and the original data is kept for reference.
+ */
+public class PlayerStorageMigrator {
+    private static final String PLAYERS_PATH = "players";
+    private static final String MIGRATED_SUFFIX = ".migrated";
+
+    private final Logger logger;
+
+    public PlayerStorageMigrator(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Copy every player from the legacy file into the store
+     * @return number of players migrated, or -1 if nothing needed migrating
+     */
+    public int migrate(File legacyFile, PlayerRecordStore storage) {
+        if (!legacyFile.isFile() || legacyFile.length() == 0) {
+            return -1;
+        }
+
+        logger.info("Migrating " + legacyFile.getName() + " to per-player storage...");
+
+        YamlConfiguration legacy = YamlConfiguration.loadConfiguration(legacyFile);
+        ConfigurationSection players = legacy.getConfigurationSection(PLAYERS_PATH);
+
+        int migrated = 0;
+        int skipped = 0;
+        int failed = 0;
+
+        if (players != null) {
+            for (String key : players.getKeys(false)) {
+                UUID uuid;
+                try {
+                    uuid = UUID.fromString(key);
+                } catch (IllegalArgumentException e) {
+                    skipped++;
+                    continue;
+                }
+
+                // Never overwrite a record that was already written by the new layout
+                if (storage.exists(uuid)) {
+                    skipped++;
+                    continue;
+                }
+
+                try {
+                    storage.save(new PlayerData(uuid, players.getConfigurationSection(key)).snapshot());
+                    migrated++;
+                } catch (IOException e) {
+                    logger.log(Level.SEVERE, "Failed to migrate PlayerData for " + uuid, e);
+                    failed++;
+                }
+            }
+        }
+
+        if (failed > 0) {
+            // Leave the legacy file in place so the next startup retries the failed players
+            logger.warning("Migration incomplete: " + failed + " player(s) failed, keeping " + legacyFile.getName());
+            return migrated;
+        }
+
+        File archived = new File(legacyFile.getParentFile(), legacyFile.getName() + MIGRATED_SUFFIX);
+        if (!legacyFile.renameTo(archived)) {
+            logger.warning("Could not rename " + legacyFile.getName() + " after migration");
+        }
+
+        logger.info("Migrated " + migrated + " player(s) to per-player storage (" + skipped + " skipped)");
+        return migrated;
+    }
+}
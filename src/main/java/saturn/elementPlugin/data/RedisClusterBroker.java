@@ -0,0 +1,239 @@
+package saturn.elementPlugin.data;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * ClusterBroker on top of Redis PUBLISH/SUBSCRIBE.
+ * Speaks the Redis wire protocol (RESP) directly over two sockets, so the plugin needs
+ * no client library: one connection publishes, a daemon thread holds the subscription
+ * and reconnects with a delay if it drops.
+ */
+public class RedisClusterBroker implements ClusterBroker {
+    private static final int CONNECT_TIMEOUT_MS = 3000;
+    private static final int PUBLISH_TIMEOUT_MS = 3000;
+    private static final long RECONNECT_DELAY_MS = 2000;
+
+    private final String host;
+    private final int port;
+    private final String channel;
+    private final Logger logger;
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Thread subscriber;
+    private volatile boolean running = true;
+
+    // Publishing connection (opened lazily, guarded by this)
+    private Socket publishSocket;
+    private OutputStream publishOut;
+    private InputStream publishIn;
+
+    // Subscription connection (owned by the subscriber thread)
+    private volatile Socket subscribeSocket;
+
+    public RedisClusterBroker(String host, int port, String channel, Logger logger) {
+        this.host = host;
+        this.port = port;
+        this.channel = channel;
+        this.logger = logger;
+
+        this.subscriber = new Thread(this::runSubscriber, "ElementPlugin-ClusterSubscriber");
+        this.subscriber.setDaemon(true);
+        this.subscriber.start();
+    }
+
+    // ========================================
+    // PUBLISH
+    // ========================================
+
+    @Override
+    public synchronized void publish(String message) throws IOException {
+        try {
+            if (publishSocket == null) {
+                publishSocket = connect(PUBLISH_TIMEOUT_MS);
+                publishOut = new BufferedOutputStream(publishSocket.getOutputStream());
+                publishIn = new BufferedInputStream(publishSocket.getInputStream());
+            }
+
+            writeCommand(publishOut, "PUBLISH", channel, message);
+            readReply(publishIn); // Number of receivers
+        } catch (IOException e) {
+            closePublisher();
+            throw e;
+        }
+    }
+
+    private void closePublisher() {
+        closeQuietly(publishSocket);
+        publishSocket = null;
+        publishOut = null;
+        publishIn = null;
+    }
+
+    // ========================================
+    // SUBSCRIBE
+    // ========================================
+
+    @Override
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    private void runSubscriber() {
+        boolean connectedBefore = false;
+
+        while (running) {
+            try (Socket socket = connect(0)) {
+                subscribeSocket = socket;
+                OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+                InputStream in = new BufferedInputStream(socket.getInputStream());
+
+                writeCommand(out, "SUBSCRIBE", channel);
+                readReply(in); // Subscription confirmation
+
+                if (connectedBefore) {
+                    logger.info("Reconnected to cluster broker at " + host + ":" + port);
+                    for (Listener listener : listeners) {
+                        listener.onReconnect();
+                    }
+                }
+                connectedBefore = true;
+
+                while (running) {
+                    Object reply = readReply(in);
+                    // Pushed messages are ["message", channel, payload]
+                    if (reply instanceof List<?> parts && parts.size() == 3 && "message".equals(parts.get(0))) {
+                        String payload = (String) parts.get(2);
+                        for (Listener listener : listeners) {
+                            listener.onMessage(payload);
+                        }
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                if (!running) break;
+                logger.log(Level.WARNING, "Lost connection to cluster broker at " + host + ":" + port +
+                        ", retrying in " + RECONNECT_DELAY_MS + "ms", e);
+            } finally {
+                subscribeSocket = null;
+            }
+
+            try {
+                Thread.sleep(RECONNECT_DELAY_MS);
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        closeQuietly(subscribeSocket);
+        subscriber.interrupt();
+
+        synchronized (this) {
+            closePublisher();
+        }
+        listeners.clear();
+    }
+
+    // ========================================
+    // RESP PROTOCOL
+    // ========================================
+
+    private Socket connect(int readTimeoutMs) throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MS);
+            socket.setSoTimeout(readTimeoutMs);
+            socket.setKeepAlive(true);
+            socket.setTcpNoDelay(true);
+            return socket;
+        } catch (IOException e) {
+            closeQuietly(socket);
+            throw e;
+        }
+    }
+
+    private static void writeCommand(OutputStream out, String... args) throws IOException {
+        StringBuilder command = new StringBuilder();
+        command.append('*').append(args.length).append("\r\n");
+        out.write(command.toString().getBytes(StandardCharsets.UTF_8));
+
+        for (String arg : args) {
+            byte[] bytes = arg.getBytes(StandardCharsets.UTF_8);
+            out.write(("$" + bytes.length + "\r\n").getBytes(StandardCharsets.UTF_8));
+            out.write(bytes);
+            out.write('\r');
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    /**
+     * Read one reply: String for simple/bulk strings, Long for integers, List for arrays
+     */
+    private static Object readReply(InputStream in) throws IOException {
+        int type = in.read();
+        if (type == -1) throw new EOFException("Connection closed by broker");
+
+        String line = readLine(in);
+        switch (type) {
+            case '+':
+                return line;
+            case '-':
+                throw new IOException("Broker error: " + line);
+            case ':':
+                return Long.parseLong(line);
+            case '$': {
+                int length = Integer.parseInt(line);
+                if (length < 0) return null;
+
+                byte[] bytes = in.readNBytes(length);
+                if (bytes.length != length) throw new EOFException("Truncated reply from broker");
+                readLine(in); // Trailing CRLF
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            case '*': {
+                int count = Integer.parseInt(line);
+                if (count < 0) return null;
+
+                List<Object> items = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    items.add(readReply(in));
+                }
+                return items;
+            }
+            default:
+                throw new IOException("Unexpected reply type from broker: " + (char) type);
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\r') {
+                if (in.read() != '\n') throw new IOException("Malformed reply from broker");
+                return line.toString(StandardCharsets.UTF_8);
+            }
+            line.write(b);
+        }
+        throw new EOFException("Connection closed by broker");
+    }
+
+    private static void closeQuietly(Socket socket) {
+        if (socket == null) return;
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
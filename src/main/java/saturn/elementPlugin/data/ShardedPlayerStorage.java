@@ -0,0 +1,184 @@
+package saturn.elementPlugin.data;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-player storage layout.
+ * Every player lives in their own small file under data/players/<prefix>/<uuid>.dat,
+ * where <prefix> is the first two characters of the UUID. Saving a player only
+ * rewrites that player's file, so cost no longer grows with the total player count.
+ */
+public class ShardedPlayerStorage implements PlayerRecordStore {
+    private static final String EXTENSION = ".dat";
+    private static final String TEMP_EXTENSION = ".tmp";
+    private static final int PREFIX_LENGTH = 2;
+
+    private final File rootDir;
+
+    public ShardedPlayerStorage(File rootDir) {
+        this.rootDir = rootDir;
+
+        if (!rootDir.exists() && !rootDir.mkdirs()) {
+            throw new RuntimeException("Failed to create directory: " + rootDir.getAbsolutePath());
+        }
+    }
+
+    // ========================================
+    // LAYOUT
+    // ========================================
+
+    public File getRootDir() {
+        return rootDir;
+    }
+
+    @Override
+    public Path getLocation() {
+        return rootDir.toPath();
+    }
+
+    /**
+     * Get the shard file for a player (may not exist yet)
+     */
+    public File shardFile(UUID uuid) {
+        String id = uuid.toString();
+        File prefixDir = new File(rootDir, id.substring(0, PREFIX_LENGTH));
+        return new File(prefixDir, id + EXTENSION);
+    }
+
+    @Override
+    public boolean exists(UUID uuid) {
+        return shardFile(uuid).isFile();
+    }
+
+    // ========================================
+    // READ / WRITE
+    // ========================================
+
+    /**
+     * Load a player from their shard
+     * @return the stored data, or null if the player has never been saved
+     */
+    @Override
+    public PlayerData load(UUID uuid) throws IOException {
+        File file = shardFile(uuid);
+        if (!file.isFile()) {
+            return null;
+        }
+
+        YamlConfiguration config = new YamlConfiguration();
+        try {
+            config.loadFromString(Files.readString(file.toPath(), StandardCharsets.UTF_8));
+        } catch (org.bukkit.configuration.InvalidConfigurationException e) {
+            throw new IOException("Corrupt player shard: " + file.getName(), e);
+        }
+
+        return new PlayerData(uuid, config);
+    }
+
+    /**
+     * Write a player to their shard.
+     * The file is written next to the target and moved into place so a crash
+     * mid-write never leaves a truncated shard behind.
+     */
+    @Override
+    public void save(PlayerDataSnapshot snapshot) throws IOException {
+        YamlConfiguration config = new YamlConfiguration();
+        snapshot.saveTo(config);
+        write(snapshot.getUuid(), config.saveToString());
+    }
+
+    private void write(UUID uuid, String contents) throws IOException {
+        File target = shardFile(uuid);
+        File parent = target.getParentFile();
+        if (!parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Failed to create shard directory: " + parent.getAbsolutePath());
+        }
+
+        File temp = new File(parent, target.getName() + TEMP_EXTENSION);
+        Files.writeString(temp.toPath(), contents, StandardCharsets.UTF_8);
+
+        try {
+            Files.move(temp.toPath(), target.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public boolean delete(UUID uuid) {
+        return shardFile(uuid).delete();
+    }
+
+    /**
+     * List every stored player (walks the shard directories)
+     */
+    @Override
+    public List<UUID> list() {
+        List<UUID> uuids = new ArrayList<>();
+        File[] prefixes = rootDir.listFiles(File::isDirectory);
+        if (prefixes == null) return uuids;
+
+        for (File prefix : prefixes) {
+            File[] shards = prefix.listFiles((dir, name) -> name.endsWith(EXTENSION));
+            if (shards == null) continue;
+            for (File shard : shards) {
+                String name = shard.getName();
+                try {
+                    uuids.add(UUID.fromString(name.substring(0, name.length() - EXTENSION.length())));
+                } catch (IllegalArgumentException ignored) {}
+            }
+        }
+        return uuids;
+    }
+
+    // ========================================
+    // STATISTICS
+    // ========================================
+
+    /**
+     * Count stored players (walks the shard directories)
+     */
+    @Override
+    public int count() {
+        int count = 0;
+        File[] prefixes = rootDir.listFiles(File::isDirectory);
+        if (prefixes == null) return 0;
+
+        for (File prefix : prefixes) {
+            File[] shards = prefix.listFiles((dir, name) -> name.endsWith(EXTENSION));
+            if (shards != null) count += shards.length;
+        }
+        return count;
+    }
+
+    /**
+     * Total size of all shards in bytes
+     */
+    @Override
+    public long totalSize() {
+        long size = 0;
+        File[] prefixes = rootDir.listFiles(File::isDirectory);
+        if (prefixes == null) return 0;
+
+        for (File prefix : prefixes) {
+            File[] shards = prefix.listFiles((dir, name) -> name.endsWith(EXTENSION));
+            if (shards == null) continue;
+            for (File shard : shards) {
+                size += shard.length();
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,529 @@
+package saturn.elementPlugin.data;
+
+import saturn.elementPlugin.elements.ElementType;
+import saturn.elementPlugin.regions.DisabledRegion;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Embedded SQLite storage (data/elements.db).
+ * Uses one connection with cached prepared statements. Every save runs inside a single
+ * transaction, so a writer batch of players is one batched upsert and one commit.
+ * Lookups go through primary keys; trust edges are also indexed by the trusted player.
+ */
+public class SqlStorageBackend implements StorageBackend {
+    private static final String DRIVER = "org.sqlite.JDBC";
+
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS players (" +
+                    "uuid TEXT PRIMARY KEY, element TEXT, level INTEGER NOT NULL, " +
+                    "items INTEGER NOT NULL, mana INTEGER NOT NULL, mana_time INTEGER NOT NULL DEFAULT 0)",
+            "CREATE TABLE IF NOT EXISTS trust (" +
+                    "owner TEXT NOT NULL, trusted TEXT NOT NULL, PRIMARY KEY (owner, trusted))",
+            "CREATE INDEX IF NOT EXISTS idx_trust_trusted ON trust (trusted)",
+            "CREATE TABLE IF NOT EXISTS trust_requests (" +
+                    "owner TEXT NOT NULL, other TEXT NOT NULL, incoming INTEGER NOT NULL, " +
+                    "created INTEGER NOT NULL, PRIMARY KEY (owner, other, incoming))",
+            "CREATE TABLE IF NOT EXISTS disabled_regions (" +
+                    "name TEXT PRIMARY KEY, world TEXT NOT NULL, " +
+                    "min_x INTEGER NOT NULL, min_y INTEGER NOT NULL, min_z INTEGER NOT NULL, " +
+                    "max_x INTEGER NOT NULL, max_y INTEGER NOT NULL, max_z INTEGER NOT NULL)",
+            "CREATE INDEX IF NOT EXISTS idx_regions_world ON disabled_regions (world)",
+            "CREATE TABLE IF NOT EXISTS team_hidden (uuid TEXT PRIMARY KEY, hidden INTEGER NOT NULL)"
+    };
+
+    private final File file;
+    private final Logger logger;
+    private final Connection connection;
+    private final PlayerTable playerTable = new PlayerTable();
+
+    // Cached statements
+    private final PreparedStatement selectPlayer;
+    private final PreparedStatement upsertPlayer;
+    private final PreparedStatement deletePlayer;
+    private final PreparedStatement selectTrust;
+    private final PreparedStatement selectRequests;
+    private final PreparedStatement deleteTrust;
+    private final PreparedStatement insertTrust;
+    private final PreparedStatement deleteRequests;
+    private final PreparedStatement insertRequest;
+    private final List<PreparedStatement> statements;
+
+    public SqlStorageBackend(File file, Logger logger) throws IOException {
+        this.file = file;
+        this.logger = logger;
+
+        try {
+            Class.forName(DRIVER);
+            this.connection = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath());
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA synchronous = NORMAL");
+                statement.execute("PRAGMA foreign_keys = OFF");
+                for (String sql : SCHEMA) {
+                    statement.execute(sql);
+                }
+                migrate(statement);
+            }
+            connection.setAutoCommit(false);
+
+            this.selectPlayer = connection.prepareStatement(
+                    "SELECT element, level, items, mana, mana_time FROM players WHERE uuid = ?");
+            this.upsertPlayer = connection.prepareStatement(
+                    "INSERT INTO players (uuid, element, level, items, mana, mana_time) VALUES (?, ?, ?, ?, ?, ?) " +
+                            "ON CONFLICT (uuid) DO UPDATE SET element = excluded.element, level = excluded.level, " +
+                            "items = excluded.items, mana = excluded.mana, mana_time = excluded.mana_time");
+            this.deletePlayer = connection.prepareStatement("DELETE FROM players WHERE uuid = ?");
+            this.selectTrust = connection.prepareStatement("SELECT trusted FROM trust WHERE owner = ?");
+            this.selectRequests = connection.prepareStatement(
+                    "SELECT other, incoming, created FROM trust_requests WHERE owner = ?");
+            this.deleteTrust = connection.prepareStatement("DELETE FROM trust WHERE owner = ?");
+            this.insertTrust = connection.prepareStatement("INSERT INTO trust (owner, trusted) VALUES (?, ?)");
+            this.deleteRequests = connection.prepareStatement("DELETE FROM trust_requests WHERE owner = ?");
+            this.insertRequest = connection.prepareStatement(
+                    "INSERT INTO trust_requests (owner, other, incoming, created) VALUES (?, ?, ?, ?)");
+            this.statements = List.of(selectPlayer, upsertPlayer, deletePlayer, selectTrust, selectRequests,
+                    deleteTrust, insertTrust, deleteRequests, insertRequest);
+
+        } catch (ClassNotFoundException e) {
+            throw new IOException("SQLite driver not available", e);
+        } catch (SQLException e) {
+            throw new IOException("Failed to open " + file.getName(), e);
+        }
+
+        logger.info("Opened SQLite storage: " + file.getName());
+    }
+
+    /**
+     * Add columns introduced after a database was created
+     */
+    private static void migrate(Statement statement) throws SQLException {
+        boolean hasManaTime = false;
+        try (ResultSet rs = statement.executeQuery("PRAGMA table_info(players)")) {
+            while (rs.next()) {
+                if ("mana_time".equals(rs.getString("name"))) hasManaTime = true;
+            }
+        }
+        if (!hasManaTime) {
+            statement.execute("ALTER TABLE players ADD COLUMN mana_time INTEGER NOT NULL DEFAULT 0");
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "sqlite";
+    }
+
+    // ========================================
+    // TRANSACTIONS
+    // ========================================
+
+    private interface SqlWork<T> {
+        T run() throws SQLException;
+    }
+
+    /**
+     * Run work inside one transaction, rolling back on failure
+     */
+    private synchronized <T> T transaction(SqlWork<T> work) throws IOException {
+        try {
+            T result = work.run();
+            connection.commit();
+            return result;
+        } catch (SQLException e) {
+            rollback();
+            throw new IOException("SQLite operation failed", e);
+        } catch (RuntimeException e) {
+            rollback();
+            throw e;
+        }
+    }
+
+    /**
+     * Undo a failed transaction, including rows it added to the cached statements' batches
+     * (otherwise the next batch would execute them too)
+     */
+    private void rollback() {
+        for (PreparedStatement statement : statements) {
+            try {
+                statement.clearBatch();
+            } catch (SQLException ignored) {}
+        }
+        try {
+            connection.rollback();
+        } catch (SQLException ignored) {}
+    }
+
+    // ========================================
+    // PLAYERS
+    // ========================================
+
+    @Override
+    public PlayerRecordStore getPlayerStore() {
+        return playerTable;
+    }
+
+    @Override
+    public Map<File, BackupEngine.Snapshot> getSnapshots() {
+        return Map.of(file, this::copyTo);
+    }
+
+    /**
+     * Write a consistent copy of the database with VACUUM INTO. Holding the connection lock
+     * keeps every other statement out; VACUUM can't run inside a transaction, so auto-commit
+     * is switched on for the copy.
+     */
+    private synchronized void copyTo(Path target) throws IOException {
+        try {
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("VACUUM INTO '" + target.toAbsolutePath().toString().replace("'", "''") + "'");
+            } finally {
+                connection.setAutoCommit(false);
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to copy " + file.getName(), e);
+        }
+    }
+
+    private class PlayerTable implements PlayerRecordStore {
+        @Override
+        public PlayerData load(UUID uuid) throws IOException {
+            return transaction(() -> selectPlayer(uuid));
+        }
+
+        /**
+         * Run every lookup inside one transaction
+         */
+        @Override
+        public Map<UUID, PlayerData> loadAll(Collection<UUID> uuids) throws IOException {
+            return transaction(() -> {
+                Map<UUID, PlayerData> loaded = new HashMap<>();
+                for (UUID uuid : uuids) {
+                    PlayerData pd = selectPlayer(uuid);
+                    if (pd != null) loaded.put(uuid, pd);
+                }
+                return loaded;
+            });
+        }
+
+        private PlayerData selectPlayer(UUID uuid) throws SQLException {
+            selectPlayer.setString(1, uuid.toString());
+            try (ResultSet rs = selectPlayer.executeQuery()) {
+                if (!rs.next()) return null;
+
+                return new PlayerData(new PlayerDataSnapshot(uuid,
+                        parseElement(rs.getString(1)),
+                        rs.getInt(2),
+                        PlayerDataCodec.decodeItems(rs.getInt(3)),
+                        rs.getInt(4),
+                        rs.getLong(5)));
+            }
+        }
+
+        @Override
+        public void save(PlayerDataSnapshot snapshot) throws IOException {
+            write(List.of(snapshot));
+        }
+
+        /**
+         * Upsert the whole batch in one transaction
+         */
+        @Override
+        public void write(List<PlayerDataSnapshot> batch) throws IOException {
+            transaction(() -> {
+                for (PlayerDataSnapshot snapshot : batch) {
+                    ElementType element = snapshot.getCurrentElement();
+                    upsertPlayer.setString(1, snapshot.getUuid().toString());
+                    upsertPlayer.setString(2, element != null ? element.name() : null);
+                    upsertPlayer.setInt(3, snapshot.getUpgradeLevel());
+                    upsertPlayer.setInt(4, PlayerDataCodec.encodeItems(snapshot.getOwnedItems()));
+                    upsertPlayer.setInt(5, snapshot.getMana());
+                    upsertPlayer.setLong(6, snapshot.getManaTimestamp());
+                    upsertPlayer.addBatch();
+                }
+                upsertPlayer.executeBatch();
+                return null;
+            });
+        }
+
+        @Override
+        public boolean delete(UUID uuid) throws IOException {
+            return transaction(() -> {
+                deletePlayer.setString(1, uuid.toString());
+                return deletePlayer.executeUpdate() > 0;
+            });
+        }
+
+        @Override
+        public boolean exists(UUID uuid) {
+            try {
+                return load(uuid) != null;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public List<UUID> list() {
+            try {
+                return transaction(() -> {
+                    List<UUID> uuids = new ArrayList<>();
+                    try (Statement statement = connection.createStatement();
+                         ResultSet rs = statement.executeQuery("SELECT uuid FROM players")) {
+                        while (rs.next()) {
+                            uuids.add(UUID.fromString(rs.getString(1)));
+                        }
+                    }
+                    return uuids;
+                });
+            } catch (IOException e) {
+                return new ArrayList<>();
+            }
+        }
+
+        @Override
+        public int count() {
+            try {
+                return transaction(() -> {
+                    try (Statement statement = connection.createStatement();
+                         ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM players")) {
+                        return rs.next() ? rs.getInt(1) : 0;
+                    }
+                });
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+
+        @Override
+        public long totalSize() {
+            return file.length();
+        }
+
+        @Override
+        public Path getLocation() {
+            return file.toPath();
+        }
+    }
+
+    private static ElementType parseElement(String name) {
+        if (name == null) return null;
+        try {
+            return ElementType.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // ========================================
+    // TRUST
+    // ========================================
+
+    @Override
+    public TrustData loadTrust(UUID uuid) throws IOException {
+        return transaction(() -> {
+            String owner = uuid.toString();
+            Set<UUID> trusted = new HashSet<>();
+            Map<UUID, Long> outgoing = new HashMap<>();
+            Map<UUID, Long> incoming = new HashMap<>();
+
+            selectTrust.setString(1, owner);
+            try (ResultSet rs = selectTrust.executeQuery()) {
+                while (rs.next()) {
+                    trusted.add(UUID.fromString(rs.getString(1)));
+                }
+            }
+
+            selectRequests.setString(1, owner);
+            try (ResultSet rs = selectRequests.executeQuery()) {
+                while (rs.next()) {
+                    UUID other = UUID.fromString(rs.getString(1));
+                    (rs.getBoolean(2) ? incoming : outgoing).put(other, rs.getLong(3));
+                }
+            }
+
+            return new TrustData(uuid, trusted, outgoing, incoming);
+        });
+    }
+
+    @Override
+    public Collection<TrustData> loadAllTrust() throws IOException {
+        return transaction(() -> {
+            Map<UUID, Set<UUID>> trusted = new HashMap<>();
+            Map<UUID, Map<UUID, Long>> outgoing = new HashMap<>();
+            Map<UUID, Map<UUID, Long>> incoming = new HashMap<>();
+
+            try (Statement statement = connection.createStatement()) {
+                try (ResultSet rs = statement.executeQuery("SELECT owner, trusted FROM trust")) {
+                    while (rs.next()) {
+                        trusted.computeIfAbsent(UUID.fromString(rs.getString(1)), k -> new HashSet<>())
+                                .add(UUID.fromString(rs.getString(2)));
+                    }
+                }
+                try (ResultSet rs = statement.executeQuery("SELECT owner, other, incoming, created FROM trust_requests")) {
+                    while (rs.next()) {
+                        UUID owner = UUID.fromString(rs.getString(1));
+                        (rs.getBoolean(3) ? incoming : outgoing).computeIfAbsent(owner, k -> new HashMap<>())
+                                .put(UUID.fromString(rs.getString(2)), rs.getLong(4));
+                    }
+                }
+            }
+
+            Set<UUID> owners = new HashSet<>(trusted.keySet());
+            owners.addAll(outgoing.keySet());
+            owners.addAll(incoming.keySet());
+
+            List<TrustData> all = new ArrayList<>();
+            for (UUID owner : owners) {
+                all.add(new TrustData(owner,
+                        trusted.getOrDefault(owner, Set.of()),
+                        outgoing.getOrDefault(owner, Map.of()),
+                        incoming.getOrDefault(owner, Map.of())));
+            }
+            return all;
+        });
+    }
+
+    @Override
+    public void saveTrust(Collection<TrustData> data) throws IOException {
+        transaction(() -> {
+            for (TrustData trust : data) {
+                String owner = trust.getPlayerUuid().toString();
+
+                deleteTrust.setString(1, owner);
+                deleteTrust.executeUpdate();
+                deleteRequests.setString(1, owner);
+                deleteRequests.executeUpdate();
+
+                for (UUID trusted : trust.getTrustedPlayers()) {
+                    insertTrust.setString(1, owner);
+                    insertTrust.setString(2, trusted.toString());
+                    insertTrust.addBatch();
+                }
+
+                addRequests(owner, trust.getPendingOutgoingTimestamps(), false);
+                addRequests(owner, trust.getPendingIncomingTimestamps(), true);
+            }
+
+            insertTrust.executeBatch();
+            insertRequest.executeBatch();
+            return null;
+        });
+
+        for (TrustData trust : data) {
+            trust.markClean();
+        }
+    }
+
+    private void addRequests(String owner, Map<UUID, Long> requests, boolean incoming) throws SQLException {
+        for (Map.Entry<UUID, Long> entry : requests.entrySet()) {
+            insertRequest.setString(1, owner);
+            insertRequest.setString(2, entry.getKey().toString());
+            insertRequest.setBoolean(3, incoming);
+            insertRequest.setLong(4, entry.getValue());
+            insertRequest.addBatch();
+        }
+    }
+
+    // ========================================
+    // REGIONS
+    // ========================================
+
+    @Override
+    public List<DisabledRegion> loadRegions() throws IOException {
+        return transaction(() -> {
+            List<DisabledRegion> regions = new ArrayList<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(
+                         "SELECT name, world, min_x, min_y, min_z, max_x, max_y, max_z FROM disabled_regions")) {
+                while (rs.next()) {
+                    regions.add(new DisabledRegion(rs.getString(1), rs.getString(2),
+                            rs.getInt(3), rs.getInt(4), rs.getInt(5),
+                            rs.getInt(6), rs.getInt(7), rs.getInt(8)));
+                }
+            }
+            return regions;
+        });
+    }
+
+    @Override
+    public void saveRegions(Collection<DisabledRegion> regions) throws IOException {
+        transaction(() -> {
+            try (Statement statement = connection.createStatement();
+                 PreparedStatement insert = connection.prepareStatement(
+                         "INSERT INTO disabled_regions (name, world, min_x, min_y, min_z, max_x, max_y, max_z) " +
+                                 "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+                statement.executeUpdate("DELETE FROM disabled_regions");
+
+                for (DisabledRegion region : regions) {
+                    insert.setString(1, region.getName());
+                    insert.setString(2, region.getWorldName());
+                    insert.setInt(3, region.getMinX());
+                    insert.setInt(4, region.getMinY());
+                    insert.setInt(5, region.getMinZ());
+                    insert.setInt(6, region.getMaxX());
+                    insert.setInt(7, region.getMaxY());
+                    insert.setInt(8, region.getMaxZ());
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            return null;
+        });
+    }
+
+    // ========================================
+    // TEAM HIDDEN
+    // ========================================
+
+    @Override
+    public Map<UUID, Boolean> loadTeamHidden() throws IOException {
+        return transaction(() -> {
+            Map<UUID, Boolean> map = new HashMap<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT uuid, hidden FROM team_hidden")) {
+                while (rs.next()) {
+                    map.put(UUID.fromString(rs.getString(1)), rs.getBoolean(2));
+                }
+            }
+            return map;
+        });
+    }
+
+    @Override
+    public void saveTeamHidden(Map<UUID, Boolean> teamHidden) throws IOException {
+        transaction(() -> {
+            try (PreparedStatement upsert = connection.prepareStatement(
+                    "INSERT INTO team_hidden (uuid, hidden) VALUES (?, ?) " +
+                            "ON CONFLICT (uuid) DO UPDATE SET hidden = excluded.hidden")) {
+                for (Map.Entry<UUID, Boolean> entry : teamHidden.entrySet()) {
+                    upsert.setString(1, entry.getKey().toString());
+                    upsert.setBoolean(2, entry.getValue());
+                    upsert.addBatch();
+                }
+                upsert.executeBatch();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            throw new IOException("Failed to close " + file.getName(), e);
+        }
+    }
+}
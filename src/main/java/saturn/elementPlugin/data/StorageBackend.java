@@ -0,0 +1,82 @@
+package saturn.elementPlugin.data;
+
+import saturn.elementPlugin.regions.DisabledRegion;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Where the plugin keeps its persistent data: player records, trust edges,
+ * disabled regions and team-hidden flags.
+ * Implementations: YamlStorageBackend (files) and SqlStorageBackend (embedded SQLite).
+ */
+public interface StorageBackend {
+    /**
+     * Short name shown in /data stats
+     */
+    String getName();
+
+    // ========================================
+    // PLAYERS
+    // ========================================
+
+    /**
+     * Durable player record store (sits behind the journal and the background writer)
+     */
+    PlayerRecordStore getPlayerStore();
+
+    /**
+     * Live files this backend rewrites in place, each with a way to copy it consistently for a backup
+     */
+    default Map<File, BackupEngine.Snapshot> getSnapshots() {
+        return Map.of();
+    }
+
+    // ========================================
+    // TRUST
+    // ========================================
+
+    /**
+     * Load a player's trust data
+     * @return the stored data, or empty trust data if the player has none
+     */
+    TrustData loadTrust(UUID uuid) throws IOException;
+
+    /**
+     * Load every player's trust data (used when migrating between backends)
+     */
+    Collection<TrustData> loadAllTrust() throws IOException;
+
+    /**
+     * Save trust data for one or more players in a single write
+     */
+    void saveTrust(Collection<TrustData> data) throws IOException;
+
+    // ========================================
+    // REGIONS
+    // ========================================
+
+    List<DisabledRegion> loadRegions() throws IOException;
+
+    /**
+     * Replace all stored regions
+     */
+    void saveRegions(Collection<DisabledRegion> regions) throws IOException;
+
+    // ========================================
+    // TEAM HIDDEN
+    // ========================================
+
+    Map<UUID, Boolean> loadTeamHidden() throws IOException;
+
+    void saveTeamHidden(Map<UUID, Boolean> teamHidden) throws IOException;
+
+    /**
+     * Release files and connections (plugin disable, after everything is flushed)
+     */
+    void close() throws IOException;
+}
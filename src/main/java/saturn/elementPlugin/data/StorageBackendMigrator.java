@@ -0,0 +1,65 @@
+package saturn.elementPlugin.data;
+
+import saturn.elementPlugin.regions.DisabledRegion;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Copies everything from one storage backend into another.
+ * Used the first time a server switches backends (the target has no players yet),
+ * so moving off YAML keeps all existing data. The source is never modified.
+ */
+public class StorageBackendMigrator {
+    private final Logger logger;
+
+    public StorageBackendMigrator(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Copy all data if the target is still empty
+     * @return true if a migration ran
+     */
+    public boolean migrate(StorageBackend source, StorageBackend target) throws IOException {
+        if (target.getPlayerStore().count() > 0) {
+            return false;
+        }
+
+        PlayerRecordStore from = source.getPlayerStore();
+        List<UUID> uuids = from.list();
+        Collection<TrustData> trust = source.loadAllTrust();
+        List<DisabledRegion> regions = source.loadRegions();
+        Map<UUID, Boolean> teamHidden = source.loadTeamHidden();
+
+        if (uuids.isEmpty() && trust.isEmpty() && regions.isEmpty() && teamHidden.isEmpty()) {
+            return false;
+        }
+
+        logger.info("Migrating data from " + source.getName() + " to " + target.getName() + " storage...");
+
+        List<PlayerDataSnapshot> players = new ArrayList<>(uuids.size());
+        for (UUID uuid : uuids) {
+            PlayerData stored = from.load(uuid);
+            if (stored != null) players.add(stored.snapshot());
+        }
+
+        target.saveTrust(trust);
+        if (target.loadRegions().isEmpty()) {
+            target.saveRegions(regions);
+        }
+        target.saveTeamHidden(teamHidden);
+
+        // Players go last in a single write: the target only counts as migrated once they are in
+        target.getPlayerStore().write(players);
+
+        logger.info("Migrated " + players.size() + " player(s), " + trust.size() + " trust record(s) and "
+                + regions.size() + " region(s) to " + target.getName());
+        return true;
+    }
+}
@@ -0,0 +1,126 @@
+package saturn.elementPlugin.data;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.*;
+
+/**
+ * A named group of players who can't hurt each other.
+ * Members are kept in join order; the owner is always a member.
+ * The index is a small id assigned at runtime, used for membership bitsets.
+ */
+public class TeamData {
+    private final String name;
+    private UUID owner;
+    private final Set<UUID> members = new LinkedHashSet<>();
+    private final long createdAt;
+
+    private transient int index = -1;
+
+    public TeamData(String name, UUID owner) {
+        this.name = name;
+        this.owner = owner;
+        this.members.add(owner);
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Load a team from configuration
+     * @return the team, or null if the section has no valid owner
+     */
+    public static TeamData load(String name, ConfigurationSection section) {
+        if (section == null) return null;
+
+        UUID owner;
+        try {
+            owner = UUID.fromString(section.getString("owner", ""));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        TeamData team = new TeamData(name, owner, section.getLong("created", System.currentTimeMillis()));
+        for (String uuidStr : section.getStringList("members")) {
+            try {
+                team.members.add(UUID.fromString(uuidStr));
+            } catch (IllegalArgumentException ignored) {}
+        }
+        return team;
+    }
+
+    private TeamData(String name, UUID owner, long createdAt) {
+        this.name = name;
+        this.owner = owner;
+        this.members.add(owner);
+        this.createdAt = createdAt;
+    }
+
+    // ========================================
+    // MEMBERS
+    // ========================================
+
+    public boolean isMember(UUID uuid) {
+        return members.contains(uuid);
+    }
+
+    public boolean addMember(UUID uuid) {
+        return members.add(uuid);
+    }
+
+    /**
+     * Remove a member. If the owner leaves, the longest-standing member takes over.
+     */
+    public boolean removeMember(UUID uuid) {
+        if (!members.remove(uuid)) return false;
+
+        if (uuid.equals(owner) && !members.isEmpty()) {
+            owner = members.iterator().next();
+        }
+        return true;
+    }
+
+    public Set<UUID> getMembers() {
+        return Collections.unmodifiableSet(members);
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    public boolean isEmpty() {
+        return members.isEmpty();
+    }
+
+    // ========================================
+    // GETTERS
+    // ========================================
+
+    public String getName() { return name; }
+    public UUID getOwner() { return owner; }
+    public long getCreatedAt() { return createdAt; }
+
+    public boolean isOwner(UUID uuid) {
+        return owner.equals(uuid);
+    }
+
+    // Assigned by the TeamManager while the team exists
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    // ========================================
+    // SERIALIZATION
+    // ========================================
+
+    /**
+     * Save to configuration section
+     */
+    public void saveTo(ConfigurationSection section) {
+        section.set("owner", owner.toString());
+        section.set("created", createdAt);
+
+        List<String> memberList = new ArrayList<>(members.size());
+        for (UUID uuid : members) {
+            memberList.add(uuid.toString());
+        }
+        section.set("members", memberList);
+    }
+}
@@ -76,6 +76,23 @@ public class TrustData {
         this.dirty = false;
     }
 
+    /**
+     * Create trust data from stored values (expired requests are dropped)
+     */
+    public TrustData(UUID playerUuid, Collection<UUID> trusted,
+                     Map<UUID, Long> outgoing, Map<UUID, Long> incoming) {
+        this.playerUuid = playerUuid;
+        this.trustedPlayers.addAll(trusted);
+
+        long now = System.currentTimeMillis();
+        outgoing.forEach((uuid, timestamp) -> {
+            if (now - timestamp < REQUEST_EXPIRY_MS) pendingOutgoing.put(uuid, timestamp);
+        });
+        incoming.forEach((uuid, timestamp) -> {
+            if (now - timestamp < REQUEST_EXPIRY_MS) pendingIncoming.put(uuid, timestamp);
+        });
+    }
+
     // ========================================
     // TRUST MANAGEMENT
     // ========================================
@@ -132,6 +149,22 @@ public class TrustData {
         markDirty();
     }
 
+    /**
+     * Restore a pending outgoing request with the time it was sent (journal replay)
+     */
+    void putPendingOutgoing(UUID target, long timestamp) {
+        pendingOutgoing.put(target, timestamp);
+        markDirty();
+    }
+
+    /**
+     * Restore a pending incoming request with the time it was received (journal replay)
+     */
+    void putPendingIncoming(UUID sender, long timestamp) {
+        pendingIncoming.put(sender, timestamp);
+        markDirty();
+    }
+
     /**
      * Remove a pending outgoing request
      */
@@ -210,39 +243,50 @@ public class TrustData {
     }
 
     /**
-     * Clean up expired requests
+     * Get pending outgoing requests with the time they were sent
+     */
+    public Map<UUID, Long> getPendingOutgoingTimestamps() {
+        return new HashMap<>(pendingOutgoing);
+    }
+
+    /**
+     * Get pending incoming requests with the time they were received
+     */
+    public Map<UUID, Long> getPendingIncomingTimestamps() {
+        return new HashMap<>(pendingIncoming);
+    }
+
+    /**
+     * Drop the requests to and from one player if they have expired
+     * @return true if anything was removed
      */
-    public void cleanupExpired() {
+    public boolean expireRequests(UUID other) {
         long now = System.currentTimeMillis();
         boolean changed = false;
 
-        // Clean outgoing
-        Set<UUID> expiredOut = new HashSet<>();
-        for (Map.Entry<UUID, Long> entry : pendingOutgoing.entrySet()) {
-            if (now - entry.getValue() > REQUEST_EXPIRY_MS) {
-                expiredOut.add(entry.getKey());
-            }
-        }
-        for (UUID uuid : expiredOut) {
-            pendingOutgoing.remove(uuid);
+        Long sent = pendingOutgoing.get(other);
+        if (sent != null && now - sent > REQUEST_EXPIRY_MS) {
+            pendingOutgoing.remove(other);
             changed = true;
         }
 
-        // Clean incoming
-        Set<UUID> expiredIn = new HashSet<>();
-        for (Map.Entry<UUID, Long> entry : pendingIncoming.entrySet()) {
-            if (now - entry.getValue() > REQUEST_EXPIRY_MS) {
-                expiredIn.add(entry.getKey());
-            }
-        }
-        for (UUID uuid : expiredIn) {
-            pendingIncoming.remove(uuid);
+        Long received = pendingIncoming.get(other);
+        if (received != null && now - received > REQUEST_EXPIRY_MS) {
+            pendingIncoming.remove(other);
             changed = true;
         }
 
         if (changed) {
             markDirty();
         }
+        return changed;
+    }
+
+    /**
+     * Milliseconds until a request sent at the given time expires
+     */
+    public static long getRequestExpiryDelay(long timestamp) {
+        return Math.max(0, timestamp + REQUEST_EXPIRY_MS - System.currentTimeMillis());
     }
 
     // ========================================
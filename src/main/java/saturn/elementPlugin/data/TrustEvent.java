@@ -0,0 +1,95 @@
+package saturn.elementPlugin.data;
+
+import java.util.UUID;
+
+/**
+ * A single change to one player's trust data: an edge or a pending request added or removed.
+ * Every event sets the state of one (owner, other) pair, so replaying a run of events over
+ * data that already contains some of them gives the same result.
+ *
+ * Log line format: <TYPE> <owner> <other> <timestamp>
+ */
+public final class TrustEvent {
+    public enum Type {
+        TRUST_ADD, TRUST_REMOVE,
+        OUTGOING_ADD, OUTGOING_REMOVE,
+        INCOMING_ADD, INCOMING_REMOVE
+    }
+
+    private final Type type;
+    private final UUID owner;
+    private final UUID other;
+    private final long timestamp;
+
+    private TrustEvent(Type type, UUID owner, UUID other, long timestamp) {
+        this.type = type;
+        this.owner = owner;
+        this.other = other;
+        this.timestamp = timestamp;
+    }
+
+    public static TrustEvent trustAdded(UUID owner, UUID other) {
+        return new TrustEvent(Type.TRUST_ADD, owner, other, System.currentTimeMillis());
+    }
+
+    public static TrustEvent trustRemoved(UUID owner, UUID other) {
+        return new TrustEvent(Type.TRUST_REMOVE, owner, other, System.currentTimeMillis());
+    }
+
+    public static TrustEvent outgoingAdded(UUID owner, UUID target, long timestamp) {
+        return new TrustEvent(Type.OUTGOING_ADD, owner, target, timestamp);
+    }
+
+    public static TrustEvent outgoingRemoved(UUID owner, UUID target) {
+        return new TrustEvent(Type.OUTGOING_REMOVE, owner, target, System.currentTimeMillis());
+    }
+
+    public static TrustEvent incomingAdded(UUID owner, UUID sender, long timestamp) {
+        return new TrustEvent(Type.INCOMING_ADD, owner, sender, timestamp);
+    }
+
+    public static TrustEvent incomingRemoved(UUID owner, UUID sender) {
+        return new TrustEvent(Type.INCOMING_REMOVE, owner, sender, System.currentTimeMillis());
+    }
+
+    public Type getType() { return type; }
+    public UUID getOwner() { return owner; }
+    public UUID getOther() { return other; }
+    public long getTimestamp() { return timestamp; }
+
+    /**
+     * Apply this event to the owner's trust data
+     */
+    public void applyTo(TrustData data) {
+        switch (type) {
+            case TRUST_ADD -> data.addTrust(other);
+            case TRUST_REMOVE -> data.removeTrust(other);
+            case OUTGOING_ADD -> data.putPendingOutgoing(other, timestamp);
+            case OUTGOING_REMOVE -> data.removePendingOutgoing(other);
+            case INCOMING_ADD -> data.putPendingIncoming(other, timestamp);
+            case INCOMING_REMOVE -> data.removePendingIncoming(other);
+        }
+    }
+
+    String encode() {
+        return type.name() + ' ' + owner + ' ' + other + ' ' + timestamp;
+    }
+
+    /**
+     * Parse a log line
+     * @throws IllegalArgumentException if the line is malformed (e.g. cut short by a crash)
+     */
+    static TrustEvent decode(String line) {
+        String[] parts = line.split(" ");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed trust event: " + line);
+        }
+        return new TrustEvent(Type.valueOf(parts[0]), UUID.fromString(parts[1]),
+                UUID.fromString(parts[2]), Long.parseLong(parts[3]));
+    }
+
+    @Override
+    public String toString() {
+        return "TrustEvent{" + encode() + '}';
+    }
+}
@@ -0,0 +1,85 @@
+package saturn.elementPlugin.data;
+
+import saturn.elementPlugin.util.LongHashSet;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Global index of who trusts whom, used for the hot trust checks (every PvP hit and
+ * every ability target).
+ *
+ * Trust is always mutual, so each relationship is one undirected edge. Players get a
+ * dense int id the first time they appear in an edge, and an edge is stored once in a
+ * LongHashSet as (lower id << 32 | higher id). A check is two map lookups and one probe:
+ * no disk access, no locking and no allocation, from any thread.
+ */
+public class TrustGraph {
+    private final Map<UUID, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger(1); // 0 would make an edge key of 0 possible
+    private final LongHashSet edges;
+
+    public TrustGraph(int expectedEdges) {
+        this.edges = new LongHashSet(expectedEdges);
+    }
+
+    /**
+     * Check whether two players trust each other
+     */
+    public boolean trusts(UUID a, UUID b) {
+        Integer idA = ids.get(a);
+        if (idA == null) return false;
+        Integer idB = ids.get(b);
+        if (idB == null || idA.equals(idB)) return false;
+
+        return edges.contains(edge(idA, idB));
+    }
+
+    public void add(UUID a, UUID b) {
+        if (a.equals(b)) return;
+        edges.add(edge(id(a), id(b)));
+    }
+
+    public void remove(UUID a, UUID b) {
+        Integer idA = ids.get(a);
+        Integer idB = ids.get(b);
+        if (idA == null || idB == null || idA.equals(idB)) return;
+
+        edges.remove(edge(idA, idB));
+    }
+
+    /**
+     * Replace every edge of a player (e.g. after another server changed their trust)
+     */
+    public void replace(UUID player, Iterable<UUID> trusted) {
+        Integer id = ids.get(player);
+        if (id != null) {
+            int target = id;
+            edges.removeIf(edge -> (int) (edge >>> 32) == target || (int) edge == target);
+        }
+
+        for (UUID other : trusted) {
+            add(player, other);
+        }
+    }
+
+    public int getEdgeCount() {
+        return edges.size();
+    }
+
+    public int getPlayerCount() {
+        return ids.size();
+    }
+
+    private int id(UUID uuid) {
+        return ids.computeIfAbsent(uuid, k -> nextId.getAndIncrement());
+    }
+
+    private static long edge(int a, int b) {
+        int low = Math.min(a, b);
+        int high = Math.max(a, b);
+        return ((long) low << 32) | (high & 0xFFFFFFFFL);
+    }
+}
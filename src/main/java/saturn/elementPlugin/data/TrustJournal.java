@@ -0,0 +1,394 @@
+package saturn.elementPlugin.data;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Persistence for trust changes as individual edge events.
+ *
+ * Trust operations record TrustEvents and return immediately. A background thread appends
+ * them to data/trust.log in batches with one fsync per batch. Events stay in memory until
+ * they are compacted: once the log passes COMPACT_THRESHOLD_BYTES (and on shutdown) every
+ * affected player is loaded from the storage backend, the events are applied and the
+ * players are saved in one backend write - the only time trust.yml is rewritten.
+ * Loads apply uncompacted events over the backend data, so they always see the latest state.
+ *
+ * Without a log file (cluster mode) every batch is compacted straight into the shared
+ * backend, and the listener is told which players changed.
+ *
+ * A failed compaction keeps its events uncompacted and is retried by the writer thread,
+ * waiting RETRY_DELAY_MS and doubling up to MAX_RETRY_DELAY_MS, whether or not new events arrive.
+ */
+public class TrustJournal {
+    private static final long COMPACT_THRESHOLD_BYTES = 1024 * 1024; // 1 MB
+    private static final long LINGER_MS = 50;                        // Let paired events land in one batch
+    private static final long RETRY_DELAY_MS = 1000;
+    private static final long MAX_RETRY_DELAY_MS = 60_000;
+
+    private final File file;        // null = compact every batch
+    private final StorageBackend backend;
+    private final Logger logger;
+    private final Consumer<Collection<UUID>> onCompacted;
+
+    // Events not yet in the backend, per owner, in the order they happened
+    private final Map<UUID, List<TrustEvent>> uncompacted = new ConcurrentHashMap<>();
+    private final BlockingQueue<TrustEvent> queue = new LinkedBlockingQueue<>();
+
+    // Loads read the backend and the uncompacted events together; compaction swaps them together
+    private final ReadWriteLock backendLock = new ReentrantReadWriteLock();
+
+    private FileChannel channel;
+    private long size = 0;
+
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    // Compaction backoff (writer thread only): 0 = no failed compaction waiting
+    private long retryDelay = 0;
+    private long retryAt = 0;
+
+    // Metrics
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong syncs = new AtomicLong();
+    private final AtomicLong compactions = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long lastCompactionMillis = 0;
+
+    /**
+     * @param file the event log, or null to write every batch straight into the backend
+     * @param onCompacted told which players were written to the backend (may be null)
+     */
+    public TrustJournal(File file, StorageBackend backend, Logger logger,
+                        Consumer<Collection<UUID>> onCompacted) throws IOException {
+        this.file = file;
+        this.backend = backend;
+        this.logger = logger;
+        this.onCompacted = onCompacted;
+
+        if (file != null) {
+            replay();
+            this.channel = FileChannel.open(file.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+            // Fold whatever survived the last run into the backend and start with an empty log
+            compact();
+        }
+
+        this.thread = new Thread(this::run, "ElementPlugin-TrustJournal");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Journal without a log that writes every batch straight into the backend (cluster mode)
+     */
+    public static TrustJournal direct(StorageBackend backend, Logger logger, Consumer<Collection<UUID>> onCompacted) {
+        try {
+            return new TrustJournal(null, backend, logger, onCompacted);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Only the log file can fail to open
+        }
+    }
+
+    // ========================================
+    // RECORD & LOAD
+    // ========================================
+
+    /**
+     * Queue events for writing (call after applying them to the cached TrustData)
+     */
+    public void record(TrustEvent... events) {
+        for (TrustEvent event : events) {
+            addUncompacted(event);
+            queue.add(event);
+            recorded.incrementAndGet();
+        }
+    }
+
+    private void addUncompacted(TrustEvent event) {
+        // Atomic with compaction removing the owner's list, so no event is added to a list already taken
+        uncompacted.compute(event.getOwner(), (owner, events) -> {
+            if (events == null) events = Collections.synchronizedList(new ArrayList<>());
+            events.add(event);
+            return events;
+        });
+    }
+
+    /**
+     * Load a player's trust data including changes that are not compacted yet
+     */
+    public TrustData load(UUID uuid) throws IOException {
+        backendLock.readLock().lock();
+        try {
+            TrustData data = backend.loadTrust(uuid);
+            List<TrustEvent> events = uncompacted.get(uuid);
+            if (events != null) {
+                synchronized (events) {
+                    for (TrustEvent event : events) {
+                        event.applyTo(data);
+                    }
+                }
+            }
+            data.markClean();
+            return data;
+        } finally {
+            backendLock.readLock().unlock();
+        }
+    }
+
+    // ========================================
+    // WRITER THREAD
+    // ========================================
+
+    private void run() {
+        List<TrustEvent> batch = new ArrayList<>();
+
+        while (running) {
+            try {
+                TrustEvent first = queue.poll(pollTimeout(), TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    Thread.sleep(LINGER_MS);
+                    batch.add(first);
+                    queue.drainTo(batch);
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            boolean needsCompaction = retryDelay > 0;
+            if (!batch.isEmpty()) {
+                needsCompaction |= !appendBatch(batch);
+                batch.clear();
+            }
+
+            // While backing off, new events wait uncompacted for the retry
+            if (needsCompaction && System.currentTimeMillis() >= retryAt) {
+                if (compact()) {
+                    retryDelay = 0;
+                } else {
+                    retryDelay = retryDelay == 0 ? RETRY_DELAY_MS : Math.min(retryDelay * 2, MAX_RETRY_DELAY_MS);
+                    retryAt = System.currentTimeMillis() + retryDelay;
+                    logger.warning("Retrying trust compaction in " + retryDelay + "ms");
+                }
+            }
+        }
+    }
+
+    /**
+     * Wait for events at most until the next compaction retry is due
+     */
+    private long pollTimeout() {
+        if (retryDelay == 0) return 1000;
+        return Math.max(0, Math.min(1000, retryAt - System.currentTimeMillis()));
+    }
+
+    /**
+     * Make a batch durable in the log
+     * @return false if it still has to be compacted (no log, the append failed or the log is full)
+     */
+    private boolean appendBatch(List<TrustEvent> batch) {
+        if (file == null) {
+            return false;
+        }
+
+        try {
+            append(batch);
+        } catch (IOException e) {
+            failures.incrementAndGet();
+            logger.log(Level.SEVERE, "Failed to append " + batch.size() + " trust event(s), compacting instead", e);
+            return false;
+        }
+
+        return size < COMPACT_THRESHOLD_BYTES;
+    }
+
+    /**
+     * Append events to the log with a single fsync
+     */
+    private synchronized void append(List<TrustEvent> batch) throws IOException {
+        StringBuilder lines = new StringBuilder(batch.size() * 96);
+        for (TrustEvent event : batch) {
+            lines.append(event.encode()).append('\n');
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        channel.position(size);
+        while (buffer.hasRemaining()) {
+            size += channel.write(buffer);
+        }
+        channel.force(false);
+        syncs.incrementAndGet();
+    }
+
+    // ========================================
+    // COMPACTION
+    // ========================================
+
+    /**
+     * Apply every uncompacted event to the backend in one write and empty the log.
+     * Events recorded while this runs stay uncompacted for the next round.
+     * @return true on success
+     */
+    private synchronized boolean compact() {
+        long start = System.currentTimeMillis();
+        Map<UUID, List<TrustEvent>> taken = new HashMap<>();
+
+        backendLock.writeLock().lock();
+        try {
+            for (UUID owner : new ArrayList<>(uncompacted.keySet())) {
+                List<TrustEvent> events = uncompacted.remove(owner);
+                if (events != null) taken.put(owner, events);
+            }
+            if (taken.isEmpty()) {
+                truncate();
+                return true;
+            }
+
+            List<TrustData> changed = new ArrayList<>(taken.size());
+            for (Map.Entry<UUID, List<TrustEvent>> entry : taken.entrySet()) {
+                TrustData data = backend.loadTrust(entry.getKey());
+                synchronized (entry.getValue()) {
+                    for (TrustEvent event : entry.getValue()) {
+                        event.applyTo(data);
+                    }
+                }
+                changed.add(data);
+            }
+
+            backend.saveTrust(changed);
+            truncate();
+        } catch (IOException e) {
+            failures.incrementAndGet();
+            logger.log(Level.SEVERE, "Failed to compact " + taken.size() + " player(s) of trust events", e);
+
+            // Put the events back in front of anything recorded meanwhile
+            taken.forEach((owner, events) -> uncompacted.merge(owner, events, (newer, older) -> {
+                synchronized (older) {
+                    synchronized (newer) {
+                        older.addAll(newer);
+                    }
+                }
+                return older;
+            }));
+            return false;
+        } finally {
+            backendLock.writeLock().unlock();
+        }
+
+        compactions.incrementAndGet();
+        lastCompactionMillis = System.currentTimeMillis() - start;
+        if (onCompacted != null) {
+            onCompacted.accept(taken.keySet());
+        }
+        return true;
+    }
+
+    private void truncate() throws IOException {
+        if (channel == null) return;
+
+        channel.truncate(0);
+        channel.force(true);
+        size = 0;
+    }
+
+    /**
+     * Read events left in the log by the last run (a torn last line marks the end)
+     */
+    private void replay() throws IOException {
+        if (!file.isFile() || file.length() == 0) return;
+
+        int replayed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                TrustEvent event;
+                try {
+                    event = TrustEvent.decode(line);
+                } catch (IllegalArgumentException e) {
+                    logger.warning("Trust log ends in a damaged event, ignoring the rest");
+                    break;
+                }
+                addUncompacted(event);
+                replayed++;
+            }
+        }
+
+        logger.info("Replaying " + replayed + " trust event(s) from " + file.getName());
+    }
+
+    // ========================================
+    // SHUTDOWN
+    // ========================================
+
+    /**
+     * Stop the writer and compact everything (plugin disable)
+     */
+    public void close() {
+        // No interrupt: it would close the log channel mid-write. The thread wakes within a second.
+        running = false;
+        try {
+            thread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Log what the thread did not get to, in case compaction fails
+        List<TrustEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (file != null && !remaining.isEmpty()) {
+            try {
+                append(remaining);
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Failed to append " + remaining.size() + " trust event(s) on shutdown", e);
+            }
+        }
+
+        // Compaction covers queued events too - they are all in the uncompacted map
+        if (!compact()) {
+            logger.severe("Trust changes could not be compacted; " + (file != null
+                    ? "they remain in " + file.getName() + " and are replayed on next start"
+                    : "they are lost"));
+        }
+
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Failed to close trust log", e);
+            }
+        }
+    }
+
+    // ========================================
+    // STATISTICS
+    // ========================================
+
+    public long getRecordedCount() { return recorded.get(); }
+    public long getSyncCount() { return syncs.get(); }
+    public long getCompactionCount() { return compactions.get(); }
+    public long getFailureCount() { return failures.get(); }
+    public long getLastCompactionMillis() { return lastCompactionMillis; }
+    public long getSize() { return size; }
+
+    public int getUncompactedPlayerCount() {
+        return uncompacted.size();
+    }
+}
@@ -0,0 +1,210 @@
+package saturn.elementPlugin.data;
+
+import saturn.elementPlugin.regions.DisabledRegion;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * File based storage (the original layout).
+ * Players live in per-player shards (or players.bin in binary mode), trust in data/trust.yml,
+ * regions in disabled-regions.yml and team-hidden flags in data/team-hidden.yml.
+ * The YAML files are read once and kept in memory; saves rewrite the whole file.
+ */
+public class YamlStorageBackend implements StorageBackend {
+    private static final String PLAYERS_PATH = "players";
+    private static final String REGIONS_PATH = "regions";
+
+    private final Logger logger;
+    private final File dataDir;
+    private final PlayerRecordStore playerStore;
+
+    private final File trustFile;
+    private final File regionsFile;
+    private final File teamHiddenFile;
+
+    private YamlConfiguration trustConfig;
+
+    public YamlStorageBackend(File pluginFolder, boolean binaryPlayers, Logger logger) {
+        this.logger = logger;
+        this.dataDir = new File(pluginFolder, "data");
+        if (!dataDir.exists() && !dataDir.mkdirs()) {
+            throw new RuntimeException("Failed to create directory: " + dataDir.getAbsolutePath());
+        }
+
+        this.trustFile = new File(dataDir, "trust.yml");
+        this.regionsFile = new File(pluginFolder, "disabled-regions.yml");
+        this.teamHiddenFile = new File(dataDir, "team-hidden.yml");
+
+        ShardedPlayerStorage shards = new ShardedPlayerStorage(new File(dataDir, PLAYERS_PATH));
+        this.playerStore = binaryPlayers ? openBinaryStore(shards) : shards;
+    }
+
+    @Override
+    public String getName() {
+        return playerStore instanceof MappedPlayerStore ? "yaml (binary players)" : "yaml";
+    }
+
+    // ========================================
+    // PLAYERS
+    // ========================================
+
+    /**
+     * Open the binary record file, importing the existing shards the first time.
+     * Falls back to the shards if the file cannot be opened.
+     */
+    private PlayerRecordStore openBinaryStore(ShardedPlayerStorage shards) {
+        try {
+            MappedPlayerStore store = new MappedPlayerStore(new File(dataDir, "players.bin"), logger);
+
+            if (store.count() == 0) {
+                List<PlayerDataSnapshot> imported = new ArrayList<>();
+                for (UUID uuid : shards.list()) {
+                    PlayerData stored = shards.load(uuid);
+                    if (stored != null) imported.add(stored.snapshot());
+                }
+
+                if (!imported.isEmpty()) {
+                    store.write(imported);
+                    logger.info("Imported " + imported.size() + " player shard(s) into players.bin");
+                }
+            }
+            return store;
+
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Failed to open players.bin, using per-player shards", e);
+            return shards;
+        }
+    }
+
+    @Override
+    public PlayerRecordStore getPlayerStore() {
+        return playerStore;
+    }
+
+    @Override
+    public Map<File, BackupEngine.Snapshot> getSnapshots() {
+        if (playerStore instanceof MappedPlayerStore store) {
+            return Map.of(new File(dataDir, "players.bin"), store::copyTo);
+        }
+        return Map.of();
+    }
+
+    // ========================================
+    // TRUST
+    // ========================================
+
+    private YamlConfiguration trustConfig() {
+        if (trustConfig == null) {
+            trustConfig = YamlConfiguration.loadConfiguration(trustFile);
+        }
+        return trustConfig;
+    }
+
+    @Override
+    public synchronized TrustData loadTrust(UUID uuid) {
+        return new TrustData(uuid, trustConfig().getConfigurationSection(PLAYERS_PATH + "." + uuid));
+    }
+
+    @Override
+    public synchronized Collection<TrustData> loadAllTrust() {
+        List<TrustData> all = new ArrayList<>();
+        ConfigurationSection players = trustConfig().getConfigurationSection(PLAYERS_PATH);
+        if (players == null) return all;
+
+        for (String key : players.getKeys(false)) {
+            try {
+                all.add(new TrustData(UUID.fromString(key), players.getConfigurationSection(key)));
+            } catch (IllegalArgumentException ignored) {}
+        }
+        return all;
+    }
+
+    @Override
+    public synchronized void saveTrust(Collection<TrustData> data) throws IOException {
+        YamlConfiguration config = trustConfig();
+
+        for (TrustData trust : data) {
+            String path = PLAYERS_PATH + "." + trust.getPlayerUuid();
+            ConfigurationSection section = config.getConfigurationSection(path);
+            if (section == null) {
+                section = config.createSection(path);
+            }
+            trust.saveTo(section);
+        }
+
+        config.save(trustFile);
+    }
+
+    // ========================================
+    // REGIONS
+    // ========================================
+
+    @Override
+    public synchronized List<DisabledRegion> loadRegions() {
+        List<DisabledRegion> regions = new ArrayList<>();
+        ConfigurationSection regionsSection = YamlConfiguration.loadConfiguration(regionsFile)
+                .getConfigurationSection(REGIONS_PATH);
+        if (regionsSection == null) return regions;
+
+        for (String regionName : regionsSection.getKeys(false)) {
+            ConfigurationSection regionSection = regionsSection.getConfigurationSection(regionName);
+            if (regionSection == null) continue;
+
+            try {
+                regions.add(DisabledRegion.loadFrom(regionName, regionSection));
+            } catch (Exception e) {
+                logger.warning("Failed to load region '" + regionName + "': " + e.getMessage());
+            }
+        }
+        return regions;
+    }
+
+    @Override
+    public synchronized void saveRegions(Collection<DisabledRegion> regions) throws IOException {
+        YamlConfiguration config = new YamlConfiguration();
+        ConfigurationSection regionsSection = config.createSection(REGIONS_PATH);
+
+        for (DisabledRegion region : regions) {
+            region.saveTo(regionsSection.createSection(region.getName()));
+        }
+
+        config.save(regionsFile);
+    }
+
+    // ========================================
+    // TEAM HIDDEN
+    // ========================================
+
+    @Override
+    public synchronized Map<UUID, Boolean> loadTeamHidden() {
+        Map<UUID, Boolean> map = new HashMap<>();
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(teamHiddenFile);
+
+        for (String key : config.getKeys(false)) {
+            try {
+                map.put(UUID.fromString(key), config.getBoolean(key, false));
+            } catch (IllegalArgumentException ignored) {}
+        }
+        return map;
+    }
+
+    @Override
+    public synchronized void saveTeamHidden(Map<UUID, Boolean> teamHidden) throws IOException {
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(teamHiddenFile);
+        for (Map.Entry<UUID, Boolean> entry : teamHidden.entrySet()) {
+            config.set(entry.getKey().toString(), entry.getValue());
+        }
+        config.save(teamHiddenFile);
+    }
+
+    @Override
+    public void close() throws IOException {
+        playerStore.close();
+    }
+}
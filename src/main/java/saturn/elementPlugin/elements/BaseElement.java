@@ -52,6 +52,7 @@ public abstract class BaseElement implements Element {
         // Execute ability first, only consume mana if successful
         if (executeAbility1(context)) {
             context.getManaManager().spend(context.getPlayer(), cost);
+            context.getPlugin().getDataStore().getStats().recordCast(context.getElementType(), 1);
             return true;
         }
         return false;
@@ -82,6 +83,7 @@ public abstract class BaseElement implements Element {
         // Execute ability first, only consume mana if successful
         if (executeAbility2(context)) {
             context.getManaManager().spend(context.getPlayer(), cost);
+            context.getPlugin().getDataStore().getStats().recordCast(context.getElementType(), 2);
             return true;
         }
         return false;
@@ -103,7 +105,7 @@ public abstract class BaseElement implements Element {
      * Check if player has enough mana (without spending it)
      */
     protected boolean hasMana(Player player, saturn.elementPlugin.managers.ManaManager mana, int cost) {
-        if (mana.get(player.getUniqueId()).getMana() < cost) {
+        if (mana.getMana(player.getUniqueId()) < cost) {
             player.sendMessage(ChatColor.RED + "Not enough mana (" + cost + ")");
             return false;
         }
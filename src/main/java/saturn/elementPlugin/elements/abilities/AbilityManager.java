@@ -71,7 +71,7 @@ public class AbilityManager {
 
         // Check mana (NO COOLDOWN CHECK)
         int cost = ability.getManaCost();
-        if (context.getManaManager().get(player.getUniqueId()).getMana() < cost) {
+        if (context.getManaManager().getMana(player.getUniqueId()) < cost) {
             player.sendMessage(ChatColor.RED + "Not enough mana (" + cost + ")");
             return false;
         }
@@ -79,6 +79,7 @@ public class AbilityManager {
         // Execute ability
         if (ability.execute(context)) {
             context.getManaManager().spend(player, cost);
+            plugin.getDataStore().getStats().recordCast(elementType, abilityNumber);
             return true;
         }
 
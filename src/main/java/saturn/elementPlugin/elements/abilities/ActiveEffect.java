@@ -0,0 +1,101 @@
+package saturn.elementPlugin.elements.abilities;
+
+import java.util.UUID;
+
+/**
+ * A running ability effect, advanced by the {@link EffectEngine} instead of its own BukkitRunnable.
+ * tick() does what run() used to, end() replaces cancel(), and cleanup goes in onEnd(),
+ * which runs exactly once however the effect stops.
+ */
+public abstract class ActiveEffect {
+
+    public enum EndReason {
+        EXPIRED,    // Ran for its full duration
+        FINISHED,   // Ended itself with end()
+        OWNER_QUIT,
+        OWNER_DIED,
+        FAILED,     // tick() threw
+        SHUTDOWN    // Plugin disabled
+    }
+
+    private final UUID owner;
+    private final int duration;
+    private final int period;
+
+    // Engine state (main thread)
+    int age;
+    private boolean endRequested;
+    private boolean ended;
+
+    /**
+     * @param owner player whose quit or death ends the effect, or null if it outlives its caster
+     * @param durationTicks ticks until it expires, or -1 to run until end()
+     */
+    protected ActiveEffect(UUID owner, int durationTicks) {
+        this(owner, durationTicks, 1);
+    }
+
+    /**
+     * @param period run tick() every this many ticks
+     */
+    protected ActiveEffect(UUID owner, int durationTicks, int period) {
+        this.owner = owner;
+        this.duration = durationTicks;
+        this.period = Math.max(1, period);
+    }
+
+    /**
+     * One step of the effect
+     * @param age ticks since the effect started (0 on the first call)
+     */
+    protected abstract void tick(int age);
+
+    /**
+     * Cleanup - called once when the effect stops for any reason
+     */
+    protected void onEnd(EndReason reason) {
+    }
+
+    /**
+     * Stop the effect; onEnd runs right after the current tick (or on the next one)
+     */
+    public final void end() {
+        endRequested = true;
+    }
+
+    public UUID getOwner() {
+        return owner;
+    }
+
+    public boolean isEnded() {
+        return ended;
+    }
+
+    // ========================================
+    // ENGINE
+    // ========================================
+
+    boolean isEndRequested() {
+        return endRequested;
+    }
+
+    boolean isDue() {
+        return age % period == 0;
+    }
+
+    boolean isExpired() {
+        return duration >= 0 && age >= duration;
+    }
+
+    /**
+     * Mark the effect ended and run its cleanup
+     * @return false if it had already ended
+     */
+    boolean finish(EndReason reason) {
+        if (ended) return false;
+
+        ended = true;
+        onEnd(reason);
+        return true;
+    }
+}
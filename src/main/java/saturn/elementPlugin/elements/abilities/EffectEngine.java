@@ -0,0 +1,192 @@
+package saturn.elementPlugin.elements.abilities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Advances every running ability effect from one scheduled task (main thread only).
+ *
+ * Effects sit in a flat array in the order they were started and are ticked in that order.
+ * An effect started during a tick joins at the end and first runs on the next tick, like a
+ * runTaskTimer(plugin, 0L, 1L). Ended effects are compacted out after each pass.
+ *
+ * Each pass has a time budget. When it runs out, the remaining effects wait for the next
+ * tick, and that pass starts with them so nothing is starved. An effect's age only advances
+ * when it is ticked, so a deferred effect runs one tick late rather than skipping a step.
+ */
+public class EffectEngine {
+    private final Logger logger;
+    private final long budgetNanos;
+
+    private ActiveEffect[] effects = new ActiveEffect[64];
+    private int size;
+    private int cursor; // First effect of the next pass (non-zero after a pass ran out of budget)
+    private final List<ActiveEffect> started = new ArrayList<>();
+
+    // Metrics
+    private long overruns;
+    private long deferred;
+
+    public EffectEngine(long budgetMicros, Logger logger) {
+        this.budgetNanos = budgetMicros * 1000L;
+        this.logger = logger;
+    }
+
+    // ========================================
+    // EFFECTS
+    // ========================================
+
+    /**
+     * Start an effect; it is first ticked on the next engine tick
+     */
+    public <T extends ActiveEffect> T start(T effect) {
+        started.add(effect);
+        return effect;
+    }
+
+    /**
+     * End every effect owned by a player right away
+     * @return how many effects were ended
+     */
+    public int endOwnedBy(UUID owner, ActiveEffect.EndReason reason) {
+        int ended = 0;
+        for (int i = 0; i < size; i++) {
+            if (owner.equals(effects[i].getOwner()) && finish(effects[i], reason)) ended++;
+        }
+        for (ActiveEffect effect : new ArrayList<>(started)) {
+            if (owner.equals(effect.getOwner()) && finish(effect, reason)) ended++;
+        }
+        return ended;
+    }
+
+    /**
+     * End everything (plugin disable), so effects can undo what they changed
+     */
+    public void shutdown() {
+        for (int i = 0; i < size; i++) {
+            finish(effects[i], ActiveEffect.EndReason.SHUTDOWN);
+        }
+        for (ActiveEffect effect : new ArrayList<>(started)) {
+            finish(effect, ActiveEffect.EndReason.SHUTDOWN);
+        }
+        started.clear();
+        size = 0;
+    }
+
+    // ========================================
+    // TICK
+    // ========================================
+
+    /**
+     * Advance effects once (called every server tick)
+     */
+    public void tick() {
+        for (ActiveEffect effect : started) {
+            if (effect.isEnded()) continue;
+            if (size == effects.length) {
+                effects = Arrays.copyOf(effects, size * 2);
+            }
+            effects[size++] = effect;
+        }
+        started.clear();
+        if (size == 0) return;
+
+        long deadline = System.nanoTime() + budgetNanos;
+        int count = size;
+        int first = cursor < count ? cursor : 0;
+        int next = -1;
+
+        for (int n = 0; n < count; n++) {
+            int i = (first + n) % count;
+            advance(effects[i]);
+
+            if (n + 1 < count && System.nanoTime() > deadline) {
+                overruns++;
+                deferred += count - n - 1;
+                next = (i + 1) % count;
+                break;
+            }
+        }
+
+        compact(next);
+    }
+
+    private void advance(ActiveEffect effect) {
+        if (effect.isEnded()) return;
+
+        if (!effect.isEndRequested()) {
+            try {
+                if (effect.isDue()) {
+                    effect.tick(effect.age);
+                }
+                effect.age++;
+            } catch (Throwable t) {
+                logger.log(Level.SEVERE, "Ability effect " + effect.getClass().getName() + " failed, ending it", t);
+                finish(effect, ActiveEffect.EndReason.FAILED);
+                return;
+            }
+        }
+
+        if (effect.isEndRequested()) {
+            finish(effect, ActiveEffect.EndReason.FINISHED);
+        } else if (effect.isExpired()) {
+            finish(effect, ActiveEffect.EndReason.EXPIRED);
+        }
+    }
+
+    private boolean finish(ActiveEffect effect, ActiveEffect.EndReason reason) {
+        try {
+            return effect.finish(reason);
+        } catch (Throwable t) {
+            logger.log(Level.SEVERE, "Ability effect " + effect.getClass().getName() + " failed to clean up", t);
+            return true;
+        }
+    }
+
+    /**
+     * Drop ended effects, keeping order, and move the cursor to where the next pass starts
+     * @param next index the next pass should start at, or -1 to start from the beginning
+     */
+    private void compact(int next) {
+        int kept = 0;
+        int nextKept = 0;
+        for (int i = 0; i < size; i++) {
+            if (i == next) nextKept = kept;
+            if (!effects[i].isEnded()) {
+                effects[kept++] = effects[i];
+            }
+        }
+        for (int i = kept; i < size; i++) {
+            effects[i] = null;
+        }
+
+        size = kept;
+        cursor = next >= 0 ? nextKept : 0;
+    }
+
+    // ========================================
+    // STATISTICS
+    // ========================================
+
+    public int getActiveCount() {
+        return size + started.size();
+    }
+
+    /**
+     * Ticks that ran out of budget before every effect was advanced
+     */
+    public long getOverrunCount() {
+        return overruns;
+    }
+
+    /**
+     * Effect steps pushed to a later tick by the budget
+     */
+    public long getDeferredCount() {
+        return deferred;
+    }
+}
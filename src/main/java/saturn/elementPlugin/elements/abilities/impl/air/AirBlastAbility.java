@@ -9,6 +9,7 @@ import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
+import java.util.ArrayList;
 
 public class AirBlastAbility extends BaseAbility {
 
@@ -41,12 +42,10 @@ public class AirBlastAbility extends BaseAbility {
             double rad = Math.toRadians(i);
             double x = Math.cos(rad) * 1.5;
             double z = Math.sin(rad) * 1.5;
-            world.spawnParticle(
+            plugin.getParticleService().spawn(player,
                     Particle.CLOUD,
                     center.clone().add(x, 0.2, z),
-                    2, 0, 0, 0, 0,
-                    null,
-                    true
+                    2, 0, 0, 0, 0
             );
         }
 
@@ -68,12 +67,10 @@ public class AirBlastAbility extends BaseAbility {
                     double z = Math.sin(rad) * currentRadius;
 
                     int count = Math.max(1, 3 - tick / 2);
-                    world.spawnParticle(
+                    plugin.getParticleService().spawn(player,
                             Particle.CLOUD,
                             center.clone().add(x, 0.2, z),
-                            count, 0, 0, 0, 0,
-                            null,
-                            true
+                            count, 0, 0, 0, 0
                     );
                 }
                 tick++;
@@ -81,7 +78,7 @@ public class AirBlastAbility extends BaseAbility {
         }.runTaskTimer(plugin, 0L, 1L);
 
         // Launch nearby entities
-for (LivingEntity entity : center.getNearbyLivingEntities(radius)) {
+for (LivingEntity entity : plugin.getEntityGrid().sphere(center, radius, new ArrayList<>())) {
     if (!saturn.elementPlugin.util.AbilityTrustValidator.canAffectTarget(plugin, player, entity, true)) continue;
 
             Vector push = entity.getLocation().toVector()
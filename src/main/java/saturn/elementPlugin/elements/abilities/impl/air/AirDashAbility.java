@@ -10,6 +10,8 @@ import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
+import java.util.ArrayList;
+import java.util.List;
 
 public class AirDashAbility extends BaseAbility {
     private final saturn.elementPlugin.ElementPlugin plugin;
@@ -27,6 +29,7 @@ public class AirDashAbility extends BaseAbility {
         player.setVelocity(direction.multiply(2.5));
 
         new BukkitRunnable() {
+            final List<LivingEntity> targets = new ArrayList<>();
             int ticks = 0;
             @Override
             public void run() {
@@ -36,17 +39,17 @@ public class AirDashAbility extends BaseAbility {
                 }
 
 				Location loc = player.getLocation();
-				player.getWorld().spawnParticle(Particle.CLOUD, loc, 5, 0.3, 0.3, 0.3, 0.05, null, true);
+				plugin.getParticleService().spawn(player, Particle.CLOUD, loc, 5, 0.3, 0.3, 0.3, 0.05);
 
                 if (ticks % 5 == 0) {
-                    for (LivingEntity entity : loc.getNearbyLivingEntities(3.0)) {
+                    for (LivingEntity entity : plugin.getEntityGrid().sphere(loc, 3.0, targets)) {
                         if (entity.equals(player)) continue;
                         if (!saturn.elementPlugin.util.AbilityTrustValidator.canAffectTarget(plugin, player, entity, true)) continue;
 
                         Vector knockback = entity.getLocation().toVector().subtract(loc.toVector()).normalize();
                         knockback.setY(0.2);
 						entity.setVelocity(knockback.multiply(1.0));
-						entity.getWorld().spawnParticle(Particle.CLOUD, entity.getLocation(), 10, 0.3, 0.3, 0.3, 0.05, null, true);
+						plugin.getParticleService().spawn(player, Particle.CLOUD, entity.getLocation(), 10, 0.3, 0.3, 0.3, 0.05);
                     }
                 }
 
@@ -33,7 +33,7 @@ public class DeathClockAbility extends BaseAbility {
         player.sendMessage(ChatColor.DARK_PURPLE + "Death Clock activated! Your next hit will curse the target.");
         player.playSound(player.getLocation(), Sound.ENTITY_WITHER_AMBIENT, 1.0f, 0.8f);
 
-        player.getWorld().spawnParticle(
+        plugin.getParticleService().spawn(player,
                 org.bukkit.Particle.SMOKE,
                 player.getLocation().add(0, 1, 0),
                 20, 0.5, 0.5, 0.5, 0.05
@@ -63,7 +63,7 @@ public class DeathClockAbility extends BaseAbility {
 
         // Visual effects
         target.getWorld().playSound(target.getLocation(), Sound.ENTITY_WITHER_HURT, 1.0f, 1.2f);
-        target.getWorld().spawnParticle(
+        plugin.getParticleService().spawn(attacker,
                 org.bukkit.Particle.SMOKE,
                 target.getLocation().add(0, 1, 0),
                 30, 0.3, 0.5, 0.3, 0.05
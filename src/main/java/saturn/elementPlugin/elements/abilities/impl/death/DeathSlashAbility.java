@@ -21,8 +21,8 @@ public class DeathSlashAbility extends BaseAbility {
         this.plugin = plugin;
     }
 
-    private void bloodBurst(Location loc) {
-        loc.getWorld().spawnParticle(
+    private void bloodBurst(Player caster, Location loc) {
+        plugin.getParticleService().spawn(caster,
                 Particle.BLOCK,
                 loc,
                 80,
@@ -40,7 +40,7 @@ public class DeathSlashAbility extends BaseAbility {
         player.sendMessage(ChatColor.RED + "Slash activated! Your next hit will cause bleeding.");
         player.playSound(player.getLocation(), Sound.ENTITY_PLAYER_ATTACK_SWEEP, 1.0f, 0.8f);
 
-        bloodBurst(player.getLocation().add(0, 1, 0));
+        bloodBurst(player, player.getLocation().add(0, 1, 0));
         setActive(player, true);
         return true;
     }
@@ -54,7 +54,7 @@ public class DeathSlashAbility extends BaseAbility {
                 (DeathSlashAbility) plugin.getAbilityManager().getAbility("death_slash");
 
         attacker.removeMetadata(META_SLASH_ACTIVE, plugin);
-        ability.bloodBurst(target.getLocation().add(0, 1, 0));
+        ability.bloodBurst(attacker, target.getLocation().add(0, 1, 0));
 
         new BukkitRunnable() {
             int ticks = 0;
@@ -86,7 +86,7 @@ public class DeathSlashAbility extends BaseAbility {
         target.damage(1.0, attacker);
     }
 
-                    ability.bloodBurst(target.getLocation().add(0, 1, 0));
+                    ability.bloodBurst(attacker, target.getLocation().add(0, 1, 0));
 
                     plugin.getLogger().fine("Applied Death Slash bleed damage (true damage) to " +
                             target.getName());
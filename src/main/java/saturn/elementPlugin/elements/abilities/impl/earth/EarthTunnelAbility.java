@@ -104,7 +104,7 @@ public class EarthTunnelAbility extends BaseAbility {
                 }
                 breakTunnel(mineLocation, player);
 
-                player.getWorld().spawnParticle(Particle.BLOCK, mineLocation, 10, 0.5, 0.5, 0.5, 0.1, Material.STONE.createBlockData(), true);
+                plugin.getParticleService().spawn(player, Particle.BLOCK, mineLocation, 10, 0.5, 0.5, 0.5, 0.1, Material.STONE.createBlockData());
             }
         }.runTaskTimer(plugin, 0L, 2L);
 
@@ -9,6 +9,7 @@ import org.bukkit.entity.Mob;
 import org.bukkit.entity.Player;
 import org.bukkit.metadata.FixedMetadataValue;
 import org.bukkit.scheduler.BukkitRunnable;
+import java.util.ArrayList;
 
 public class EarthquakeAbility extends BaseAbility {
 
@@ -55,21 +56,19 @@ public class EarthquakeAbility extends BaseAbility {
                     Location particleLoc = center.clone().add(x, 0.1, z);
 
                     // Block crack particles
-                    player.getWorld().spawnParticle(
+                    plugin.getParticleService().spawn(player,
                             Particle.BLOCK,
                             particleLoc,
                             5, 0.2, 0.1, 0.2, 0.1,
-                            Material.STONE.createBlockData(),
-                            true
+                            Material.STONE.createBlockData()
                     );
 
                     // Dust clouds
                     if (ticks % 2 == 0) {
-                        player.getWorld().spawnParticle(
+                        plugin.getParticleService().spawn(player,
                                 Particle.CAMPFIRE_COSY_SMOKE,
                                 particleLoc,
-                                2, 0.1, 0.1, 0.1, 0.02,
-                                null, true
+                                2, 0.1, 0.1, 0.1, 0.02
                         );
                     }
                 }
@@ -83,12 +82,11 @@ public class EarthquakeAbility extends BaseAbility {
 
                         for (double height = 0; height <= 1.5; height += 0.3) {
                             Location pillarLoc = center.clone().add(x, height, z);
-                            player.getWorld().spawnParticle(
+                            plugin.getParticleService().spawn(player,
                                     Particle.BLOCK,
                                     pillarLoc,
                                     3, 0.1, 0.1, 0.1, 0,
-                                    Material.COBBLESTONE.createBlockData(),
-                                    true
+                                    Material.COBBLESTONE.createBlockData()
                             );
                         }
                     }
@@ -100,18 +98,17 @@ public class EarthquakeAbility extends BaseAbility {
         }.runTaskTimer(plugin, 0L, 1L);
 
         // Stun nearby entities
-        for (LivingEntity entity : center.getNearbyLivingEntities(radius)) {
+        for (LivingEntity entity : plugin.getEntityGrid().sphere(center, radius, new ArrayList<>())) {
             if (!saturn.elementPlugin.util.AbilityTrustValidator.canAffectTarget(plugin, player, entity, true)) continue;
 
             stunEntity(entity, stunDurationSeconds);
 
             // Earthquake hit effect
-            entity.getWorld().spawnParticle(
+            plugin.getParticleService().spawn(player,
                     Particle.BLOCK,
                     entity.getLocation().add(0, 1, 0),
                     30, 0.3, 0.5, 0.3, 0.1,
-                    Material.DIRT.createBlockData(),
-                    true
+                    Material.DIRT.createBlockData()
             );
 
             entity.getWorld().playSound(
@@ -124,12 +121,7 @@ public class EarthquakeAbility extends BaseAbility {
         setActive(player, true);
 
         // Deactivate after duration
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                setActive(player, false);
-            }
-        }.runTaskLater(plugin, stunDurationSeconds * 20L);
+        plugin.getTimingWheel().schedule(stunDurationSeconds * 20L, () -> setActive(player, false));
 
         return true;
     }
@@ -146,14 +138,11 @@ public class EarthquakeAbility extends BaseAbility {
             mob.setAware(false);
 
             // Re-enable AI after stun expires
-            new BukkitRunnable() {
-                @Override
-                public void run() {
-                    if (mob.isValid()) {
-                        mob.setAware(true);
-                    }
+            plugin.getTimingWheel().schedule(durationSeconds * 20L, () -> {
+                if (mob.isValid()) {
+                    mob.setAware(true);
                 }
-            }.runTaskLater(plugin, durationSeconds * 20L);
+            });
         }
 
         // Visual stun effect - periodic particles
@@ -183,11 +172,10 @@ public class EarthquakeAbility extends BaseAbility {
 
                 // Show stun particles around head
                 if (ticks % 5 == 0) {
-                    entity.getWorld().spawnParticle(
+                    plugin.getParticleService().spawn(null,
                             Particle.CRIT,
                             entity.getEyeLocation(),
-                            5, 0.3, 0.3, 0.3, 0,
-                            null, true
+                            5, 0.3, 0.3, 0.3, 0
                     );
                 }
 
@@ -2,17 +2,20 @@ package saturn.elementPlugin.elements.abilities.impl.fire;
 
 import saturn.elementPlugin.ElementPlugin;
 import saturn.elementPlugin.elements.ElementContext;
+import saturn.elementPlugin.elements.abilities.ActiveEffect;
 import saturn.elementPlugin.elements.abilities.BaseAbility;
+import saturn.elementPlugin.util.ParticleShapes;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
+import org.bukkit.World;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.metadata.FixedMetadataValue;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitRunnable;
+import java.util.ArrayList;
 
 /**
  * Fire element's Hellish Flames ability - sets enemies on fire with inextinguishable flames
@@ -21,6 +24,10 @@ import org.bukkit.scheduler.BukkitRunnable;
 public class HellishFlamesAbility extends BaseAbility {
     private final ElementPlugin plugin;
 
+    private static final ParticleShapes.Shape RING = ParticleShapes.ring(36);
+    private static final ParticleShapes.Shape PILLARS = ParticleShapes.ring(8);
+    private static final ParticleShapes.Shape PILLAR = ParticleShapes.column(6);
+
     // Metadata key for tracking hellish flames
     public static final String META_HELLISH_FLAMES = "fire_hellish_flames";
     // Metadata key for tracking stored fire resistance
@@ -43,82 +50,74 @@ public class HellishFlamesAbility extends BaseAbility {
         player.getWorld().playSound(center, Sound.ENTITY_GHAST_SCREAM, 1.5f, 0.8f);
 
         // Create expanding ring of fire particles
-        new BukkitRunnable() {
+        final int maxTicks = 20; // 1 second animation
+        final World world = center.getWorld();
+        plugin.getEffectEngine().start(new ActiveEffect(player.getUniqueId(), maxTicks) {
+            final ParticleShapes.Cursor cursor = new ParticleShapes.Cursor();
             double currentRadius = 0;
-            int ticks = 0;
-            final int maxTicks = 20; // 1 second animation
 
             @Override
-            public void run() {
-                if (ticks >= maxTicks || currentRadius > radius) {
-                    cancel();
+            protected void tick(int ticks) {
+                if (currentRadius > radius) {
+                    end();
                     return;
                 }
 
                 // Ring of fire particles
-                for (int i = 0; i < 360; i += 10) {
-                    double rad = Math.toRadians(i);
-                    double x = Math.cos(rad) * currentRadius;
-                    double z = Math.sin(rad) * currentRadius;
-
-                    Location particleLoc = center.clone().add(x, 0.5, z);
+                cursor.at(center).scale(currentRadius, 1.0);
+                for (int i = 0; i < RING.size(); i++) {
+                    cursor.point(RING, i);
 
                     // Flame particles
-                    player.getWorld().spawnParticle(Particle.FLAME, particleLoc, 3, 0.2, 0.2, 0.2, 0.05, null, true);
+                    plugin.getParticleService().spawn(player, Particle.FLAME, world,
+                            cursor.x, cursor.y + 0.5, cursor.z, 3, 0.2, 0.2, 0.2, 0.05, null);
 
                     // Add lava particles for hellish effect
                     if (ticks % 2 == 0) {
-                        player.getWorld().spawnParticle(Particle.LAVA, particleLoc, 1, 0, 0, 0, 0, null, true);
+                        plugin.getParticleService().spawn(player, Particle.LAVA, world,
+                                cursor.x, cursor.y + 0.5, cursor.z, 1, 0, 0, 0, 0, null);
                     }
                 }
 
-                // Vertical pillars of fire every few ticks
+                // Vertical pillars of fire (2 blocks tall) every few ticks
                 if (ticks % 3 == 0) {
-                    for (int angle = 0; angle < 360; angle += 45) {
-                        double rad = Math.toRadians(angle);
-                        double x = Math.cos(rad) * currentRadius;
-                        double z = Math.sin(rad) * currentRadius;
-
-                        for (double height = 0; height <= 2.0; height += 0.4) {
-                            Location pillarLoc = center.clone().add(x, height, z);
-                            player.getWorld().spawnParticle(Particle.SOUL_FIRE_FLAME, pillarLoc, 2, 0.1, 0.1, 0.1, 0, null, true);
+                    for (int i = 0; i < PILLARS.size(); i++) {
+                        cursor.point(PILLARS, i);
+
+                        for (int h = 0; h < PILLAR.size(); h++) {
+                            plugin.getParticleService().spawn(player, Particle.SOUL_FIRE_FLAME, world,
+                                    cursor.x, cursor.y + PILLAR.getY(h) * 2.0, cursor.z, 2, 0.1, 0.1, 0.1, 0, null);
                         }
                     }
                 }
 
                 currentRadius += radius / maxTicks;
-                ticks++;
             }
-        }.runTaskTimer(plugin, 0L, 1L);
+        });
 
         // Apply hellish flames to nearby enemies
-        for (LivingEntity entity : center.getNearbyLivingEntities(radius)) {
+        for (LivingEntity entity : plugin.getEntityGrid().sphere(center, radius, new ArrayList<>())) {
             if (!saturn.elementPlugin.util.AbilityTrustValidator.canAffectTarget(plugin, player, entity, true)) continue;
 
             applyHellishFlames(entity, durationSeconds);
 
             // Burst effect on each target
-            entity.getWorld().spawnParticle(
+            plugin.getParticleService().spawn(player,
                     Particle.SOUL_FIRE_FLAME,
                     entity.getLocation().add(0, 1, 0),
-                    30, 0.3, 0.5, 0.3, 0.1, null, true
+                    30, 0.3, 0.5, 0.3, 0.1
             );
-            entity.getWorld().spawnParticle(
+            plugin.getParticleService().spawn(player,
                     Particle.LAVA,
                     entity.getLocation().add(0, 1, 0),
-                    10, 0.3, 0.5, 0.3, 0, null, true
+                    10, 0.3, 0.5, 0.3, 0
             );
         }
 
         setActive(player, true);
 
         // Deactivate after duration
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                setActive(player, false);
-            }
-        }.runTaskLater(plugin, durationSeconds * 20L);
+        plugin.getTimingWheel().schedule(durationSeconds * 20L, () -> setActive(player, false));
 
         return true;
     }
@@ -149,32 +148,21 @@ public class HellishFlamesAbility extends BaseAbility {
         // Set initial fire
         entity.setFireTicks(durationSeconds * 20); // 20 ticks per second
 
-        // Task to continuously reapply fire (inextinguishable)
-        new BukkitRunnable() {
-            int ticks = 0;
-
+        // Effect to continuously reapply fire (inextinguishable), checked every 5 ticks (0.25 seconds)
+        // No owner: the flames keep burning if the caster leaves, and end on the metadata timestamp
+        plugin.getEffectEngine().start(new ActiveEffect(null, -1, 5) {
             @Override
-            public void run() {
-                if (!entity.isValid() || entity.isDead()) {
-                    entity.removeMetadata(META_HELLISH_FLAMES, plugin);
-                    restoreFireResistance(entity);
-                    cancel();
-                    return;
-                }
-
-                if (!entity.hasMetadata(META_HELLISH_FLAMES)) {
-                    restoreFireResistance(entity);
-                    cancel();
+            protected void tick(int ticks) {
+                if (!entity.isValid() || entity.isDead() || !entity.hasMetadata(META_HELLISH_FLAMES)) {
+                    end();
                     return;
                 }
 
                 long endTime = entity.getMetadata(META_HELLISH_FLAMES).get(0).asLong();
                 if (System.currentTimeMillis() >= endTime) {
                     // Flames expired
-                    entity.removeMetadata(META_HELLISH_FLAMES, plugin);
                     entity.setFireTicks(0); // Clear fire
-                    restoreFireResistance(entity);
-                    cancel();
+                    end();
                     return;
                 }
 
@@ -186,18 +174,22 @@ public class HellishFlamesAbility extends BaseAbility {
                 // Continuously set fire ticks to maximum (inextinguishable)
                 entity.setFireTicks(Math.max(entity.getFireTicks(), 40)); // Keep at least 2 seconds of fire
 
-                // Spawn soul fire particles every few ticks for visual effect
-                if (ticks % 5 == 0) {
-                    entity.getWorld().spawnParticle(
+                // Spawn soul fire particles every few checks for visual effect
+                if (ticks % 25 == 0) {
+                    plugin.getParticleService().spawn(null,
                             Particle.SOUL_FIRE_FLAME,
                             entity.getLocation().add(0, 1, 0),
-                            5, 0.2, 0.3, 0.2, 0.02, null, true
+                            5, 0.2, 0.3, 0.2, 0.02
                     );
                 }
+            }
 
-                ticks++;
+            @Override
+            protected void onEnd(EndReason reason) {
+                entity.removeMetadata(META_HELLISH_FLAMES, plugin);
+                restoreFireResistance(entity);
             }
-        }.runTaskTimer(plugin, 0L, 5L); // Check every 5 ticks (0.25 seconds)
+        });
     }
 
     /**
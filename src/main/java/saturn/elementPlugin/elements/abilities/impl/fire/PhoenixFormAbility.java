@@ -2,7 +2,10 @@ package saturn.elementPlugin.elements.abilities.impl.fire;
 
 import saturn.elementPlugin.ElementPlugin;
 import saturn.elementPlugin.elements.ElementContext;
+import saturn.elementPlugin.elements.abilities.ActiveEffect;
 import saturn.elementPlugin.elements.abilities.BaseAbility;
+import saturn.elementPlugin.util.ExpiringSet;
+import saturn.elementPlugin.util.ParticleShapes;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
 import org.bukkit.Particle;
@@ -16,10 +19,8 @@ import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.metadata.FixedMetadataValue;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitRunnable;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
 import java.util.UUID;
 
 /**
@@ -33,11 +34,15 @@ public class PhoenixFormAbility extends BaseAbility implements Listener {
 
     // Cooldown tracking (5 minutes = 300 seconds)
     private static final long COOLDOWN_DURATION_MS = 5 * 60 * 1000L; // 5 minutes in milliseconds
-    private final Map<UUID, Long> cooldowns = new HashMap<>();
+    private final ExpiringSet<UUID> cooldowns;
+
+    // Two flat wings out to 1.8 blocks
+    private static final ParticleShapes.Shape WINGS = ParticleShapes.spokes(2, 7);
 
     public PhoenixFormAbility(ElementPlugin plugin) {
         super("fire_phoenix_form", 75, 0, 2);
         this.plugin = plugin;
+        this.cooldowns = new ExpiringSet<>(plugin.getTimingWheel());
 
         // Register this as a listener to handle death prevention
         plugin.getServer().getPluginManager().registerEvents(this, plugin);
@@ -104,13 +109,13 @@ public class PhoenixFormAbility extends BaseAbility implements Listener {
         player.getWorld().playSound(loc, Sound.ENTITY_GENERIC_EXPLODE, 1.5f, 0.8f);
 
         // Massive particle explosion
-        player.getWorld().spawnParticle(Particle.SOUL_FIRE_FLAME, loc.clone().add(0, 1, 0), 100, 1.0, 1.0, 1.0, 0.2, null, true);
-        player.getWorld().spawnParticle(Particle.FLAME, loc.clone().add(0, 1, 0), 100, 1.0, 1.0, 1.0, 0.2, null, true);
-        player.getWorld().spawnParticle(Particle.LAVA, loc.clone().add(0, 1, 0), 30, 1.0, 1.0, 1.0, 0, null, true);
-        player.getWorld().spawnParticle(Particle.EXPLOSION, loc.clone().add(0, 1, 0), 5, 0.5, 0.5, 0.5, 0, null, true);
+        plugin.getParticleService().spawn(player, Particle.SOUL_FIRE_FLAME, loc.clone().add(0, 1, 0), 100, 1.0, 1.0, 1.0, 0.2);
+        plugin.getParticleService().spawn(player, Particle.FLAME, loc.clone().add(0, 1, 0), 100, 1.0, 1.0, 1.0, 0.2);
+        plugin.getParticleService().spawn(player, Particle.LAVA, loc.clone().add(0, 1, 0), 30, 1.0, 1.0, 1.0, 0);
+        plugin.getParticleService().spawn(player, Particle.EXPLOSION, loc.clone().add(0, 1, 0), 5, 0.5, 0.5, 0.5, 0);
 
         // Damage nearby enemies
-        for (LivingEntity entity : loc.getNearbyLivingEntities(5.0)) {
+        for (LivingEntity entity : plugin.getEntityGrid().sphere(loc, 5.0, new ArrayList<>())) {
             if (entity.equals(player)) continue;
 
             // Don't damage trusted players
@@ -171,55 +176,48 @@ public class PhoenixFormAbility extends BaseAbility implements Listener {
                 false, false, false
         ));
 
-        // Particle trail task
-        new BukkitRunnable() {
-            int ticks = 0;
+        // Particle trail effect
+        plugin.getEffectEngine().start(new ActiveEffect(player.getUniqueId(), durationTicks) {
+            final ParticleShapes.Cursor cursor = new ParticleShapes.Cursor();
 
             @Override
-            public void run() {
-                if (!player.isOnline() || ticks >= durationTicks) {
-                    player.removeMetadata(META_PHOENIX_INVULNERABLE, plugin);
-                    cancel();
+            protected void tick(int ticks) {
+                if (!player.isOnline()) {
+                    end();
                     return;
                 }
 
                 // Spawn phoenix fire particles around player
                 Location loc = player.getLocation().add(0, 1, 0);
-                player.getWorld().spawnParticle(
+                plugin.getParticleService().spawn(player,
                         Particle.SOUL_FIRE_FLAME,
-                        loc, 10, 0.3, 0.5, 0.3, 0.05, null, true
+                        loc, 10, 0.3, 0.5, 0.3, 0.05
                 );
 
                 // Wings effect
                 if (ticks % 5 == 0) {
-                    for (int i = 0; i < 2; i++) {
-                        double angle = Math.toRadians(i * 180);
-                        for (double r = 0; r < 2; r += 0.3) {
-                            double x = Math.cos(angle) * r;
-                            double z = Math.sin(angle) * r;
-                            Location wingLoc = loc.clone().add(x, 0, z);
-                            player.getWorld().spawnParticle(
-                                    Particle.FLAME,
-                                    wingLoc, 1, 0, 0, 0, 0, null, true
-                            );
-                        }
+                    cursor.at(loc).scale(1.8, 1.0);
+                    for (int i = 0; i < WINGS.size(); i++) {
+                        cursor.point(WINGS, i);
+                        plugin.getParticleService().spawn(player,
+                                Particle.FLAME, loc.getWorld(),
+                                cursor.x, cursor.y, cursor.z, 1, 0, 0, 0, 0, null
+                        );
                     }
                 }
-
-                ticks++;
             }
-        }.runTaskTimer(plugin, 0L, 1L);
 
-        // Notification when effect ends
-        new BukkitRunnable() {
             @Override
-            public void run() {
-                if (player.isOnline()) {
+            protected void onEnd(EndReason reason) {
+                player.removeMetadata(META_PHOENIX_INVULNERABLE, plugin);
+
+                // Notification when effect ends
+                if (reason == EndReason.EXPIRED && player.isOnline()) {
                     player.sendMessage(ChatColor.YELLOW + "Phoenix Form protection has ended.");
                     player.playSound(player.getLocation(), Sound.BLOCK_FIRE_EXTINGUISH, 1.0f, 1.0f);
                 }
             }
-        }.runTaskLater(plugin, durationTicks);
+        });
     }
 
     /**
@@ -272,26 +270,15 @@ public class PhoenixFormAbility extends BaseAbility implements Listener {
 
     // Cooldown management
     private void startCooldown(Player player) {
-        cooldowns.put(player.getUniqueId(), System.currentTimeMillis() + COOLDOWN_DURATION_MS);
+        cooldowns.addMillis(player.getUniqueId(), COOLDOWN_DURATION_MS);
     }
 
     private boolean isOnCooldown(Player player) {
-        Long cooldownEnd = cooldowns.get(player.getUniqueId());
-        if (cooldownEnd == null) return false;
-
-        if (System.currentTimeMillis() >= cooldownEnd) {
-            cooldowns.remove(player.getUniqueId());
-            return false;
-        }
-
-        return true;
+        return cooldowns.contains(player.getUniqueId());
     }
 
     private long getRemainingCooldown(Player player) {
-        Long cooldownEnd = cooldowns.get(player.getUniqueId());
-        if (cooldownEnd == null) return 0;
-
-        return Math.max(0, cooldownEnd - System.currentTimeMillis());
+        return cooldowns.getRemainingMillis(player.getUniqueId());
     }
 
     /**
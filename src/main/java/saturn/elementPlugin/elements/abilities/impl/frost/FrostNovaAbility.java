@@ -3,19 +3,26 @@ package saturn.elementPlugin.elements.abilities.impl.frost;
 import saturn.elementPlugin.ElementPlugin;
 import saturn.elementPlugin.elements.ElementContext;
 import saturn.elementPlugin.elements.abilities.BaseAbility;
+import saturn.elementPlugin.util.ParticleShapes;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
+import org.bukkit.World;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Mob;
 import org.bukkit.entity.Player;
 import org.bukkit.metadata.FixedMetadataValue;
 import org.bukkit.scheduler.BukkitRunnable;
+import java.util.ArrayList;
 
 public class FrostNovaAbility extends BaseAbility {
 
     private final ElementPlugin plugin;
+
+    private static final ParticleShapes.Shape RING = ParticleShapes.ring(36);
+    private static final ParticleShapes.Shape SPIKES = ParticleShapes.ring(12);
+    private static final ParticleShapes.Shape SPIKE = ParticleShapes.column(6);
     public static final String META_NOVA_FROZEN = "frost_nova_frozen";
 
     public FrostNovaAbility(ElementPlugin plugin) {
@@ -35,7 +42,9 @@ public class FrostNovaAbility extends BaseAbility {
         player.getWorld().playSound(center, Sound.ENTITY_GENERIC_EXPLODE, 1f, 1.5f);
 
         // --- EXPANDING RING EFFECT (lasts 1 second for visual effect) ---
+        final World world = center.getWorld();
         new BukkitRunnable() {
+            final ParticleShapes.Cursor cursor = new ParticleShapes.Cursor();
             double currentRadius = 0;
             int ticks = 0;
             final int maxTicks = 20; // Only 1 second for the expanding ring animation
@@ -48,31 +57,28 @@ public class FrostNovaAbility extends BaseAbility {
                 }
 
                 // Main ring
-                for (int i = 0; i < 360; i += 10) {
-                    double rad = Math.toRadians(i);
-                    double x = Math.cos(rad) * currentRadius;
-                    double z = Math.sin(rad) * currentRadius;
-
-                    Location particleLoc = center.clone().add(x, 0.1, z);
+                cursor.at(center).scale(currentRadius, 1.0);
+                for (int i = 0; i < RING.size(); i++) {
+                    cursor.point(RING, i);
 
                     // Snowflake particles
-                    player.getWorld().spawnParticle(Particle.SNOWFLAKE, particleLoc, 2, 0.1, 0.1, 0.1, 0);
+                    plugin.getParticleService().spawn(player, Particle.SNOWFLAKE, world,
+                            cursor.x, cursor.y + 0.1, cursor.z, 2, 0.1, 0.1, 0.1, 0, null);
                     // Add some sparkle with fireworks
                     if (ticks % 2 == 0) {
-                        player.getWorld().spawnParticle(Particle.FIREWORK, particleLoc, 1, 0, 0, 0, 0);
+                        plugin.getParticleService().spawn(player, Particle.FIREWORK, world,
+                                cursor.x, cursor.y + 0.1, cursor.z, 1, 0, 0, 0, 0, null);
                     }
                 }
 
-                // Vertical ice spikes every few ticks
+                // Vertical ice spikes (1.5 blocks tall) every few ticks
                 if (ticks % 3 == 0) {
-                    for (int angle = 0; angle < 360; angle += 30) {
-                        double rad = Math.toRadians(angle);
-                        double x = Math.cos(rad) * currentRadius;
-                        double z = Math.sin(rad) * currentRadius;
-
-                        for (double height = 0; height <= 1.5; height += 0.3) {
-                            Location spikeLoc = center.clone().add(x, height, z);
-                            player.getWorld().spawnParticle(Particle.SNOWFLAKE, spikeLoc, 1, 0, 0, 0, 0);
+                    for (int i = 0; i < SPIKES.size(); i++) {
+                        cursor.point(SPIKES, i);
+
+                        for (int h = 0; h < SPIKE.size(); h++) {
+                            plugin.getParticleService().spawn(player, Particle.SNOWFLAKE, world,
+                                    cursor.x, cursor.y + SPIKE.getY(h) * 1.5, cursor.z, 1, 0, 0, 0, 0, null);
                         }
                     }
                 }
@@ -84,19 +90,19 @@ public class FrostNovaAbility extends BaseAbility {
         }.runTaskTimer(plugin, 0L, 1L);
 
         // --- FREEZE NEARBY ENTITIES ---
-        for (LivingEntity entity : center.getNearbyLivingEntities(radius)) {
+        for (LivingEntity entity : plugin.getEntityGrid().sphere(center, radius, new ArrayList<>())) {
             if (!saturn.elementPlugin.util.AbilityTrustValidator.canAffectTarget(plugin, player, entity, true)) continue;
 
             freezeEntity(entity, durationSeconds);
 
             // Burst effect on each frozen target
-            entity.getWorld().spawnParticle(
+            plugin.getParticleService().spawn(player,
                     Particle.SNOWFLAKE,
                     entity.getLocation().add(0, 1, 0),
                     30, 0.3, 0.5, 0.3, 0.05
             );
             // Add ice block particles
-            entity.getWorld().spawnParticle(
+            plugin.getParticleService().spawn(player,
                     Particle.BLOCK,
                     entity.getLocation().add(0, 1, 0),
                     15, 0.3, 0.5, 0.3, 0.05,
@@ -2,6 +2,7 @@ package saturn.elementPlugin.elements.abilities.impl.frost;
 
 import saturn.elementPlugin.ElementPlugin;
 import saturn.elementPlugin.elements.ElementContext;
+import saturn.elementPlugin.elements.abilities.ActiveEffect;
 import saturn.elementPlugin.elements.abilities.BaseAbility;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
@@ -16,9 +17,9 @@ import org.bukkit.event.entity.ProjectileHitEvent;
 import org.bukkit.metadata.FixedMetadataValue;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -59,14 +60,11 @@ public class IceShardVolleyAbility extends BaseAbility implements Listener {
             // Small delay between shots for visual effect
             int delay = i * 2; // 2 ticks between each shard
 
-            new BukkitRunnable() {
-                @Override
-                public void run() {
-                    if (player.isOnline()) {
-                        fireIceShard(player, shardDirection, context);
-                    }
+            plugin.getTimingWheel().schedule(delay, () -> {
+                if (player.isOnline()) {
+                    fireIceShard(player, shardDirection, context);
                 }
-            }.runTaskLater(plugin, delay);
+            });
         }
 
         return true;
@@ -91,27 +89,27 @@ public class IceShardVolleyAbility extends BaseAbility implements Listener {
         // Play shoot sound
         player.getWorld().playSound(spawnLoc, Sound.ENTITY_SNOWBALL_THROW, 0.5f, 1.5f);
 
-        // Create particle trail
-        new BukkitRunnable() {
-            int ticks = 0;
-
+        // Create particle trail (no owner: a shard in flight outlives its shooter)
+        plugin.getEffectEngine().start(new ActiveEffect(null, 100) {
             @Override
-            public void run() {
-                if (!shard.isValid() || shard.isDead() || ticks >= 100) {
-                    iceShardProjectiles.remove(shard.getUniqueId());
-                    cancel();
+            protected void tick(int ticks) {
+                if (!shard.isValid() || shard.isDead()) {
+                    end();
                     return;
                 }
 
                 Location loc = shard.getLocation();
 
                 // Ice particle trail
-                shard.getWorld().spawnParticle(Particle.SNOWFLAKE, loc, 3, 0.1, 0.1, 0.1, 0, null, true);
-                shard.getWorld().spawnParticle(Particle.CLOUD, loc, 1, 0.05, 0.05, 0.05, 0, null, true);
+                plugin.getParticleService().spawn(player, Particle.SNOWFLAKE, loc, 3, 0.1, 0.1, 0.1, 0);
+                plugin.getParticleService().spawn(player, Particle.CLOUD, loc, 1, 0.05, 0.05, 0.05, 0);
+            }
 
-                ticks++;
+            @Override
+            protected void onEnd(EndReason reason) {
+                iceShardProjectiles.remove(shard.getUniqueId());
             }
-        }.runTaskTimer(plugin, 0L, 1L);
+        });
     }
 
     /**
@@ -128,16 +126,16 @@ public class IceShardVolleyAbility extends BaseAbility implements Listener {
         }
 
         Location hitLoc = snowball.getLocation();
+        Player shooter = shooterUUID != null ? plugin.getServer().getPlayer(shooterUUID) : null;
 
         // Visual effects
-        snowball.getWorld().spawnParticle(Particle.SNOWFLAKE, hitLoc, 20, 0.3, 0.3, 0.3, 0.1, null, true);
-        snowball.getWorld().spawnParticle(Particle.CLOUD, hitLoc, 10, 0.2, 0.2, 0.2, 0.05, null, true);
+        plugin.getParticleService().spawn(shooter, Particle.SNOWFLAKE, hitLoc, 20, 0.3, 0.3, 0.3, 0.1);
+        plugin.getParticleService().spawn(shooter, Particle.CLOUD, hitLoc, 10, 0.2, 0.2, 0.2, 0.05);
         snowball.getWorld().playSound(hitLoc, Sound.BLOCK_GLASS_BREAK, 1.0f, 1.2f);
 
         // Damage and slow nearby entities
-        Player shooter = shooterUUID != null ? plugin.getServer().getPlayer(shooterUUID) : null;
 
-        for (LivingEntity entity : hitLoc.getNearbyLivingEntities(2.0)) {
+        for (LivingEntity entity : plugin.getEntityGrid().sphere(hitLoc, 2.0, new ArrayList<>())) {
             if (shooter != null && entity.equals(shooter)) continue;
             if (!saturn.elementPlugin.util.AbilityTrustValidator.canAffectTarget(plugin, shooter, entity, false)) continue;
             // Damage (piercing - goes through armor)
@@ -148,8 +146,8 @@ public class IceShardVolleyAbility extends BaseAbility implements Listener {
             // Visual freeze effect
             entity.setFreezeTicks(entity.getMaxFreezeTicks() / 2);
             // Particle effect on hit
-            entity.getWorld().spawnParticle(Particle.SNOWFLAKE, entity.getLocation().add(0, 1, 0),
-                    15, 0.3, 0.5, 0.3, 0, null, true);
+            plugin.getParticleService().spawn(shooter, Particle.SNOWFLAKE, entity.getLocation().add(0, 1, 0),
+                    15, 0.3, 0.5, 0.3, 0);
         }
 
         // Cleanup
@@ -62,13 +62,13 @@ public class TransfusionAbility extends BaseAbility {
         Location targetLoc = targetPlayer.getLocation().add(0, 1, 0);
 
         // Spawn particles at both locations
-        player.getWorld().spawnParticle(Particle.HEART, playerLoc, 15, 0.5, 0.5, 0.5, 0.0, null, true);
-        player.getWorld().spawnParticle(Particle.HEART, targetLoc, 15, 0.5, 0.5, 0.5, 0.0, null, true);
+        plugin.getParticleService().spawn(player, Particle.HEART, playerLoc, 15, 0.5, 0.5, 0.5, 0.0);
+        plugin.getParticleService().spawn(player, Particle.HEART, targetLoc, 15, 0.5, 0.5, 0.5, 0.0);
 
         // Draw connecting beam between players
         Location hitLoc = rt.getHitPosition().toLocation(player.getWorld());
-        player.getWorld().spawnParticle(Particle.DUST, hitLoc, 20, 0.3, 0.3, 0.3, 0,
-                new Particle.DustOptions(org.bukkit.Color.RED, 1.5f), true);
+        plugin.getParticleService().spawn(player, Particle.DUST, hitLoc, 20, 0.3, 0.3, 0.3, 0,
+                new Particle.DustOptions(org.bukkit.Color.RED, 1.5f));
 
         // Sound effects
         player.getWorld().playSound(playerLoc, Sound.BLOCK_BEACON_ACTIVATE, 1.0f, 1.2f);
@@ -2,6 +2,7 @@ package saturn.elementPlugin.elements.abilities.impl.metal;
 
 import saturn.elementPlugin.ElementPlugin;
 import saturn.elementPlugin.elements.ElementContext;
+import saturn.elementPlugin.elements.abilities.ActiveEffect;
 import saturn.elementPlugin.elements.abilities.BaseAbility;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
@@ -11,7 +12,6 @@ import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Mob;
 import org.bukkit.entity.Player;
 import org.bukkit.metadata.FixedMetadataValue;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 public class MetalChainAbility extends BaseAbility {
@@ -81,14 +81,11 @@ public class MetalChainAbility extends BaseAbility {
         final LivingEntity finalTarget = target;
 
         // Start chain particle animation and reeling
-        new BukkitRunnable() {
-            int ticks = 0;
-            final int maxTicks = 40; // 2 seconds of reeling
-
+        plugin.getEffectEngine().start(new ActiveEffect(player.getUniqueId(), 40) { // 2 seconds of reeling
             @Override
-            public void run() {
-                if (!player.isOnline() || !finalTarget.isValid() || ticks >= maxTicks) {
-                    cancel();
+            protected void tick(int ticks) {
+                if (!player.isOnline() || !finalTarget.isValid()) {
+                    end();
                     return;
                 }
 
@@ -113,11 +110,11 @@ public class MetalChainAbility extends BaseAbility {
 
                     // Visual/audio feedback for stun
                     player.getWorld().playSound(targetLoc, Sound.BLOCK_ANVIL_LAND, 1.0f, 2.0f);
-                    player.getWorld().spawnParticle(Particle.BLOCK, targetLoc, 30,
+                    plugin.getParticleService().spawn(player, Particle.BLOCK, targetLoc, 30,
                             0.3, 0.5, 0.3, 0.1,
-                            org.bukkit.Material.IRON_BLOCK.createBlockData(), true);
+                            org.bukkit.Material.IRON_BLOCK.createBlockData());
 
-                    cancel();
+                    end();
                     return;
                 }
 
@@ -131,14 +128,14 @@ public class MetalChainAbility extends BaseAbility {
                     Location particleLoc = currentPlayerLoc.clone().add(direction.clone().multiply(t));
 
                     // Main chain particles (iron blocks/anvil look)
-                    player.getWorld().spawnParticle(Particle.BLOCK, particleLoc, 1,
+                    plugin.getParticleService().spawn(player, Particle.BLOCK, particleLoc, 1,
                             0.05, 0.05, 0.05, 0.0,
-                            org.bukkit.Material.IRON_BLOCK.createBlockData(), true);
+                            org.bukkit.Material.IRON_BLOCK.createBlockData());
 
                     // Add some sparkles for effect
                     if (i % 3 == 0) {
-                        player.getWorld().spawnParticle(Particle.CRIT, particleLoc, 1,
-                                0.02, 0.02, 0.02, 0.01, null, true);
+                        plugin.getParticleService().spawn(player, Particle.CRIT, particleLoc, 1,
+                                0.02, 0.02, 0.02, 0.01);
                     }
                 }
 
@@ -165,10 +162,8 @@ public class MetalChainAbility extends BaseAbility {
                 if (ticks % 10 == 0) {
                     player.getWorld().playSound(currentPlayerLoc, Sound.BLOCK_CHAIN_STEP, 0.5f, 1.2f);
                 }
-
-                ticks++;
             }
-        }.runTaskTimer(plugin, 0L, 1L);
+        });
 
         return true;
     }
@@ -185,38 +180,26 @@ public class MetalChainAbility extends BaseAbility {
             mob.setAware(false);
 
             // Re-enable AI after stun expires
-            new BukkitRunnable() {
-                @Override
-                public void run() {
-                    if (mob.isValid()) {
-                        mob.setAware(true);
-                    }
+            plugin.getTimingWheel().schedule(durationSeconds * 20L, () -> {
+                if (mob.isValid()) {
+                    mob.setAware(true);
                 }
-            }.runTaskLater(plugin, durationSeconds * 20L);
+            });
         }
 
         // Visual stun effect - periodic particles + gravity handling
-        new BukkitRunnable() {
-            int ticks = 0;
-            final int maxTicks = durationSeconds * 20;
-
+        // No owner: the stun stays on the target even if the caster leaves
+        plugin.getEffectEngine().start(new ActiveEffect(null, durationSeconds * 20) {
             @Override
-            public void run() {
-                if (!entity.isValid() || entity.isDead() || ticks >= maxTicks) {
-                    entity.removeMetadata(META_CHAINED_STUN, plugin);
-                    cancel();
+            protected void tick(int ticks) {
+                if (!entity.isValid() || entity.isDead() || !entity.hasMetadata(META_CHAINED_STUN)) {
+                    end();
                     return;
                 }
 
-                if (!entity.hasMetadata(META_CHAINED_STUN)) {
-                    cancel();
-                    return;
-                }
-
-                long end = entity.getMetadata(META_CHAINED_STUN).get(0).asLong();
-                if (System.currentTimeMillis() >= end) {
-                    entity.removeMetadata(META_CHAINED_STUN, plugin);
-                    cancel();
+                long stunUntil = entity.getMetadata(META_CHAINED_STUN).get(0).asLong();
+                if (System.currentTimeMillis() >= stunUntil) {
+                    end();
                     return;
                 }
 
@@ -236,17 +219,19 @@ public class MetalChainAbility extends BaseAbility {
 
                 // Show stun particles around head
                 if (ticks % 5 == 0) {
-                    entity.getWorld().spawnParticle(
+                    plugin.getParticleService().spawn(null,
                             Particle.CRIT,
                             entity.getEyeLocation(),
-                            5, 0.3, 0.3, 0.3, 0,
-                            null, true
+                            5, 0.3, 0.3, 0.3, 0
                     );
                 }
+            }
 
-                ticks++;
+            @Override
+            protected void onEnd(EndReason reason) {
+                entity.removeMetadata(META_CHAINED_STUN, plugin);
             }
-        }.runTaskTimer(plugin, 0L, 1L);
+        });
     }
 
     @Override
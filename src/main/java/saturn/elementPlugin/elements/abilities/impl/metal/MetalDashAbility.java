@@ -55,6 +55,7 @@ public class MetalDashAbility extends BaseAbility implements Listener {
         dashingPlayers.add(playerId);
 
         new BukkitRunnable() {
+            final List<LivingEntity> targets = new ArrayList<>();
             int ticks = 0;
             boolean hitSomething = false;
 
@@ -68,7 +69,7 @@ public class MetalDashAbility extends BaseAbility implements Listener {
 
                 Location loc = player.getLocation();
 
-                player.getWorld().spawnParticle(
+                plugin.getParticleService().spawn(player,
                         Particle.CRIT,
                         loc,
                         10,
@@ -77,7 +78,7 @@ public class MetalDashAbility extends BaseAbility implements Listener {
                 );
 
                 if (ticks % 2 == 0) {
-                    for (LivingEntity entity : loc.getNearbyLivingEntities(2.5)) {
+                    for (LivingEntity entity : plugin.getEntityGrid().sphere(loc, 2.5, targets)) {
                         if (entity.equals(player)) continue;
                         if (entity instanceof ArmorStand) continue;
                         if (hitEntities.contains(entity.getUniqueId())) continue;
@@ -165,7 +166,7 @@ public class MetalDashAbility extends BaseAbility implements Listener {
 
         player.sendMessage(ChatColor.GRAY + "You missed! Stunned for 5 seconds.");
 
-        player.getWorld().spawnParticle(
+        plugin.getParticleService().spawn(player,
                 Particle.SMOKE,
                 player.getLocation().add(0, 1, 0),
                 30,
@@ -2,7 +2,9 @@ package saturn.elementPlugin.elements.abilities.impl.water;
 
 import saturn.elementPlugin.ElementPlugin;
 import saturn.elementPlugin.elements.ElementContext;
+import saturn.elementPlugin.elements.abilities.ActiveEffect;
 import saturn.elementPlugin.elements.abilities.BaseAbility;
+import saturn.elementPlugin.util.ParticleShapes;
 import org.bukkit.*;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Mob;
@@ -10,7 +12,6 @@ import org.bukkit.entity.Player;
 import org.bukkit.metadata.FixedMetadataValue;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.RayTraceResult;
 import org.bukkit.util.Vector;
 
@@ -24,6 +25,10 @@ public class WaterPrisonAbility extends BaseAbility {
     // Metadata key for tracking imprisoned entities
     public static final String META_WATER_PRISON = "water_prison_trapped";
 
+    private static final ParticleShapes.Shape SPHERE = ParticleShapes.sphere(30, 30);
+    private static final ParticleShapes.Shape FALL_RING = ParticleShapes.ring(20);
+    private final ParticleShapes.Cursor cursor = new ParticleShapes.Cursor(); // Main thread only
+
     public WaterPrisonAbility(ElementPlugin plugin) {
         super("water_prison", 75, 15, 1);
         this.plugin = plugin;
@@ -82,37 +87,15 @@ public class WaterPrisonAbility extends BaseAbility {
             mob.setAware(false);
         }
 
-        new BukkitRunnable() {
-            int ticks = 0;
+        // The prison breaks early if the caster leaves or dies
+        plugin.getEffectEngine().start(new ActiveEffect(caster.getUniqueId(), durationTicks) {
             final Location startLoc = target.getLocation().clone();
             double particleY = radius; // Start particles at top of sphere
 
             @Override
-            public void run() {
-                if (!target.isValid() || target.isDead() || ticks >= durationTicks) {
-                    setActive(caster, false);
-
-                    // Remove metadata and restore AI
-                    target.removeMetadata(META_WATER_PRISON, plugin);
-                    if (target instanceof Mob mob) {
-                        mob.setAware(true);
-                    }
-
-                    // Final particle burst when prison breaks
-                    if (target.isValid()) {
-                        target.getWorld().spawnParticle(
-                                Particle.SPLASH,
-                                target.getLocation().add(0, 1, 0),
-                                100, 1.0, 1.0, 1.0, 0.3, null, true
-                        );
-                        target.getWorld().playSound(
-                                target.getLocation(),
-                                Sound.ENTITY_PLAYER_SPLASH,
-                                2.0f, 1.5f
-                        );
-                    }
-
-                    cancel();
+            protected void tick(int ticks) {
+                if (!target.isValid() || target.isDead()) {
+                    end();
                     return;
                 }
 
@@ -145,7 +128,7 @@ public class WaterPrisonAbility extends BaseAbility {
 
                 // Create water sphere particles (every 2 ticks for smooth animation)
                 if (ticks % 2 == 0) {
-                    createWaterSphereWithFall(startLoc.clone().add(0, 1, 0), radius, particleY);
+                    createWaterSphereWithFall(caster, startLoc.clone().add(0, 1, 0), radius, particleY);
 
                     // Slowly drop particles from top to bottom over the duration
                     // particleY decreases from radius (top) to -radius (bottom)
@@ -155,70 +138,79 @@ public class WaterPrisonAbility extends BaseAbility {
 
                 // Add bubble particles inside
                 if (ticks % 3 == 0) {
-                    target.getWorld().spawnParticle(
+                    plugin.getParticleService().spawn(caster,
                             Particle.BUBBLE_POP,
                             startLoc.clone().add(0, 1, 0),
-                            20, 0.5, 0.5, 0.5, 0.1, null, true
+                            20, 0.5, 0.5, 0.5, 0.1
                     );
                 }
+            }
+
+            @Override
+            protected void onEnd(EndReason reason) {
+                setActive(caster, false);
 
-                ticks++;
+                // Remove metadata and restore AI
+                target.removeMetadata(META_WATER_PRISON, plugin);
+                if (target instanceof Mob mob) {
+                    mob.setAware(true);
+                }
+
+                // Final particle burst when prison breaks
+                if (target.isValid()) {
+                    plugin.getParticleService().spawn(caster,
+                            Particle.SPLASH,
+                            target.getLocation().add(0, 1, 0),
+                            100, 1.0, 1.0, 1.0, 0.3
+                    );
+                    target.getWorld().playSound(
+                            target.getLocation(),
+                            Sound.ENTITY_PLAYER_SPLASH,
+                            2.0f, 1.5f
+                    );
+                }
             }
-        }.runTaskTimer(plugin, 0L, 1L);
+        });
     }
 
     /**
      * Create water sphere with particles falling from top to bottom
      */
-    private void createWaterSphereWithFall(Location center, double radius, double currentY) {
+    private void createWaterSphereWithFall(Player caster, Location center, double radius, double currentY) {
         World world = center.getWorld();
 
-        // Create sphere using spherical coordinates
-        int points = 30;
-        for (int i = 0; i < points; i++) {
-            double theta = Math.PI * i / points; // 0 to π
-            for (int j = 0; j < points; j++) {
-                double phi = 2 * Math.PI * j / points; // 0 to 2π
-
-                double x = radius * Math.sin(theta) * Math.cos(phi);
-                double y = radius * Math.cos(theta);
-                double z = radius * Math.sin(theta) * Math.sin(phi);
-
-                // Only render particles above currentY (creates falling effect)
-                if (y >= currentY - radius) {
-                    Location particleLoc = center.clone().add(x, y, z);
-
-                    world.spawnParticle(
-                            Particle.DRIPPING_WATER,
-                            particleLoc,
-                            1, 0.0, 0.0, 0.0, 0.0, null, true
-                    );
-
-                    // Add some falling water particles
-                    if (Math.random() < 0.3) {
-                        world.spawnParticle(
-                                Particle.FALLING_WATER,
-                                particleLoc,
-                                1, 0.0, 0.0, 0.0, 0.0, null, true
-                        );
-                    }
-                }
+        // Sphere of 30 x 30 points
+        cursor.at(center).scale(radius, radius).rotate(0);
+        for (int i = 0; i < SPHERE.size(); i++) {
+            // Only render particles above currentY (creates falling effect)
+            if (SPHERE.getY(i) * radius < currentY - radius) continue;
+
+            cursor.point(SPHERE, i);
+            plugin.getParticleService().spawn(caster,
+                    Particle.DRIPPING_WATER, world,
+                    cursor.x, cursor.y, cursor.z,
+                    1, 0.0, 0.0, 0.0, 0.0, null
+            );
+
+            // Add some falling water particles
+            if (Math.random() < 0.3) {
+                plugin.getParticleService().spawn(caster,
+                        Particle.FALLING_WATER, world,
+                        cursor.x, cursor.y, cursor.z,
+                        1, 0.0, 0.0, 0.0, 0.0, null
+                );
             }
         }
 
         // Add extra particles at the current fall line for visual emphasis
         if (currentY > -radius) {
-            int ringPoints = 20;
-            for (int i = 0; i < ringPoints; i++) {
-                double angle = 2 * Math.PI * i / ringPoints;
-                double x = radius * Math.cos(angle);
-                double z = radius * Math.sin(angle);
-
-                Location ringLoc = center.clone().add(x, currentY, z);
-                world.spawnParticle(
-                        Particle.SPLASH,
-                        ringLoc,
-                        2, 0.1, 0.1, 0.1, 0.0, null, true
+            cursor.at(center.getX(), center.getY() + currentY, center.getZ()).scale(radius, 1.0);
+            for (int i = 0; i < FALL_RING.size(); i++) {
+                cursor.point(FALL_RING, i);
+                plugin.getParticleService().spawn(caster,
+                        Particle.SPLASH, world,
+                        cursor.x, cursor.y, cursor.z,
+                        2, 0.1, 0.1, 0.1, 0.0, null
                 );
             }
         }
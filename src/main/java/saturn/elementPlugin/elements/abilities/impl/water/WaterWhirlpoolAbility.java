@@ -2,15 +2,17 @@ package saturn.elementPlugin.elements.abilities.impl.water;
 
 import saturn.elementPlugin.ElementPlugin;
 import saturn.elementPlugin.elements.ElementContext;
+import saturn.elementPlugin.elements.abilities.ActiveEffect;
 import saturn.elementPlugin.elements.abilities.BaseAbility;
+import saturn.elementPlugin.util.ParticleShapes;
 import org.bukkit.*;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.util.RayTraceResult;
 import org.bukkit.util.Vector;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -20,41 +22,17 @@ import java.util.UUID;
  */
 public class WaterWhirlpoolAbility extends BaseAbility {
     private final ElementPlugin plugin;
-    private final Map<UUID, Double> entityAngles = new HashMap<>();
+
+    private static final ParticleShapes.Shape SPIRAL = ParticleShapes.spiral(3, 20, 2.0);
+    private static final ParticleShapes.Shape BUBBLE_COLUMN = ParticleShapes.column(7);
+    private static final ParticleShapes.Shape GROUND_RING = ParticleShapes.ring(36);
+    private final ParticleShapes.Cursor cursor = new ParticleShapes.Cursor(); // Main thread only
 
     public WaterWhirlpoolAbility(ElementPlugin plugin) {
         super("water_whirlpool", 50, 20, 2);
         this.plugin = plugin;
     }
 
-    /**
-     * Check if there's a clear line of sight from player to entity
-     * Returns false if there are solid blocks between them
-     */
-    private boolean hasLineOfSight(Player player, LivingEntity target) {
-        Location from = player.getEyeLocation();
-        Location to = target.getEyeLocation();
-
-        if (from.getWorld() != to.getWorld()) {
-            return false;
-        }
-
-        Vector direction = to.toVector().subtract(from.toVector());
-        double distance = direction.length();
-
-        // Ray trace for blocks between player and target
-        RayTraceResult result = from.getWorld().rayTraceBlocks(
-                from,
-                direction.normalize(),
-                distance,
-                FluidCollisionMode.NEVER,
-                true // Ignore passable blocks
-        );
-
-        // If we hit a block before reaching the target, line of sight is blocked
-        return result == null || result.getHitBlock() == null;
-    }
-
     @Override
     public boolean execute(ElementContext context) {
         Player player = context.getPlayer();
@@ -71,37 +49,26 @@ public class WaterWhirlpoolAbility extends BaseAbility {
         final double orbitRadius = 5.0;
         final double orbitSpeed = Math.toRadians(5); // 5 degrees per tick = smooth rotation
 
-        new BukkitRunnable() {
-            int ticks = 0;
+        plugin.getEffectEngine().start(new ActiveEffect(player.getUniqueId(), durationTicks) {
+            final List<LivingEntity> targets = new ArrayList<>();
+            final Map<UUID, Double> entityAngles = new HashMap<>(); // Orbit angle per entity in this cast
             double currentAngle = 0;
 
             @Override
-            public void run() {
-                if (!player.isOnline() || ticks >= durationTicks) {
-                    setActive(player, false);
-
-                    // Final splash effect
-                    player.getWorld().spawnParticle(
-                            Particle.SPLASH,
-                            center.clone().add(0, 0.5, 0),
-                            100, orbitRadius, 1.0, orbitRadius, 0.5, null, true
-                    );
-
-                    // Clean up entity angle tracking
-                    entityAngles.clear();
-
-                    cancel();
+            protected void tick(int ticks) {
+                if (!player.isOnline()) {
+                    end();
                     return;
                 }
 
                 Location currentCenter = player.getLocation();
 
                 // Find and orbit nearby enemies
-                for (LivingEntity entity : currentCenter.getNearbyLivingEntities(orbitRadius + 2)) {
+                for (LivingEntity entity : plugin.getEntityGrid().sphere(currentCenter, orbitRadius + 2, targets)) {
                     if (!saturn.elementPlugin.util.AbilityTrustValidator.canAffectTarget(plugin, player, entity, false)) continue;
                     if (entity.equals(player)) continue;
 
-                    if (!hasLineOfSight(player, entity)) {
+                    if (!plugin.getLineOfSight().pollLineOfSight(player, entity)) {
                         // Entity is behind blocks or underground - remove from tracking
                         entityAngles.remove(entity.getUniqueId());
                         continue;
@@ -128,6 +95,7 @@ public class WaterWhirlpoolAbility extends BaseAbility {
                         Vector orbitalVelocity = calculateOrbitalVelocity(
                                 currentCenter,
                                 entity,
+                                entityAngles,
                                 orbitRadius,
                                 orbitSpeed
                         );
@@ -139,17 +107,17 @@ public class WaterWhirlpoolAbility extends BaseAbility {
                             entity.damage(1.0, player);
 
                             // Splash effect on hit
-                            entity.getWorld().spawnParticle(
+                            plugin.getParticleService().spawn(player,
                                     Particle.SPLASH,
                                     entity.getLocation().add(0, 1, 0),
-                                    10, 0.3, 0.3, 0.3, 0.1, null, true
+                                    10, 0.3, 0.3, 0.3, 0.1
                             );
                         }
                     }
                 }
 
                 // Create whirlpool visual effect
-                createWhirlpoolParticles(currentCenter, orbitRadius, currentAngle, ticks);
+                createWhirlpoolParticles(player, currentCenter, orbitRadius, currentAngle, ticks);
 
                 // Play sound every second
                 if (ticks % 20 == 0) {
@@ -161,9 +129,22 @@ public class WaterWhirlpoolAbility extends BaseAbility {
                 }
 
                 currentAngle += orbitSpeed;
-                ticks++;
             }
-        }.runTaskTimer(plugin, 0L, 1L);
+
+            @Override
+            protected void onEnd(EndReason reason) {
+                setActive(player, false);
+
+                // Final splash effect where the whirlpool ended (not while the server shuts down)
+                if (reason != EndReason.SHUTDOWN && player.isOnline()) {
+                    plugin.getParticleService().spawn(player,
+                            Particle.SPLASH,
+                            player.getLocation().add(0, 0.5, 0),
+                            100, orbitRadius, 1.0, orbitRadius, 0.5
+                    );
+                }
+            }
+        });
 
         return true;
     }
@@ -171,7 +152,8 @@ public class WaterWhirlpoolAbility extends BaseAbility {
     /**
      * Calculate orbital velocity to make entity circle around the player
      */
-    private Vector calculateOrbitalVelocity(Location center, LivingEntity entity, double targetRadius, double orbitSpeed) {
+    private Vector calculateOrbitalVelocity(Location center, LivingEntity entity, Map<UUID, Double> entityAngles,
+                                            double targetRadius, double orbitSpeed) {
         Vector toEntity = entity.getLocation().toVector().subtract(center.toVector());
         toEntity.setY(0); // Keep in horizontal plane
 
@@ -275,66 +257,51 @@ public class WaterWhirlpoolAbility extends BaseAbility {
         return velocity;
     }
 
-    private void createWhirlpoolParticles(Location center, double radius, double angle, int tick) {
+    private void createWhirlpoolParticles(Player player, Location center, double radius, double angle, int tick) {
         World world = center.getWorld();
 
-        // Create spiral pattern
-        int spirals = 3;
-        int pointsPerSpiral = 20;
-
-        for (int spiral = 0; spiral < spirals; spiral++) {
-            double spiralOffset = (2 * Math.PI * spiral) / spirals;
-
-            for (int i = 0; i < pointsPerSpiral; i++) {
-                double t = (double) i / pointsPerSpiral;
-                double currentRadius = radius * t;
-                double currentAngle = angle + (t * 4 * Math.PI) + spiralOffset;
-
-                double x = Math.cos(currentAngle) * currentRadius;
-                double z = Math.sin(currentAngle) * currentRadius;
-                double y = 0.2 + (t * 0.5); // Rising spiral
-
-                Location particleLoc = center.clone().add(x, y, z);
-
-                world.spawnParticle(
-                        Particle.SPLASH,
-                        particleLoc,
-                        1, 0.1, 0.1, 0.1, 0.0, null, true
+        // Create spiral pattern: 3 arms of 2 turns, rising 0.5 blocks
+        cursor.at(center.getX(), center.getY() + 0.2, center.getZ()).scale(radius, 0.5).rotate(angle);
+        for (int i = 0; i < SPIRAL.size(); i++) {
+            cursor.point(SPIRAL, i);
+
+            plugin.getParticleService().spawn(player,
+                    Particle.SPLASH, world,
+                    cursor.x, cursor.y, cursor.z,
+                    1, 0.1, 0.1, 0.1, 0.0, null
+            );
+
+            // Add water droplets
+            if (Math.random() < 0.3) {
+                plugin.getParticleService().spawn(player,
+                        Particle.DRIPPING_WATER, world,
+                        cursor.x, cursor.y, cursor.z,
+                        1, 0.0, 0.0, 0.0, 0.0, null
                 );
-
-                // Add water droplets
-                if (Math.random() < 0.3) {
-                    world.spawnParticle(
-                            Particle.DRIPPING_WATER,
-                            particleLoc,
-                            1, 0.0, 0.0, 0.0, 0.0, null, true
-                    );
-                }
             }
         }
 
         // Add central column of bubbles
         if (tick % 3 == 0) {
-            for (double y = 0; y < 2.0; y += 0.3) {
-                world.spawnParticle(
-                        Particle.BUBBLE_POP,
-                        center.clone().add(0, y, 0),
-                        3, 0.2, 0.1, 0.2, 0.0, null, true
+            for (int i = 0; i < BUBBLE_COLUMN.size(); i++) {
+                plugin.getParticleService().spawn(player,
+                        Particle.BUBBLE_POP, world,
+                        center.getX(), center.getY() + BUBBLE_COLUMN.getY(i) * 1.8, center.getZ(),
+                        3, 0.2, 0.1, 0.2, 0.0, null
                 );
             }
         }
 
         // Ground water ring
         if (tick % 2 == 0) {
-            for (int i = 0; i < 360; i += 10) {
-                double rad = Math.toRadians(i);
-                double x = Math.cos(rad) * radius;
-                double z = Math.sin(rad) * radius;
-
-                world.spawnParticle(
-                        Particle.FALLING_WATER,
-                        center.clone().add(x, 0.1, z),
-                        1, 0.0, 0.0, 0.0, 0.0, null, true
+            cursor.at(center.getX(), center.getY() + 0.1, center.getZ()).scale(radius, 1.0).rotate(0);
+            for (int i = 0; i < GROUND_RING.size(); i++) {
+                cursor.point(GROUND_RING, i);
+
+                plugin.getParticleService().spawn(player,
+                        Particle.FALLING_WATER, world,
+                        cursor.x, cursor.y, cursor.z,
+                        1, 0.0, 0.0, 0.0, 0.0, null
                 );
             }
         }
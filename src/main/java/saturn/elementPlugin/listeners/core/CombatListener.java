@@ -2,6 +2,7 @@ package saturn.elementPlugin.listeners.core;
 
 import saturn.elementPlugin.ElementPlugin;
 import saturn.elementPlugin.managers.ElementManager;
+import saturn.elementPlugin.util.ExpiringSet;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Projectile;
@@ -10,6 +11,8 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 
+import java.util.UUID;
+
 /**
  * FIXED: Now prevents PvP damage when players trust each other OR when target is in spawn
  * Priority check: Spawn protection > Trust system
@@ -18,9 +21,16 @@ public class CombatListener implements Listener {
     private final ElementPlugin plugin;
     private final ElementManager elements;
 
+    // Players recently told why their hit was blocked (3 second message cooldown)
+    private static final long MESSAGE_COOLDOWN_TICKS = 60L;
+    private final ExpiringSet<UUID> spawnMessageCooldowns;
+    private final ExpiringSet<UUID> trustMessageCooldowns;
+
     public CombatListener(ElementPlugin plugin, ElementManager elements) {
         this.plugin = plugin;
         this.elements = elements;
+        this.spawnMessageCooldowns = new ExpiringSet<>(plugin.getTimingWheel());
+        this.trustMessageCooldowns = new ExpiringSet<>(plugin.getTimingWheel());
     }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
@@ -47,39 +57,30 @@ public class CombatListener implements Listener {
             e.setCancelled(true);
 
             // Send message about spawn protection
-            if (!finalDamager.hasMetadata("spawn_protection_cooldown")) {
+            if (!spawnMessageCooldowns.contains(finalDamager.getUniqueId())) {
                 String regionName = plugin.getDisabledRegionsManager().getRegionNameAt(victim.getLocation());
                 finalDamager.sendMessage(ChatColor.RED + "You cannot damage " +
                         victim.getName() + " - they are in a protected zone!" +
                         (regionName != null ? " (" + regionName + ")" : ""));
 
                 // Add cooldown to prevent spam
-                finalDamager.setMetadata("spawn_protection_cooldown",
-                        new org.bukkit.metadata.FixedMetadataValue(plugin, true));
-
-                org.bukkit.Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                    finalDamager.removeMetadata("spawn_protection_cooldown", plugin);
-                }, 60L); // 3 second cooldown
+                spawnMessageCooldowns.add(finalDamager.getUniqueId(), MESSAGE_COOLDOWN_TICKS);
             }
             return; // STOP HERE - don't check trust if in spawn
         }
 
-        // === PRIORITY 2: Check trust system (only after spawn check passed) ===
-        if (plugin.getTrustManager().trusts(victim, finalDamager)) {
+        // === PRIORITY 2: Check teams and trust (only after spawn check passed) ===
+        boolean sameTeam = plugin.getTeamManager().sameTeam(victim, finalDamager);
+        if (sameTeam || plugin.getTrustManager().trusts(victim, finalDamager)) {
             e.setCancelled(true);
 
             // Send message about trust
-            if (!finalDamager.hasMetadata("trust_pvp_cooldown")) {
+            if (!trustMessageCooldowns.contains(finalDamager.getUniqueId())) {
                 finalDamager.sendMessage(ChatColor.YELLOW + "You cannot damage " +
-                        victim.getName() + " - they trust you!");
+                        victim.getName() + (sameTeam ? " - they are on your team!" : " - they trust you!"));
 
                 // Add cooldown to prevent spam
-                finalDamager.setMetadata("trust_pvp_cooldown",
-                        new org.bukkit.metadata.FixedMetadataValue(plugin, true));
-
-                org.bukkit.Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                    finalDamager.removeMetadata("trust_pvp_cooldown", plugin);
-                }, 60L); // 3 second cooldown
+                trustMessageCooldowns.add(finalDamager.getUniqueId(), MESSAGE_COOLDOWN_TICKS);
             }
         }
     }
@@ -0,0 +1,30 @@
+package saturn.elementPlugin.listeners.core;
+
+import saturn.elementPlugin.elements.abilities.ActiveEffect;
+import saturn.elementPlugin.elements.abilities.EffectEngine;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Ends a player's running ability effects when they leave or die
+ */
+public class EffectOwnerListener implements Listener {
+    private final EffectEngine engine;
+
+    public EffectOwnerListener(EffectEngine engine) {
+        this.engine = engine;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        engine.endOwnedBy(e.getPlayer().getUniqueId(), ActiveEffect.EndReason.OWNER_QUIT);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeath(PlayerDeathEvent e) {
+        engine.endOwnedBy(e.getPlayer().getUniqueId(), ActiveEffect.EndReason.OWNER_DIED);
+    }
+}
@@ -23,8 +23,7 @@ public class GameModeListener implements Listener {
 
         // When entering creative, fill mana
         if (newMode == GameMode.CREATIVE) {
-            var pd = manaManager.get(p.getUniqueId());
-            pd.setMana(MAX_MANA);
+            manaManager.setMana(p.getUniqueId(), MAX_MANA);
         }
     }
 }
\ No newline at end of file
@@ -32,6 +32,7 @@ public class JoinListener implements Listener {
         // Check if player has an element
         PlayerData pd = elements.data(p.getUniqueId());
         boolean hasElement = (pd.getCurrentElement() != null);
+        plugin.getDataStore().getStats().trackOnline(pd);
 
         plugin.getLogger().info("Player " + p.getName() + " joined. Has element: " + hasElement);
 
@@ -0,0 +1,86 @@
+package saturn.elementPlugin.listeners.core;
+
+import saturn.elementPlugin.util.LineOfSightService;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.*;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+
+import java.util.List;
+
+/**
+ * Tells the line-of-sight cache about block changes, so results through the changed
+ * chunks are traced again. Changes made without an event are covered by the cache's TTL.
+ */
+public class LineOfSightListener implements Listener {
+    private final LineOfSightService lineOfSight;
+
+    public LineOfSightListener(LineOfSightService lineOfSight) {
+        this.lineOfSight = lineOfSight;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlace(BlockPlaceEvent e) {
+        lineOfSight.blockChanged(e.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBreak(BlockBreakEvent e) {
+        lineOfSight.blockChanged(e.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBurn(BlockBurnEvent e) {
+        lineOfSight.blockChanged(e.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onFade(BlockFadeEvent e) {
+        lineOfSight.blockChanged(e.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onForm(BlockFormEvent e) {
+        lineOfSight.blockChanged(e.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityChangeBlock(EntityChangeBlockEvent e) {
+        lineOfSight.blockChanged(e.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent e) {
+        lineOfSight.blocksChanged(e.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent e) {
+        lineOfSight.blocksChanged(e.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonExtend(BlockPistonExtendEvent e) {
+        pistonMoved(e.getBlock(), e.getBlocks(), e.getDirection());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonRetract(BlockPistonRetractEvent e) {
+        pistonMoved(e.getBlock(), e.getBlocks(), e.getDirection());
+    }
+
+    /**
+     * Moved blocks change both where they were and where they end up (possibly the next chunk)
+     */
+    private void pistonMoved(Block piston, List<Block> moved, BlockFace direction) {
+        lineOfSight.blockChanged(piston.getRelative(direction));
+        for (Block block : moved) {
+            lineOfSight.blockChanged(block);
+            lineOfSight.blockChanged(block.getRelative(direction));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package saturn.elementPlugin.listeners.core;
+
+import saturn.elementPlugin.data.PlayerPrefetcher;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+
+/**
+ * Loads player data off the main thread before the player joins
+ */
+public class PrefetchListener implements Listener {
+    private final PlayerPrefetcher prefetcher;
+
+    public PrefetchListener(PlayerPrefetcher prefetcher) {
+        this.prefetcher = prefetcher;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent e) {
+        // Don't load data for players that another plugin has refused
+        if (e.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+
+        prefetcher.prefetch(e.getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent e) {
+        prefetcher.recordJoin(e.getPlayer().getUniqueId());
+    }
+}
@@ -42,6 +42,7 @@ public class QuitListener implements Listener {
         // Save player data to ensure any changes are persisted
         PlayerData pd = plugin.getDataStore().getPlayerData(uuid);
         plugin.getDataStore().save(pd);
+        plugin.getDataStore().getStats().untrackOnline(uuid);
 
         plugin.getLogger().fine("Player " + player.getName() + " logged out - data saved and effects cleared");
     }
@@ -173,6 +173,7 @@ public class AdvancedRerollerListener implements Listener {
         pd.setCurrentElementWithoutReset(element);
         pd.setCurrentElementUpgradeLevel(currentUpgradeLevel);
         plugin.getDataStore().save(pd);
+        plugin.getDataStore().getStats().recordReroll(oldElement, element, true);
 
         var title = net.kyori.adventure.title.Title.title(
                 net.kyori.adventure.text.Component.text("Element Chosen!")
@@ -178,6 +178,7 @@ public class RerollerListener implements Listener {
         pd.setCurrentElementUpgradeLevel(upgradeLevel);
 
         plugin.getDataStore().save(pd);
+        plugin.getDataStore().getStats().recordReroll(oldElement, element, false);
         plugin.getElementManager().applyUpsides(player);
     }
 
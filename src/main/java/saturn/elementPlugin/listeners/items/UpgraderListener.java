@@ -90,6 +90,7 @@ public class UpgraderListener implements Listener {
 
             playerData.setUpgradeLevel(currentElement, 1);
             plugin.getDataStore().save(playerData);
+            plugin.getDataStore().getStats().recordUpgrade(currentElement, 1);
             elementManager.applyUpsides(player);
 
             consumeItem(player);
@@ -116,6 +117,7 @@ public class UpgraderListener implements Listener {
 
             playerData.setUpgradeLevel(currentElement, 2);
             plugin.getDataStore().save(playerData);
+            plugin.getDataStore().getStats().recordUpgrade(currentElement, 2);
             elementManager.applyUpsides(player);
 
             consumeItem(player);
@@ -136,6 +136,7 @@ public class ElementManager {
         // Set new element (resets upgrade level)
         pd.setCurrentElement(type);
         store.save(pd);
+        store.getStats().recordAssignment(type);
 
         showElementTitle(player, type, "Element Chosen!");
         // Apply new element effects
@@ -8,8 +8,6 @@ import org.bukkit.GameMode;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitTask;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 public class ManaManager {
@@ -17,8 +15,6 @@ public class ManaManager {
     private final DataStore store;
     private BukkitTask task;
 
-    private final Map<UUID, PlayerData> cache = new HashMap<>();
-
     public ManaManager(ElementPlugin plugin, DataStore store) {
         this.plugin = plugin;
         this.store = store;
@@ -29,14 +25,16 @@ public class ManaManager {
         task = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
             int maxMana = plugin.getMaxMana();
             int regenRate = plugin.getManaRegenPerSecond();
+            boolean lazy = plugin.isLazyManaRegen();
+            long now = System.currentTimeMillis();
 
             for (Player p : Bukkit.getOnlinePlayers()) {
                 PlayerData pd = get(p.getUniqueId());
 
                 // Creative mode players have infinite mana
                 if (p.getGameMode() == GameMode.CREATIVE) {
-                    pd.setMana(maxMana);
-                } else {
+                    if (pd.getMana() != maxMana) pd.setMana(maxMana);
+                } else if (!lazy) {
                     // Normal mana regen for survival/adventure/spectator
                     int before = pd.getMana();
                     if (before < maxMana) {
@@ -48,9 +46,11 @@ public class ManaManager {
                         store.save(pd);
                     }
                 }
+                // Lazy mode: regen is computed from the time of the last change, nothing to do here
 
                 // Action bar display with mana emoji
-                String manaDisplay = p.getGameMode() == GameMode.CREATIVE ? "∞" : String.valueOf(pd.getMana());
+                String manaDisplay = p.getGameMode() == GameMode.CREATIVE ? "∞"
+                        : String.valueOf(lazy ? pd.getMana(now, maxMana, regenRate) : pd.getMana());
                 p.sendActionBar(
                         net.kyori.adventure.text.Component.text("Ⓜ Mana: ")
                                 .color(net.kyori.adventure.text.format.NamedTextColor.AQUA)
@@ -64,15 +64,53 @@ public class ManaManager {
     public void stop() {
         if (task != null) task.cancel();
         task = null;
+
+        // Keep the mana online players regenerated this session (saved by the DataStore shutdown flush)
+        for (Player p : Bukkit.getOnlinePlayers()) {
+            settle(get(p.getUniqueId()));
+        }
     }
 
+    /**
+     * Mana lives in PlayerData, so this reads through the DataStore's cache
+     */
     public PlayerData get(UUID uuid) {
-        return cache.computeIfAbsent(uuid, store::load);
+        return store.getPlayerData(uuid);
     }
 
     public void save(UUID uuid) {
-        PlayerData pd = cache.get(uuid);
-        if (pd != null) store.save(pd);
+        if (!store.isCached(uuid)) return;
+
+        PlayerData pd = store.getPlayerData(uuid);
+        settle(pd);
+        store.save(pd);
+    }
+
+    /**
+     * Current mana, including lazy regeneration
+     */
+    public int getMana(UUID uuid) {
+        return getMana(get(uuid), System.currentTimeMillis());
+    }
+
+    private int getMana(PlayerData pd, long now) {
+        if (!plugin.isLazyManaRegen()) return pd.getMana();
+
+        return pd.getMana(now, plugin.getMaxMana(), plugin.getManaRegenPerSecond());
+    }
+
+    public void setMana(UUID uuid, int amount) {
+        get(uuid).setMana(amount);
+    }
+
+    /**
+     * Fold lazily regenerated mana into the stored value (before it is written out)
+     */
+    private void settle(PlayerData pd) {
+        if (plugin.isLazyManaRegen()) {
+            long now = System.currentTimeMillis();
+            pd.setMana(getMana(pd, now), now);
+        }
     }
 
     public boolean spend(Player player, int amount) {
@@ -82,8 +120,11 @@ public class ManaManager {
         }
 
         PlayerData pd = get(player.getUniqueId());
-        if (pd.getMana() < amount) return false;
-        pd.addMana(-amount);
+        long now = System.currentTimeMillis();
+        int current = getMana(pd, now);
+        if (current < amount) return false;
+
+        pd.setMana(current - amount, now);
         store.save(pd);
         return true;
     }
@@ -99,7 +140,6 @@ public class ManaManager {
             return true;
         }
 
-        PlayerData pd = get(player.getUniqueId());
-        return pd.getMana() >= amount;
+        return getMana(player.getUniqueId()) >= amount;
     }
 }
\ No newline at end of file
@@ -0,0 +1,253 @@
+package saturn.elementPlugin.managers;
+
+import saturn.elementPlugin.ElementPlugin;
+import saturn.elementPlugin.data.DataStore;
+import saturn.elementPlugin.data.TeamData;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Manages teams (groups of players who can't hurt each other)
+ * Works alongside pairwise trust: two players are allies if they share a team OR trust each other.
+ *
+ * Every team gets a small index, and every player a bitset of the teams they are in, so the
+ * same-team check is a word-by-word AND of two short long[] arrays. The bitsets are immutable
+ * and replaced on change, so the check is lock-free from any thread. Team changes happen on
+ * the main thread and are saved to teams.yml.
+ */
+public class TeamManager {
+    public static final int MAX_TEAMS_PER_PLAYER = 5;
+    public static final int MAX_TEAM_SIZE = 64;
+    private static final long INVITE_EXPIRY_MS = 5 * 60 * 1000L; // Same as trust requests
+
+    private final ElementPlugin plugin;
+    private final DataStore dataStore;
+
+    // Teams by lowercase name (main thread only)
+    private final Map<String, TeamData> teams = new LinkedHashMap<>();
+    private final List<TeamData> byIndex = new ArrayList<>(); // null = free index
+
+    // Team bitset per player (immutable arrays, readable from any thread)
+    private final Map<UUID, long[]> membership = new ConcurrentHashMap<>();
+
+    // Pending invites: player -> (lowercase team name -> time invited)
+    private final Map<UUID, Map<String, Long>> invites = new HashMap<>();
+
+    public TeamManager(ElementPlugin plugin, DataStore dataStore) {
+        this.plugin = plugin;
+        this.dataStore = dataStore;
+
+        for (TeamData team : dataStore.loadTeams()) {
+            register(team);
+        }
+        plugin.getLogger().info("Loaded " + teams.size() + " team(s)");
+    }
+
+    // ========================================
+    // ALLY CHECKS
+    // ========================================
+
+    /**
+     * Check if two players share at least one team
+     */
+    public boolean sameTeam(UUID player1, UUID player2) {
+        long[] teams1 = membership.get(player1);
+        if (teams1 == null) return false;
+        long[] teams2 = membership.get(player2);
+        if (teams2 == null) return false;
+
+        int words = Math.min(teams1.length, teams2.length);
+        for (int i = 0; i < words; i++) {
+            if ((teams1[i] & teams2[i]) != 0) return true;
+        }
+        return false;
+    }
+
+    public boolean sameTeam(Player player1, Player player2) {
+        return sameTeam(player1.getUniqueId(), player2.getUniqueId());
+    }
+
+    // ========================================
+    // LOOKUP
+    // ========================================
+
+    public TeamData getTeam(String name) {
+        return teams.get(name.toLowerCase());
+    }
+
+    public Collection<TeamData> getTeams() {
+        return Collections.unmodifiableCollection(teams.values());
+    }
+
+    /**
+     * Teams a player belongs to
+     */
+    public List<TeamData> getTeams(UUID player) {
+        List<TeamData> result = new ArrayList<>();
+        long[] bits = membership.get(player);
+        if (bits == null) return result;
+
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                int bit = Long.numberOfTrailingZeros(remaining);
+                result.add(byIndex.get(word * 64 + bit));
+                remaining &= remaining - 1;
+            }
+        }
+        return result;
+    }
+
+    public int getTeamCount(UUID player) {
+        long[] bits = membership.get(player);
+        if (bits == null) return 0;
+
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    // ========================================
+    // TEAM OPERATIONS
+    // ========================================
+
+    /**
+     * Create a team owned by a player
+     * @return the new team, or null if the name is taken
+     */
+    public TeamData create(String name, UUID owner) {
+        if (teams.containsKey(name.toLowerCase())) {
+            return null;
+        }
+
+        TeamData team = new TeamData(name, owner);
+        register(team);
+        save();
+
+        plugin.getLogger().info("Team created: " + name + " by " + owner);
+        return team;
+    }
+
+    public void disband(TeamData team) {
+        teams.remove(team.getName().toLowerCase());
+        for (UUID member : team.getMembers()) {
+            setBit(member, team.getIndex(), false);
+        }
+        byIndex.set(team.getIndex(), null);
+        team.setIndex(-1);
+
+        for (Map<String, Long> pending : invites.values()) {
+            pending.remove(team.getName().toLowerCase());
+        }
+        save();
+
+        plugin.getLogger().info("Team disbanded: " + team.getName());
+    }
+
+    public void invite(TeamData team, UUID player) {
+        invites.computeIfAbsent(player, k -> new HashMap<>())
+                .put(team.getName().toLowerCase(), System.currentTimeMillis());
+    }
+
+    public boolean hasInvite(UUID player, TeamData team) {
+        Map<String, Long> pending = invites.get(player);
+        if (pending == null) return false;
+
+        Long invitedAt = pending.get(team.getName().toLowerCase());
+        if (invitedAt == null) return false;
+
+        if (System.currentTimeMillis() - invitedAt > INVITE_EXPIRY_MS) {
+            pending.remove(team.getName().toLowerCase());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Add a player to a team (consumes their invite)
+     */
+    public void join(TeamData team, UUID player) {
+        Map<String, Long> pending = invites.get(player);
+        if (pending != null) {
+            pending.remove(team.getName().toLowerCase());
+            if (pending.isEmpty()) invites.remove(player);
+        }
+
+        if (team.addMember(player)) {
+            setBit(player, team.getIndex(), true);
+            save();
+        }
+    }
+
+    /**
+     * Remove a player from a team (leave or kick). The last member leaving disbands it.
+     */
+    public void leave(TeamData team, UUID player) {
+        if (!team.removeMember(player)) return;
+
+        setBit(player, team.getIndex(), false);
+        if (team.isEmpty()) {
+            disband(team);
+        } else {
+            save();
+        }
+    }
+
+    /**
+     * Write teams synchronously (plugin disable)
+     */
+    public void shutdown() {
+        dataStore.saveTeams(teams.values(), false);
+    }
+
+    // ========================================
+    // INTERNALS
+    // ========================================
+
+    private void register(TeamData team) {
+        int index = byIndex.indexOf(null);
+        if (index < 0) {
+            index = byIndex.size();
+            byIndex.add(team);
+        } else {
+            byIndex.set(index, team);
+        }
+
+        team.setIndex(index);
+        teams.put(team.getName().toLowerCase(), team);
+        for (UUID member : team.getMembers()) {
+            setBit(member, index, true);
+        }
+    }
+
+    /**
+     * Copy-on-write update of a player's team bitset
+     */
+    private void setBit(UUID player, int index, boolean value) {
+        int word = index >>> 6;
+        long mask = 1L << (index & 63);
+
+        membership.compute(player, (uuid, bits) -> {
+            long[] updated = Arrays.copyOf(bits != null ? bits : new long[0],
+                    Math.max(word + 1, bits != null ? bits.length : 0));
+            if (value) {
+                updated[word] |= mask;
+            } else {
+                updated[word] &= ~mask;
+            }
+
+            for (long w : updated) {
+                if (w != 0) return updated;
+            }
+            return null; // In no team anymore
+        });
+    }
+
+    private void save() {
+        dataStore.saveTeams(teams.values(), true);
+    }
+}
@@ -1,11 +1,15 @@
 package saturn.elementPlugin.managers;
 
 import saturn.elementPlugin.ElementPlugin;
+import saturn.elementPlugin.data.ClusterSync;
+import saturn.elementPlugin.data.StorageBackend;
 import saturn.elementPlugin.data.TrustData;
+import saturn.elementPlugin.data.TrustEvent;
+import saturn.elementPlugin.data.TrustGraph;
+import saturn.elementPlugin.data.TrustJournal;
+import saturn.elementPlugin.util.BoundedCache;
+import saturn.elementPlugin.util.TimingWheel;
 import org.bukkit.Bukkit;
-import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 
 import java.io.File;
@@ -21,68 +25,193 @@ import java.util.logging.Level;
  */
 public class TrustManager {
     private final ElementPlugin plugin;
-    private final File trustFile;
-    private FileConfiguration trustConfig;
+    private final StorageBackend backend;
+    private final ClusterSync cluster; // null when not clustered
+    private final TimingWheel wheel;
 
-    // Cache for trust data
-    private final Map<UUID, TrustData> cache = new ConcurrentHashMap<>();
+    // Trust changes are recorded as edge events and written in batches off the main thread
+    private final TrustJournal journal;
+
+    // Every trust relationship, for trust checks without loading TrustData (replaced whole on resync)
+    private volatile TrustGraph graph;
+
+    // Edge changes recorded while a resync rebuilds the graph, replayed onto it before the swap
+    // (main thread; null when no rebuild is running)
+    private List<TrustEvent> rebuildChanges;
+    private int rebuildGeneration;
+
+    // Bounded cache for trust data (online players are pinned).
+    // Every change is journaled as it happens, so evicted entries never need writing back.
+    private final BoundedCache<UUID, TrustData> cache;
+
+    // Request timestamp each pending expiry task was scheduled for, by owner then other player,
+    // so reloading evicted trust data doesn't schedule the same expiry again
+    private final Map<UUID, Map<UUID, Long>> scheduledExpiries = new ConcurrentHashMap<>();
 
     public TrustManager(ElementPlugin plugin) {
         this.plugin = plugin;
+        this.backend = plugin.getStorageBackend();
+        this.cluster = plugin.getClusterSync();
+        this.wheel = plugin.getTimingWheel();
+        this.journal = openJournal();
+        this.graph = buildGraph();
+        this.cache = new BoundedCache<>(plugin.getPlayerCacheMaxSize(), plugin.getPlayerCacheIdleMillis(),
+                uuid -> Bukkit.getPlayer(uuid) != null, data -> false, data -> {});
+
+        // Other servers changed trust data - reload it on next access
+        if (cluster != null) {
+            cluster.onInvalidate(ClusterSync.Kind.TRUST, uuid -> {
+                cache.remove(uuid);
+                refreshGraph(uuid);
+            });
+            cluster.onResync(ClusterSync.Kind.TRUST, () -> {
+                for (UUID uuid : cache.keys()) {
+                    if (Bukkit.getPlayer(uuid) == null) cache.remove(uuid);
+                }
+                rebuildGraph();
+            });
+        }
+
+        // Drop offline players from the cache
+        Bukkit.getScheduler().runTaskTimer(plugin, cache::cleanUp, 600L, 600L);
+    }
+
+    /**
+     * Open the trust log. In a cluster the log would hide changes from the other servers,
+     * so every batch goes straight to the shared backend and is announced instead.
+     */
+    private TrustJournal openJournal() {
+        if (cluster != null) {
+            return TrustJournal.direct(backend, plugin.getLogger(),
+                    uuids -> cluster.publish(ClusterSync.Kind.TRUST, uuids));
+        }
 
-        // Setup trust file
-        File dataDir = new File(plugin.getDataFolder(), "data");
-        if (!dataDir.exists()) {
-            dataDir.mkdirs();
+        try {
+            return new TrustJournal(new File(plugin.getDataFolder(), "data/trust.log"), backend, plugin.getLogger(), null);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to open trust log, writing trust changes straight to storage", e);
+            return TrustJournal.direct(backend, plugin.getLogger(), null);
         }
+    }
 
-        this.trustFile = new File(dataDir, "trust.yml");
-        if (!trustFile.exists()) {
-            try {
-                trustFile.createNewFile();
-            } catch (IOException e) {
-                plugin.getLogger().severe("Failed to create trust.yml: " + e.getMessage());
+    /**
+     * Build the trust graph from storage.
+     * Relationships stored on one side only (left by older versions) are completed.
+     */
+    private TrustGraph buildGraph() {
+        long start = System.currentTimeMillis();
+
+        Collection<TrustData> all;
+        try {
+            all = backend.loadAllTrust();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to load trust data, trust checks start empty", e);
+            return new TrustGraph(0);
+        }
+
+        Map<UUID, TrustData> byOwner = new HashMap<>();
+        for (TrustData data : all) {
+            byOwner.put(data.getPlayerUuid(), data);
+        }
+
+        TrustGraph built = new TrustGraph(all.size());
+        List<TrustEvent> repairs = new ArrayList<>();
+        for (TrustData data : all) {
+            UUID owner = data.getPlayerUuid();
+            for (UUID other : data.getTrustedPlayers()) {
+                built.add(owner, other);
+
+                TrustData reverse = byOwner.get(other);
+                if (reverse == null || !reverse.trusts(owner)) {
+                    repairs.add(TrustEvent.trustAdded(other, owner));
+                }
             }
         }
 
-        this.trustConfig = YamlConfiguration.loadConfiguration(trustFile);
+        if (!repairs.isEmpty()) {
+            journal.record(repairs.toArray(new TrustEvent[0]));
+            plugin.getLogger().info("Completed " + repairs.size() + " one-way trust relationship(s)");
+        }
 
-        // Start periodic cleanup of expired requests
-        startCleanupTask();
+        plugin.getLogger().info("Built trust graph: " + built.getPlayerCount() + " players, " +
+                built.getEdgeCount() + " relationships (" + (System.currentTimeMillis() - start) + "ms)");
+        return built;
     }
 
     /**
-     * Start a task that periodically cleans up expired trust requests
+     * Rebuild the graph off the main thread and swap it in on the main thread, with the changes
+     * recorded in the meantime replayed onto it. Only the latest of overlapping rebuilds is swapped in.
      */
-    private void startCleanupTask() {
-        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
-            for (TrustData data : cache.values()) {
-                data.cleanupExpired();
-                if (data.isDirty()) {
-                    save(data);
+    private void rebuildGraph() {
+        if (rebuildChanges == null) rebuildChanges = new ArrayList<>();
+        int generation = ++rebuildGeneration;
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            TrustGraph rebuilt = buildGraph();
+            if (!plugin.isEnabled()) return;
+
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                if (generation != rebuildGeneration) return;
+
+                for (TrustEvent event : rebuildChanges) {
+                    applyEdge(rebuilt, event);
                 }
+                rebuildChanges = null;
+                graph = rebuilt;
+            });
+        });
+    }
+
+    /**
+     * Reload one player's relationships after another server changed them
+     */
+    private void refreshGraph(UUID uuid) {
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                graph.replace(uuid, journal.load(uuid).getTrustedPlayers());
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Failed to refresh trust relationships of " + uuid, e);
             }
-        }, 6000L, 6000L); // Every 5 minutes
+        });
+    }
+
+    /**
+     * Drop a pending request from both players' cached data once it expires.
+     * Expired requests are also dropped whenever trust data is loaded, so this needs no write.
+     */
+    private void scheduleExpiry(UUID owner, UUID other, long timestamp) {
+        Map<UUID, Long> scheduled = scheduledExpiries.computeIfAbsent(owner, uuid -> new ConcurrentHashMap<>());
+        Long previous = scheduled.put(other, timestamp);
+        if (previous != null && previous == timestamp) return;
+
+        // One tick past the deadline so the request is strictly expired when checked
+        wheel.scheduleMillis(TrustData.getRequestExpiryDelay(timestamp) + 50, () -> {
+            scheduledExpiries.computeIfPresent(owner, (uuid, pending) -> {
+                pending.remove(other, timestamp);
+                return pending.isEmpty() ? null : pending;
+            });
+
+            TrustData data = cache.getIfPresent(owner);
+            if (data != null && data.expireRequests(other)) data.markClean();
+        });
     }
 
     /**
      * Get trust data for a player
      */
     public TrustData getTrustData(UUID uuid) {
-        return cache.computeIfAbsent(uuid, this::loadFromDisk);
+        return cache.get(uuid, this::loadFromDisk);
     }
 
     /**
-     * Load trust data from disk
+     * Load trust data from the storage backend plus any changes not compacted into it yet
      */
     private TrustData loadFromDisk(UUID uuid) {
         try {
-            trustConfig = YamlConfiguration.loadConfiguration(trustFile);
-
-            String path = "players." + uuid.toString();
-            ConfigurationSection section = trustConfig.getConfigurationSection(path);
-
-            return new TrustData(uuid, section);
+            TrustData data = journal.load(uuid);
+            data.getPendingOutgoingTimestamps().forEach((other, timestamp) -> scheduleExpiry(uuid, other, timestamp));
+            data.getPendingIncomingTimestamps().forEach((other, timestamp) -> scheduleExpiry(uuid, other, timestamp));
+            return data;
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to load trust data for " + uuid, e);
             return new TrustData(uuid);
@@ -90,39 +219,33 @@ public class TrustManager {
     }
 
     /**
-     * Save trust data to disk
+     * Apply events to the cached trust data and journal them
      */
-    public void save(TrustData data) {
-        if (data == null) return;
-
-        try {
-            trustConfig = YamlConfiguration.loadConfiguration(trustFile);
-
-            String path = "players." + data.getPlayerUuid().toString();
-            ConfigurationSection section = trustConfig.getConfigurationSection(path);
-
-            if (section == null) {
-                section = trustConfig.createSection(path);
-            }
-
-            data.saveTo(section);
-            trustConfig.save(trustFile);
+    private void record(TrustEvent... events) {
+        for (TrustEvent event : events) {
+            TrustData data = getTrustData(event.getOwner());
+            event.applyTo(data);
+            data.markClean();
+
+            applyEdge(graph, event);
+            if (rebuildChanges != null) rebuildChanges.add(event);
+        }
+        journal.record(events);
+    }
 
-            cache.put(data.getPlayerUuid(), data);
-        } catch (Exception e) {
-            plugin.getLogger().log(Level.SEVERE, "Failed to save trust data for " + data.getPlayerUuid(), e);
+    private static void applyEdge(TrustGraph target, TrustEvent event) {
+        switch (event.getType()) {
+            case TRUST_ADD -> target.add(event.getOwner(), event.getOther());
+            case TRUST_REMOVE -> target.remove(event.getOwner(), event.getOther());
+            default -> { }
         }
     }
 
     /**
-     * Save all cached trust data
+     * Write all outstanding trust changes and stop the journal (plugin disable)
      */
-    public void saveAll() {
-        for (TrustData data : cache.values()) {
-            if (data.isDirty()) {
-                save(data);
-            }
-        }
+    public void shutdown() {
+        journal.close();
     }
 
     // ========================================
@@ -133,8 +256,8 @@ public class TrustManager {
      * Check if player1 trusts player2
      */
     public boolean trusts(UUID player1, UUID player2) {
-        TrustData data = getTrustData(player1);
-        return data.trusts(player2);
+        // Answered from the in-memory graph - never loads TrustData
+        return graph.trusts(player1, player2);
     }
 
     /**
@@ -148,7 +271,8 @@ public class TrustManager {
      * Check if two players mutually trust each other
      */
     public boolean mutualTrust(UUID player1, UUID player2) {
-        return trusts(player1, player2) && trusts(player2, player1);
+        // Trust is stored as undirected edges, so one check covers both directions
+        return graph.trusts(player1, player2);
     }
 
     /**
@@ -169,7 +293,6 @@ public class TrustManager {
         }
 
         TrustData senderData = getTrustData(sender);
-        TrustData targetData = getTrustData(target);
 
         // Check if already trusted
         if (senderData.trusts(target)) {
@@ -182,11 +305,11 @@ public class TrustManager {
         }
 
         // Add pending request
-        senderData.addPendingOutgoing(target);
-        targetData.addPendingIncoming(sender);
-
-        save(senderData);
-        save(targetData);
+        long now = System.currentTimeMillis();
+        record(TrustEvent.outgoingAdded(sender, target, now),
+                TrustEvent.incomingAdded(target, sender, now));
+        scheduleExpiry(sender, target, now);
+        scheduleExpiry(target, sender, now);
 
         return true;
     }
@@ -198,25 +321,19 @@ public class TrustManager {
      */
     public boolean acceptTrustRequest(UUID accepter, UUID requester) {
         TrustData accepterData = getTrustData(accepter);
-        TrustData requesterData = getTrustData(requester);
 
         // Check if there's a pending request
         if (!accepterData.hasPendingIncoming(requester)) {
             return false;
         }
 
-        // FIXED: Add trust BOTH WAYS (mutual trust)
-        accepterData.addTrust(requester);  // Accepter trusts requester
-        requesterData.addTrust(accepter);  // Requester trusts accepter
-
         plugin.getLogger().info("Creating mutual trust: " + accepter + " <-> " + requester);
 
-        // Remove pending requests
-        accepterData.removePendingIncoming(requester);
-        requesterData.removePendingOutgoing(accepter);
-
-        save(accepterData);
-        save(requesterData);
+        // FIXED: Add trust BOTH WAYS (mutual trust) and remove the pending requests
+        record(TrustEvent.trustAdded(accepter, requester),  // Accepter trusts requester
+                TrustEvent.trustAdded(requester, accepter),  // Requester trusts accepter
+                TrustEvent.incomingRemoved(accepter, requester),
+                TrustEvent.outgoingRemoved(requester, accepter));
 
         return true;
     }
@@ -226,7 +343,6 @@ public class TrustManager {
      */
     public boolean denyTrustRequest(UUID denier, UUID requester) {
         TrustData denierData = getTrustData(denier);
-        TrustData requesterData = getTrustData(requester);
 
         // Check if there's a pending request
         if (!denierData.hasPendingIncoming(requester)) {
@@ -234,11 +350,8 @@ public class TrustManager {
         }
 
         // Remove pending requests
-        denierData.removePendingIncoming(requester);
-        requesterData.removePendingOutgoing(denier);
-
-        save(denierData);
-        save(requesterData);
+        record(TrustEvent.incomingRemoved(denier, requester),
+                TrustEvent.outgoingRemoved(requester, denier));
 
         return true;
     }
@@ -248,17 +361,11 @@ public class TrustManager {
      * UPDATED: Also removes the reverse trust to maintain mutual trust consistency
      */
     public void removeTrust(UUID player, UUID trusted) {
-        TrustData playerData = getTrustData(player);
-        TrustData trustedData = getTrustData(trusted);
-
-        // Remove trust both ways to maintain mutual trust consistency
-        playerData.removeTrust(trusted);
-        trustedData.removeTrust(player);
-
         plugin.getLogger().info("Removing mutual trust: " + player + " <-> " + trusted);
 
-        save(playerData);
-        save(trustedData);
+        // Remove trust both ways to maintain mutual trust consistency
+        record(TrustEvent.trustRemoved(player, trusted),
+                TrustEvent.trustRemoved(trusted, player));
     }
 
     /**
@@ -275,6 +382,25 @@ public class TrustManager {
         return getTrustData(player).getPendingIncoming();
     }
 
+    /**
+     * Check if a player's trust data is already in memory
+     */
+    public boolean isCached(UUID player) {
+        return cache.contains(player);
+    }
+
+    public BoundedCache<UUID, TrustData> getCache() {
+        return cache;
+    }
+
+    public TrustJournal getJournal() {
+        return journal;
+    }
+
+    public TrustGraph getGraph() {
+        return graph;
+    }
+
     /**
      * Clear cache for a player
      */
@@ -1,91 +1,64 @@
 package saturn.elementPlugin.regions;
 
 import saturn.elementPlugin.ElementPlugin;
+import saturn.elementPlugin.data.StorageBackend;
 import org.bukkit.Location;
-import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 
 /**
  * Manages regions where abilities are disabled
  */
 public class DisabledRegionsManager {
     private final ElementPlugin plugin;
-    private final File regionsFile;
-    private FileConfiguration regionsConfig;
+    private final StorageBackend backend;
 
     private final Map<String, DisabledRegion> regions = new ConcurrentHashMap<>();
 
     public DisabledRegionsManager(ElementPlugin plugin) {
         this.plugin = plugin;
-
-        // Setup regions file
-        this.regionsFile = new File(plugin.getDataFolder(), "disabled-regions.yml");
-
-        if (!regionsFile.exists()) {
-            try {
-                regionsFile.createNewFile();
-            } catch (IOException e) {
-                plugin.getLogger().severe("Failed to create disabled-regions.yml: " + e.getMessage());
-            }
-        }
-
-        this.regionsConfig = YamlConfiguration.loadConfiguration(regionsFile);
+        this.backend = plugin.getStorageBackend();
         loadRegions();
     }
 
     /**
-     * Load all regions from disk
+     * Load all regions from the storage backend
      */
     private void loadRegions() {
-        ConfigurationSection regionsSection = regionsConfig.getConfigurationSection("regions");
+        List<DisabledRegion> loaded;
+        try {
+            loaded = backend.loadRegions();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to load disabled regions", e);
+            return;
+        }
 
-        if (regionsSection == null) {
+        if (loaded.isEmpty()) {
             plugin.getLogger().info("No disabled regions found");
             return;
         }
 
-        for (String regionName : regionsSection.getKeys(false)) {
-            ConfigurationSection regionSection = regionsSection.getConfigurationSection(regionName);
-            if (regionSection != null) {
-                try {
-                    DisabledRegion region = DisabledRegion.loadFrom(regionName, regionSection);
-                    regions.put(regionName.toLowerCase(), region);
-                    plugin.getLogger().info("Loaded disabled region: " + region);
-                } catch (Exception e) {
-                    plugin.getLogger().warning("Failed to load region '" + regionName + "': " + e.getMessage());
-                }
-            }
+        for (DisabledRegion region : loaded) {
+            regions.put(region.getName().toLowerCase(), region);
+            plugin.getLogger().info("Loaded disabled region: " + region);
         }
 
         plugin.getLogger().info("Loaded " + regions.size() + " disabled region(s)");
     }
 
     /**
-     * Save all regions to disk
+     * Save all regions to the storage backend
      */
     private void saveRegions() {
-        // Clear existing data
-        regionsConfig.set("regions", null);
-
-        ConfigurationSection regionsSection = regionsConfig.createSection("regions");
-
-        for (DisabledRegion region : regions.values()) {
-            ConfigurationSection regionSection = regionsSection.createSection(region.getName());
-            region.saveTo(regionSection);
-        }
-
         try {
-            regionsConfig.save(regionsFile);
+            backend.saveRegions(regions.values());
             plugin.getLogger().info("Saved " + regions.size() + " disabled region(s)");
         } catch (IOException e) {
-            plugin.getLogger().severe("Failed to save disabled-regions.yml: " + e.getMessage());
+            plugin.getLogger().severe("Failed to save disabled regions: " + e.getMessage());
         }
     }
 
@@ -185,11 +158,10 @@ public class DisabledRegionsManager {
     }
 
     /**
-     * Reload regions from disk
+     * Reload regions from the storage backend
      */
     public void reload() {
         regions.clear();
-        regionsConfig = YamlConfiguration.loadConfiguration(regionsFile);
         loadRegions();
     }
 }
\ No newline at end of file
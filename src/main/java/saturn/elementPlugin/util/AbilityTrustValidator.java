@@ -14,7 +14,8 @@ import java.util.*;
  */
 public class AbilityTrustValidator {
 
-    private static final Map<UUID, Long> messageCooldowns = new HashMap<>();
+    // Players recently told why their ability was blocked (entries expire on the timing wheel)
+    private static ExpiringSet<UUID> messageCooldowns;
     private static final long MESSAGE_COOLDOWN_MS = 3000; // 3 seconds
 
     /**
@@ -47,26 +48,27 @@ public class AbilityTrustValidator {
 
         if (isInSpawn) {
             // Target is in spawn - IMMEDIATELY return false with spawn message
-            if (sendMessage && !isOnMessageCooldown(caster)) {
+            if (sendMessage && !isOnMessageCooldown(plugin, caster)) {
                 String regionName = plugin.getDisabledRegionsManager().getRegionNameAt(targetPlayer.getLocation());
                 caster.sendMessage(ChatColor.RED + "You cannot affect " + targetPlayer.getName() +
                         " - they are in a protected zone!" +
                         (regionName != null ? " (" + regionName + ")" : ""));
-                setMessageCooldown(caster);
+                setMessageCooldown(plugin, caster);
             }
             plugin.getLogger().info("[AbilityTrust] BLOCKED: Spawn protection");
             return false; // STOP HERE - don't check trust
         }
 
-        // === PRIORITY 2: Check trust system (only after spawn check passed) ===
-        boolean trusts = plugin.getTrustManager().trusts(caster, targetPlayer);
-        plugin.getLogger().info("[AbilityTrust] Caster trusts target: " + trusts);
+        // === PRIORITY 2: Check teams and trust (only after spawn check passed) ===
+        boolean sameTeam = plugin.getTeamManager().sameTeam(caster, targetPlayer);
+        boolean trusts = sameTeam || plugin.getTrustManager().trusts(caster, targetPlayer);
+        plugin.getLogger().info("[AbilityTrust] Caster trusts target: " + trusts + " (same team: " + sameTeam + ")");
 
         if (trusts) {
-            if (sendMessage && !isOnMessageCooldown(caster)) {
+            if (sendMessage && !isOnMessageCooldown(plugin, caster)) {
                 caster.sendMessage(ChatColor.YELLOW + "Your ability cannot affect " +
-                        targetPlayer.getName() + " - you trust them!");
-                setMessageCooldown(caster);
+                        targetPlayer.getName() + (sameTeam ? " - they are on your team!" : " - you trust them!"));
+                setMessageCooldown(plugin, caster);
             }
             plugin.getLogger().info("[AbilityTrust] BLOCKED: Trust system");
             return false;
@@ -106,10 +108,11 @@ public class AbilityTrustValidator {
     }
 
     /**
-     * Check if two players mutually trust each other
+     * Check if two players mutually trust each other or share a team
      */
     public static boolean hasMutualTrust(ElementPlugin plugin, Player player1, Player player2) {
-        return plugin.getTrustManager().mutualTrust(player1, player2);
+        return plugin.getTeamManager().sameTeam(player1, player2)
+                || plugin.getTrustManager().mutualTrust(player1, player2);
     }
 
     /**
@@ -139,25 +142,21 @@ public class AbilityTrustValidator {
 
     // Message cooldown management to prevent spam
 
-    private static boolean isOnMessageCooldown(Player player) {
-        Long lastMessage = messageCooldowns.get(player.getUniqueId());
-        if (lastMessage == null) return false;
-
-        return System.currentTimeMillis() - lastMessage < MESSAGE_COOLDOWN_MS;
+    private static boolean isOnMessageCooldown(ElementPlugin plugin, Player player) {
+        return messageCooldowns(plugin).contains(player.getUniqueId());
     }
 
-    private static void setMessageCooldown(Player player) {
-        messageCooldowns.put(player.getUniqueId(), System.currentTimeMillis());
+    private static void setMessageCooldown(ElementPlugin plugin, Player player) {
+        messageCooldowns(plugin).addMillis(player.getUniqueId(), MESSAGE_COOLDOWN_MS);
     }
 
     /**
-     * Clean up old cooldown entries
-     * Should be called periodically by the plugin
+     * The cooldown set, rebuilt when the plugin (and so its timing wheel) was reloaded
      */
-    public static void cleanupCooldowns() {
-        long now = System.currentTimeMillis();
-        messageCooldowns.entrySet().removeIf(entry ->
-                now - entry.getValue() > MESSAGE_COOLDOWN_MS
-        );
+    private static synchronized ExpiringSet<UUID> messageCooldowns(ElementPlugin plugin) {
+        if (messageCooldowns == null || messageCooldowns.getWheel() != plugin.getTimingWheel()) {
+            messageCooldowns = new ExpiringSet<>(plugin.getTimingWheel());
+        }
+        return messageCooldowns;
     }
-}
\ No newline at end of file
+}
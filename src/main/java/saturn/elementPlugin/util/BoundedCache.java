@@ -0,0 +1,193 @@
+package saturn.elementPlugin.util;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Size and idle-time limited cache used for per-player data.
+ * Limits are enforced by cleanUp(), which the owner runs on a timer:
+ * - pinned keys (online players) are never evicted
+ * - entries idle for longer than maxIdleMillis are evicted
+ * - if still over maxSize, the least recently used entries are evicted
+ * Dirty values are written back before they are evicted; a value that is
+ * still dirty after the write-back stays cached.
+ */
+public class BoundedCache<K, V> {
+    private final int maxSize;
+    private final long maxIdleMillis;
+    private final Predicate<K> pinned;
+    private final Predicate<V> dirty;
+    private final Consumer<V> writeBack;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    // Metrics
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong writeBacks = new AtomicLong();
+
+    private static final class Entry<V> {
+        final V value;
+        volatile long lastAccess;
+
+        Entry(V value) {
+            this.value = value;
+            this.lastAccess = System.currentTimeMillis();
+        }
+    }
+
+    public BoundedCache(int maxSize, long maxIdleMillis, Predicate<K> pinned,
+                        Predicate<V> dirty, Consumer<V> writeBack) {
+        this.maxSize = maxSize;
+        this.maxIdleMillis = maxIdleMillis;
+        this.pinned = pinned;
+        this.dirty = dirty;
+        this.writeBack = writeBack;
+    }
+
+    // ========================================
+    // ACCESS
+    // ========================================
+
+    /**
+     * Get a cached value, loading it on a miss
+     */
+    public V get(K key, Function<K, V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            hits.incrementAndGet();
+            entry.lastAccess = System.currentTimeMillis();
+            return entry.value;
+        }
+
+        entry = entries.computeIfAbsent(key, k -> {
+            misses.incrementAndGet();
+            V value = loader.apply(k);
+            return value != null ? new Entry<>(value) : null;
+        });
+        return entry != null ? entry.value : null;
+    }
+
+    public V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) return null;
+
+        entry.lastAccess = System.currentTimeMillis();
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.value == value) {
+            entry.lastAccess = System.currentTimeMillis();
+            return;
+        }
+        entries.put(key, new Entry<>(value));
+    }
+
+    public boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    public V remove(K key) {
+        Entry<V> entry = entries.remove(key);
+        return entry != null ? entry.value : null;
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public Set<K> keys() {
+        return new HashSet<>(entries.keySet());
+    }
+
+    public List<V> values() {
+        List<V> values = new ArrayList<>(entries.size());
+        for (Entry<V> entry : entries.values()) {
+            values.add(entry.value);
+        }
+        return values;
+    }
+
+    // ========================================
+    // EVICTION
+    // ========================================
+
+    /**
+     * Evict idle entries, then the least recently used ones until within maxSize
+     * @return number of entries evicted
+     */
+    public int cleanUp() {
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        List<Map.Entry<K, Entry<V>>> candidates = new ArrayList<>();
+
+        for (Map.Entry<K, Entry<V>> e : entries.entrySet()) {
+            if (pinned.test(e.getKey())) continue;
+
+            if (now - e.getValue().lastAccess >= maxIdleMillis) {
+                if (evict(e.getKey(), e.getValue())) evicted++;
+            } else {
+                candidates.add(e);
+            }
+        }
+
+        int overflow = entries.size() - maxSize;
+        if (overflow > 0) {
+            candidates.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+            for (int i = 0; i < candidates.size() && overflow > 0; i++) {
+                Map.Entry<K, Entry<V>> e = candidates.get(i);
+                if (evict(e.getKey(), e.getValue())) {
+                    evicted++;
+                    overflow--;
+                }
+            }
+        }
+
+        return evicted;
+    }
+
+    private boolean evict(K key, Entry<V> entry) {
+        if (dirty.test(entry.value)) {
+            writeBack.accept(entry.value);
+            writeBacks.incrementAndGet();
+
+            // Write-back failed - keep the only copy of the changes
+            if (dirty.test(entry.value)) return false;
+        }
+
+        if (entries.remove(key, entry)) {
+            evictions.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    // ========================================
+    // STATISTICS
+    // ========================================
+
+    public int getMaxSize() { return maxSize; }
+    public long getHitCount() { return hits.get(); }
+    public long getMissCount() { return misses.get(); }
+    public long getEvictionCount() { return evictions.get(); }
+    public long getWriteBackCount() { return writeBacks.get(); }
+
+    /**
+     * Share of lookups served from memory, in percent
+     */
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0 : hits.get() * 100.0 / total;
+    }
+}
@@ -0,0 +1,259 @@
+package saturn.elementPlugin.util;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.util.BoundingBox;
+import org.bukkit.util.Vector;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Spatial hash of living entities for ability area queries (main thread only).
+ *
+ * Nothing is indexed until an ability asks. A query loads the 16-block zones it overlaps
+ * (one world lookup per zone) into 4-block cells, and later queries that tick reuse them, so
+ * overlapping whirlpools, dashes and bursts share one entity scan. {@link #clear()} runs
+ * every tick and drops everything, so the grid is rebuilt at most once per tick and only
+ * around casters.
+ *
+ * Entities are matched by their bounding box as it was when the zone was loaded (at most
+ * one tick old), like Location.getNearbyLivingEntities but with a sphere instead of a cube.
+ * Query results go into a list the caller owns and reuses.
+ */
+public class EntityGrid {
+    private static final int CELL_SHIFT = 2;  // 4-block cells
+    private static final int ZONE_SHIFT = 4;  // 16-block zones
+    private static final double ZONE_HALF = (1 << ZONE_SHIFT) / 2.0;
+
+    // Entities are filed by their feet, so look this far past a query for bodies reaching into it
+    private static final double HORIZONTAL_MARGIN = 2.0;
+    private static final double VERTICAL_MARGIN = 4.0;
+
+    private final Map<World, Cells> worlds = new HashMap<>();
+
+    // Metrics
+    private long queries;
+    private long zoneLoads;
+
+    // ========================================
+    // QUERIES
+    // ========================================
+
+    /**
+     * Living entities whose bounding box is within a radius of a point
+     * @param out cleared and filled with the matches (in a stable order)
+     * @return out
+     */
+    public List<LivingEntity> sphere(Location center, double radius, List<LivingEntity> out) {
+        out.clear();
+        World world = center.getWorld();
+        if (world == null) return out;
+
+        queries++;
+        double x = center.getX(), y = center.getY(), z = center.getZ();
+        double radiusSquared = radius * radius;
+
+        Cells cells = load(world, x - radius, y - radius, z - radius, x + radius, y + radius, z + radius);
+        cells.forEach(x - radius, y - radius, z - radius, x + radius, y + radius, z + radius, entry -> {
+            if (entry.distanceSquared(x, y, z) <= radiusSquared && entry.isAlive()) {
+                out.add(entry.entity);
+            }
+        });
+        return out;
+    }
+
+    /**
+     * Living entities whose bounding box centre is within range of an origin and inside a cone
+     * @param direction cone axis (does not need to be normalized)
+     * @param halfAngleDegrees angle between the axis and the edge of the cone
+     * @param out cleared and filled with the matches (in a stable order)
+     * @return out
+     */
+    public List<LivingEntity> cone(Location origin, Vector direction, double range, double halfAngleDegrees,
+                                   List<LivingEntity> out) {
+        out.clear();
+        World world = origin.getWorld();
+        double length = direction.length();
+        if (world == null || length == 0) return out;
+
+        queries++;
+        double x = origin.getX(), y = origin.getY(), z = origin.getZ();
+        double dirX = direction.getX() / length, dirY = direction.getY() / length, dirZ = direction.getZ() / length;
+        double rangeSquared = range * range;
+        double minCos = Math.cos(Math.toRadians(halfAngleDegrees));
+
+        Cells cells = load(world, x - range, y - range, z - range, x + range, y + range, z + range);
+        cells.forEach(x - range, y - range, z - range, x + range, y + range, z + range, entry -> {
+            double dx = entry.centerX() - x, dy = entry.centerY() - y, dz = entry.centerZ() - z;
+            double distanceSquared = dx * dx + dy * dy + dz * dz;
+            if (distanceSquared > rangeSquared || !entry.isAlive()) return;
+
+            // Inside the cone (an entity at the origin always counts)
+            double along = dx * dirX + dy * dirY + dz * dirZ;
+            if (distanceSquared < 1.0E-6 || along >= minCos * Math.sqrt(distanceSquared)) {
+                out.add(entry.entity);
+            }
+        });
+        return out;
+    }
+
+    // ========================================
+    // MAINTENANCE
+    // ========================================
+
+    /**
+     * Forget everything (called every tick, so entities are never held longer than that)
+     */
+    public void clear() {
+        if (!worlds.isEmpty()) {
+            worlds.clear();
+        }
+    }
+
+    public long getQueryCount() {
+        return queries;
+    }
+
+    /**
+     * 16-block zones scanned from the world (the rest of the queries were served from the grid)
+     */
+    public long getZoneLoadCount() {
+        return zoneLoads;
+    }
+
+    public int getIndexedCount() {
+        int count = 0;
+        for (Cells cells : worlds.values()) {
+            count += cells.size;
+        }
+        return count;
+    }
+
+    /**
+     * Make sure every zone a query box (plus margins) touches is indexed
+     */
+    private Cells load(World world, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        Cells cells = worlds.computeIfAbsent(world, w -> new Cells());
+
+        int zoneMinX = floor(minX - HORIZONTAL_MARGIN) >> ZONE_SHIFT, zoneMaxX = floor(maxX + HORIZONTAL_MARGIN) >> ZONE_SHIFT;
+        int zoneMinY = floor(minY - VERTICAL_MARGIN) >> ZONE_SHIFT, zoneMaxY = floor(maxY) >> ZONE_SHIFT;
+        int zoneMinZ = floor(minZ - HORIZONTAL_MARGIN) >> ZONE_SHIFT, zoneMaxZ = floor(maxZ + HORIZONTAL_MARGIN) >> ZONE_SHIFT;
+
+        for (int zx = zoneMinX; zx <= zoneMaxX; zx++) {
+            for (int zy = zoneMinY; zy <= zoneMaxY; zy++) {
+                for (int zz = zoneMinZ; zz <= zoneMaxZ; zz++) {
+                    if (cells.zones.add(pack(zx, zy, zz))) {
+                        loadZone(world, cells, zx, zy, zz);
+                    }
+                }
+            }
+        }
+        return cells;
+    }
+
+    private void loadZone(World world, Cells cells, int zx, int zy, int zz) {
+        zoneLoads++;
+        Location zoneCenter = new Location(world,
+                (zx << ZONE_SHIFT) + ZONE_HALF, (zy << ZONE_SHIFT) + ZONE_HALF, (zz << ZONE_SHIFT) + ZONE_HALF);
+
+        for (LivingEntity entity : world.getNearbyLivingEntities(zoneCenter, ZONE_HALF, ZONE_HALF, ZONE_HALF)) {
+            Location loc = entity.getLocation();
+            int bx = loc.getBlockX(), by = loc.getBlockY(), bz = loc.getBlockZ();
+
+            // The lookup matches bounding boxes, so a zone also sees its neighbours' edges - file each entity once
+            if (bx >> ZONE_SHIFT != zx || by >> ZONE_SHIFT != zy || bz >> ZONE_SHIFT != zz) continue;
+
+            cells.add(pack(bx >> CELL_SHIFT, by >> CELL_SHIFT, bz >> CELL_SHIFT), new Entry(entity, entity.getBoundingBox()));
+        }
+    }
+
+    private static int floor(double value) {
+        return (int) Math.floor(value);
+    }
+
+    /**
+     * Pack cell or zone coordinates: 26 bits for x and z, 12 for y
+     */
+    private static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (y & 0xFFF) << 26) | (z & 0x3FFFFFF);
+    }
+
+    // ========================================
+    // INTERNALS
+    // ========================================
+
+    /**
+     * One world's indexed zones and cells
+     */
+    private static final class Cells {
+        final Set<Long> zones = new HashSet<>();
+        final Map<Long, List<Entry>> cells = new HashMap<>();
+        int size;
+
+        void add(long cell, Entry entry) {
+            cells.computeIfAbsent(cell, k -> new ArrayList<>(4)).add(entry);
+            size++;
+        }
+
+        /**
+         * Visit the entries filed in cells that a box (plus margins) touches, in cell order
+         */
+        void forEach(double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                     Consumer<Entry> action) {
+            int cellMinX = floor(minX - HORIZONTAL_MARGIN) >> CELL_SHIFT, cellMaxX = floor(maxX + HORIZONTAL_MARGIN) >> CELL_SHIFT;
+            int cellMinY = floor(minY - VERTICAL_MARGIN) >> CELL_SHIFT, cellMaxY = floor(maxY) >> CELL_SHIFT;
+            int cellMinZ = floor(minZ - HORIZONTAL_MARGIN) >> CELL_SHIFT, cellMaxZ = floor(maxZ + HORIZONTAL_MARGIN) >> CELL_SHIFT;
+
+            for (int cx = cellMinX; cx <= cellMaxX; cx++) {
+                for (int cy = cellMinY; cy <= cellMaxY; cy++) {
+                    for (int cz = cellMinZ; cz <= cellMaxZ; cz++) {
+                        List<Entry> entries = cells.get(pack(cx, cy, cz));
+                        if (entries == null) continue;
+
+                        for (int i = 0; i < entries.size(); i++) {
+                            action.accept(entries.get(i));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * An entity and its bounding box when its zone was loaded
+     */
+    private static final class Entry {
+        final LivingEntity entity;
+        final double minX, minY, minZ, maxX, maxY, maxZ;
+
+        Entry(LivingEntity entity, BoundingBox box) {
+            this.entity = entity;
+            this.minX = box.getMinX();
+            this.minY = box.getMinY();
+            this.minZ = box.getMinZ();
+            this.maxX = box.getMaxX();
+            this.maxY = box.getMaxY();
+            this.maxZ = box.getMaxZ();
+        }
+
+        /**
+         * Squared distance from a point to the nearest point of the box (0 inside it)
+         */
+        double distanceSquared(double x, double y, double z) {
+            double dx = Math.max(Math.max(minX - x, 0), x - maxX);
+            double dy = Math.max(Math.max(minY - y, 0), y - maxY);
+            double dz = Math.max(Math.max(minZ - z, 0), z - maxZ);
+            return dx * dx + dy * dy + dz * dz;
+        }
+
+        double centerX() { return (minX + maxX) / 2; }
+        double centerY() { return (minY + maxY) / 2; }
+        double centerZ() { return (minZ + maxZ) / 2; }
+
+        boolean isAlive() {
+            return entity.isValid() && !entity.isDead();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package saturn.elementPlugin.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Set of keys that each drop out after their own duration (cooldowns, message throttles).
+ * Every key holds one timeout on the shared {@link TimingWheel} that removes it when due,
+ * so the set only ever contains live keys and never needs a cleanup pass.
+ */
+public class ExpiringSet<K> {
+    private final TimingWheel wheel;
+    private final Map<K, TimingWheel.Timeout> entries = new ConcurrentHashMap<>();
+
+    public ExpiringSet(TimingWheel wheel) {
+        this.wheel = wheel;
+    }
+
+    /**
+     * Add a key for a number of ticks, replacing any remaining time it had (main thread)
+     */
+    public void add(K key, long ticks) {
+        TimingWheel.Timeout[] holder = new TimingWheel.Timeout[1];
+        holder[0] = wheel.schedule(ticks, () -> entries.remove(key, holder[0]));
+
+        TimingWheel.Timeout previous = entries.put(key, holder[0]);
+        if (previous != null) previous.cancel();
+    }
+
+    public void addMillis(K key, long millis) {
+        add(key, (millis + 49) / 50);
+    }
+
+    public boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    public boolean remove(K key) {
+        TimingWheel.Timeout timeout = entries.remove(key);
+        if (timeout == null) return false;
+
+        timeout.cancel();
+        return true;
+    }
+
+    /**
+     * @return milliseconds until the key drops out, 0 if absent
+     */
+    public long getRemainingMillis(K key) {
+        TimingWheel.Timeout timeout = entries.get(key);
+        return timeout != null ? timeout.getRemainingMillis() : 0;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public TimingWheel getWheel() {
+        return wheel;
+    }
+}
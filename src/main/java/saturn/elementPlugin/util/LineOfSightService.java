@@ -0,0 +1,317 @@
+package saturn.elementPlugin.util;
+
+import org.bukkit.FluidCollisionMode;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.util.RayTraceResult;
+import org.bukkit.util.Vector;
+
+import java.util.*;
+
+/**
+ * Cached line-of-sight checks between ability casters and their targets (main thread only).
+ *
+ * A check ray traces blocks from the caster's eyes to the target's eyes (passable blocks and
+ * fluids don't block). The result is kept per caster and target and reused while:
+ * <ul>
+ *   <li>both eyes are still in the same blocks as when it was traced,</li>
+ *   <li>it is younger than the TTL, and</li>
+ *   <li>no block changed in the chunks the ray crossed since it was traced.</li>
+ * </ul>
+ * {@link #hasLineOfSight} traces on the spot when the result is not reusable. Abilities that
+ * check the same targets every tick use {@link #pollLineOfSight} instead: it answers with the
+ * previous result and queues a refresh, and {@link #tick()} traces the queued refreshes together
+ * at the end of the tick, up to a per-tick limit.
+ */
+public class LineOfSightService {
+    private static final int SWEEP_INTERVAL_TICKS = 20;
+
+    private final int ttlTicks;
+    private final int maxStaleTicks;
+    private final int tracesPerTick;
+
+    // Results by caster, then target
+    private final Map<UUID, Map<UUID, Entry>> entries = new HashMap<>();
+    // Tick of the last block change in each chunk, by world
+    private final Map<World, Map<Long, Long>> chunkChanges = new HashMap<>();
+    private final ArrayDeque<Entry> refreshes = new ArrayDeque<>();
+    private long currentTick;
+
+    // Metrics
+    private long hits;
+    private long staleHits;
+    private long misses;
+    private long traces;
+    private long blockChanges;
+
+    /**
+     * @param ttlTicks how long a result is reused without tracing again
+     * @param tracesPerTick queued refreshes traced per tick (the rest wait for the next one)
+     */
+    public LineOfSightService(int ttlTicks, int tracesPerTick) {
+        this.ttlTicks = Math.max(1, ttlTicks);
+        this.maxStaleTicks = this.ttlTicks * 2;
+        this.tracesPerTick = Math.max(1, tracesPerTick);
+    }
+
+    // ========================================
+    // CHECKS
+    // ========================================
+
+    /**
+     * Whether no solid block is between the caster's and the target's eyes right now
+     */
+    public boolean hasLineOfSight(Player caster, LivingEntity target) {
+        Location from = caster.getEyeLocation();
+        Location to = target.getEyeLocation();
+        if (from.getWorld() != to.getWorld()) return false;
+
+        Entry entry = entry(caster, target);
+        if (isFresh(entry, from, to)) {
+            hits++;
+            return entry.visible;
+        }
+
+        misses++;
+        trace(entry, from, to);
+        return entry.visible;
+    }
+
+    /**
+     * Like {@link #hasLineOfSight}, but when only an outdated result is cached it is returned
+     * as is and traced again at the end of the tick - for checks repeated every tick
+     */
+    public boolean pollLineOfSight(Player caster, LivingEntity target) {
+        Location from = caster.getEyeLocation();
+        Location to = target.getEyeLocation();
+        if (from.getWorld() != to.getWorld()) return false;
+
+        Entry entry = entry(caster, target);
+        if (isFresh(entry, from, to)) {
+            hits++;
+            return entry.visible;
+        }
+
+        if (entry.world == from.getWorld() && currentTick - entry.tracedTick < maxStaleTicks) {
+            staleHits++;
+            if (!entry.queued) {
+                entry.queued = true;
+                entry.caster = caster;
+                entry.target = target;
+                refreshes.add(entry);
+            }
+            return entry.visible;
+        }
+
+        misses++;
+        trace(entry, from, to);
+        return entry.visible;
+    }
+
+    private Entry entry(Player caster, LivingEntity target) {
+        return entries.computeIfAbsent(caster.getUniqueId(), k -> new HashMap<>())
+                .computeIfAbsent(target.getUniqueId(), k -> new Entry());
+    }
+
+    private boolean isFresh(Entry entry, Location from, Location to) {
+        if (entry.world != from.getWorld() || currentTick - entry.tracedTick >= ttlTicks) return false;
+        if (entry.fromBlock != pack(from.getBlockX(), from.getBlockY(), from.getBlockZ())) return false;
+        if (entry.toBlock != pack(to.getBlockX(), to.getBlockY(), to.getBlockZ())) return false;
+
+        Map<Long, Long> changes = chunkChanges.get(entry.world);
+        if (changes == null) return true;
+
+        for (int cx = entry.minChunkX; cx <= entry.maxChunkX; cx++) {
+            for (int cz = entry.minChunkZ; cz <= entry.maxChunkZ; cz++) {
+                Long changed = changes.get(chunkKey(cx, cz));
+                if (changed != null && changed >= entry.tracedTick) return false;
+            }
+        }
+        return true;
+    }
+
+    private void trace(Entry entry, Location from, Location to) {
+        traces++;
+        World world = from.getWorld();
+        double dx = to.getX() - from.getX(), dy = to.getY() - from.getY(), dz = to.getZ() - from.getZ();
+        double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+
+        boolean visible = true;
+        if (distance > 1.0E-6) {
+            Vector direction = new Vector(dx / distance, dy / distance, dz / distance);
+            RayTraceResult result = world.rayTraceBlocks(from, direction, distance, FluidCollisionMode.NEVER, true);
+            visible = result == null || result.getHitBlock() == null;
+        }
+
+        entry.world = world;
+        entry.fromBlock = pack(from.getBlockX(), from.getBlockY(), from.getBlockZ());
+        entry.toBlock = pack(to.getBlockX(), to.getBlockY(), to.getBlockZ());
+        entry.minChunkX = Math.min(from.getBlockX(), to.getBlockX()) >> 4;
+        entry.maxChunkX = Math.max(from.getBlockX(), to.getBlockX()) >> 4;
+        entry.minChunkZ = Math.min(from.getBlockZ(), to.getBlockZ()) >> 4;
+        entry.maxChunkZ = Math.max(from.getBlockZ(), to.getBlockZ()) >> 4;
+        entry.tracedTick = currentTick;
+        entry.visible = visible;
+    }
+
+    // ========================================
+    // BLOCK CHANGES
+    // ========================================
+
+    /**
+     * A block was placed, broken or replaced - results crossing its chunk are traced again
+     */
+    public void blockChanged(Block block) {
+        blockChanges++;
+        chunkChanges.computeIfAbsent(block.getWorld(), w -> new HashMap<>())
+                .put(chunkKey(block.getX() >> 4, block.getZ() >> 4), currentTick);
+    }
+
+    public void blocksChanged(Collection<Block> blocks) {
+        for (Block block : blocks) {
+            blockChanged(block);
+        }
+    }
+
+    // ========================================
+    // TICK
+    // ========================================
+
+    /**
+     * Trace the refreshes queued this tick and drop old results (called every server tick)
+     */
+    public void tick() {
+        int budget = tracesPerTick;
+        while (budget > 0 && !refreshes.isEmpty()) {
+            Entry entry = refreshes.poll();
+            Player caster = entry.caster;
+            LivingEntity target = entry.target;
+            entry.queued = false;
+            entry.caster = null;
+            entry.target = null;
+            if (!caster.isValid() || !target.isValid()) continue;
+
+            Location from = caster.getEyeLocation();
+            Location to = target.getEyeLocation();
+            if (from.getWorld() != to.getWorld() || isFresh(entry, from, to)) continue;
+
+            trace(entry, from, to);
+            budget--;
+        }
+
+        if (currentTick % SWEEP_INTERVAL_TICKS == 0) {
+            sweep();
+        }
+        currentTick++;
+    }
+
+    /**
+     * Forget results too old to be used, and block changes older than any usable result
+     */
+    private void sweep() {
+        long oldestResult = currentTick - maxStaleTicks;
+        entries.values().removeIf(targets -> {
+            targets.values().removeIf(entry -> !entry.queued && entry.tracedTick < oldestResult);
+            return targets.isEmpty();
+        });
+
+        long oldestChange = currentTick - ttlTicks;
+        chunkChanges.values().removeIf(changes -> {
+            changes.values().removeIf(changedTick -> changedTick < oldestChange);
+            return changes.isEmpty();
+        });
+    }
+
+    public void clear() {
+        entries.clear();
+        chunkChanges.clear();
+        refreshes.clear();
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Pack block coordinates: 26 bits for x and z, 12 for y
+     */
+    private static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (y & 0xFFF) << 26) | (z & 0x3FFFFFF);
+    }
+
+    // ========================================
+    // STATISTICS
+    // ========================================
+
+    /**
+     * Checks answered from a result that was still valid
+     */
+    public long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Polls answered from an outdated result while it was traced again
+     */
+    public long getStaleHitCount() {
+        return staleHits;
+    }
+
+    /**
+     * Checks that had to trace before answering
+     */
+    public long getMissCount() {
+        return misses;
+    }
+
+    public long getTraceCount() {
+        return traces;
+    }
+
+    public long getBlockChangeCount() {
+        return blockChanges;
+    }
+
+    /**
+     * Share of checks answered from a still valid result (0 before any check)
+     */
+    public double getHitRate() {
+        long checks = hits + staleHits + misses;
+        return checks == 0 ? 0.0 : (double) hits / checks;
+    }
+
+    public int getCachedCount() {
+        int count = 0;
+        for (Map<UUID, Entry> targets : entries.values()) {
+            count += targets.size();
+        }
+        return count;
+    }
+
+    public int getQueuedCount() {
+        return refreshes.size();
+    }
+
+    // ========================================
+    // INTERNALS
+    // ========================================
+
+    /**
+     * Last traced result for one caster and target
+     */
+    private static final class Entry {
+        World world; // null until first traced
+        long fromBlock, toBlock;
+        int minChunkX, maxChunkX, minChunkZ, maxChunkZ;
+        long tracedTick;
+        boolean visible;
+
+        // Set while a refresh is queued
+        boolean queued;
+        Player caster;
+        LivingEntity target;
+    }
+}
@@ -0,0 +1,156 @@
+package saturn.elementPlugin.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongPredicate;
+
+/**
+ * Open-addressing hash set of positive longs.
+ * Reads are lock-free and allocation-free from any thread; writes are serialized on the set.
+ * Removed keys leave a tombstone so concurrent probes never stop early, and growing
+ * builds a new table that is published in one volatile write - a reader always sees
+ * either the old or the new table, never a half-built one.
+ */
+public class LongHashSet {
+    private static final long EMPTY = 0;
+    private static final long TOMBSTONE = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    private volatile AtomicLongArray table;
+    private int size;     // Live keys (guarded by this)
+    private int occupied; // Live keys + tombstones (guarded by this)
+
+    public LongHashSet(int expectedSize) {
+        this.table = new AtomicLongArray(capacityFor(expectedSize));
+    }
+
+    // ========================================
+    // READ (lock-free)
+    // ========================================
+
+    public boolean contains(long key) {
+        if (key <= 0) return false; // Would match an empty slot or a tombstone
+
+        AtomicLongArray t = table;
+        int mask = t.length() - 1;
+
+        for (int i = index(key, mask); ; i = (i + 1) & mask) {
+            long slot = t.get(i);
+            if (slot == key) return true;
+            if (slot == EMPTY) return false;
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // ========================================
+    // WRITE
+    // ========================================
+
+    /**
+     * @return true if the key was not present
+     */
+    public synchronized boolean add(long key) {
+        checkKey(key);
+        if (contains(key)) return false;
+
+        if ((occupied + 1) * 2 > table.length()) {
+            // Grow if mostly live keys, otherwise just sweep the tombstones
+            rehash(size * 4 > table.length() ? table.length() * 2 : table.length());
+        }
+
+        AtomicLongArray t = table;
+        int mask = t.length() - 1;
+        for (int i = index(key, mask); ; i = (i + 1) & mask) {
+            long slot = t.get(i);
+            if (slot == EMPTY || slot == TOMBSTONE) {
+                if (slot == EMPTY) occupied++;
+                t.set(i, key);
+                size++;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return true if the key was present
+     */
+    public synchronized boolean remove(long key) {
+        checkKey(key);
+        AtomicLongArray t = table;
+        int mask = t.length() - 1;
+
+        for (int i = index(key, mask); ; i = (i + 1) & mask) {
+            long slot = t.get(i);
+            if (slot == key) {
+                t.set(i, TOMBSTONE);
+                size--;
+                return true;
+            }
+            if (slot == EMPTY) return false;
+        }
+    }
+
+    /**
+     * Remove every key matching the filter (full scan)
+     * @return number of keys removed
+     */
+    public synchronized int removeIf(LongPredicate filter) {
+        AtomicLongArray t = table;
+        int removed = 0;
+
+        for (int i = 0; i < t.length(); i++) {
+            long slot = t.get(i);
+            if (slot != EMPTY && slot != TOMBSTONE && filter.test(slot)) {
+                t.set(i, TOMBSTONE);
+                removed++;
+            }
+        }
+        size -= removed;
+        return removed;
+    }
+
+    private void rehash(int capacity) {
+        AtomicLongArray old = table;
+        AtomicLongArray fresh = new AtomicLongArray(Math.max(MIN_CAPACITY, capacity));
+        int mask = fresh.length() - 1;
+
+        for (int i = 0; i < old.length(); i++) {
+            long key = old.get(i);
+            if (key == EMPTY || key == TOMBSTONE) continue;
+
+            int j = index(key, mask);
+            while (fresh.get(j) != EMPTY) {
+                j = (j + 1) & mask;
+            }
+            fresh.set(j, key);
+        }
+
+        occupied = size;
+        table = fresh;
+    }
+
+    // ========================================
+    // HELPERS
+    // ========================================
+
+    private static int index(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L; // Fibonacci hashing spreads sequential ids
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static void checkKey(long key) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Keys must be positive: " + key);
+        }
+    }
+}
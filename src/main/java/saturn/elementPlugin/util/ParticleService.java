@@ -0,0 +1,347 @@
+package saturn.elementPlugin.util;
+
+import saturn.elementPlugin.ElementPlugin;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Every ability particle goes through here instead of World.spawnParticle(..., force=true).
+ *
+ * Emissions are queued during the tick and sent by {@link #flush()} (once per tick, main thread):
+ * <ul>
+ *   <li>Identical emissions at (nearly) the same spot in one tick are merged into one packet.</li>
+ *   <li>Each caster has a particle budget per tick, and so does the whole server. Over budget,
+ *       every emission is thinned evenly (not cut off at the end), so shapes stay whole.</li>
+ *   <li>Only players within the view radius receive an emission. Past the full-detail radius the
+ *       density falls off linearly down to the minimum density at the edge.</li>
+ * </ul>
+ * Thinning uses a running remainder, so a ring of single particles at half density sends
+ * every other point instead of rounding each one to zero.
+ */
+public class ParticleService {
+    private static final int MERGE_GRID = 8; // Emissions within 1/8 block are merged
+    private static final double CREDIT_EPSILON = 1e-9; // Rounding error in the running remainders
+
+    private final Logger logger;
+    private final double viewRadiusSquared;
+    private final double fullDetailRadius;
+    private final double falloffRange;
+    private final double minDensity;
+    private final int serverBudget;
+    private final int casterBudget;
+
+    // Pending emissions (in submit order), indexed for merging, and what each caster has queued this tick
+    private final List<Emission> pending = new ArrayList<>();
+    private final Map<Emission, Emission> mergeIndex = new HashMap<>();
+    private final Map<UUID, Budget> budgets = new HashMap<>();
+    private final Budget uncasted = new Budget();
+
+    // Reused by flush()
+    private final List<Player> receivers = new ArrayList<>();
+    private final List<Player> single = new ArrayList<>(1);
+
+    // Metrics (particles)
+    private long submitted;
+    private long merged;
+    private long emitted;
+    private long dropped;
+    private long thinned;
+
+    public ParticleService(ElementPlugin plugin) {
+        this(plugin.getLogger(), plugin.getParticleViewRadius(), plugin.getParticleFullDetailRadius(),
+                plugin.getParticleMinDensity(), plugin.getParticleBudgetPerTick(), plugin.getParticleBudgetPerCaster());
+    }
+
+    ParticleService(Logger logger, double viewRadius, double fullDetailRadius, double minDensity,
+                    int serverBudget, int casterBudget) {
+        this.logger = logger;
+        this.viewRadiusSquared = viewRadius * viewRadius;
+        this.fullDetailRadius = Math.min(fullDetailRadius, viewRadius);
+        this.falloffRange = Math.max(0.001, viewRadius - this.fullDetailRadius);
+        this.minDensity = Math.max(0.0, Math.min(1.0, minDensity));
+        this.serverBudget = serverBudget;
+        this.casterBudget = casterBudget;
+    }
+
+    // ========================================
+    // SUBMIT
+    // ========================================
+
+    public void spawn(Player caster, Particle particle, Location location, int count,
+                      double offsetX, double offsetY, double offsetZ, double extra) {
+        spawn(caster, particle, location, count, offsetX, offsetY, offsetZ, extra, null);
+    }
+
+    public void spawn(Player caster, Particle particle, Location location, int count,
+                      double offsetX, double offsetY, double offsetZ, double extra, Object data) {
+        spawn(caster, particle, location.getWorld(), location.getX(), location.getY(), location.getZ(),
+                count, offsetX, offsetY, offsetZ, extra, data);
+    }
+
+    /**
+     * Queue a particle emission for this tick
+     * @param caster player the particles are charged to, or null for the server budget only
+     * @param count like World.spawnParticle - 0 means one particle moving along the offsets
+     * @throws IllegalArgumentException if the data does not match the particle, like World.spawnParticle
+     */
+    public void spawn(Player caster, Particle particle, World world, double x, double y, double z, int count,
+                      double offsetX, double offsetY, double offsetZ, double extra, Object data) {
+        Class<?> dataType = particle.getDataType();
+        if (data == null ? dataType != Void.class : !dataType.isInstance(data)) {
+            throw new IllegalArgumentException("Particle " + particle + " needs data of type " + dataType.getName());
+        }
+        if (world == null || count < 0) return;
+
+        int weight = Math.max(1, count);
+        submitted += weight;
+
+        Budget budget = caster != null ? budgets.computeIfAbsent(caster.getUniqueId(), k -> new Budget()) : uncasted;
+        budget.queued += weight;
+
+        Emission emission = new Emission(caster != null ? caster.getUniqueId() : null, particle, world,
+                x, y, z, count, offsetX, offsetY, offsetZ, extra, data);
+        if (count == 0) {
+            // Directional particle - a count of 0 cannot be summed, so it keeps its own emission
+            pending.add(emission);
+            return;
+        }
+
+        Emission existing = mergeIndex.putIfAbsent(emission, emission);
+        if (existing != null) {
+            existing.count += count;
+            merged += count;
+        } else {
+            pending.add(emission);
+        }
+    }
+
+    // ========================================
+    // FLUSH
+    // ========================================
+
+    /**
+     * Send everything queued this tick (called every server tick)
+     */
+    public void flush() {
+        if (pending.isEmpty()) return;
+
+        // Per-caster budgets first, then scale everyone down if the server budget is exceeded
+        long queued = 0;
+        for (Budget budget : budgets.values()) {
+            budget.factor = budget.queued > casterBudget ? (double) casterBudget / budget.queued : 1.0;
+            queued += Math.min(budget.queued, casterBudget);
+        }
+        queued += uncasted.queued;
+        uncasted.factor = 1.0;
+        double serverFactor = queued > serverBudget ? (double) serverBudget / queued : 1.0;
+
+        Map<World, Viewers> viewers = new HashMap<>();
+        for (Emission emission : pending) {
+            Budget budget = emission.caster != null ? budgets.get(emission.caster) : uncasted;
+            int weight = Math.max(1, emission.count);
+
+            budget.credit += weight * budget.factor * serverFactor;
+            int kept = (int) (budget.credit + CREDIT_EPSILON);
+            budget.credit -= kept;
+            dropped += weight - kept;
+            if (kept == 0) continue;
+
+            try {
+                send(emission, kept, viewers.computeIfAbsent(emission.world, Viewers::new));
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Failed to send particle " + emission.particle, e);
+            }
+        }
+
+        pending.clear();
+        mergeIndex.clear();
+        budgets.clear();
+        uncasted.queued = 0;
+        uncasted.credit = 0;
+    }
+
+    private void send(Emission emission, int kept, Viewers viewers) {
+        receivers.clear();
+        for (int i = 0; i < viewers.players.size(); i++) {
+            double dx = viewers.x[i] - emission.x;
+            double dy = viewers.y[i] - emission.y;
+            double dz = viewers.z[i] - emission.z;
+            double distanceSquared = dx * dx + dy * dy + dz * dz;
+            if (distanceSquared > viewRadiusSquared) continue;
+
+            viewers.credit[i] += kept * density(distanceSquared);
+            int amount = (int) (viewers.credit[i] + CREDIT_EPSILON);
+            viewers.credit[i] -= amount;
+            thinned += kept - amount;
+            if (amount == 0) continue;
+
+            emitted += amount;
+            if (amount == kept) {
+                receivers.add(viewers.players.get(i));
+            } else {
+                single.clear();
+                single.add(viewers.players.get(i));
+                spawnFor(single, emission, amount);
+            }
+        }
+
+        if (!receivers.isEmpty()) {
+            spawnFor(receivers, emission, kept);
+        }
+    }
+
+    private void spawnFor(List<Player> players, Emission emission, int amount) {
+        emission.world.spawnParticle(emission.particle, players, null, emission.x, emission.y, emission.z,
+                emission.count == 0 ? 0 : amount, emission.offsetX, emission.offsetY, emission.offsetZ,
+                emission.extra, emission.data, true);
+    }
+
+    /**
+     * Share of particles a viewer at this distance gets
+     */
+    private double density(double distanceSquared) {
+        double distance = Math.sqrt(distanceSquared);
+        if (distance <= fullDetailRadius) return 1.0;
+
+        double t = (distance - fullDetailRadius) / falloffRange;
+        return 1.0 - t * (1.0 - minDensity);
+    }
+
+    // ========================================
+    // STATISTICS
+    // ========================================
+
+    /**
+     * Particles abilities asked for
+     */
+    public long getSubmittedCount() {
+        return submitted;
+    }
+
+    /**
+     * Particles folded into an identical emission in the same tick
+     */
+    public long getMergedCount() {
+        return merged;
+    }
+
+    /**
+     * Particles actually sent, counted once per receiving player
+     */
+    public long getEmittedCount() {
+        return emitted;
+    }
+
+    /**
+     * Particles dropped by the caster or server budget
+     */
+    public long getDroppedCount() {
+        return dropped;
+    }
+
+    /**
+     * Particles left out for distant viewers
+     */
+    public long getThinnedCount() {
+        return thinned;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    // ========================================
+    // INTERNALS
+    // ========================================
+
+    private static final class Budget {
+        long queued;
+        double factor = 1.0;
+        double credit;
+    }
+
+    /**
+     * Positions of a world's players, taken once per flush
+     */
+    private static final class Viewers {
+        final List<Player> players;
+        final double[] x;
+        final double[] y;
+        final double[] z;
+        final double[] credit;
+
+        Viewers(World world) {
+            this.players = world.getPlayers();
+            int size = players.size();
+            this.x = new double[size];
+            this.y = new double[size];
+            this.z = new double[size];
+            this.credit = new double[size];
+            for (int i = 0; i < size; i++) {
+                Location loc = players.get(i).getLocation();
+                x[i] = loc.getX();
+                y[i] = loc.getY();
+                z[i] = loc.getZ();
+            }
+        }
+    }
+
+    /**
+     * One queued emission; equal (and merged) when everything but the count matches
+     * and the positions fall in the same 1/8 block cell
+     */
+    private static final class Emission {
+        final UUID caster;
+        final Particle particle;
+        final World world;
+        final double x, y, z;
+        final double offsetX, offsetY, offsetZ, extra;
+        final Object data;
+        final long cellX, cellY, cellZ;
+        int count;
+
+        Emission(UUID caster, Particle particle, World world, double x, double y, double z, int count,
+                 double offsetX, double offsetY, double offsetZ, double extra, Object data) {
+            this.caster = caster;
+            this.particle = particle;
+            this.world = world;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.count = count;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.offsetZ = offsetZ;
+            this.extra = extra;
+            this.data = data;
+            this.cellX = (long) Math.floor(x * MERGE_GRID);
+            this.cellY = (long) Math.floor(y * MERGE_GRID);
+            this.cellZ = (long) Math.floor(z * MERGE_GRID);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Emission other)) return false;
+            return cellX == other.cellX && cellY == other.cellY && cellZ == other.cellZ
+                    && particle == other.particle && world.equals(other.world)
+                    && offsetX == other.offsetX && offsetY == other.offsetY && offsetZ == other.offsetZ
+                    && extra == other.extra && Objects.equals(caster, other.caster) && Objects.equals(data, other.data);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = particle.hashCode();
+            hash = 31 * hash + Long.hashCode(cellX);
+            hash = 31 * hash + Long.hashCode(cellY);
+            hash = 31 * hash + Long.hashCode(cellZ);
+            return hash;
+        }
+    }
+}
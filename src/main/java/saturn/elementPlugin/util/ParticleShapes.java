@@ -0,0 +1,214 @@
+package saturn.elementPlugin.util;
+
+import org.bukkit.Location;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed particle shapes (rings, columns, spokes, spheres, spirals).
+ *
+ * Each shape is a table of unit offsets, built once per shape and resolution and shared, so
+ * drawing one does no trigonometry. A {@link Cursor} scales, rotates and moves those offsets
+ * into its own x/y/z fields, so drawing allocates nothing:
+ * <pre>
+ *   private static final ParticleShapes.Shape RING = ParticleShapes.ring(36);
+ *
+ *   cursor.at(center).scale(radius, 1.0);
+ *   for (int i = 0; i < RING.size(); i++) {
+ *       cursor.point(RING, i);
+ *       particles.spawn(player, Particle.FLAME, world, cursor.x, cursor.y, cursor.z, 1, 0, 0, 0, 0, null);
+ *   }
+ * </pre>
+ * Keep shapes in static fields - the lookup itself builds a key.
+ */
+public final class ParticleShapes {
+    private static final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+
+    private ParticleShapes() {
+    }
+
+    // ========================================
+    // SHAPES
+    // ========================================
+
+    /**
+     * Unit circle in the XZ plane, point i at angle 2πi/points (starting on +X)
+     */
+    public static Shape ring(int points) {
+        return shapes.computeIfAbsent("ring:" + points, k -> {
+            Shape shape = new Shape(points);
+            for (int i = 0; i < points; i++) {
+                double angle = 2 * Math.PI * i / points;
+                shape.set(i, Math.cos(angle), 0, Math.sin(angle));
+            }
+            return shape;
+        });
+    }
+
+    /**
+     * Vertical line from y=0 to y=1 (both ends included)
+     */
+    public static Shape column(int points) {
+        return shapes.computeIfAbsent("column:" + points, k -> {
+            Shape shape = new Shape(points);
+            for (int i = 0; i < points; i++) {
+                shape.set(i, 0, fraction(i, points), 0);
+            }
+            return shape;
+        });
+    }
+
+    /**
+     * Lines from the centre out to distance 1 (both ends included), evenly spread around Y
+     */
+    public static Shape spokes(int spokes, int pointsPerSpoke) {
+        return shapes.computeIfAbsent("spokes:" + spokes + ":" + pointsPerSpoke, k -> {
+            Shape shape = new Shape(spokes * pointsPerSpoke);
+            int n = 0;
+            for (int s = 0; s < spokes; s++) {
+                double angle = 2 * Math.PI * s / spokes;
+                for (int i = 0; i < pointsPerSpoke; i++) {
+                    double r = fraction(i, pointsPerSpoke);
+                    shape.set(n++, Math.cos(angle) * r, 0, Math.sin(angle) * r);
+                }
+            }
+            return shape;
+        });
+    }
+
+    /**
+     * Unit sphere, theta = πi/rings from the top, phi = 2πj/segments around Y
+     */
+    public static Shape sphere(int rings, int segments) {
+        return shapes.computeIfAbsent("sphere:" + rings + ":" + segments, k -> {
+            Shape shape = new Shape(rings * segments);
+            int n = 0;
+            for (int i = 0; i < rings; i++) {
+                double theta = Math.PI * i / rings;
+                for (int j = 0; j < segments; j++) {
+                    double phi = 2 * Math.PI * j / segments;
+                    shape.set(n++, Math.sin(theta) * Math.cos(phi), Math.cos(theta), Math.sin(theta) * Math.sin(phi));
+                }
+            }
+            return shape;
+        });
+    }
+
+    /**
+     * Spiral arms widening from the centre: point i of an arm is at t = i/points,
+     * radius t, height t and angle t * turns * 2π (arms evenly offset)
+     */
+    public static Shape spiral(int arms, int pointsPerArm, double turns) {
+        return shapes.computeIfAbsent("spiral:" + arms + ":" + pointsPerArm + ":" + turns, k -> {
+            Shape shape = new Shape(arms * pointsPerArm);
+            int n = 0;
+            for (int a = 0; a < arms; a++) {
+                double armOffset = 2 * Math.PI * a / arms;
+                for (int i = 0; i < pointsPerArm; i++) {
+                    double t = (double) i / pointsPerArm;
+                    double angle = t * turns * 2 * Math.PI + armOffset;
+                    shape.set(n++, Math.cos(angle) * t, t, Math.sin(angle) * t);
+                }
+            }
+            return shape;
+        });
+    }
+
+    private static double fraction(int i, int points) {
+        return points > 1 ? (double) i / (points - 1) : 0.0;
+    }
+
+    // ========================================
+    // SHAPE
+    // ========================================
+
+    /**
+     * Unit offsets of a shape (read-only once built)
+     */
+    public static final class Shape {
+        private final float[] x;
+        private final float[] y;
+        private final float[] z;
+
+        private Shape(int size) {
+            this.x = new float[size];
+            this.y = new float[size];
+            this.z = new float[size];
+        }
+
+        private void set(int i, double px, double py, double pz) {
+            x[i] = (float) px;
+            y[i] = (float) py;
+            z[i] = (float) pz;
+        }
+
+        public int size() { return x.length; }
+        public float getX(int i) { return x[i]; }
+        public float getY(int i) { return y[i]; }
+        public float getZ(int i) { return z[i]; }
+    }
+
+    // ========================================
+    // CURSOR
+    // ========================================
+
+    /**
+     * Reusable placement of shape points: centre, horizontal and vertical scale, and rotation
+     * around Y. {@link #point} writes the placed point into x, y and z.
+     * Not thread-safe - keep one per ability effect (or per ability on the main thread).
+     */
+    public static final class Cursor {
+        public double x;
+        public double y;
+        public double z;
+
+        private double centerX, centerY, centerZ;
+        private double scale = 1.0;
+        private double scaleY = 1.0;
+        private double cos = 1.0;
+        private double sin = 0.0;
+
+        public Cursor at(Location center) {
+            return at(center.getX(), center.getY(), center.getZ());
+        }
+
+        public Cursor at(double x, double y, double z) {
+            this.centerX = x;
+            this.centerY = y;
+            this.centerZ = z;
+            return this;
+        }
+
+        /**
+         * @param radius scale along X and Z
+         * @param height scale along Y
+         */
+        public Cursor scale(double radius, double height) {
+            this.scale = radius;
+            this.scaleY = height;
+            return this;
+        }
+
+        /**
+         * Rotate around Y (counter-clockwise from +X towards +Z, like the shapes' angles)
+         */
+        public Cursor rotate(double radians) {
+            this.cos = Math.cos(radians);
+            this.sin = Math.sin(radians);
+            return this;
+        }
+
+        /**
+         * Place point i of a shape
+         */
+        public Cursor point(Shape shape, int i) {
+            double px = shape.x[i];
+            double pz = shape.z[i];
+            x = centerX + (px * cos - pz * sin) * scale;
+            y = centerY + shape.y[i] * scaleY;
+            z = centerZ + (px * sin + pz * cos) * scale;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package saturn.elementPlugin.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hierarchical timing wheel for everything that expires after a number of ticks
+ * (cooldowns, request expiry, delayed cleanup).
+ *
+ * Four levels of 64 slots: level 0 holds timeouts due within 64 ticks, each higher level
+ * covers 64 times the span of the one below (up to ~9.7 days). Each slot is a doubly-linked
+ * list, so scheduling and cancelling are O(1); higher-level slots are moved down a level as
+ * the wheel turns. {@link #tick()} is called once per server tick on the main thread and
+ * runs the expired tasks there. Scheduling and cancelling are safe from any thread.
+ */
+public class TimingWheel {
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final long MAX_SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    private final Timeout[][] wheel = new Timeout[LEVELS][SLOTS];
+    private final Logger logger;
+
+    private long currentTick; // Guarded by this
+    private int pending;      // Guarded by this
+
+    public TimingWheel(Logger logger) {
+        this.logger = logger;
+    }
+
+    // ========================================
+    // SCHEDULING
+    // ========================================
+
+    /**
+     * Run a task after a number of ticks (at least 1)
+     */
+    public synchronized Timeout schedule(long delayTicks, Runnable task) {
+        Timeout timeout = new Timeout(this, currentTick + Math.max(1, delayTicks), task);
+        place(timeout);
+        pending++;
+        return timeout;
+    }
+
+    /**
+     * Run a task after a number of milliseconds (rounded up to whole ticks)
+     */
+    public Timeout scheduleMillis(long delayMillis, Runnable task) {
+        return schedule((delayMillis + 49) / 50, task);
+    }
+
+    private synchronized boolean cancel(Timeout timeout) {
+        if (timeout.level < 0) return false; // Already fired or cancelled
+
+        unlink(timeout);
+        pending--;
+        return true;
+    }
+
+    // ========================================
+    // TICK
+    // ========================================
+
+    /**
+     * Advance one tick and run every task that is now due (main thread)
+     */
+    public void tick() {
+        List<Timeout> due = new ArrayList<>();
+
+        synchronized (this) {
+            long now = ++currentTick;
+
+            // Move the next block of each higher level down, highest first so
+            // timeouts can fall through several levels in one tick
+            for (int level = LEVELS - 1; level > 0; level--) {
+                int shift = SLOT_BITS * level;
+                if ((now & ((1L << shift) - 1)) != 0) continue;
+
+                Timeout timeout = wheel[level][(int) (now >>> shift) & SLOT_MASK];
+                while (timeout != null) {
+                    Timeout next = timeout.next;
+                    unlink(timeout);
+                    place(timeout);
+                    timeout = next;
+                }
+            }
+
+            Timeout timeout = wheel[0][(int) now & SLOT_MASK];
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                unlink(timeout);
+                if (timeout.deadline <= now) {
+                    due.add(timeout);
+                    pending--;
+                } else {
+                    place(timeout); // Can't happen with a correct wheel, but never drop a timeout
+                }
+                timeout = next;
+            }
+        }
+
+        for (Timeout timeout : due) {
+            try {
+                timeout.task.run();
+            } catch (Throwable t) {
+                logger.log(Level.SEVERE, "Timed task failed", t);
+            }
+        }
+    }
+
+    public synchronized long getCurrentTick() {
+        return currentTick;
+    }
+
+    public synchronized int getPendingCount() {
+        return pending;
+    }
+
+    // ========================================
+    // SLOT LISTS
+    // ========================================
+
+    private void place(Timeout timeout) {
+        long delta = timeout.deadline - currentTick;
+        long target = delta < MAX_SPAN ? timeout.deadline : currentTick + MAX_SPAN - 1; // Re-placed on the way down
+
+        int level = 0;
+        while (level < LEVELS - 1 && Math.max(delta, 0) >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = (int) (target >>> (SLOT_BITS * level)) & SLOT_MASK;
+
+        Timeout head = wheel[level][slot];
+        timeout.level = level;
+        timeout.slot = slot;
+        timeout.prev = null;
+        timeout.next = head;
+        if (head != null) head.prev = timeout;
+        wheel[level][slot] = timeout;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            wheel[timeout.level][timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) timeout.next.prev = timeout.prev;
+
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.level = -1;
+    }
+
+    // ========================================
+    // TIMEOUT
+    // ========================================
+
+    /**
+     * Handle to a scheduled task
+     */
+    public static final class Timeout {
+        private final TimingWheel owner;
+        private final long deadline;
+        private final Runnable task;
+
+        // Position in the wheel (guarded by the wheel), level -1 once fired or cancelled
+        private Timeout prev;
+        private Timeout next;
+        private int level = -1;
+        private int slot;
+
+        private Timeout(TimingWheel owner, long deadline, Runnable task) {
+            this.owner = owner;
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        /**
+         * @return true if the task had not run or been cancelled yet
+         */
+        public boolean cancel() {
+            return owner.cancel(this);
+        }
+
+        public boolean isPending() {
+            synchronized (owner) {
+                return level >= 0;
+            }
+        }
+
+        public long getRemainingTicks() {
+            return Math.max(0, deadline - owner.getCurrentTick());
+        }
+
+        public long getRemainingMillis() {
+            return getRemainingTicks() * 50;
+        }
+    }
+}
@@ -31,7 +31,10 @@ public class TrustUtil {
             return false;
         }
 
-        // Check if caster trusts the target
+        // Check if caster trusts the target or shares a team with them
+        if (plugin.getTeamManager().sameTeam(caster, targetPlayer)) {
+            return false; // Teammates, don't affect them
+        }
         TrustManager trustManager = plugin.getTrustManager();
         if (trustManager.trusts(caster, targetPlayer)) {
             return false; // Caster trusts target, don't affect them
@@ -46,9 +49,10 @@ public class TrustUtil {
      * @param plugin The plugin instance
      * @param player1 First player
      * @param player2 Second player
-     * @return true if they mutually trust each other
+     * @return true if they mutually trust each other (or share a team)
      */
     public static boolean mutualTrust(ElementPlugin plugin, Player player1, Player player2) {
+        if (plugin.getTeamManager().sameTeam(player1, player2)) return true;
         TrustManager trustManager = plugin.getTrustManager();
         return trustManager.mutualTrust(player1, player2);
     }
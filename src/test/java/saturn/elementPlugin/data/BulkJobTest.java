@@ -0,0 +1,109 @@
+package saturn.elementPlugin.data;
+
+import saturn.elementPlugin.elements.ElementType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkJobTest {
+    @TempDir
+    Path dir;
+
+    private File checkpoint() {
+        return dir.resolve("bulk-job.yml").toFile();
+    }
+
+    private static List<UUID> sortedPlayers(int count) {
+        List<UUID> players = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            players.add(UUID.randomUUID());
+        }
+        Collections.sort(players);
+        return players;
+    }
+
+    @Test
+    void checkpointRoundTrips() throws IOException {
+        List<UUID> players = sortedPlayers(10);
+        BulkJob job = new BulkJob(PlayerMutation.remapElement(ElementType.FIRE, ElementType.WATER), true);
+        job.begin(players.size());
+        job.advance(4, 3, 1, players.get(3));
+        job.save(checkpoint());
+
+        BulkJob loaded = BulkJob.load(checkpoint());
+        assertNotNull(loaded);
+        assertEquals("remap:FIRE:WATER", loaded.getMutation().getSpec());
+        assertTrue(loaded.isSkipOnline());
+        assertEquals(4, loaded.getProcessed());
+        assertEquals(3, loaded.getChanged());
+        assertEquals(1, loaded.getSkipped());
+        assertEquals(players.get(3), loaded.getLast());
+        assertFalse(loaded.isFinished());
+        assertFalse(Files.exists(dir.resolve("bulk-job.yml.tmp")));
+    }
+
+    @Test
+    void checkpointBeforeTheFirstBatchHasNoLastPlayer() throws IOException {
+        BulkJob job = new BulkJob(PlayerMutation.setMana(50), false);
+        job.begin(3);
+        job.save(checkpoint());
+
+        BulkJob loaded = BulkJob.load(checkpoint());
+        assertNotNull(loaded);
+        assertNull(loaded.getLast());
+        assertEquals(0, loaded.resumeIndex(sortedPlayers(3)));
+    }
+
+    @Test
+    void missingOrInvalidCheckpointLoadsNothing() throws IOException {
+        assertNull(BulkJob.load(checkpoint()));
+
+        Files.writeString(checkpoint().toPath(), "mutation: explode:everything\n");
+        assertNull(BulkJob.load(checkpoint()));
+    }
+
+    @Test
+    void resumesAfterTheLastCheckpointedPlayer() throws IOException {
+        List<UUID> players = sortedPlayers(10);
+        BulkJob job = new BulkJob(PlayerMutation.clampLevel(1), false);
+        job.advance(5, 0, 0, players.get(4));
+        job.save(checkpoint());
+
+        assertEquals(5, BulkJob.load(checkpoint()).resumeIndex(players));
+    }
+
+    @Test
+    void resumesAfterAPlayerWhoIsNoLongerStored() throws IOException {
+        List<UUID> players = sortedPlayers(10);
+        BulkJob job = new BulkJob(PlayerMutation.clampLevel(1), false);
+        job.advance(5, 0, 0, players.get(4));
+        job.save(checkpoint());
+
+        // The last checkpointed player was deleted before the resume
+        List<UUID> remaining = new ArrayList<>(players);
+        remaining.remove(4);
+        BulkJob loaded = BulkJob.load(checkpoint());
+        assertEquals(4, loaded.resumeIndex(remaining));
+        assertEquals(players.get(5), remaining.get(loaded.resumeIndex(remaining)));
+
+        // Everyone after it was deleted too - nothing left to do
+        assertEquals(4, loaded.resumeIndex(players.subList(0, 4)));
+    }
+
+    @Test
+    void setManaAlwaysRestartsRegeneration() {
+        PlayerData pd = new PlayerData(new PlayerDataSnapshot(UUID.randomUUID(), ElementType.AIR, 0, Set.of(), 0, 1_000L));
+
+        // Stored mana already matches, but regeneration since then has to be discarded
+        assertTrue(PlayerMutation.setMana(0).apply(pd));
+        assertEquals(0, pd.getMana());
+        assertTrue(pd.getManaTimestamp() > 1_000L);
+    }
+}
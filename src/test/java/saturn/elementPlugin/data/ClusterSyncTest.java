@@ -0,0 +1,160 @@
+package saturn.elementPlugin.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static saturn.elementPlugin.data.TestFixtures.LOGGER;
+
+class ClusterSyncTest {
+    private final LocalClusterBroker broker = new LocalClusterBroker();
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+
+    ClusterSyncTest() {
+        broker.subscribe(messages::add);
+    }
+
+    private ClusterSync node(String id) {
+        return new ClusterSync(id, broker, Runnable::run, LOGGER);
+    }
+
+    private static List<UUID> recording(ClusterSync node, ClusterSync.Kind kind) {
+        List<UUID> invalidated = new CopyOnWriteArrayList<>();
+        node.onInvalidate(kind, invalidated::add);
+        return invalidated;
+    }
+
+    @Test
+    void otherNodesDropTheirCopies() {
+        ClusterSync a = node("a");
+        ClusterSync b = node("b");
+        List<UUID> onA = recording(a, ClusterSync.Kind.PLAYER);
+        List<UUID> onB = recording(b, ClusterSync.Kind.PLAYER);
+
+        a.publish(ClusterSync.Kind.PLAYER, List.of(alice, bob));
+        a.close(); // Waits for the publisher thread
+
+        assertEquals(List.of(alice, bob), onB);
+        assertTrue(onA.isEmpty()); // Own writes are already cached
+        assertEquals(1, a.getPublishedCount());
+        assertEquals(2, b.getInvalidatedCount());
+    }
+
+    @Test
+    void kindsAreInvalidatedSeparately() {
+        ClusterSync a = node("a");
+        ClusterSync b = node("b");
+        List<UUID> players = recording(b, ClusterSync.Kind.PLAYER);
+        List<UUID> trust = recording(b, ClusterSync.Kind.TRUST);
+
+        a.publish(ClusterSync.Kind.TRUST, List.of(alice));
+        a.publish(ClusterSync.Kind.PLAYER, List.of());
+        a.close();
+
+        assertTrue(players.isEmpty());
+        assertEquals(List.of(alice), trust);
+        assertEquals(1, a.getPublishedCount());
+    }
+
+    @Test
+    void ignoresDuplicateAndOlderVersions() {
+        ClusterSync b = node("b");
+        List<UUID> invalidated = recording(b, ClusterSync.Kind.PLAYER);
+
+        broker.publish("v1|x|PLAYER|5|" + alice);
+        broker.publish("v1|x|PLAYER|5|" + alice);
+        broker.publish("v1|y|PLAYER|3|" + alice + "," + bob);
+        broker.publish("v1|y|PLAYER|6|" + alice);
+
+        assertEquals(List.of(alice, bob, alice), invalidated);
+        assertEquals(2, b.getIgnoredCount());
+    }
+
+    @Test
+    void clockMovesPastReceivedVersions() {
+        ClusterSync b = node("b");
+        broker.publish("v1|x|PLAYER|100|" + alice);
+
+        b.publish(ClusterSync.Kind.PLAYER, List.of(bob));
+        b.close();
+
+        String sent = messages.get(messages.size() - 1);
+        assertTrue(sent.startsWith("v1|b|PLAYER|101|"), sent);
+    }
+
+    @Test
+    void skipsMalformedMessagesAndValues() {
+        ClusterSync b = node("b");
+        List<UUID> invalidated = recording(b, ClusterSync.Kind.PLAYER);
+
+        broker.publish("v2|x|PLAYER|1|" + alice);
+        broker.publish("v1|x|PLAYER|1");
+        broker.publish("v1|x|REGION|1|" + alice);
+        broker.publish("v1|x|PLAYER|soon|" + alice);
+        assertTrue(invalidated.isEmpty());
+
+        broker.publish("v1|x|PLAYER|2|not-a-uuid," + bob);
+        assertEquals(List.of(bob), invalidated);
+        assertEquals(5, b.getReceivedCount());
+    }
+
+    @Test
+    void reconnectRunsTheResyncers() {
+        ClusterSync b = node("b");
+        List<ClusterSync.Kind> resynced = new ArrayList<>();
+        b.onResync(ClusterSync.Kind.PLAYER, () -> resynced.add(ClusterSync.Kind.PLAYER));
+        b.onResync(ClusterSync.Kind.TRUST, () -> resynced.add(ClusterSync.Kind.TRUST));
+
+        broker.reconnectAll();
+
+        assertEquals(2, resynced.size());
+        assertTrue(resynced.containsAll(EnumSet.allOf(ClusterSync.Kind.class)));
+    }
+
+    @Test
+    void notifyingSinkPublishesOnlyWrittenBatches() throws IOException {
+        ClusterSync a = node("a");
+        ClusterSync b = node("b");
+        List<UUID> invalidated = recording(b, ClusterSync.Kind.PLAYER);
+
+        boolean[] failing = {false};
+        PlayerDataSink sink = a.notifying(new PlayerDataSink() {
+            @Override
+            public void write(List<PlayerDataSnapshot> batch) throws IOException {
+                if (failing[0]) throw new IOException("disk full");
+            }
+
+            @Override public PlayerDataSnapshot peek(UUID uuid) { return null; }
+            @Override public void close() {}
+        });
+
+        sink.write(List.of(new PlayerData(alice).snapshot()));
+        failing[0] = true;
+        assertThrows(IOException.class, () -> sink.write(List.of(new PlayerData(bob).snapshot())));
+        a.close();
+
+        assertEquals(List.of(alice), invalidated);
+    }
+
+    @Test
+    void countsPublishFailures() {
+        ClusterBroker down = new ClusterBroker() {
+            @Override public void publish(String message) throws IOException { throw new IOException("offline"); }
+            @Override public void subscribe(Listener listener) {}
+            @Override public void close() {}
+        };
+        ClusterSync a = new ClusterSync("a", down, Runnable::run, LOGGER);
+
+        a.publish(ClusterSync.Kind.PLAYER, List.of(alice));
+        a.close();
+
+        assertEquals(0, a.getPublishedCount());
+        assertEquals(1, a.getPublishFailureCount());
+    }
+}
@@ -0,0 +1,97 @@
+package saturn.elementPlugin.data;
+
+import saturn.elementPlugin.elements.ElementType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static saturn.elementPlugin.data.TestFixtures.LOGGER;
+import static saturn.elementPlugin.data.TestFixtures.players;
+
+class ColdArchiveTest {
+    @TempDir
+    Path dir;
+
+    private ColdArchive open() throws IOException {
+        return new ColdArchive(dir.resolve("archive").toFile(), LOGGER);
+    }
+
+    private File segment(int n) {
+        return dir.resolve("archive").resolve("segment-" + n + ".dat").toFile();
+    }
+
+    @Test
+    void readsEveryPlayerBackAcrossBlocksAndRestarts() throws IOException {
+        List<PlayerDataSnapshot> players = players(600); // Three gzip blocks
+        open().archive(players);
+
+        ColdArchive archive = open();
+        assertEquals(600, archive.size());
+        for (PlayerDataSnapshot expected : players) {
+            PlayerDataSnapshot read = archive.read(expected.getUuid());
+            assertEquals(expected.getUuid(), read.getUuid());
+            assertEquals(expected.getCurrentElement(), read.getCurrentElement());
+            assertEquals(expected.getUpgradeLevel(), read.getUpgradeLevel());
+            assertEquals(expected.getOwnedItems(), read.getOwnedItems());
+            assertEquals(expected.getMana(), read.getMana());
+            assertEquals(expected.getManaTimestamp(), read.getManaTimestamp());
+        }
+        assertNull(archive.read(UUID.randomUUID()));
+    }
+
+    @Test
+    void listsInArchiveOrder() throws IOException {
+        ColdArchive archive = open();
+        List<PlayerDataSnapshot> first = players(300);
+        List<PlayerDataSnapshot> second = players(5);
+        archive.archive(first);
+        archive.archive(second);
+
+        List<UUID> expected = new ArrayList<>();
+        first.forEach(p -> expected.add(p.getUuid()));
+        second.forEach(p -> expected.add(p.getUuid()));
+        assertEquals(expected, archive.list());
+    }
+
+    @Test
+    void deletesASegmentOnceItsPlayersAreGone() throws IOException {
+        ColdArchive archive = open();
+        List<PlayerDataSnapshot> players = players(3);
+        archive.archive(players);
+        assertTrue(segment(0).exists());
+
+        archive.remove(List.of(players.get(0).getUuid(), players.get(1).getUuid()));
+        assertTrue(segment(0).exists());
+        assertFalse(archive.contains(players.get(0).getUuid()));
+
+        archive.remove(List.of(players.get(2).getUuid()));
+        assertFalse(segment(0).exists());
+        assertEquals(0, open().size());
+    }
+
+    @Test
+    void archivingAgainMovesThePlayerToTheNewSegment() throws IOException {
+        ColdArchive archive = open();
+        UUID uuid = UUID.randomUUID();
+        archive.archive(List.of(new PlayerDataSnapshot(uuid, ElementType.AIR, 0, Set.of(), 10)));
+        archive.archive(List.of(new PlayerDataSnapshot(uuid, ElementType.FIRE, 1, Set.of(), 20)));
+
+        assertFalse(segment(0).exists()); // Nobody left in it
+        assertEquals(1, archive.size());
+        assertEquals(ElementType.FIRE, open().read(uuid).getCurrentElement());
+    }
+
+    @Test
+    void emptyBatchesWriteNothing() throws IOException {
+        ColdArchive archive = open();
+        archive.archive(List.of());
+
+        assertFalse(segment(0).exists());
+        assertEquals(0, archive.size());
+    }
+}
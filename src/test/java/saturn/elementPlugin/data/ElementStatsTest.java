@@ -0,0 +1,100 @@
+package saturn.elementPlugin.data;
+
+import saturn.elementPlugin.elements.ElementType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static saturn.elementPlugin.data.TestFixtures.LOGGER;
+
+class ElementStatsTest {
+    @TempDir
+    Path dir;
+
+    private ElementStats stats() {
+        return new ElementStats(dir.resolve("stats.yml").toFile(), LOGGER);
+    }
+
+    private static PlayerData player(ElementType element, int level) {
+        PlayerData pd = new PlayerData(UUID.randomUUID());
+        pd.setCurrentElement(element);
+        pd.setCurrentElementUpgradeLevel(level);
+        return pd;
+    }
+
+    @Test
+    void countsOnlinePlayersPerElementAndLevel() {
+        ElementStats stats = stats();
+        stats.trackOnline(player(ElementType.FIRE, 0));
+        stats.trackOnline(player(ElementType.FIRE, 2));
+        stats.trackOnline(player(ElementType.FIRE, 2));
+        stats.trackOnline(player(null, 0));
+
+        assertEquals(1, stats.getOnline(ElementType.FIRE, 0));
+        assertEquals(0, stats.getOnline(ElementType.FIRE, 1));
+        assertEquals(2, stats.getOnline(ElementType.FIRE, 2));
+        assertEquals(3, stats.getOnline(ElementType.FIRE, -1));
+        assertEquals(0, stats.getOnline(ElementType.AIR, -1));
+    }
+
+    @Test
+    void trackingAgainMovesThePlayer() {
+        ElementStats stats = stats();
+        PlayerData pd = player(ElementType.WATER, 0);
+        stats.trackOnline(pd);
+        stats.trackOnline(pd); // Unchanged: still counted once
+        assertEquals(1, stats.getOnline(ElementType.WATER, 0));
+
+        pd.setCurrentElementUpgradeLevel(1);
+        stats.trackOnline(pd);
+        assertEquals(0, stats.getOnline(ElementType.WATER, 0));
+        assertEquals(1, stats.getOnline(ElementType.WATER, 1));
+
+        pd.setCurrentElement(ElementType.EARTH);
+        stats.trackOnline(pd);
+        assertEquals(0, stats.getOnline(ElementType.WATER, -1));
+        assertEquals(1, stats.getOnline(ElementType.EARTH, -1));
+
+        pd.setCurrentElement(null);
+        stats.trackOnline(pd);
+        assertEquals(0, stats.getOnline(ElementType.EARTH, -1));
+    }
+
+    @Test
+    void untrackingOnlyCountsTrackedPlayers() {
+        ElementStats stats = stats();
+        PlayerData pd = player(ElementType.METAL, 1);
+        stats.trackOnline(pd);
+
+        stats.untrackOnline(pd.getUuid());
+        stats.untrackOnline(pd.getUuid());
+        stats.untrackOnline(UUID.randomUUID());
+        assertEquals(0, stats.getOnline(ElementType.METAL, 1));
+    }
+
+    @Test
+    void countsEvents() {
+        ElementStats stats = stats();
+        stats.recordAssignment(ElementType.AIR);
+        stats.recordReroll(null, ElementType.AIR, false);
+        stats.recordReroll(ElementType.AIR, ElementType.LIFE, true);
+        stats.recordUpgrade(ElementType.LIFE, 1);
+        stats.recordUpgrade(ElementType.LIFE, 3); // Out of range, ignored
+        stats.recordCast(ElementType.LIFE, 2);
+        stats.recordCast(ElementType.LIFE, 0);    // Out of range, ignored
+
+        assertEquals(1, stats.getAssignments(ElementType.AIR));
+        assertEquals(1, stats.getRerollsFrom(ElementType.AIR));
+        assertEquals(1, stats.getRerollsTo(ElementType.AIR));
+        assertEquals(1, stats.getRerollsTo(ElementType.LIFE));
+        assertEquals(1, stats.getBasicRerolls());
+        assertEquals(1, stats.getAdvancedRerolls());
+        assertEquals(2, stats.getRerolls());
+        assertEquals(1, stats.getUpgrades(ElementType.LIFE, 1));
+        assertEquals(0, stats.getCasts(ElementType.LIFE, 1));
+        assertEquals(1, stats.getCasts(ElementType.LIFE, 2));
+    }
+}
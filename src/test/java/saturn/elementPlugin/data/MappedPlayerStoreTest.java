@@ -0,0 +1,130 @@
+package saturn.elementPlugin.data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static saturn.elementPlugin.data.TestFixtures.LOGGER;
+import static saturn.elementPlugin.data.TestFixtures.snapshot;
+
+class MappedPlayerStoreTest {
+    @TempDir
+    Path dir;
+
+    private File file() {
+        return dir.resolve("players.bin").toFile();
+    }
+
+    /**
+     * Write raw records straight into the file, one per slot
+     */
+    private void writeSlots(PlayerDataSnapshot... records) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(records.length * PlayerDataCodec.RECORD_SIZE);
+        for (int i = 0; i < records.length; i++) {
+            PlayerDataCodec.encode(records[i], buffer, i * PlayerDataCodec.RECORD_SIZE);
+        }
+        try (FileChannel channel = FileChannel.open(file().toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.write(buffer);
+        }
+    }
+
+    @Test
+    void savedRecordsSurviveReopening() throws IOException {
+        UUID uuid = UUID.randomUUID();
+        MappedPlayerStore store = new MappedPlayerStore(file(), LOGGER);
+        store.write(List.of(snapshot(uuid, 42)));
+        store.close();
+
+        MappedPlayerStore reopened = new MappedPlayerStore(file(), LOGGER);
+        assertTrue(reopened.exists(uuid));
+        assertEquals(42, reopened.load(uuid).getMana());
+        assertEquals(1, reopened.count());
+        reopened.close();
+    }
+
+    @Test
+    void deletedRecordsStayDeletedAfterReopening() throws IOException {
+        UUID kept = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        MappedPlayerStore store = new MappedPlayerStore(file(), LOGGER);
+        store.write(List.of(snapshot(kept, 1), snapshot(deleted, 2)));
+
+        assertTrue(store.delete(deleted));
+        assertFalse(store.delete(deleted));
+        assertNull(store.load(deleted));
+        store.close();
+
+        MappedPlayerStore reopened = new MappedPlayerStore(file(), LOGGER);
+        assertFalse(reopened.exists(deleted));
+        assertEquals(Set.of(kept), Set.copyOf(reopened.list()));
+        reopened.close();
+    }
+
+    @Test
+    void deletedSlotIsReused() throws IOException {
+        MappedPlayerStore store = new MappedPlayerStore(file(), LOGGER);
+        UUID first = UUID.randomUUID();
+        store.save(snapshot(first, 1));
+        store.delete(first);
+
+        UUID second = UUID.randomUUID();
+        store.save(snapshot(second, 2));
+        store.close();
+
+        // The second player took the first player's slot, so the file holds one record
+        MappedPlayerStore reopened = new MappedPlayerStore(file(), LOGGER);
+        assertEquals(List.of(second), reopened.list());
+        reopened.close();
+    }
+
+    @Test
+    void duplicateSlotsKeepTheFirstRecord() throws IOException {
+        UUID uuid = UUID.randomUUID();
+        writeSlots(snapshot(uuid, 10), snapshot(uuid, 20));
+
+        MappedPlayerStore store = new MappedPlayerStore(file(), LOGGER);
+        assertEquals(1, store.count());
+        assertEquals(10, store.load(uuid).getMana());
+
+        // The duplicate's slot is free again: a new player lands there and the old copy is gone
+        UUID other = UUID.randomUUID();
+        store.save(snapshot(other, 30));
+        store.close();
+
+        MappedPlayerStore reopened = new MappedPlayerStore(file(), LOGGER);
+        assertEquals(Set.of(uuid, other), Set.copyOf(reopened.list()));
+        assertEquals(10, reopened.load(uuid).getMana());
+        assertEquals(30, reopened.load(other).getMana());
+        reopened.close();
+    }
+
+    @Test
+    void corruptSlotsAreSkipped() throws IOException {
+        UUID good = UUID.randomUUID();
+        UUID torn = UUID.randomUUID();
+        writeSlots(snapshot(good, 1), snapshot(torn, 2));
+
+        // Flip a byte of the second record so its checksum no longer matches
+        try (FileChannel channel = FileChannel.open(file().toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            channel.read(one, PlayerDataCodec.RECORD_SIZE + 8);
+            one.put(0, (byte) (one.get(0) ^ 0x01)).rewind();
+            channel.write(one, PlayerDataCodec.RECORD_SIZE + 8);
+        }
+
+        MappedPlayerStore store = new MappedPlayerStore(file(), LOGGER);
+        assertEquals(List.of(good), store.list());
+        assertFalse(store.exists(torn));
+        store.close();
+    }
+}
@@ -0,0 +1,178 @@
+package saturn.elementPlugin.data;
+
+import saturn.elementPlugin.elements.ElementType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static saturn.elementPlugin.data.TestFixtures.snapshot;
+
+class PlayerDataCodecTest {
+    private static final int SIZE = PlayerDataCodec.RECORD_SIZE;
+
+    /**
+     * Encode into the second slot of a buffer (offsets are absolute) and decode it again
+     */
+    private static PlayerDataSnapshot roundTrip(PlayerDataSnapshot snapshot) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE * 3);
+        PlayerDataCodec.encode(snapshot, buffer, SIZE);
+        return PlayerDataCodec.decode(buffer, SIZE);
+    }
+
+    @Test
+    void roundTripsEveryField() throws IOException {
+        PlayerDataSnapshot original = snapshot(ElementType.FIRE, 2, EnumSet.of(ElementType.AIR, ElementType.FROST), 73);
+        PlayerDataSnapshot decoded = roundTrip(original);
+
+        assertEquals(original.getUuid(), decoded.getUuid());
+        assertEquals(ElementType.FIRE, decoded.getCurrentElement());
+        assertEquals(2, decoded.getUpgradeLevel());
+        assertEquals(EnumSet.of(ElementType.AIR, ElementType.FROST), decoded.getOwnedItems());
+        assertEquals(73, decoded.getMana());
+    }
+
+    @Test
+    void roundTripsEveryElementAndLevel() throws IOException {
+        for (ElementType element : ElementType.values()) {
+            for (int level = 0; level <= 2; level++) {
+                PlayerDataSnapshot decoded = roundTrip(snapshot(element, level, EnumSet.noneOf(ElementType.class), 100));
+                assertEquals(element, decoded.getCurrentElement());
+                assertEquals(level, decoded.getUpgradeLevel());
+            }
+        }
+    }
+
+    @Test
+    void roundTripsNullElement() throws IOException {
+        PlayerDataSnapshot decoded = roundTrip(snapshot(null, 0, EnumSet.noneOf(ElementType.class), 100));
+
+        assertNull(decoded.getCurrentElement());
+        assertEquals(0, decoded.getUpgradeLevel());
+    }
+
+    @Test
+    void roundTripsEveryItemBit() throws IOException {
+        assertTrue(roundTrip(snapshot(null, 0, EnumSet.noneOf(ElementType.class), 0)).getOwnedItems().isEmpty());
+
+        for (ElementType item : ElementType.values()) {
+            assertEquals(EnumSet.of(item), roundTrip(snapshot(null, 0, EnumSet.of(item), 0)).getOwnedItems(), item.name());
+        }
+
+        Set<ElementType> all = EnumSet.allOf(ElementType.class);
+        assertEquals(all, roundTrip(snapshot(ElementType.METAL, 1, all, 0)).getOwnedItems());
+    }
+
+    @Test
+    void itemMaskHasOneBitPerOrdinal() {
+        for (ElementType item : ElementType.values()) {
+            assertEquals(1 << item.ordinal(), PlayerDataCodec.encodeItems(EnumSet.of(item)));
+        }
+        assertEquals(EnumSet.of(ElementType.WATER, ElementType.DEATH),
+                PlayerDataCodec.decodeItems(PlayerDataCodec.encodeItems(EnumSet.of(ElementType.WATER, ElementType.DEATH))));
+    }
+
+    @Test
+    void clampsManaToTheShortRange() throws IOException {
+        assertEquals(0, roundTrip(snapshot(null, 0, Set.of(), 0)).getMana());
+        assertEquals(100, roundTrip(snapshot(null, 0, Set.of(), 100)).getMana());
+        assertEquals(Short.MAX_VALUE, roundTrip(snapshot(null, 0, Set.of(), Short.MAX_VALUE)).getMana());
+        assertEquals(Short.MAX_VALUE, roundTrip(snapshot(null, 0, Set.of(), Short.MAX_VALUE + 1)).getMana());
+        assertEquals(Short.MAX_VALUE, roundTrip(snapshot(null, 0, Set.of(), Integer.MAX_VALUE)).getMana());
+        assertEquals(Short.MIN_VALUE, roundTrip(snapshot(null, 0, Set.of(), Integer.MIN_VALUE)).getMana());
+    }
+
+    @Test
+    void roundTripsManaTimestamp() throws IOException {
+        long now = 1_760_000_000_123L;
+        UUID uuid = UUID.randomUUID();
+        assertEquals(now, roundTrip(new PlayerDataSnapshot(uuid, null, 0, Set.of(), 40, now)).getManaTimestamp());
+        assertEquals(0, roundTrip(new PlayerDataSnapshot(uuid, null, 0, Set.of(), 40, 0)).getManaTimestamp());
+        assertEquals((1L << 48) - 1, roundTrip(new PlayerDataSnapshot(uuid, null, 0, Set.of(), 40, Long.MAX_VALUE)).getManaTimestamp());
+    }
+
+    @Test
+    void decodesVersion1Records() throws IOException {
+        UUID uuid = UUID.randomUUID();
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE);
+        buffer.put(0, (byte) 1);
+        buffer.put(1, (byte) ElementType.DEATH.ordinal());
+        buffer.put(2, (byte) 2);
+        buffer.putInt(4, PlayerDataCodec.encodeItems(EnumSet.of(ElementType.LIFE, ElementType.METAL)));
+        buffer.putShort(8, (short) 64);
+        buffer.putLong(12, uuid.getMostSignificantBits());
+        buffer.putLong(20, uuid.getLeastSignificantBits());
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(0, 28));
+        buffer.putInt(28, (int) crc.getValue());
+
+        PlayerDataSnapshot decoded = PlayerDataCodec.decode(buffer, 0);
+        assertEquals(uuid, decoded.getUuid());
+        assertEquals(uuid, PlayerDataCodec.readUuid(buffer, 0));
+        assertEquals(ElementType.DEATH, decoded.getCurrentElement());
+        assertEquals(2, decoded.getUpgradeLevel());
+        assertEquals(EnumSet.of(ElementType.LIFE, ElementType.METAL), decoded.getOwnedItems());
+        assertEquals(64, decoded.getMana());
+        assertEquals(0, decoded.getManaTimestamp());
+
+        // No element is -1 in version 1
+        buffer.put(1, (byte) -1);
+        crc.reset();
+        crc.update(buffer.slice(0, 28));
+        buffer.putInt(28, (int) crc.getValue());
+        assertNull(PlayerDataCodec.decode(buffer, 0).getCurrentElement());
+    }
+
+    @Test
+    void deletedRecordDecodesAsEmptySlot() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE);
+        assertTrue(PlayerDataCodec.isEmpty(buffer, 0));
+        assertNull(PlayerDataCodec.decode(buffer, 0));
+
+        PlayerDataCodec.encode(snapshot(ElementType.EARTH, 1, Set.of(), 50), buffer, 0);
+        assertFalse(PlayerDataCodec.isEmpty(buffer, 0));
+
+        // Deleting a record only zeroes its version byte
+        buffer.put(0, (byte) 0);
+        assertTrue(PlayerDataCodec.isEmpty(buffer, 0));
+        assertNull(PlayerDataCodec.decode(buffer, 0));
+    }
+
+    @Test
+    void rejectsCorruptRecords() {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE);
+        PlayerDataCodec.encode(snapshot(ElementType.LIFE, 0, Set.of(), 10), buffer, 0);
+
+        buffer.put(8, (byte) (buffer.get(8) ^ 0x01));
+        assertThrows(IOException.class, () -> PlayerDataCodec.decode(buffer, 0));
+    }
+
+    @Test
+    void rejectsUnknownVersions() {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE);
+        PlayerDataCodec.encode(snapshot(ElementType.LIFE, 0, Set.of(), 10), buffer, 0);
+
+        buffer.put(0, (byte) (PlayerDataCodec.VERSION + 1));
+        assertThrows(IOException.class, () -> PlayerDataCodec.decode(buffer, 0));
+    }
+
+    @Test
+    void leavesNeighbouringSlotsAlone() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE * 3);
+        PlayerDataSnapshot first = snapshot(ElementType.AIR, 0, Set.of(), 1);
+        PlayerDataSnapshot third = snapshot(ElementType.WATER, 2, Set.of(), 3);
+        PlayerDataCodec.encode(first, buffer, 0);
+        PlayerDataCodec.encode(third, buffer, SIZE * 2);
+
+        PlayerDataCodec.encode(snapshot(ElementType.FIRE, 1, EnumSet.allOf(ElementType.class), 2), buffer, SIZE);
+
+        assertEquals(first.getUuid(), PlayerDataCodec.decode(buffer, 0).getUuid());
+        assertEquals(third.getUuid(), PlayerDataCodec.decode(buffer, SIZE * 2).getUuid());
+        assertEquals(0, buffer.position());
+    }
+}
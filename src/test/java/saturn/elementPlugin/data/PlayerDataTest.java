@@ -0,0 +1,80 @@
+package saturn.elementPlugin.data;
+
+import saturn.elementPlugin.elements.ElementType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerDataTest {
+    private static final int MAX_MANA = 100;
+    private static final int REGEN = 1;
+
+    private static PlayerData withMana(int mana, long timestamp) {
+        return new PlayerData(new PlayerDataSnapshot(UUID.randomUUID(), ElementType.WATER, 0, Set.of(), mana, timestamp));
+    }
+
+    @Test
+    void regeneratesWholeSecondsSinceTheTimestamp() {
+        PlayerData pd = withMana(10, 1_000_000L);
+
+        assertEquals(10, pd.getMana(1_000_999L, MAX_MANA, REGEN));
+        assertEquals(11, pd.getMana(1_001_000L, MAX_MANA, REGEN));
+        assertEquals(15, pd.getMana(1_005_500L, MAX_MANA, REGEN));
+        assertEquals(MAX_MANA, pd.getMana(2_000_000L, MAX_MANA, REGEN));
+        assertEquals(10, pd.getMana(999_000L, MAX_MANA, REGEN));
+    }
+
+    @Test
+    void settingManaKeepsTheProgressTowardsTheNextSecond() {
+        PlayerData pd = withMana(10, 1_000_000L);
+
+        long now = 1_002_700L;
+        pd.setMana(pd.getMana(now, MAX_MANA, REGEN) - 5, now);
+        assertEquals(7, pd.getMana());
+        assertEquals(1_002_000L, pd.getManaTimestamp());
+
+        // The next point arrives 300 ms later, not a whole second after the spend
+        assertEquals(8, pd.getMana(1_003_000L, MAX_MANA, REGEN));
+    }
+
+    @Test
+    void settingManaBeforeTheTimestampRestartsAtNow() {
+        PlayerData pd = withMana(10, 1_000_000L);
+
+        pd.setMana(20, 900_000L);
+        assertEquals(900_000L, pd.getManaTimestamp());
+    }
+
+    @Test
+    void timestampSurvivesTheSnapshot() {
+        PlayerData pd = withMana(30, 1_234_567L);
+        PlayerData reloaded = new PlayerData(pd.snapshot());
+
+        assertEquals(1_234_567L, reloaded.getManaTimestamp());
+        assertEquals(pd.getMana(1_300_000L, MAX_MANA, REGEN), reloaded.getMana(1_300_000L, MAX_MANA, REGEN));
+        assertFalse(reloaded.isDirty());
+    }
+
+    @Test
+    void recordsWithoutTimestampStartRegeneratingAtLoad() {
+        long before = System.currentTimeMillis();
+        PlayerData pd = withMana(30, 0);
+
+        assertTrue(pd.getManaTimestamp() >= before);
+        assertEquals(30, pd.getMana(before, MAX_MANA, REGEN));
+    }
+
+    @Test
+    void changingOnlyTheTimestampMarksDirty() {
+        PlayerData pd = withMana(30, 1_000_000L);
+        pd.setMana(30, 1_000_500L);
+        assertFalse(pd.isDirty());
+
+        pd.setMana(30, 1_001_500L);
+        assertTrue(pd.isDirty());
+        assertEquals(1_001_000L, pd.getManaTimestamp());
+    }
+}
@@ -0,0 +1,177 @@
+package saturn.elementPlugin.data;
+
+import saturn.elementPlugin.elements.ElementType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static saturn.elementPlugin.data.TestFixtures.LOGGER;
+
+class PlayerDataTransferTest {
+    private static final String HEADER = "{\"format\":\"element-players\",\"version\":1}";
+    private static final String VALID_UUID = "00000000-0000-0000-0000-000000000001";
+
+    @TempDir
+    Path dir;
+
+    private final PlayerDataTransfer transfer = new PlayerDataTransfer(LOGGER, 100);
+
+    private File write(String... lines) throws IOException {
+        Path file = dir.resolve("import.jsonl");
+        Files.write(file, Arrays.asList(lines));
+        return file.toFile();
+    }
+
+    private List<PlayerDataSnapshot> importLines(String... records) throws IOException {
+        String[] lines = new String[records.length + 1];
+        lines[0] = HEADER;
+        System.arraycopy(records, 0, lines, 1, records.length);
+
+        List<PlayerDataSnapshot> imported = new ArrayList<>();
+        transfer.importFrom(write(lines), uuid -> false, imported::add);
+        return imported;
+    }
+
+    /**
+     * A valid record with one field replaced (null value = field removed)
+     */
+    private static String record(String field, String value) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("uuid", "\"" + VALID_UUID + "\"");
+        fields.put("element", "\"FIRE\"");
+        fields.put("upgradeLevel", "1");
+        fields.put("mana", "50");
+        fields.put("items", "[\"FIRE\"]");
+        if (value == null) {
+            fields.remove(field);
+        } else {
+            fields.put(field, value);
+        }
+
+        StringJoiner json = new StringJoiner(",", "{", "}");
+        fields.forEach((key, v) -> json.add("\"" + key + "\":" + v));
+        return json.toString();
+    }
+
+    @Test
+    void exportsAndImportsEveryField() throws IOException {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        Map<UUID, PlayerDataSnapshot> store = new LinkedHashMap<>();
+        store.put(a, new PlayerDataSnapshot(a, ElementType.WATER, 2, EnumSet.of(ElementType.WATER, ElementType.AIR), 80, 1_700_000_000_000L));
+        store.put(b, new PlayerDataSnapshot(b, null, 0, EnumSet.noneOf(ElementType.class), 0));
+
+        File file = dir.resolve("export.jsonl").toFile();
+        PlayerDataTransfer.Result exported = transfer.export(file, List.of(a, UUID.randomUUID(), b), store::get);
+        assertEquals(2, exported.records);
+        assertEquals(1, exported.skipped);
+
+        List<PlayerDataSnapshot> imported = new ArrayList<>();
+        PlayerDataTransfer.Result result = transfer.importFrom(file, uuid -> false, imported::add);
+        assertEquals(2, result.records);
+        assertEquals(0, result.invalid);
+
+        PlayerDataSnapshot first = imported.get(0);
+        assertEquals(a, first.getUuid());
+        assertEquals(ElementType.WATER, first.getCurrentElement());
+        assertEquals(2, first.getUpgradeLevel());
+        assertEquals(EnumSet.of(ElementType.WATER, ElementType.AIR), first.getOwnedItems());
+        assertEquals(80, first.getMana());
+        assertEquals(1_700_000_000_000L, first.getManaTimestamp());
+
+        PlayerDataSnapshot second = imported.get(1);
+        assertNull(second.getCurrentElement());
+        assertTrue(second.getOwnedItems().isEmpty());
+        assertEquals(0, second.getManaTimestamp());
+    }
+
+    @Test
+    void acceptsOptionalFieldsMissingOrNull() throws IOException {
+        List<PlayerDataSnapshot> imported = importLines(
+                record("element", null), record("element", "null"), record("items", null), record("items", "[]"));
+
+        assertEquals(4, imported.size());
+        assertNull(imported.get(0).getCurrentElement());
+        assertNull(imported.get(1).getCurrentElement());
+        assertTrue(imported.get(2).getOwnedItems().isEmpty());
+    }
+
+    @Test
+    void rejectsInvalidRecords() throws IOException {
+        String[] invalid = {
+                "not json",
+                "[1,2,3]",
+                "null",
+                record("uuid", null),
+                record("uuid", "\"not-a-uuid\""),
+                record("uuid", "{}"),
+                record("element", "\"PLASMA\""),
+                record("element", "[\"FIRE\", \"AIR\"]"),
+                record("upgradeLevel", null),
+                record("upgradeLevel", "3"),
+                record("upgradeLevel", "-1"),
+                record("upgradeLevel", "\"high\""),
+                record("mana", null),
+                record("mana", "101"),
+                record("mana", "-1"),
+                record("manaTimestamp", "-5"),
+                record("items", "\"FIRE\""),
+                record("items", "[\"PLASMA\"]"),
+                record("items", "[{}]"),
+        };
+
+        for (String line : invalid) {
+            List<PlayerDataSnapshot> imported = new ArrayList<>();
+            PlayerDataTransfer.Result result = transfer.importFrom(write(HEADER, line), uuid -> false, imported::add);
+            assertEquals(1, result.invalid, line);
+            assertEquals(0, result.records, line);
+            assertTrue(imported.isEmpty(), line);
+        }
+    }
+
+    @Test
+    void keepsGoingAfterAnInvalidLine() throws IOException {
+        List<PlayerDataSnapshot> imported = new ArrayList<>();
+        PlayerDataTransfer.Result result = transfer.importFrom(
+                write(HEADER, "garbage", "", record("mana", "10")), uuid -> false, imported::add);
+
+        assertEquals(1, result.invalid);
+        assertEquals(1, result.records);
+        assertEquals(10, imported.get(0).getMana());
+    }
+
+    @Test
+    void skippedPlayersAreValidatedButNotWritten() throws IOException {
+        List<PlayerDataSnapshot> imported = new ArrayList<>();
+        PlayerDataTransfer.Result result = transfer.importFrom(write(HEADER, record("mana", "10"), record("mana", "500")),
+                uuid -> uuid.toString().equals(VALID_UUID), imported::add);
+
+        assertEquals(1, result.skipped);
+        assertEquals(1, result.invalid);
+        assertTrue(imported.isEmpty());
+    }
+
+    @Test
+    void rejectsFilesWithoutAValidHeader() throws IOException {
+        String[][] files = {
+                {},
+                {record("mana", "10")},
+                {"{\"format\":\"something-else\",\"version\":1}"},
+                {"{\"format\":\"element-players\",\"version\":2}"},
+                {"{\"format\":\"element-players\"}"},
+                {"not json"},
+        };
+
+        for (String[] lines : files) {
+            File file = write(lines);
+            assertThrows(IOException.class, () -> transfer.importFrom(file, uuid -> false, snapshot -> fail()),
+                    String.join("|", lines));
+        }
+    }
+}
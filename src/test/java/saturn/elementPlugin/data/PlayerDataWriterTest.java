@@ -0,0 +1,206 @@
+package saturn.elementPlugin.data;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static saturn.elementPlugin.data.TestFixtures.LOGGER;
+import static saturn.elementPlugin.data.TestFixtures.snapshot;
+
+class PlayerDataWriterTest {
+    private final FakeSink sink = new FakeSink();
+    private final PlayerDataWriter writer = new PlayerDataWriter(sink, LOGGER);
+
+    /**
+     * Records every write; can hold a write until released and fail it
+     */
+    private static final class FakeSink implements PlayerDataSink {
+        final Map<UUID, PlayerDataSnapshot> stored = new ConcurrentHashMap<>();
+        final List<PlayerDataSnapshot> writes = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger failuresLeft = new AtomicInteger();
+        volatile CountDownLatch entered;
+        volatile CountDownLatch release;
+
+        @Override
+        public void write(List<PlayerDataSnapshot> batch) throws IOException {
+            CountDownLatch gate = release;
+            if (gate != null) {
+                entered.countDown();
+                try {
+                    gate.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failuresLeft.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                throw new IOException("Disk full");
+            }
+            writes.addAll(batch);
+            for (PlayerDataSnapshot snapshot : batch) {
+                stored.put(snapshot.getUuid(), snapshot);
+            }
+        }
+
+        /**
+         * Make the next write wait for {@link #release()}
+         */
+        void hold() {
+            entered = new CountDownLatch(1);
+            release = new CountDownLatch(1);
+        }
+
+        void awaitEntered() throws InterruptedException {
+            assertTrue(entered.await(10, TimeUnit.SECONDS), "Writer never reached the sink");
+        }
+
+        void release() {
+            CountDownLatch gate = release;
+            release = null;
+            gate.countDown();
+        }
+    }
+
+    @AfterEach
+    void stopWriter() {
+        if (sink.release != null) sink.release();
+        writer.shutdown();
+    }
+
+    @Test
+    void pendingSnapshotStaysVisibleWhileItsBatchIsWritten() throws InterruptedException {
+        UUID uuid = UUID.randomUUID();
+        PlayerDataSnapshot snapshot = snapshot(uuid, 40);
+        sink.hold();
+        writer.submit(snapshot);
+        sink.awaitEntered();
+
+        // Off the queue but not stored yet
+        assertEquals(0, writer.getQueueDepth());
+        assertNull(sink.stored.get(uuid));
+        assertSame(snapshot, writer.getPending(uuid));
+
+        sink.release();
+        writer.flush();
+        assertSame(snapshot, sink.stored.get(uuid));
+        assertNull(writer.getPending(uuid));
+    }
+
+    @Test
+    void getPendingNeverReturnsNullBeforeTheWriteLands() throws InterruptedException {
+        List<UUID> players = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            players.add(UUID.randomUUID());
+        }
+
+        Set<UUID> submitted = ConcurrentHashMap.newKeySet();
+        Thread submitter = new Thread(() -> {
+            for (UUID uuid : players) {
+                writer.submit(snapshot(uuid, 1));
+                submitted.add(uuid);
+            }
+        });
+        submitter.start();
+
+        // A submitted player is always pending, in flight or stored (checked in that order,
+        // since the in-flight copy is only dropped after the sink has it)
+        while (submitter.isAlive() || writer.getQueueDepth() > 0) {
+            for (UUID uuid : submitted) {
+                assertTrue(writer.getPending(uuid) != null || sink.stored.containsKey(uuid), "Lost " + uuid);
+            }
+        }
+        submitter.join();
+        writer.flush();
+
+        for (UUID uuid : players) {
+            assertNotNull(sink.stored.get(uuid));
+        }
+    }
+
+    @Test
+    void failedBatchIsRetriedWithoutReplacingANewerSnapshot() throws InterruptedException {
+        UUID uuid = UUID.randomUUID();
+        PlayerDataSnapshot older = snapshot(uuid, 10);
+        PlayerDataSnapshot newer = snapshot(uuid, 20);
+
+        sink.failuresLeft.set(1);
+        sink.hold();
+        writer.submit(older);
+        sink.awaitEntered();
+
+        // Saved again while the first write is failing
+        writer.submit(newer);
+        sink.release();
+        writer.flush();
+
+        assertSame(newer, sink.stored.get(uuid));
+        assertEquals(List.of(newer), sink.writes);
+        assertEquals(1, writer.getFailureCount());
+        assertNull(writer.getPending(uuid));
+    }
+
+    @Test
+    void failedBatchIsRequeuedAndWrittenOnRetry() {
+        UUID uuid = UUID.randomUUID();
+        PlayerDataSnapshot snapshot = snapshot(uuid, 10);
+        sink.failuresLeft.set(1);
+
+        writer.submit(snapshot);
+        writer.flush();
+
+        assertSame(snapshot, sink.stored.get(uuid));
+        assertEquals(1, writer.getFailureCount());
+        assertEquals(1, writer.getWrittenCount());
+    }
+
+    @Test
+    void repeatedSavesAreCoalesced() throws InterruptedException {
+        UUID uuid = UUID.randomUUID();
+        sink.hold();
+        writer.submit(snapshot(UUID.randomUUID(), 0)); // Keeps the writer busy
+        sink.awaitEntered();
+        for (int mana = 1; mana <= 5; mana++) {
+            writer.submit(snapshot(uuid, mana));
+        }
+        sink.release();
+        writer.flush();
+
+        assertEquals(5, sink.stored.get(uuid).getMana());
+        assertEquals(1, sink.writes.stream().filter(s -> s.getUuid().equals(uuid)).count());
+    }
+
+    @Test
+    void flushWritesEverythingQueuedAcrossBatches() {
+        Set<UUID> players = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            PlayerDataSnapshot snapshot = snapshot(UUID.randomUUID(), i % 100);
+            players.add(snapshot.getUuid());
+            writer.submit(snapshot);
+        }
+        writer.flush();
+
+        assertEquals(players, sink.stored.keySet());
+        assertEquals(0, writer.getQueueDepth());
+        assertEquals(1000, writer.getWrittenCount());
+        assertTrue(writer.getBatchCount() >= 4); // At most 256 per batch
+    }
+
+    @Test
+    void shutdownDrainsAndLaterSubmitsAreWrittenInline() {
+        UUID before = UUID.randomUUID();
+        writer.submit(snapshot(before, 1));
+        writer.shutdown();
+        assertNotNull(sink.stored.get(before));
+
+        UUID after = UUID.randomUUID();
+        writer.submit(snapshot(after, 2));
+        assertNotNull(sink.stored.get(after));
+        assertEquals(0, writer.getQueueDepth());
+    }
+}
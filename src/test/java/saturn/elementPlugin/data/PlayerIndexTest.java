@@ -0,0 +1,173 @@
+package saturn.elementPlugin.data;
+
+import saturn.elementPlugin.elements.ElementType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static saturn.elementPlugin.data.TestFixtures.LOGGER;
+import static saturn.elementPlugin.data.TestFixtures.snapshot;
+
+class PlayerIndexTest {
+    @TempDir
+    Path dir;
+
+    private PlayerIndex index() {
+        return new PlayerIndex(dir.resolve("players.idx").toFile(), LOGGER);
+    }
+
+    /**
+     * Index {@code count} players with the same fields, returned in the index's UUID order
+     */
+    private static List<UUID> addPlayers(PlayerIndex index, int count, ElementType element, int level, ElementType... items) {
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            UUID uuid = UUID.randomUUID();
+            index.update(snapshot(uuid, element, level, items));
+            uuids.add(uuid);
+        }
+        Collections.sort(uuids);
+        return uuids;
+    }
+
+    @Test
+    void countsPerElementLevelAndItem() {
+        PlayerIndex index = index();
+        addPlayers(index, 3, ElementType.FIRE, 0, ElementType.FIRE);
+        addPlayers(index, 2, ElementType.FIRE, 2, ElementType.FIRE, ElementType.WATER);
+        addPlayers(index, 1, null, 0, ElementType.WATER);
+
+        assertEquals(3, index.count(ElementType.FIRE, 0));
+        assertEquals(0, index.count(ElementType.FIRE, 1));
+        assertEquals(2, index.count(ElementType.FIRE, 2));
+        assertEquals(5, index.count(ElementType.FIRE, -1));
+        assertEquals(0, index.count(ElementType.WATER, -1));
+        assertEquals(5, index.countItem(ElementType.FIRE));
+        assertEquals(3, index.countItem(ElementType.WATER));
+        assertEquals(6, index.size());
+    }
+
+    @Test
+    void pagesInUuidOrder() {
+        PlayerIndex index = index();
+        List<UUID> players = addPlayers(index, 25, ElementType.AIR, 1, ElementType.AIR);
+
+        assertEquals(players.subList(0, 10), index.query(ElementType.AIR, 1, 0, 10));
+        assertEquals(players.subList(10, 20), index.query(ElementType.AIR, 1, 10, 10));
+        assertEquals(players.subList(20, 25), index.query(ElementType.AIR, 1, 20, 10));
+        assertEquals(List.of(), index.query(ElementType.AIR, 1, 30, 10));
+        assertEquals(players.subList(5, 8), index.queryItem(ElementType.AIR, 5, 3));
+    }
+
+    @Test
+    void anyLevelPagesAcrossTheLevelLists() {
+        PlayerIndex index = index();
+        List<UUID> all = new ArrayList<>();
+        all.addAll(addPlayers(index, 4, ElementType.EARTH, 0));
+        all.addAll(addPlayers(index, 3, ElementType.EARTH, 1));
+        all.addAll(addPlayers(index, 5, ElementType.EARTH, 2));
+
+        List<UUID> paged = new ArrayList<>();
+        for (int offset = 0; offset < 12; offset += 5) {
+            paged.addAll(index.query(ElementType.EARTH, -1, offset, 5));
+        }
+        assertEquals(all, paged);
+        assertEquals(all.subList(3, 9), index.query(ElementType.EARTH, -1, 3, 6));
+    }
+
+    @Test
+    void updatesMovePlayersBetweenLists() {
+        PlayerIndex index = index();
+        UUID uuid = UUID.randomUUID();
+        index.update(snapshot(uuid, ElementType.LIFE, 0, ElementType.LIFE));
+        index.update(snapshot(uuid, ElementType.DEATH, 1, ElementType.DEATH));
+
+        assertEquals(0, index.count(ElementType.LIFE, -1));
+        assertEquals(0, index.countItem(ElementType.LIFE));
+        assertEquals(List.of(uuid), index.query(ElementType.DEATH, 1, 0, 10));
+        assertEquals(1, index.countItem(ElementType.DEATH));
+
+        index.remove(uuid);
+        assertEquals(0, index.count(ElementType.DEATH, -1));
+        assertEquals(0, index.countItem(ElementType.DEATH));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void indexingSinkUpdatesAfterTheWrite() throws IOException {
+        PlayerIndex index = index();
+        List<PlayerDataSnapshot> written = new ArrayList<>();
+        PlayerDataSink sink = index.indexing(new PlayerDataSink() {
+            @Override public void write(List<PlayerDataSnapshot> batch) { written.addAll(batch); }
+            @Override public PlayerDataSnapshot peek(UUID uuid) { return null; }
+            @Override public void close() {}
+        });
+
+        UUID uuid = UUID.randomUUID();
+        sink.write(List.of(snapshot(uuid, ElementType.METAL, 2)));
+        assertEquals(1, written.size());
+        assertEquals(List.of(uuid), index.query(ElementType.METAL, 2, 0, 1));
+    }
+
+    @Test
+    void savesAndLoadsOnce() {
+        PlayerIndex index = index();
+        index.rebuild(List.of(), uuid -> null, false);
+        List<UUID> players = addPlayers(index, 10, ElementType.FROST, 1, ElementType.FROST, ElementType.AIR);
+        index.save();
+
+        File file = dir.resolve("players.idx").toFile();
+        assertTrue(file.exists());
+
+        PlayerIndex loaded = index();
+        assertTrue(loaded.load());
+        assertTrue(loaded.isReady());
+        assertEquals(players, loaded.query(ElementType.FROST, 1, 0, 100));
+        assertEquals(10, loaded.countItem(ElementType.AIR));
+
+        // Deleted while running, so a crash leaves no stale index behind
+        assertFalse(file.exists());
+        assertFalse(index().load());
+    }
+
+    @Test
+    void doesNotSaveBeforeItIsReady() {
+        PlayerIndex index = index();
+        addPlayers(index, 2, ElementType.FIRE, 0);
+        index.save();
+
+        assertFalse(dir.resolve("players.idx").toFile().exists());
+    }
+
+    @Test
+    void rejectsAnUnknownFormat() throws IOException {
+        Files.write(dir.resolve("players.idx"), new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+
+        PlayerIndex index = index();
+        assertFalse(index.load());
+        assertFalse(index.isReady());
+    }
+
+    @Test
+    void rebuildKeepsNewerEntries() {
+        PlayerIndex index = index();
+        UUID fresh = UUID.randomUUID();
+        UUID stored = UUID.randomUUID();
+        index.update(snapshot(fresh, ElementType.WATER, 2)); // Written while the rebuild runs
+
+        Map<UUID, PlayerDataSnapshot> store = Map.of(
+                fresh, snapshot(fresh, ElementType.WATER, 0),
+                stored, snapshot(stored, ElementType.AIR, 0));
+        index.rebuild(store.keySet(), store::get, true);
+
+        assertEquals(List.of(fresh), index.query(ElementType.WATER, 2, 0, 10));
+        assertEquals(List.of(stored), index.query(ElementType.AIR, 0, 0, 10));
+        assertTrue(index.isReady());
+    }
+}
@@ -0,0 +1,251 @@
+package saturn.elementPlugin.data;
+
+import saturn.elementPlugin.elements.ElementType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static saturn.elementPlugin.data.TestFixtures.LOGGER;
+import static saturn.elementPlugin.data.TestFixtures.snapshot;
+
+class PlayerJournalTest {
+    // Record types as written to disk
+    private static final byte FULL = 1;
+    private static final byte LEVEL = 3;
+    private static final byte MANA_TIME = 6;
+
+    @TempDir
+    Path dir;
+
+    private final List<PlayerJournal> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeJournals() throws IOException {
+        for (PlayerJournal journal : opened) {
+            journal.close();
+        }
+    }
+
+    private File journalFile() {
+        return dir.resolve("players.journal").toFile();
+    }
+
+    private PlayerJournal open(PlayerRecordStore store) throws IOException {
+        PlayerJournal journal = new PlayerJournal(journalFile(), store, LOGGER);
+        opened.add(journal);
+        return journal;
+    }
+
+    /**
+     * One encoded journal record: [crc32][type][uuid][payload]
+     */
+    private static byte[] record(byte type, UUID uuid, ByteBuffer payload) {
+        ByteBuffer body = ByteBuffer.allocate(1 + 16 + payload.capacity());
+        body.put(type).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+        body.put(payload.array());
+
+        CRC32 crc = new CRC32();
+        crc.update(body.array());
+        return ByteBuffer.allocate(4 + body.capacity()).putInt((int) crc.getValue()).put(body.array()).array();
+    }
+
+    private static byte[] full(UUID uuid, ElementType element, int level, Set<ElementType> items, int mana) {
+        return record(FULL, uuid, ByteBuffer.allocate(10)
+                .put(PlayerDataCodec.encodeElement(element))
+                .put((byte) level)
+                .putInt(PlayerDataCodec.encodeItems(items))
+                .putInt(mana));
+    }
+
+    private static byte[] level(UUID uuid, int level) {
+        return record(LEVEL, uuid, ByteBuffer.allocate(1).put((byte) level));
+    }
+
+    private static byte[] manaTime(UUID uuid, int mana, long timestamp) {
+        return record(MANA_TIME, uuid, ByteBuffer.allocate(12).putInt(mana).putLong(timestamp));
+    }
+
+    private void writeJournal(byte[]... records) throws IOException {
+        for (byte[] record : records) {
+            Files.write(journalFile().toPath(), record, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+
+    @Test
+    void replaysTheJournalLeftByACrashIntoTheStore() throws IOException {
+        UUID uuid = UUID.randomUUID();
+        writeJournal(full(uuid, ElementType.FIRE, 0, Set.of(), 50),
+                level(uuid, 2),
+                manaTime(uuid, 75, 1_700_000_000_000L));
+
+        MemoryStore store = new MemoryStore();
+        PlayerJournal journal = open(store);
+
+        PlayerDataSnapshot replayed = store.records.get(uuid);
+        assertNotNull(replayed);
+        assertEquals(ElementType.FIRE, replayed.getCurrentElement());
+        assertEquals(2, replayed.getUpgradeLevel());
+        assertEquals(75, replayed.getMana());
+        assertEquals(1_700_000_000_000L, replayed.getManaTimestamp());
+
+        // Folded in on open, so the journal starts empty
+        assertEquals(0, journal.getSize());
+        assertNull(journal.peek(uuid));
+    }
+
+    @Test
+    void truncatedTailIsSkipped() throws IOException {
+        UUID uuid = UUID.randomUUID();
+        byte[] partial = level(uuid, 2);
+        writeJournal(full(uuid, ElementType.AIR, 1, Set.of(), 10),
+                Arrays.copyOf(partial, partial.length - 3));
+
+        MemoryStore store = new MemoryStore();
+        PlayerJournal journal = open(store);
+
+        assertEquals(1, store.records.get(uuid).getUpgradeLevel());
+        assertEquals(0, journal.getSize());
+    }
+
+    @Test
+    void replayStopsAtACorruptedChecksum() throws IOException {
+        UUID uuid = UUID.randomUUID();
+        byte[] corrupted = level(uuid, 2);
+        corrupted[corrupted.length - 1] ^= 0x01;
+        writeJournal(full(uuid, ElementType.WATER, 0, Set.of(), 10),
+                corrupted,
+                manaTime(uuid, 99, 5L)); // After the corruption - not trusted either
+
+        MemoryStore store = new MemoryStore();
+        open(store);
+
+        PlayerDataSnapshot replayed = store.records.get(uuid);
+        assertEquals(0, replayed.getUpgradeLevel());
+        assertEquals(10, replayed.getMana());
+    }
+
+    @Test
+    void deltasAreReplayedOverTheStoredRecord() throws IOException {
+        UUID uuid = UUID.randomUUID();
+        MemoryStore store = new MemoryStore();
+        store.records.put(uuid, snapshot(uuid, ElementType.EARTH, 1, Set.of(ElementType.EARTH), 30));
+
+        // No full record since the last compaction, only changes
+        writeJournal(level(uuid, 2), manaTime(uuid, 60, 1_700_000_000_000L));
+        open(store);
+
+        PlayerDataSnapshot replayed = store.records.get(uuid);
+        assertEquals(ElementType.EARTH, replayed.getCurrentElement());
+        assertEquals(Set.of(ElementType.EARTH), replayed.getOwnedItems());
+        assertEquals(2, replayed.getUpgradeLevel());
+        assertEquals(60, replayed.getMana());
+    }
+
+    @Test
+    void deltasForAnUnknownPlayerStartFromDefaults() throws IOException {
+        UUID uuid = UUID.randomUUID();
+        writeJournal(level(uuid, 1));
+
+        MemoryStore store = new MemoryStore();
+        open(store);
+
+        PlayerDataSnapshot replayed = store.records.get(uuid);
+        assertNull(replayed.getCurrentElement());
+        assertEquals(1, replayed.getUpgradeLevel());
+    }
+
+    @Test
+    void writtenBatchesReplayAfterACrash() throws IOException {
+        UUID uuid = UUID.randomUUID();
+        PlayerJournal journal = open(new MemoryStore());
+        journal.write(List.of(snapshot(uuid, ElementType.LIFE, 0, Set.of(), 20)));
+        journal.write(List.of(snapshot(uuid, ElementType.LIFE, 2, Set.of(ElementType.LIFE), 40)));
+        assertTrue(journal.getSize() > 0);
+
+        // Crash: the file is reopened before the first journal ever compacts
+        Path crashed = dir.resolve("crashed.journal");
+        Files.copy(journalFile().toPath(), crashed);
+        MemoryStore recovered = new MemoryStore();
+        opened.add(new PlayerJournal(crashed.toFile(), recovered, LOGGER));
+
+        PlayerDataSnapshot replayed = recovered.records.get(uuid);
+        assertEquals(2, replayed.getUpgradeLevel());
+        assertEquals(Set.of(ElementType.LIFE), replayed.getOwnedItems());
+        assertEquals(40, replayed.getMana());
+    }
+
+    @Test
+    void compactionFoldsStateIntoTheStore() throws IOException {
+        UUID uuid = UUID.randomUUID();
+        MemoryStore store = new MemoryStore();
+        PlayerJournal journal = open(store);
+        PlayerDataSnapshot snapshot = snapshot(uuid, ElementType.DEATH, 1, Set.of(), 70);
+
+        journal.write(List.of(snapshot));
+        assertSame(snapshot, journal.peek(uuid));
+        assertFalse(store.records.containsKey(uuid));
+
+        journal.compact();
+        assertSame(snapshot, store.records.get(uuid));
+        assertNull(journal.peek(uuid));
+        assertEquals(0, journal.getSize());
+        assertEquals(0, journalFile().length());
+    }
+
+    @Test
+    void failedCompactionKeepsTheJournal() throws IOException {
+        UUID uuid = UUID.randomUUID();
+        MemoryStore store = new MemoryStore();
+        PlayerJournal journal = open(store);
+        PlayerDataSnapshot snapshot = snapshot(uuid, ElementType.FROST, 0, Set.of(), 5);
+        journal.write(List.of(snapshot));
+        long size = journal.getSize();
+
+        store.failing = true;
+        assertThrows(IOException.class, journal::compact);
+        assertSame(snapshot, journal.peek(uuid));
+        assertEquals(size, journal.getSize());
+
+        store.failing = false;
+        journal.compact();
+        assertSame(snapshot, store.records.get(uuid));
+    }
+
+    /**
+     * Record store kept in memory
+     */
+    private static class MemoryStore implements PlayerRecordStore {
+        final Map<UUID, PlayerDataSnapshot> records = new ConcurrentHashMap<>();
+        volatile boolean failing;
+
+        @Override
+        public PlayerData load(UUID uuid) {
+            PlayerDataSnapshot snapshot = records.get(uuid);
+            return snapshot != null ? new PlayerData(snapshot) : null;
+        }
+
+        @Override
+        public void save(PlayerDataSnapshot snapshot) throws IOException {
+            if (failing) throw new IOException("store unavailable");
+            records.put(snapshot.getUuid(), snapshot);
+        }
+
+        @Override public boolean delete(UUID uuid) { return records.remove(uuid) != null; }
+        @Override public boolean exists(UUID uuid) { return records.containsKey(uuid); }
+        @Override public List<UUID> list() { return new ArrayList<>(records.keySet()); }
+        @Override public int count() { return records.size(); }
+        @Override public long totalSize() { return 0; }
+        @Override public Path getLocation() { return null; }
+    }
+}
@@ -0,0 +1,71 @@
+package saturn.elementPlugin.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeamDataTest {
+    private final UUID owner = UUID.randomUUID();
+    private final UUID second = UUID.randomUUID();
+    private final UUID third = UUID.randomUUID();
+
+    @Test
+    void ownerIsAlwaysAMember() {
+        TeamData team = new TeamData("red", owner);
+
+        assertTrue(team.isMember(owner));
+        assertTrue(team.isOwner(owner));
+        assertEquals(1, team.size());
+        assertFalse(team.addMember(owner));
+    }
+
+    @Test
+    void keepsJoinOrder() {
+        TeamData team = new TeamData("red", owner);
+        team.addMember(third);
+        team.addMember(second);
+
+        assertEquals(List.of(owner, third, second), List.copyOf(team.getMembers()));
+        assertThrows(UnsupportedOperationException.class, () -> team.getMembers().add(UUID.randomUUID()));
+    }
+
+    @Test
+    void longestStandingMemberTakesOverFromALeavingOwner() {
+        TeamData team = new TeamData("red", owner);
+        team.addMember(second);
+        team.addMember(third);
+
+        assertTrue(team.removeMember(owner));
+        assertEquals(second, team.getOwner());
+        assertFalse(team.removeMember(owner));
+
+        assertTrue(team.removeMember(third));
+        assertEquals(second, team.getOwner()); // Not the owner leaving
+    }
+
+    @Test
+    void lastMemberLeavingEmptiesTheTeam() {
+        TeamData team = new TeamData("red", owner);
+        team.removeMember(owner);
+
+        assertTrue(team.isEmpty());
+        assertEquals(owner, team.getOwner());
+    }
+
+    @Test
+    void indexIsUnassignedUntilSet() {
+        TeamData team = new TeamData("red", owner);
+        assertEquals(-1, team.getIndex());
+
+        team.setIndex(7);
+        assertEquals(7, team.getIndex());
+    }
+
+    @Test
+    void loadSkipsAMissingSection() {
+        assertNull(TeamData.load("red", null));
+    }
+}
@@ -0,0 +1,55 @@
+package saturn.elementPlugin.data;
+
+import saturn.elementPlugin.elements.ElementType;
+
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Shared logger and player snapshot factories for the tests
+ */
+public final class TestFixtures {
+    public static final Logger LOGGER = Logger.getLogger("ElementPluginTest");
+
+    private static final ElementType[] ELEMENTS = ElementType.values();
+
+    private TestFixtures() {
+    }
+
+    public static PlayerDataSnapshot snapshot(UUID uuid, ElementType element, int level, Set<ElementType> items, int mana) {
+        return new PlayerDataSnapshot(uuid, element, level, items, mana);
+    }
+
+    public static PlayerDataSnapshot snapshot(ElementType element, int level, Set<ElementType> items, int mana) {
+        return snapshot(UUID.randomUUID(), element, level, items, mana);
+    }
+
+    /**
+     * A player with full mana owning the given items
+     */
+    public static PlayerDataSnapshot snapshot(UUID uuid, ElementType element, int level, ElementType... items) {
+        Set<ElementType> owned = EnumSet.noneOf(ElementType.class);
+        owned.addAll(Arrays.asList(items));
+        return snapshot(uuid, element, level, owned, 100);
+    }
+
+    /**
+     * A level 1 metal player, for tests that only tell records apart by mana
+     */
+    public static PlayerDataSnapshot snapshot(UUID uuid, int mana) {
+        return snapshot(uuid, ElementType.METAL, 1, EnumSet.of(ElementType.METAL), mana);
+    }
+
+    /**
+     * {@code count} distinct players cycling through every element, level and mana value
+     */
+    public static List<PlayerDataSnapshot> players(int count) {
+        List<PlayerDataSnapshot> players = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ElementType element = ELEMENTS[i % ELEMENTS.length];
+            players.add(new PlayerDataSnapshot(UUID.randomUUID(), element, i % 3, EnumSet.of(element), i % 101,
+                    1_700_000_000_000L + i));
+        }
+        return players;
+    }
+}
@@ -0,0 +1,82 @@
+package saturn.elementPlugin.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrustGraphTest {
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID carol = UUID.randomUUID();
+
+    @Test
+    void trustIsMutual() {
+        TrustGraph graph = new TrustGraph(4);
+        graph.add(alice, bob);
+
+        assertTrue(graph.trusts(alice, bob));
+        assertTrue(graph.trusts(bob, alice));
+        assertFalse(graph.trusts(alice, carol));
+        assertEquals(1, graph.getEdgeCount());
+
+        // Adding the reverse direction is the same edge
+        graph.add(bob, alice);
+        assertEquals(1, graph.getEdgeCount());
+    }
+
+    @Test
+    void unknownAndSelfAreNeverTrusted() {
+        TrustGraph graph = new TrustGraph(4);
+        graph.add(alice, alice);
+
+        assertFalse(graph.trusts(alice, alice));
+        assertFalse(graph.trusts(carol, bob));
+        assertEquals(0, graph.getEdgeCount());
+    }
+
+    @Test
+    void removesEitherDirection() {
+        TrustGraph graph = new TrustGraph(4);
+        graph.add(alice, bob);
+        graph.add(alice, carol);
+
+        graph.remove(bob, alice);
+        assertFalse(graph.trusts(alice, bob));
+        assertTrue(graph.trusts(alice, carol));
+        assertEquals(1, graph.getEdgeCount());
+
+        graph.remove(alice, UUID.randomUUID()); // Unknown player: no-op
+        assertEquals(1, graph.getEdgeCount());
+    }
+
+    @Test
+    void replaceDropsEveryEdgeOfThePlayer() {
+        TrustGraph graph = new TrustGraph(4);
+        UUID dave = UUID.randomUUID();
+        graph.add(alice, bob);
+        graph.add(carol, alice);
+        graph.add(bob, carol);
+
+        graph.replace(alice, List.of(dave));
+
+        assertFalse(graph.trusts(alice, bob));
+        assertFalse(graph.trusts(alice, carol));
+        assertTrue(graph.trusts(alice, dave));
+        assertTrue(graph.trusts(bob, carol)); // Not alice's edge
+        assertEquals(2, graph.getEdgeCount());
+        assertEquals(4, graph.getPlayerCount());
+    }
+
+    @Test
+    void replaceWorksForNewPlayers() {
+        TrustGraph graph = new TrustGraph(4);
+        graph.replace(alice, List.of(bob, carol));
+
+        assertTrue(graph.trusts(bob, alice));
+        assertTrue(graph.trusts(carol, alice));
+        assertFalse(graph.trusts(bob, carol));
+    }
+}
@@ -0,0 +1,185 @@
+package saturn.elementPlugin.data;
+
+import saturn.elementPlugin.regions.DisabledRegion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static saturn.elementPlugin.data.TestFixtures.LOGGER;
+
+class TrustJournalTest {
+    @TempDir
+    Path dir;
+
+    private final MemoryBackend backend = new MemoryBackend();
+    private final Set<UUID> compacted = ConcurrentHashMap.newKeySet();
+    private final List<TrustJournal> opened = new ArrayList<>();
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+
+    @AfterEach
+    void closeJournals() {
+        backend.failing = false;
+        opened.forEach(TrustJournal::close);
+    }
+
+    private TrustJournal open(File file) throws IOException {
+        TrustJournal journal = new TrustJournal(file, backend, LOGGER, compacted::addAll);
+        opened.add(journal);
+        return journal;
+    }
+
+    private TrustJournal direct() {
+        TrustJournal journal = TrustJournal.direct(backend, LOGGER, compacted::addAll);
+        opened.add(journal);
+        return journal;
+    }
+
+    private void close(TrustJournal journal) {
+        opened.remove(journal);
+        journal.close();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void loadsSeeEventsBeforeCompaction() throws Exception {
+        TrustJournal journal = open(dir.resolve("trust.log").toFile());
+        journal.record(TrustEvent.trustAdded(alice, bob));
+
+        assertTrue(journal.load(alice).trusts(bob));
+        await(() -> journal.getSize() > 0);
+        assertFalse(backend.stored(alice).trusts(bob)); // Below the threshold, only logged
+        assertEquals(0, journal.getCompactionCount());
+    }
+
+    @Test
+    void closeCompactsIntoTheBackend() throws Exception {
+        TrustJournal journal = open(dir.resolve("trust.log").toFile());
+        journal.record(TrustEvent.trustAdded(alice, bob), TrustEvent.trustAdded(bob, alice));
+        journal.record(TrustEvent.trustRemoved(bob, alice));
+        close(journal);
+
+        assertTrue(backend.stored(alice).trusts(bob));
+        assertFalse(backend.stored(bob).trusts(alice));
+        assertEquals(Set.of(alice, bob), compacted);
+        assertEquals(0, dir.resolve("trust.log").toFile().length());
+        assertEquals(0, journal.getUncompactedPlayerCount());
+    }
+
+    @Test
+    void replaysTheLogLeftByAFailedShutdown() throws Exception {
+        File file = dir.resolve("trust.log").toFile();
+        TrustJournal first = open(file);
+        first.record(TrustEvent.trustAdded(alice, bob));
+        await(() -> first.getSize() > 0);
+
+        backend.failing = true;
+        close(first);
+        assertFalse(backend.stored(alice).trusts(bob));
+        assertTrue(file.length() > 0);
+
+        // Opening compacts what was replayed
+        backend.failing = false;
+        TrustJournal second = open(file);
+        assertTrue(backend.stored(alice).trusts(bob));
+        assertEquals(0, file.length());
+        assertEquals(0, second.getUncompactedPlayerCount());
+    }
+
+    @Test
+    void replayStopsAtADamagedLine() throws Exception {
+        File file = dir.resolve("trust.log").toFile();
+        TrustJournal first = open(file);
+        first.record(TrustEvent.trustAdded(alice, bob));
+        await(() -> first.getSize() > 0);
+        backend.failing = true;
+        close(first);
+
+        Files.writeString(file.toPath(), "not an event\n" + TrustEvent.trustAdded(bob, alice).encode() + "\n",
+                StandardOpenOption.APPEND);
+
+        backend.failing = false;
+        open(file);
+        assertTrue(backend.stored(alice).trusts(bob));
+        assertFalse(backend.stored(bob).trusts(alice));
+    }
+
+    @Test
+    void directModeCompactsEveryBatch() throws Exception {
+        TrustJournal journal = direct();
+        journal.record(TrustEvent.trustAdded(alice, bob));
+
+        await(() -> backend.stored(alice).trusts(bob));
+        assertEquals(Set.of(alice), compacted);
+        assertEquals(0, journal.getUncompactedPlayerCount());
+    }
+
+    @Test
+    void directModeRetriesAFailedCompactionWithoutNewEvents() throws Exception {
+        backend.failing = true;
+        TrustJournal journal = direct();
+        journal.record(TrustEvent.trustAdded(alice, bob));
+
+        await(() -> journal.getFailureCount() > 0);
+        assertTrue(journal.load(alice).trusts(bob)); // Kept uncompacted
+
+        backend.failing = false;
+        await(() -> backend.stored(alice).trusts(bob));
+        assertEquals(0, journal.getUncompactedPlayerCount());
+    }
+
+    /**
+     * Trust storage in memory; saves fail while {@code failing} is set
+     */
+    private static class MemoryBackend implements StorageBackend {
+        private final Map<UUID, TrustData> trust = new ConcurrentHashMap<>();
+        volatile boolean failing;
+
+        TrustData stored(UUID uuid) {
+            TrustData data = trust.get(uuid);
+            return data != null ? copy(data) : new TrustData(uuid);
+        }
+
+        private static TrustData copy(TrustData data) {
+            return new TrustData(data.getPlayerUuid(), data.getTrustedPlayers(),
+                    data.getPendingOutgoingTimestamps(), data.getPendingIncomingTimestamps());
+        }
+
+        @Override public String getName() { return "memory"; }
+        @Override public PlayerRecordStore getPlayerStore() { return null; }
+        @Override public TrustData loadTrust(UUID uuid) { return stored(uuid); }
+        @Override public Collection<TrustData> loadAllTrust() { return new ArrayList<>(trust.values()); }
+
+        @Override
+        public void saveTrust(Collection<TrustData> data) throws IOException {
+            if (failing) throw new IOException("backend unavailable");
+            for (TrustData d : data) {
+                trust.put(d.getPlayerUuid(), copy(d));
+            }
+        }
+
+        @Override public List<DisabledRegion> loadRegions() { return List.of(); }
+        @Override public void saveRegions(Collection<DisabledRegion> regions) {}
+        @Override public Map<UUID, Boolean> loadTeamHidden() { return Map.of(); }
+        @Override public void saveTeamHidden(Map<UUID, Boolean> teamHidden) {}
+        @Override public void close() {}
+    }
+}
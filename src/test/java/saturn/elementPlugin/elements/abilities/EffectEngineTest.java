@@ -0,0 +1,268 @@
+package saturn.elementPlugin.elements.abilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static saturn.elementPlugin.data.TestFixtures.LOGGER;
+
+class EffectEngineTest {
+    private static final long NO_BUDGET = 0;
+    private static final long AMPLE_BUDGET = 1_000_000; // One second
+
+    private final List<String> ticks = new ArrayList<>();
+
+    /**
+     * Effect that logs "name@age" on every tick and counts its onEnd calls
+     */
+    private class Recorder extends ActiveEffect {
+        final String name;
+        final List<ActiveEffect.EndReason> ends = new ArrayList<>();
+        Runnable onTick = () -> {};
+
+        Recorder(String name, UUID owner, int duration) {
+            super(owner, duration);
+            this.name = name;
+        }
+
+        Recorder(String name, int duration, int period) {
+            super(null, duration, period);
+            this.name = name;
+        }
+
+        Recorder(String name) {
+            this(name, null, -1);
+        }
+
+        @Override
+        protected void tick(int age) {
+            ticks.add(name + "@" + age);
+            onTick.run();
+            // Let the clock move, so a zero budget always runs out after one effect
+            long start = System.nanoTime();
+            while (System.nanoTime() == start) {
+                Thread.onSpinWait();
+            }
+        }
+
+        @Override
+        protected void onEnd(ActiveEffect.EndReason reason) {
+            ends.add(reason);
+        }
+    }
+
+    private List<String> tick(EffectEngine engine) {
+        ticks.clear();
+        engine.tick();
+        return new ArrayList<>(ticks);
+    }
+
+    // ========================================
+    // ORDER
+    // ========================================
+
+    @Test
+    void effectsRunInStartOrderFromTheNextTick() {
+        EffectEngine engine = new EffectEngine(AMPLE_BUDGET, LOGGER);
+        Recorder a = engine.start(new Recorder("a"));
+        Recorder b = engine.start(new Recorder("b"));
+        Recorder late = new Recorder("late");
+        a.onTick = () -> {
+            if (a.age == 0) engine.start(late);
+        };
+
+        // Started during the tick - joins at the end and waits for the next one
+        assertEquals(List.of("a@0", "b@0"), tick(engine));
+        assertEquals(List.of("a@1", "b@1", "late@0"), tick(engine));
+        assertEquals(3, engine.getActiveCount());
+        assertTrue(b.ends.isEmpty());
+    }
+
+    @Test
+    void periodSkipsTicksButAgeAdvances() {
+        EffectEngine engine = new EffectEngine(AMPLE_BUDGET, LOGGER);
+        engine.start(new Recorder("slow", -1, 3));
+
+        List<String> all = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            all.addAll(tick(engine));
+        }
+        assertEquals(List.of("slow@0", "slow@3", "slow@6"), all);
+    }
+
+    // ========================================
+    // BUDGET
+    // ========================================
+
+    @Test
+    void budgetDefersTheRestAndTheNextPassStartsWithThem() {
+        EffectEngine engine = new EffectEngine(NO_BUDGET, LOGGER);
+        engine.start(new Recorder("a"));
+        engine.start(new Recorder("b"));
+        engine.start(new Recorder("c"));
+
+        // Each pass advances one effect, rotating so nothing is starved; ages only move when ticked
+        assertEquals(List.of("a@0"), tick(engine));
+        assertEquals(List.of("b@0"), tick(engine));
+        assertEquals(List.of("c@0"), tick(engine));
+        assertEquals(List.of("a@1"), tick(engine));
+
+        assertEquals(4, engine.getOverrunCount());
+        assertEquals(8, engine.getDeferredCount());
+    }
+
+    @Test
+    void cursorFollowsItsEffectThroughCompaction() {
+        EffectEngine engine = new EffectEngine(NO_BUDGET, LOGGER);
+        UUID quitter = UUID.randomUUID();
+        engine.start(new Recorder("a"));
+        Recorder b = engine.start(new Recorder("b", quitter, -1));
+        engine.start(new Recorder("c"));
+        engine.start(new Recorder("d"));
+
+        assertEquals(List.of("a@0"), tick(engine));
+
+        // b was next in line; once it is gone the pass continues with c, not d
+        engine.endOwnedBy(quitter, ActiveEffect.EndReason.OWNER_QUIT);
+        List<String> order = new ArrayList<>();
+        for (int i = 0; i < 5 && order.size() < 3; i++) {
+            order.addAll(tick(engine));
+        }
+        assertEquals(List.of("c@0", "d@0", "a@1"), order);
+        assertEquals(List.of(ActiveEffect.EndReason.OWNER_QUIT), b.ends);
+        assertEquals(3, engine.getActiveCount());
+    }
+
+    // ========================================
+    // COMPACTION
+    // ========================================
+
+    @Test
+    void endedEffectsAreCompactedOutKeepingOrder() {
+        EffectEngine engine = new EffectEngine(AMPLE_BUDGET, LOGGER);
+        List<Recorder> effects = new ArrayList<>();
+        for (String name : List.of("a", "b", "c", "d", "e")) {
+            effects.add(engine.start(new Recorder(name)));
+        }
+        effects.get(1).onTick = effects.get(1)::end;
+        effects.get(3).onTick = effects.get(3)::end;
+
+        assertEquals(List.of("a@0", "b@0", "c@0", "d@0", "e@0"), tick(engine));
+        assertEquals(3, engine.getActiveCount());
+        assertEquals(List.of("a@1", "c@1", "e@1"), tick(engine));
+        assertEquals(List.of(ActiveEffect.EndReason.FINISHED), effects.get(1).ends);
+
+        // Effects started after the compaction still join at the end
+        engine.start(new Recorder("f"));
+        assertEquals(List.of("a@2", "c@2", "e@2", "f@0"), tick(engine));
+    }
+
+    @Test
+    void manyEffectsGrowTheArray() {
+        EffectEngine engine = new EffectEngine(AMPLE_BUDGET, LOGGER);
+        for (int i = 0; i < 200; i++) {
+            engine.start(new Recorder("e" + i));
+        }
+        List<String> ticked = tick(engine);
+        assertEquals(200, ticked.size());
+        assertEquals("e0@0", ticked.get(0));
+        assertEquals("e199@0", ticked.get(199));
+    }
+
+    // ========================================
+    // END
+    // ========================================
+
+    @Test
+    void onEndRunsOnceAfterEndOwnedBy() {
+        EffectEngine engine = new EffectEngine(AMPLE_BUDGET, LOGGER);
+        UUID owner = UUID.randomUUID();
+        Recorder running = engine.start(new Recorder("running", owner, -1));
+        tick(engine);
+        Recorder pending = engine.start(new Recorder("pending", owner, -1)); // Not ticked yet
+        Recorder other = engine.start(new Recorder("other"));
+
+        assertEquals(2, engine.endOwnedBy(owner, ActiveEffect.EndReason.OWNER_DIED));
+        assertEquals(0, engine.endOwnedBy(owner, ActiveEffect.EndReason.OWNER_QUIT));
+        engine.shutdown();
+
+        assertEquals(List.of(ActiveEffect.EndReason.OWNER_DIED), running.ends);
+        assertEquals(List.of(ActiveEffect.EndReason.OWNER_DIED), pending.ends);
+        assertEquals(List.of(ActiveEffect.EndReason.SHUTDOWN), other.ends);
+        assertEquals(0, engine.getActiveCount());
+    }
+
+    @Test
+    void onEndRunsOnceOnShutdown() {
+        EffectEngine engine = new EffectEngine(AMPLE_BUDGET, LOGGER);
+        Recorder ticked = engine.start(new Recorder("ticked"));
+        tick(engine);
+        Recorder waiting = engine.start(new Recorder("waiting"));
+        ticked.end(); // Requested, but the engine stops before it is processed
+
+        engine.shutdown();
+        engine.shutdown();
+        assertTrue(tick(engine).isEmpty());
+
+        assertEquals(List.of(ActiveEffect.EndReason.SHUTDOWN), ticked.ends);
+        assertEquals(List.of(ActiveEffect.EndReason.SHUTDOWN), waiting.ends);
+    }
+
+    @Test
+    void throwingTickEndsTheEffectOnceAsFailed() {
+        EffectEngine engine = new EffectEngine(AMPLE_BUDGET, LOGGER);
+        Recorder broken = engine.start(new Recorder("broken"));
+        Recorder healthy = engine.start(new Recorder("healthy"));
+        broken.onTick = () -> {
+            throw new IllegalStateException("boom");
+        };
+
+        assertEquals(List.of("broken@0", "healthy@0"), tick(engine));
+        assertEquals(List.of("healthy@1"), tick(engine));
+        engine.shutdown();
+
+        assertEquals(List.of(ActiveEffect.EndReason.FAILED), broken.ends);
+        assertEquals(List.of(ActiveEffect.EndReason.SHUTDOWN), healthy.ends);
+    }
+
+    @Test
+    void onEndRunsOnceOnExpiry() {
+        EffectEngine engine = new EffectEngine(AMPLE_BUDGET, LOGGER);
+        UUID owner = UUID.randomUUID();
+        Recorder effect = engine.start(new Recorder("short", owner, 3));
+
+        List<String> all = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            all.addAll(tick(engine));
+        }
+        engine.endOwnedBy(owner, ActiveEffect.EndReason.OWNER_QUIT);
+        engine.shutdown();
+
+        assertEquals(List.of("short@0", "short@1", "short@2"), all);
+        assertEquals(List.of(ActiveEffect.EndReason.EXPIRED), effect.ends);
+        assertTrue(effect.isEnded());
+    }
+
+    @Test
+    void throwingOnEndStillCountsAsEnded() {
+        EffectEngine engine = new EffectEngine(AMPLE_BUDGET, LOGGER);
+        UUID owner = UUID.randomUUID();
+        ActiveEffect effect = engine.start(new ActiveEffect(owner, -1) {
+            @Override
+            protected void tick(int age) {
+            }
+
+            @Override
+            protected void onEnd(EndReason reason) {
+                throw new IllegalStateException("cleanup failed");
+            }
+        });
+        tick(engine);
+
+        assertEquals(1, engine.endOwnedBy(owner, ActiveEffect.EndReason.OWNER_QUIT));
+        assertTrue(effect.isEnded());
+        tick(engine);
+        assertEquals(0, engine.getActiveCount());
+    }
+}
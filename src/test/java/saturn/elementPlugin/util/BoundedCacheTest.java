@@ -0,0 +1,152 @@
+package saturn.elementPlugin.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+    private static final long IDLE_MILLIS = 100;
+
+    private final Set<String> pinned = new HashSet<>();
+    private final List<String> written = new ArrayList<>();
+    private boolean writeFails;
+
+    /**
+     * Cached value with a dirty flag that a successful write-back clears
+     */
+    private static final class Value {
+        final String name;
+        boolean dirty;
+
+        Value(String name) {
+            this.name = name;
+        }
+    }
+
+    private BoundedCache<String, Value> cache(int maxSize, long maxIdleMillis) {
+        return new BoundedCache<>(maxSize, maxIdleMillis, pinned::contains, value -> value.dirty, value -> {
+            written.add(value.name);
+            if (!writeFails) value.dirty = false;
+        });
+    }
+
+    private static Value put(BoundedCache<String, Value> cache, String key) {
+        Value value = new Value(key);
+        cache.put(key, value);
+        return value;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void pinnedKeysAreNeverEvicted() {
+        BoundedCache<String, Value> cache = cache(1, 0);
+        put(cache, "online");
+        put(cache, "also-online");
+        put(cache, "offline");
+        pinned.add("online");
+        pinned.add("also-online");
+
+        // Idle and over the size limit, but pinned
+        assertEquals(1, cache.cleanUp());
+        assertEquals(Set.of("online", "also-online"), cache.keys());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void idleEntriesAreEvictedBeforeLeastRecentlyUsedOnes() {
+        BoundedCache<String, Value> cache = cache(2, IDLE_MILLIS);
+        put(cache, "idle");
+        sleep(IDLE_MILLIS + 20);
+
+        put(cache, "b");
+        sleep(5);
+        put(cache, "c");
+        sleep(5);
+        put(cache, "d");
+        sleep(5);
+        cache.getIfPresent("b"); // c is now the least recently used
+
+        assertEquals(2, cache.cleanUp());
+        assertEquals(Set.of("b", "d"), cache.keys());
+    }
+
+    @Test
+    void withinLimitsNothingIsEvicted() {
+        BoundedCache<String, Value> cache = cache(3, 60_000);
+        put(cache, "a");
+        put(cache, "b");
+
+        assertEquals(0, cache.cleanUp());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void dirtyEntryIsWrittenBackBeforeEviction() {
+        BoundedCache<String, Value> cache = cache(10, 0);
+        Value dirty = put(cache, "dirty");
+        dirty.dirty = true;
+        put(cache, "clean");
+
+        assertEquals(2, cache.cleanUp());
+        assertEquals(List.of("dirty"), written);
+        assertFalse(dirty.dirty);
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getWriteBackCount());
+    }
+
+    @Test
+    void entryStillDirtyAfterAFailedWriteBackStaysCached() {
+        BoundedCache<String, Value> cache = cache(0, 0);
+        Value dirty = put(cache, "dirty");
+        dirty.dirty = true;
+        writeFails = true;
+
+        assertEquals(0, cache.cleanUp());
+        assertSame(dirty, cache.getIfPresent("dirty"));
+        assertEquals(List.of("dirty"), written);
+
+        // Evicted once a later write-back succeeds
+        writeFails = false;
+        assertEquals(1, cache.cleanUp());
+        assertFalse(cache.contains("dirty"));
+        assertEquals(List.of("dirty", "dirty"), written);
+    }
+
+    @Test
+    void failedWriteBackDoesNotCountTowardsTheOverflow() {
+        BoundedCache<String, Value> cache = cache(1, 60_000);
+        Value stuck = put(cache, "stuck");
+        stuck.dirty = true;
+        writeFails = true;
+        sleep(5);
+        put(cache, "a");
+        sleep(5);
+        put(cache, "b");
+
+        // Two over the limit: the oldest can't be written, so both others go
+        assertEquals(2, cache.cleanUp());
+        assertEquals(Set.of("stuck"), cache.keys());
+    }
+
+    @Test
+    void loadsOnMissAndCountsHits() {
+        BoundedCache<String, Value> cache = cache(10, 60_000);
+        Value loaded = cache.get("a", Value::new);
+
+        assertSame(loaded, cache.get("a", key -> fail("Loaded twice")));
+        assertNull(cache.get("missing", key -> null));
+        assertFalse(cache.contains("missing"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(100.0 / 3, cache.getHitRate(), 1e-9);
+    }
+}
@@ -0,0 +1,171 @@
+package saturn.elementPlugin.util;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.util.BoundingBox;
+import org.bukkit.util.Vector;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityGridTest {
+    private final List<LivingEntity> entities = new ArrayList<>();
+    private final Set<LivingEntity> dead = new HashSet<>();
+    private final Map<LivingEntity, BoundingBox> boxes = new HashMap<>();
+    private final World world = world();
+    private final EntityGrid grid = new EntityGrid();
+    private final List<LivingEntity> out = new ArrayList<>();
+    private int lookups;
+
+    /**
+     * A world whose nearby lookup matches bounding boxes against the cube, like the server's
+     */
+    private World world() {
+        return (World) Proxy.newProxyInstance(World.class.getClassLoader(), new Class<?>[]{World.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getNearbyLivingEntities" -> {
+                        lookups++;
+                        Location center = (Location) args[0];
+                        double hx = (double) args[1], hy = (double) args[2], hz = (double) args[3];
+                        BoundingBox cube = new BoundingBox(center.getX() - hx, center.getY() - hy, center.getZ() - hz,
+                                center.getX() + hx, center.getY() + hy, center.getZ() + hz);
+                        yield entities.stream().filter(entity -> boxes.get(entity).overlaps(cube)).toList();
+                    }
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> "world";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * A mob with its feet at a point and a 0.6 wide, 1.8 tall box
+     */
+    private LivingEntity entity(double x, double y, double z) {
+        Location location = new Location(world, x, y, z);
+        LivingEntity entity = (LivingEntity) Proxy.newProxyInstance(LivingEntity.class.getClassLoader(),
+                new Class<?>[]{LivingEntity.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getLocation" -> location;
+                    case "getBoundingBox" -> boxes.get((LivingEntity) proxy);
+                    case "isValid" -> true;
+                    case "isDead" -> dead.contains((LivingEntity) proxy);
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> "entity " + x + " " + y + " " + z;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        boxes.put(entity, new BoundingBox(x - 0.3, y, z - 0.3, x + 0.3, y + 1.8, z + 0.3));
+        entities.add(entity);
+        return entity;
+    }
+
+    private List<LivingEntity> sphere(double x, double y, double z, double radius) {
+        return grid.sphere(new Location(world, x, y, z), radius, out);
+    }
+
+    // ========================================
+    // ZONES
+    // ========================================
+
+    @Test
+    void entityStraddlingAZoneEdgeIsFiledOnce() {
+        // Feet in zone 0, box reaching into zone 1
+        LivingEntity straddling = entity(15.9, 0, 8);
+
+        assertEquals(List.of(straddling), sphere(16, 1, 8, 4));
+        assertTrue(grid.getZoneLoadCount() > 1);
+        assertEquals(1, grid.getIndexedCount());
+    }
+
+    @Test
+    void entityBelowAZoneIsFoundFromTheZoneAbove() {
+        // Feet in zone y = -1, head reaching into a query held entirely in zone 0
+        LivingEntity tall = entity(8, -1.5, 8);
+
+        assertEquals(List.of(tall), sphere(8, 1, 8, 0.8));
+    }
+
+    @Test
+    void laterQueriesReuseLoadedZonesUntilCleared() {
+        entity(8, 0, 8);
+
+        sphere(8, 1, 8, 3);
+        int firstLookups = lookups;
+        assertEquals(1, sphere(6, 1, 6, 3).size());
+        assertEquals(firstLookups, lookups);
+        assertEquals(2, grid.getQueryCount());
+
+        grid.clear();
+        assertEquals(0, grid.getIndexedCount());
+        sphere(8, 1, 8, 3);
+        assertEquals(2 * firstLookups, lookups);
+    }
+
+    // ========================================
+    // SPHERE
+    // ========================================
+
+    @Test
+    void sphereMatchesBoundingBoxesNotFeet() {
+        LivingEntity entity = entity(5, 0, 0);
+
+        // The box starts 4.7 blocks away, the feet 5.1
+        assertEquals(List.of(entity), sphere(0, 1, 0, 4.8));
+        assertEquals(List.of(), sphere(0, 1, 0, 4.6));
+
+        // Above the head: the nearest point is the top of the box
+        assertEquals(List.of(entity), sphere(5, 3.5, 0, 1.75));
+        assertEquals(List.of(), sphere(5, 3.5, 0, 1.65));
+    }
+
+    @Test
+    void sphereIsNotACube() {
+        entity(3, 0, 3);
+
+        // Inside a 4 block cube around the point, but the box corner is sqrt(2) * 2.7 away
+        assertEquals(List.of(), sphere(0, 1, 0, 3.5));
+        assertEquals(1, sphere(0, 1, 0, 3.9).size());
+    }
+
+    @Test
+    void deadEntitiesAreSkipped() {
+        LivingEntity alive = entity(1, 0, 1);
+        LivingEntity gone = entity(-1, 0, -1);
+        dead.add(gone);
+
+        assertEquals(List.of(alive), sphere(0, 1, 0, 3));
+    }
+
+    @Test
+    void resultsReplaceTheCallersList() {
+        entity(1, 0, 1);
+        out.add(entity(100, 0, 100));
+
+        assertEquals(1, sphere(0, 1, 0, 3).size());
+        assertEquals(0, sphere(50, 1, 50, 3).size());
+    }
+
+    // ========================================
+    // CONE
+    // ========================================
+
+    @Test
+    void coneMatchesBoxCentresWithinTheAngle() {
+        LivingEntity ahead = entity(5, 0, 0);
+        LivingEntity offAxis = entity(5, 0, 4);   // About 39 degrees off the axis
+        LivingEntity behind = entity(-5, 0, 0);
+        LivingEntity tooFar = entity(12, 0, 0);
+
+        List<LivingEntity> matches = grid.cone(new Location(world, 0, 0.9, 0), new Vector(2, 0, 0), 10, 30, out);
+        assertEquals(List.of(ahead), matches);
+
+        grid.cone(new Location(world, 0, 0.9, 0), new Vector(1, 0, 0), 10, 45, out);
+        assertEquals(Set.of(ahead, offAxis), new HashSet<>(out));
+        assertFalse(out.contains(behind) || out.contains(tooFar));
+    }
+}
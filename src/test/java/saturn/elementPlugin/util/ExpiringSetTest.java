@@ -0,0 +1,78 @@
+package saturn.elementPlugin.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static saturn.elementPlugin.data.TestFixtures.LOGGER;
+
+class ExpiringSetTest {
+    private final TimingWheel wheel = new TimingWheel(LOGGER);
+    private final ExpiringSet<String> set = new ExpiringSet<>(wheel);
+
+    private void advance(long ticks) {
+        for (long i = 0; i < ticks; i++) {
+            wheel.tick();
+        }
+    }
+
+    @Test
+    void keysDropOutAfterTheirDuration() {
+        set.add("short", 5);
+        set.add("long", 100);
+
+        advance(4);
+        assertTrue(set.contains("short"));
+        advance(1);
+        assertFalse(set.contains("short"));
+        assertTrue(set.contains("long"));
+        assertEquals(1, set.size());
+
+        advance(95);
+        assertFalse(set.contains("long"));
+        assertEquals(0, set.size());
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    @Test
+    void addingAgainReplacesTheRemainingTime() {
+        set.add("key", 5);
+        advance(3);
+        set.add("key", 10);
+
+        advance(5);
+        assertTrue(set.contains("key")); // The first timeout must not remove the new entry
+        advance(5);
+        assertFalse(set.contains("key"));
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    @Test
+    void shorteningTheTimeWorksToo() {
+        set.add("key", 100);
+        set.add("key", 2);
+
+        advance(2);
+        assertFalse(set.contains("key"));
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    @Test
+    void removeCancelsTheTimeout() {
+        set.add("key", 10);
+
+        assertTrue(set.remove("key"));
+        assertFalse(set.remove("key"));
+        assertFalse(set.contains("key"));
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    @Test
+    void reportsRemainingMillis() {
+        set.addMillis("key", 1000);
+        assertEquals(1000, set.getRemainingMillis("key"));
+
+        advance(4);
+        assertEquals(800, set.getRemainingMillis("key"));
+        assertEquals(0, set.getRemainingMillis("absent"));
+    }
+}
@@ -0,0 +1,273 @@
+package saturn.elementPlugin.util;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.util.RayTraceResult;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LineOfSightServiceTest {
+    private static final int TTL = 5;
+
+    private final World world = world("world");
+    private final Map<LivingEntity, Location> eyes = new HashMap<>();
+    private final Block wall = block(world, 0, 0, 0);
+    private final LineOfSightService service = new LineOfSightService(TTL, 2);
+    private boolean blocked;
+    private int traces;
+
+    /**
+     * A world whose ray traces hit {@link #wall} while {@link #blocked} is set
+     */
+    private World world(String name) {
+        return (World) Proxy.newProxyInstance(World.class.getClassLoader(), new Class<?>[]{World.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "rayTraceBlocks" -> {
+                        traces++;
+                        yield blocked ? new RayTraceResult(wall) : null;
+                    }
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> name;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static Block block(World world, int x, int y, int z) {
+        return (Block) Proxy.newProxyInstance(Block.class.getClassLoader(), new Class<?>[]{Block.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getWorld" -> world;
+                    case "getX" -> x;
+                    case "getY" -> y;
+                    case "getZ" -> z;
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> "block " + x + " " + y + " " + z;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * A player (or mob) with its eyes at a point, moved with {@link #move}
+     */
+    private <T extends LivingEntity> T entity(Class<T> type, double x, double y, double z) {
+        UUID uuid = UUID.randomUUID();
+        T entity = type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getUniqueId" -> uuid;
+                    case "getEyeLocation" -> eyes.get((LivingEntity) proxy);
+                    case "isValid" -> true;
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> uuid.hashCode();
+                    case "toString" -> type.getSimpleName() + " " + uuid;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }));
+        eyes.put(entity, new Location(world, x, y, z));
+        return entity;
+    }
+
+    private Player caster() {
+        return entity(Player.class, 0.5, 1.6, 0.5);
+    }
+
+    private LivingEntity target(double x, double z) {
+        return entity(LivingEntity.class, x, 1.6, z);
+    }
+
+    private void move(LivingEntity entity, double x, double y, double z) {
+        eyes.put(entity, new Location(entity.getEyeLocation().getWorld(), x, y, z));
+    }
+
+    private void tick(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            service.tick();
+        }
+    }
+
+    // ========================================
+    // REUSE
+    // ========================================
+
+    @Test
+    void resultIsReusedWhileNothingChanged() {
+        Player caster = caster();
+        LivingEntity target = target(20.5, 0.5);
+
+        assertTrue(service.hasLineOfSight(caster, target));
+        blocked = true;
+        tick(TTL - 1);
+        assertTrue(service.hasLineOfSight(caster, target));
+
+        assertEquals(1, traces);
+        assertEquals(1, service.getHitCount());
+        assertEquals(1, service.getMissCount());
+    }
+
+    @Test
+    void movingWithinABlockKeepsTheResult() {
+        Player caster = caster();
+        LivingEntity target = target(20.5, 0.5);
+
+        service.hasLineOfSight(caster, target);
+        move(target, 20.9, 1.9, 0.1);
+        service.hasLineOfSight(caster, target);
+        assertEquals(1, traces);
+
+        move(target, 21.1, 1.9, 0.1);
+        service.hasLineOfSight(caster, target);
+        assertEquals(2, traces);
+    }
+
+    @Test
+    void resultExpiresAfterTheTtl() {
+        Player caster = caster();
+        LivingEntity target = target(20.5, 0.5);
+
+        assertTrue(service.hasLineOfSight(caster, target));
+        blocked = true;
+        tick(TTL);
+        assertFalse(service.hasLineOfSight(caster, target));
+        assertEquals(2, traces);
+    }
+
+    @Test
+    void resultsArePerCasterAndTarget() {
+        Player caster = caster();
+        Player other = caster();
+        LivingEntity target = target(20.5, 0.5);
+
+        service.hasLineOfSight(caster, target);
+        service.hasLineOfSight(other, target);
+        service.hasLineOfSight(caster, target(-20.5, 0.5));
+        assertEquals(3, traces);
+        assertEquals(3, service.getCachedCount());
+    }
+
+    @Test
+    void targetsInAnotherWorldAreNeverVisible() {
+        Player caster = caster();
+        LivingEntity target = target(20.5, 0.5);
+        eyes.put(target, new Location(world("nether"), 0.5, 1.6, 0.5));
+
+        assertFalse(service.hasLineOfSight(caster, target));
+        assertFalse(service.pollLineOfSight(caster, target));
+        assertEquals(0, traces);
+    }
+
+    // ========================================
+    // BLOCK CHANGES
+    // ========================================
+
+    @Test
+    void blockChangeInACrossedChunkInvalidatesTheResult() {
+        Player caster = caster();
+        LivingEntity target = target(40.5, 0.5); // Chunks 0 to 2 along x
+
+        assertTrue(service.hasLineOfSight(caster, target));
+        blocked = true;
+        service.blockChanged(block(world, 20, 1, 3));
+        assertFalse(service.hasLineOfSight(caster, target));
+        assertEquals(2, traces);
+        assertEquals(1, service.getBlockChangeCount());
+    }
+
+    @Test
+    void blockChangeElsewhereKeepsTheResult() {
+        Player caster = caster();
+        LivingEntity target = target(40.5, 0.5);
+
+        service.hasLineOfSight(caster, target);
+        service.blocksChanged(List.of(
+                block(world, 20, 1, 20),         // Next chunk over along z
+                block(world, 60, 1, 0),          // Past the target
+                block(world("nether"), 20, 1, 3) // Same chunk, other world
+        ));
+        service.hasLineOfSight(caster, target);
+        assertEquals(1, traces);
+    }
+
+    @Test
+    void blockChangeBeforeTheTraceDoesNotInvalidateIt() {
+        Player caster = caster();
+        LivingEntity target = target(40.5, 0.5);
+
+        service.blockChanged(block(world, 20, 1, 3));
+        tick(1);
+        service.hasLineOfSight(caster, target);
+        service.hasLineOfSight(caster, target);
+        assertEquals(1, traces);
+    }
+
+    // ========================================
+    // POLLING
+    // ========================================
+
+    @Test
+    void pollAnswersFromAnOutdatedResultAndRefreshesAtTheEndOfTheTick() {
+        Player caster = caster();
+        LivingEntity target = target(20.5, 0.5);
+
+        assertTrue(service.pollLineOfSight(caster, target));
+        blocked = true;
+        tick(TTL);
+
+        assertTrue(service.pollLineOfSight(caster, target));
+        assertTrue(service.pollLineOfSight(caster, target)); // Queued once
+        assertEquals(1, service.getQueuedCount());
+        assertEquals(1, traces);
+        assertEquals(2, service.getStaleHitCount());
+
+        tick(1);
+        assertEquals(0, service.getQueuedCount());
+        assertFalse(service.pollLineOfSight(caster, target));
+        assertEquals(2, traces);
+    }
+
+    @Test
+    void pollTracesOnTheSpotPastMaxStaleTicks() {
+        Player caster = caster();
+        LivingEntity target = target(20.5, 0.5);
+
+        service.pollLineOfSight(caster, target);
+        blocked = true;
+        tick(2 * TTL);
+
+        assertFalse(service.pollLineOfSight(caster, target));
+        assertEquals(0, service.getQueuedCount());
+        assertEquals(2, traces);
+    }
+
+    @Test
+    void refreshesAreLimitedPerTick() {
+        Player caster = caster();
+        List<LivingEntity> targets = List.of(target(10.5, 0.5), target(20.5, 0.5), target(30.5, 0.5));
+        targets.forEach(target -> service.pollLineOfSight(caster, target));
+        tick(TTL);
+        targets.forEach(target -> service.pollLineOfSight(caster, target));
+        assertEquals(3, service.getQueuedCount());
+
+        tick(1);
+        assertEquals(1, service.getQueuedCount());
+        assertEquals(5, traces);
+        tick(1);
+        assertEquals(0, service.getQueuedCount());
+        assertEquals(6, traces);
+    }
+
+    @Test
+    void oldResultsAreSweptAway() {
+        Player caster = caster();
+        service.hasLineOfSight(caster, target(20.5, 0.5));
+        assertEquals(1, service.getCachedCount());
+
+        tick(20 + 1);
+        assertEquals(0, service.getCachedCount());
+    }
+}
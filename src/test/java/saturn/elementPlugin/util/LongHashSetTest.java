@@ -0,0 +1,124 @@
+package saturn.elementPlugin.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongHashSetTest {
+
+    @Test
+    void addsContainsAndRemoves() {
+        LongHashSet set = new LongHashSet(4);
+
+        assertTrue(set.add(42));
+        assertFalse(set.add(42));
+        assertTrue(set.contains(42));
+        assertFalse(set.contains(43));
+        assertEquals(1, set.size());
+
+        assertTrue(set.remove(42));
+        assertFalse(set.remove(42));
+        assertFalse(set.contains(42));
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    void rejectsKeysThatAreNotPositive() {
+        LongHashSet set = new LongHashSet(4);
+
+        assertThrows(IllegalArgumentException.class, () -> set.add(0));
+        assertThrows(IllegalArgumentException.class, () -> set.add(-1));
+        assertThrows(IllegalArgumentException.class, () -> set.remove(0));
+        assertFalse(set.contains(0));
+
+        set.add(5);
+        set.remove(5); // Leaves a tombstone
+        assertFalse(set.contains(-1));
+    }
+
+    @Test
+    void growsPastTheExpectedSize() {
+        LongHashSet set = new LongHashSet(1);
+        for (long key = 1; key <= 10_000; key++) {
+            assertTrue(set.add(key));
+        }
+
+        assertEquals(10_000, set.size());
+        for (long key = 1; key <= 10_000; key++) {
+            assertTrue(set.contains(key), "missing " + key);
+        }
+        assertFalse(set.contains(10_001));
+    }
+
+    @Test
+    void keysAfterATombstoneAreStillFound() {
+        LongHashSet set = new LongHashSet(16);
+        for (long key = 1; key <= 12; key++) {
+            set.add(key);
+        }
+        for (long key = 1; key <= 12; key += 2) {
+            set.remove(key);
+        }
+
+        for (long key = 1; key <= 12; key++) {
+            assertEquals(key % 2 == 0, set.contains(key), "key " + key);
+        }
+        assertTrue(set.add(3));
+        assertTrue(set.contains(3));
+        assertEquals(7, set.size());
+    }
+
+    @Test
+    void churnDoesNotFillTheTableWithTombstones() {
+        LongHashSet set = new LongHashSet(8);
+        // Each add after a remove leaves a tombstone; sweeping them keeps probes terminating
+        for (long key = 1; key <= 100_000; key++) {
+            set.add(key);
+            set.remove(key);
+        }
+
+        assertEquals(0, set.size());
+        assertFalse(set.contains(100_001));
+    }
+
+    @Test
+    void removeIfCountsRemovedKeys() {
+        LongHashSet set = new LongHashSet(16);
+        for (long key = 1; key <= 20; key++) {
+            set.add(key);
+        }
+
+        assertEquals(10, set.removeIf(key -> key % 2 == 0));
+        assertEquals(10, set.size());
+        assertFalse(set.contains(4));
+        assertTrue(set.contains(5));
+    }
+
+    @Test
+    void readersAlwaysSeeKeysThatStay() throws InterruptedException {
+        LongHashSet set = new LongHashSet(4);
+        set.add(Long.MAX_VALUE);
+
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicInteger misses = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                if (!set.contains(Long.MAX_VALUE)) misses.incrementAndGet();
+            }
+        });
+        reader.start();
+
+        // Grow and sweep repeatedly while the reader probes
+        for (long key = 1; key <= 50_000; key++) {
+            set.add(key);
+            if (key % 3 == 0) set.remove(key - 1);
+        }
+        done.set(true);
+        reader.join();
+
+        assertEquals(0, misses.get());
+    }
+}
@@ -0,0 +1,285 @@
+package saturn.elementPlugin.util;
+
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static saturn.elementPlugin.data.TestFixtures.LOGGER;
+
+class ParticleServiceTest {
+    private static final double VIEW_RADIUS = 64;
+    private static final double FULL_DETAIL_RADIUS = 16;
+    private static final double MIN_DENSITY = 0.25;
+
+    private final List<Player> players = new ArrayList<>();
+    private final List<Packet> packets = new ArrayList<>();
+    private final World world = world();
+
+    /**
+     * One World.spawnParticle call
+     */
+    private record Packet(List<Player> receivers, double x, double y, double z, int count) {
+    }
+
+    private World world() {
+        return (World) Proxy.newProxyInstance(World.class.getClassLoader(), new Class<?>[]{World.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getPlayers" -> players;
+                    case "spawnParticle" -> {
+                        packets.add(new Packet(new ArrayList<>((List<Player>) args[1]),
+                                (double) args[3], (double) args[4], (double) args[5], (int) args[6]));
+                        yield null;
+                    }
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> "world";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private Player player(double x, double y, double z) {
+        UUID uuid = UUID.randomUUID();
+        Location location = new Location(world, x, y, z);
+        Player player = (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[]{Player.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getUniqueId" -> uuid;
+                    case "getLocation" -> location;
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> uuid.hashCode();
+                    case "toString" -> "player " + x;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        return player;
+    }
+
+    /**
+     * A player standing at the origin, so every emission is within full detail range
+     */
+    private Player viewer() {
+        Player player = player(0, 0, 0);
+        players.add(player);
+        return player;
+    }
+
+    private static ParticleService service(int serverBudget, int casterBudget) {
+        return new ParticleService(LOGGER, VIEW_RADIUS, FULL_DETAIL_RADIUS, MIN_DENSITY, serverBudget, casterBudget);
+    }
+
+    /**
+     * Emit {@code x} quarter blocks along the x axis (separate merge cells, all within full detail
+     * range of the origin)
+     */
+    private void spawn(ParticleService service, Player caster, double x, int count) {
+        service.spawn(caster, Particle.FLAME, world, x / 4, 0, 0, count, 0, 0, 0, 0, null);
+    }
+
+    private List<Double> sentPositions() {
+        return packets.stream().map(packet -> packet.x() * 4).toList();
+    }
+
+    private int sentCount() {
+        return packets.stream().mapToInt(Packet::count).sum();
+    }
+
+    // ========================================
+    // BUDGETS
+    // ========================================
+
+    @Test
+    void casterOverBudgetIsThinnedEvenly() {
+        viewer();
+        Player caster = player(0, 0, 0);
+        ParticleService service = service(10_000, 10);
+
+        for (int i = 0; i < 40; i++) {
+            spawn(service, caster, i, 1);
+        }
+        service.flush();
+
+        // A quarter of the points, spread along the line instead of the first ten
+        assertEquals(List.of(3.0, 7.0, 11.0, 15.0, 19.0, 23.0, 27.0, 31.0, 35.0, 39.0), sentPositions());
+        assertEquals(30, service.getDroppedCount());
+        assertEquals(40, service.getSubmittedCount());
+    }
+
+    @Test
+    void budgetsArePerCaster() {
+        viewer();
+        Player busy = player(0, 0, 0);
+        Player quiet = player(0, 0, 0);
+        ParticleService service = service(10_000, 10);
+
+        for (int i = 0; i < 20; i++) {
+            spawn(service, busy, i, 1);
+        }
+        for (int i = 0; i < 5; i++) {
+            spawn(service, quiet, i + 0.5, 1);
+        }
+        service.flush();
+
+        assertEquals(15, packets.size());
+        assertEquals(5, sentPositions().stream().filter(x -> x % 1 != 0).count());
+    }
+
+    @Test
+    void serverBudgetScalesEveryCasterDown() {
+        viewer();
+        Player first = player(0, 0, 0);
+        Player second = player(0, 0, 0);
+        ParticleService service = service(20, 15);
+
+        // 30 + 15 queued, 15 + 15 after the caster budgets, then halved... to 20 of 30
+        for (int i = 0; i < 30; i++) {
+            spawn(service, first, i, 1);
+        }
+        for (int i = 0; i < 15; i++) {
+            spawn(service, second, i + 0.5, 1);
+        }
+        spawn(service, null, 0.25, 3); // Uncasted counts towards the server budget only
+
+        service.flush();
+        // 33 within caster budgets against a server budget of 20
+        double factor = 20.0 / 33;
+        List<Double> sent = sentPositions();
+        long fromFirst = sent.stream().filter(x -> x % 1 == 0).count();
+        long fromSecond = sent.stream().filter(x -> x % 1 == 0.5).count();
+        assertEquals((int) (30 * 0.5 * factor), fromFirst);
+        assertEquals((int) (15 * factor), fromSecond);
+        assertTrue(sentCount() <= 20);
+    }
+
+    @Test
+    void remainderCarriesAcrossEmissionsButNotAcrossTicks() {
+        viewer();
+        Player caster = player(0, 0, 0);
+        ParticleService service = service(10_000, 2);
+
+        for (int i = 0; i < 3; i++) {
+            spawn(service, caster, i, 1); // 2/3 each: 0.67 -> skip, 1.33 -> send, 2.0 -> send
+        }
+        service.flush();
+        assertEquals(List.of(1.0, 2.0), sentPositions());
+
+        // A fresh tick under budget sends everything
+        packets.clear();
+        spawn(service, caster, 5, 1);
+        service.flush();
+        assertEquals(1, packets.size());
+    }
+
+    @Test
+    void multiParticleEmissionKeepsItsShareOfTheCount() {
+        viewer();
+        Player caster = player(0, 0, 0);
+        ParticleService service = service(10_000, 10);
+
+        spawn(service, caster, 0, 20);
+        spawn(service, caster, 5, 20);
+        service.flush();
+
+        assertEquals(List.of(5, 5), packets.stream().map(Packet::count).toList());
+    }
+
+    // ========================================
+    // DISTANCE
+    // ========================================
+
+    @Test
+    void distantViewersGetFewerParticles() {
+        Player near = viewer();
+        Player alsoNear = player(0, 10, 0);
+        players.add(alsoNear);
+        Player middle = player(40, 0, 0);      // Halfway through the falloff: 1 - 0.5 * 0.75
+        Player edge = player(0, 0, 64);        // Minimum density
+        Player outside = player(0, 0, 65);
+        players.addAll(List.of(middle, edge, outside));
+        ParticleService service = service(10_000, 10_000);
+
+        spawn(service, null, 0, 8);
+        service.flush();
+
+        // Full detail viewers share one packet, the others get their own reduced count
+        Map<Player, Integer> received = new HashMap<>();
+        for (Packet packet : packets) {
+            for (Player player : packet.receivers()) {
+                received.merge(player, packet.count(), Integer::sum);
+            }
+        }
+        assertEquals(8, (int) received.get(near));
+        assertEquals(8, (int) received.get(alsoNear));
+        assertEquals(5, (int) received.get(middle));
+        assertEquals(2, (int) received.get(edge));
+        assertFalse(received.containsKey(outside));
+        assertTrue(packets.stream().anyMatch(packet -> packet.receivers().equals(List.of(near, alsoNear))));
+        assertEquals(9, service.getThinnedCount());
+        assertEquals(23, service.getEmittedCount());
+    }
+
+    @Test
+    void distantViewerGetsEvenlySpacedSingleParticles() {
+        players.add(player(0, 0, 0));
+        ParticleService service = service(10_000, 10_000);
+
+        // Eight single particles 40 blocks away (density 0.625), kept apart by their offsets
+        for (int i = 0; i < 8; i++) {
+            service.spawn(null, Particle.FLAME, world, 40, 0, 0, 1, i, 0, 0, 0, null);
+        }
+        service.flush();
+
+        // The viewer's remainder runs across emissions: 0.625, 1.25, 0.875, 1.5, 1.125, 0.75, 1.375, 1.0
+        assertEquals(5, packets.size());
+        assertEquals(3, service.getThinnedCount());
+    }
+
+    // ========================================
+    // MERGING
+    // ========================================
+
+    @Test
+    void identicalEmissionsInTheSameCellAreMerged() {
+        viewer();
+        Player caster = player(0, 0, 0);
+        ParticleService service = service(10_000, 10_000);
+
+        service.spawn(caster, Particle.FLAME, world, 0.01, 0, 0, 2, 0, 0, 0, 0, null);
+        service.spawn(caster, Particle.FLAME, world, 0.12, 0, 0, 3, 0, 0, 0, 0, null); // Same 1/8 block cell
+        service.spawn(caster, Particle.FLAME, world, 0.13, 0, 0, 1, 0, 0, 0, 0, null); // Next cell
+        service.spawn(null, Particle.FLAME, world, 0.02, 0, 0, 1, 0, 0, 0, 0, null);   // Not charged to the caster
+        service.spawn(caster, Particle.CLOUD, world, 0.03, 0, 0, 1, 0, 0, 0, 0, null); // Other particle
+        service.spawn(caster, Particle.FLAME, world, 0.04, 0, 0, 1, 0.5, 0, 0, 0, null); // Other offsets
+        assertEquals(5, service.getPendingCount());
+        assertEquals(3, service.getMergedCount());
+
+        service.flush();
+        assertEquals(5, packets.get(0).count());
+        assertEquals(0.01, packets.get(0).x(), 1e-9); // Sent where the first one was queued
+        assertEquals(5, packets.size());
+        assertEquals(0, service.getPendingCount());
+    }
+
+    @Test
+    void directionalEmissionsAreNeverMerged() {
+        viewer();
+        ParticleService service = service(10_000, 10_000);
+
+        spawn(service, null, 0, 0);
+        spawn(service, null, 0, 0);
+        service.flush();
+
+        assertEquals(List.of(0, 0), packets.stream().map(Packet::count).toList());
+    }
+
+    @Test
+    void dataMustMatchTheParticle() {
+        ParticleService service = service(10_000, 10_000);
+        assertThrows(IllegalArgumentException.class,
+                () -> service.spawn(null, Particle.FLAME, world, 0, 0, 0, 1, 0, 0, 0, 0, "not particle data"));
+        assertEquals(0, service.getPendingCount());
+    }
+}
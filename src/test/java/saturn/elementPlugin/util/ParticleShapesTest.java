@@ -0,0 +1,94 @@
+package saturn.elementPlugin.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParticleShapesTest {
+    private static final double EPSILON = 1e-6;
+
+    @Test
+    void shapesAreBuiltOnceAndShared() {
+        assertSame(ParticleShapes.ring(36), ParticleShapes.ring(36));
+        assertNotSame(ParticleShapes.ring(36), ParticleShapes.ring(24));
+        assertSame(ParticleShapes.spiral(3, 20, 2.0), ParticleShapes.spiral(3, 20, 2.0));
+    }
+
+    @Test
+    void ringMatchesTrig() {
+        ParticleShapes.Shape ring = ParticleShapes.ring(36);
+        assertEquals(36, ring.size());
+        for (int i = 0; i < ring.size(); i++) {
+            double angle = 2 * Math.PI * i / 36;
+            assertEquals(Math.cos(angle), ring.getX(i), EPSILON);
+            assertEquals(0, ring.getY(i), EPSILON);
+            assertEquals(Math.sin(angle), ring.getZ(i), EPSILON);
+        }
+    }
+
+    @Test
+    void columnAndSpokesIncludeBothEnds() {
+        ParticleShapes.Shape column = ParticleShapes.column(5);
+        assertEquals(0, column.getY(0), EPSILON);
+        assertEquals(0.5, column.getY(2), EPSILON);
+        assertEquals(1, column.getY(4), EPSILON);
+        assertEquals(0, ParticleShapes.column(1).getY(0), EPSILON);
+
+        ParticleShapes.Shape spokes = ParticleShapes.spokes(4, 3);
+        assertEquals(12, spokes.size());
+        assertEquals(0, spokes.getX(3), EPSILON);   // Second spoke starts at the centre
+        assertEquals(1, spokes.getZ(5), EPSILON);   // and ends at distance 1 on +Z
+    }
+
+    @Test
+    void sphereMatchesTrig() {
+        ParticleShapes.Shape sphere = ParticleShapes.sphere(6, 8);
+        int n = 0;
+        for (int i = 0; i < 6; i++) {
+            double theta = Math.PI * i / 6;
+            for (int j = 0; j < 8; j++) {
+                double phi = 2 * Math.PI * j / 8;
+                assertEquals(Math.sin(theta) * Math.cos(phi), sphere.getX(n), EPSILON);
+                assertEquals(Math.cos(theta), sphere.getY(n), EPSILON);
+                assertEquals(Math.sin(theta) * Math.sin(phi), sphere.getZ(n), EPSILON);
+                n++;
+            }
+        }
+    }
+
+    @Test
+    void spiralWidensAndRises() {
+        ParticleShapes.Shape spiral = ParticleShapes.spiral(2, 10, 1.0);
+        assertEquals(20, spiral.size());
+        assertEquals(0, spiral.getY(0), EPSILON);
+        assertEquals(0.9, spiral.getY(9), EPSILON);
+
+        // Second arm is half a turn behind the first
+        assertEquals(-spiral.getX(5), spiral.getX(15), EPSILON);
+        assertEquals(-spiral.getZ(5), spiral.getZ(15), EPSILON);
+    }
+
+    @Test
+    void cursorScalesRotatesAndMoves() {
+        ParticleShapes.Shape ring = ParticleShapes.ring(4);
+        ParticleShapes.Cursor cursor = new ParticleShapes.Cursor();
+
+        cursor.at(10, 64, -5).scale(3, 2).rotate(Math.PI / 2).point(ring, 0);
+        assertEquals(10, cursor.x, EPSILON);   // +X rotated a quarter turn lands on +Z
+        assertEquals(64, cursor.y, EPSILON);
+        assertEquals(-2, cursor.z, EPSILON);
+
+        cursor.at(0, 0, 0).scale(1, 2).rotate(0).point(ParticleShapes.column(2), 1);
+        assertEquals(2, cursor.y, EPSILON);
+
+        // Same result as computing the rotated angle with trig
+        cursor.at(1, 2, 3).scale(5, 1).rotate(0.3);
+        ParticleShapes.Shape ring36 = ParticleShapes.ring(36);
+        for (int i = 0; i < 36; i++) {
+            double angle = 2 * Math.PI * i / 36 + 0.3;
+            cursor.point(ring36, i);
+            assertEquals(1 + Math.cos(angle) * 5, cursor.x, 1e-5);
+            assertEquals(3 + Math.sin(angle) * 5, cursor.z, 1e-5);
+        }
+    }
+}
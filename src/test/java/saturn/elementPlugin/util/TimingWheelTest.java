@@ -0,0 +1,128 @@
+package saturn.elementPlugin.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static saturn.elementPlugin.data.TestFixtures.LOGGER;
+
+class TimingWheelTest {
+    private final TimingWheel wheel = new TimingWheel(LOGGER);
+
+    private void advance(long ticks) {
+        for (long i = 0; i < ticks; i++) {
+            wheel.tick();
+        }
+    }
+
+    /**
+     * Schedule a delay and tick until it fires
+     * @return the delay it actually fired after
+     */
+    private long firedAfter(long delay) {
+        long[] firedAt = {-1};
+        long start = wheel.getCurrentTick();
+        wheel.schedule(delay, () -> firedAt[0] = wheel.getCurrentTick());
+
+        while (firedAt[0] < 0) {
+            wheel.tick();
+            assertTrue(wheel.getCurrentTick() - start <= Math.max(1, delay), "late for delay " + delay);
+        }
+        return firedAt[0] - start;
+    }
+
+    @Test
+    void firesOnTheDeadlineTickAtEveryLevel() {
+        long[] delays = {1, 2, 63, 64, 65, 127, 4095, 4096, 4097, 100_000, 262_143, 262_144, 262_145, 1_000_000};
+        for (long delay : delays) {
+            assertEquals(delay, firedAfter(delay), "delay " + delay);
+        }
+    }
+
+    @Test
+    void firesOnTimeFromUnalignedStartTicks() {
+        for (long offset : new long[]{1, 37, 63, 4031, 4095}) {
+            advance(offset);
+            for (long delay : new long[]{64 - offset % 64, 4096 - offset % 4096, 4095, 262_000}) {
+                assertEquals(delay, firedAfter(delay), "delay " + delay + " at tick " + wheel.getCurrentTick());
+            }
+        }
+    }
+
+    @Test
+    void delaysBeyondTheWheelSpanStillFireOnTime() {
+        long delay = (1L << 24) + 1000;
+        assertEquals(delay, firedAfter(delay));
+    }
+
+    @Test
+    void nonPositiveDelaysFireOnTheNextTick() {
+        assertEquals(1, firedAfter(0));
+        assertEquals(1, firedAfter(-5));
+    }
+
+    @Test
+    void runsTasksInDeadlineOrderAcrossSlots() {
+        List<Integer> order = new ArrayList<>();
+        for (int delay : new int[]{300, 5, 70, 4100, 1}) {
+            wheel.schedule(delay, () -> order.add(delay));
+        }
+
+        advance(4100);
+        assertEquals(List.of(1, 5, 70, 300, 4100), order);
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    @Test
+    void cancelledTasksNeverRun() {
+        int[] runs = {0};
+        TimingWheel.Timeout kept = wheel.schedule(10, () -> runs[0]++);
+        TimingWheel.Timeout cancelled = wheel.schedule(10, () -> runs[0] += 100);
+        TimingWheel.Timeout far = wheel.schedule(5000, () -> runs[0] += 100);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertTrue(far.cancel());
+        assertEquals(1, wheel.getPendingCount());
+
+        advance(5000);
+        assertEquals(1, runs[0]);
+        assertFalse(kept.isPending());
+        assertFalse(kept.cancel());
+    }
+
+    @Test
+    void remainingTimeCountsDown() {
+        TimingWheel.Timeout timeout = wheel.scheduleMillis(1000, () -> {});
+        assertEquals(20, timeout.getRemainingTicks());
+        assertEquals(1000, timeout.getRemainingMillis());
+
+        advance(5);
+        assertEquals(15, timeout.getRemainingTicks());
+        assertTrue(timeout.isPending());
+    }
+
+    @Test
+    void aFailingTaskDoesNotStopTheOthers() {
+        int[] runs = {0};
+        wheel.schedule(3, () -> { throw new IllegalStateException("boom"); });
+        wheel.schedule(3, () -> runs[0]++);
+
+        advance(3);
+        assertEquals(1, runs[0]);
+    }
+
+    @Test
+    void tasksCanScheduleFromTheirCallback() {
+        List<Long> fired = new ArrayList<>();
+        wheel.schedule(2, () -> {
+            fired.add(wheel.getCurrentTick());
+            wheel.schedule(2, () -> fired.add(wheel.getCurrentTick()));
+        });
+
+        advance(4);
+        assertEquals(List.of(2L, 4L), fired);
+    }
+}